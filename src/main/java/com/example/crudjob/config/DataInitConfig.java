@@ -1,12 +1,15 @@
 package com.example.crudjob.config;
 
 import com.example.crudjob.entity.Permission;
+import com.example.crudjob.entity.ProcessingCheckpoint;
 import com.example.crudjob.entity.Role;
 import com.example.crudjob.entity.User;
 import com.example.crudjob.entity.enums.ERole;
 import com.example.crudjob.repository.PermissionRepository;
+import com.example.crudjob.repository.ProcessingCheckpointRepository;
 import com.example.crudjob.repository.RoleRepository;
 import com.example.crudjob.repository.UserRepository;
+import com.example.crudjob.service.RolePermissionCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -14,10 +17,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 /**
  * Data Initialization Configuration
@@ -26,6 +32,11 @@ import java.util.Set;
  * application startup
  * Pattern: Master-Detail (Permissions created first, then assigned to Roles,
  * then Admin User)
+ *
+ * Chạy lại an toàn trên DB đã có dữ liệu: permission còn thiếu (theo apiPath + method)
+ * được thêm và gán cho các role mặc định, permission đã có không bị đụng tới.
+ * Sửa quyền của role đã có (migration) chỉ chạy một lần, đánh dấu trong processing_checkpoint,
+ * để không ghi đè quyền admin cấp / thu hồi sau đó.
  */
 @Configuration
 @Slf4j
@@ -36,6 +47,18 @@ public class DataInitConfig {
     private final PermissionRepository permissionRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RolePermissionCache rolePermissionCache;
+    private final ProcessingCheckpointRepository processingCheckpointRepository;
+
+    /** Quyền đọc TRANSFERS (số dư, lịch sử, rollup, đối soát) chỉ dành cho ADMIN (method + apiPath) */
+    private static final Set<String> ADMIN_ONLY_PERMISSIONS = Set.of("GET /api/transfers/**");
+
+    /** Tên migration một lần (processing_checkpoint.name) */
+    private static final String MIGRATION_REVOKE_TRANSFER_READ = "data-init.revoke-transfer-read";
+    private static final String MIGRATION_GRANT_USER_WRITES = "data-init.grant-user-writes";
+
+    /** Thao tác ghi USER được phép ngoài các quyền GET (method + apiPath) */
+    private static final Set<String> USER_WRITE_PERMISSIONS = Set.of("POST /api/jobs/{id}/apply");
 
     // Admin credentials (có thể đặt trong application.yml)
     private static final String DEFAULT_ADMIN_USERNAME = "admin";
@@ -49,25 +72,21 @@ public class DataInitConfig {
         return args -> {
             log.info(">>> START INITIALIZING DATABASE");
 
-            long countPermissions = permissionRepository.count();
-            long countRoles = roleRepository.count();
+            // Step 1: Upsert permissions (chỉ thêm permission chưa có)
+            log.info("Synchronizing permissions...");
+            List<Permission> created = initializePermissions();
+            log.info("Permissions synchronized - {} added", created.size());
 
-            // Step 1: Initialize permissions if not exist
-            if (countPermissions == 0) {
-                log.info("Initializing permissions...");
-                initializePermissions();
-                log.info("Permissions initialized successfully");
-            } else {
-                log.info("Permissions already exist - skipping initialization");
-            }
+            // Step 2: Initialize missing roles, grant new permissions to existing roles
+            log.info("Initializing roles...");
+            boolean rolesChanged = initializeRoles(created);
+            rolesChanged |= runOnce(MIGRATION_REVOKE_TRANSFER_READ, this::revokeTransferReadPermission);
+            rolesChanged |= runOnce(MIGRATION_GRANT_USER_WRITES, this::grantUserWritePermissions);
+            log.info("Roles initialized successfully");
 
-            // Step 2: Initialize roles if not exist
-            if (countRoles == 0) {
-                log.info("Initializing roles...");
-                initializeRoles();
-                log.info("Roles initialized successfully");
-            } else {
-                log.info("Roles already exist - skipping initialization");
+            if (!created.isEmpty() || rolesChanged) {
+                // Các instance khác đang giữ role / permission cũ trong cache cấp 2
+                rolePermissionCache.evictAll();
             }
 
             // Step 3: Initialize admin user if not exist
@@ -80,16 +99,30 @@ public class DataInitConfig {
     }
 
     /**
-     * Create all permissions for all modules
+     * Create missing permissions for all modules
+     *
+     * @return các permission vừa được thêm
      */
-    private void initializePermissions() {
+    private List<Permission> initializePermissions() {
         List<Permission> permissions = new ArrayList<>();
 
         // ===== JOB PERMISSIONS =====
         permissions.add(createPermission("Create a job", "/api/jobs", "POST", "JOBS"));
+        permissions.add(createPermission("Export jobs", "/api/jobs/export", "GET", "JOBS"));
+        permissions.add(createPermission("Job facets", "/api/jobs/facets", "GET", "JOBS"));
+        permissions.add(createPermission("Filter jobs", "/api/jobs/filter", "GET", "JOBS"));
+        permissions.add(createPermission("Stream job changes", "/api/jobs/stream", "GET", "JOBS"));
+        permissions.add(createPermission("Scroll jobs", "/api/jobs/scroll", "GET", "JOBS"));
+        permissions.add(createPermission("Full-text search jobs", "/api/jobs/search", "GET", "JOBS"));
+        permissions.add(createPermission("Scroll jobs by title", "/api/jobs/search/title/scroll", "GET", "JOBS"));
+        permissions.add(createPermission("Import jobs", "/api/jobs/import", "POST", "JOBS"));
+        permissions.add(createPermission("Bulk update jobs", "/api/jobs/bulk", "PATCH", "JOBS"));
+        permissions.add(createPermission("Bulk delete jobs", "/api/jobs/bulk", "DELETE", "JOBS"));
         permissions.add(createPermission("Update a job", "/api/jobs/{id}", "PUT", "JOBS"));
         permissions.add(createPermission("Delete a job", "/api/jobs/{id}", "DELETE", "JOBS"));
         permissions.add(createPermission("Get a job by id", "/api/jobs/{id}", "GET", "JOBS"));
+        permissions.add(createPermission("Get job stats", "/api/jobs/{id}/stats", "GET", "JOBS"));
+        permissions.add(createPermission("Apply to a job", "/api/jobs/{id}/apply", "POST", "JOBS"));
         permissions.add(createPermission("Get all jobs", "/api/jobs", "GET", "JOBS"));
 
         // ===== USER PERMISSIONS =====
@@ -103,6 +136,8 @@ public class DataInitConfig {
         permissions.add(createPermission("Create a role", "/api/roles", "POST", "ROLES"));
         permissions.add(createPermission("Update a role", "/api/roles/{id}", "PUT", "ROLES"));
         permissions.add(createPermission("Delete a role", "/api/roles/{id}", "DELETE", "ROLES"));
+        permissions.add(createPermission("Role cache statistics", "/api/roles/cache-stats", "GET", "ROLES"));
+        permissions.add(createPermission("Cache invalidation status", "/api/roles/cache-invalidation", "GET", "ROLES"));
         permissions.add(createPermission("Get a role by id", "/api/roles/{id}", "GET", "ROLES"));
         permissions.add(createPermission("Get all roles", "/api/roles", "GET", "ROLES"));
 
@@ -115,58 +150,156 @@ public class DataInitConfig {
 
         permissions.add(createPermission("Access transfer API", "/api/transfers/**", "POST", "TRANSFERS"));
         permissions.add(createPermission("Encrypt data", "/api/transfers/encrypt", "POST", "TRANSFERS"));
+        permissions.add(createPermission("Read transfer data", "/api/transfers/**", "GET", "TRANSFERS"));
+
+        List<Permission> missing = permissions.stream()
+                .filter(p -> !permissionRepository.existsByApiPathAndMethod(p.getApiPath(), p.getMethod()))
+                .toList();
 
-        permissionRepository.saveAll(permissions);
+        missing.forEach(p -> log.info("Adding permission: {} {} ({})", p.getMethod(), p.getApiPath(), p.getName()));
+        return permissionRepository.saveAll(missing);
     }
 
     /**
-     * Create all roles with their assigned permissions
+     * Create missing roles with their default permissions,
+     * grant newly created permissions to roles that already exist
+     *
+     * @param created permission vừa được thêm ở bước trước
+     * @return true nếu có role đã tồn tại được gán thêm quyền
      */
-    private void initializeRoles() {
+    private boolean initializeRoles(List<Permission> created) {
         List<Permission> allPermissions = permissionRepository.findAll();
+        boolean changed = false;
+
+        for (ERole roleName : List.of(ERole.ROLE_ADMIN, ERole.ROLE_USER, ERole.ROLE_MANAGER)) {
+            Optional<Role> existing = roleRepository.findByName(roleName);
+
+            if (existing.isEmpty()) {
+                Role role = new Role();
+                role.setName(roleName);
+                role.setPermissions(defaultPermissions(roleName, allPermissions));
+                roleRepository.save(role);
+                log.info("Created {} with {} permissions", roleName, role.getPermissions().size());
+                continue;
+            }
+
+            Set<Permission> granted = defaultPermissions(roleName, created);
+            if (!granted.isEmpty()) {
+                Role role = existing.get();
+                role.getPermissions().addAll(granted);
+                roleRepository.save(role);
+                changed = true;
+                log.info("Granted {} new permissions to {}", granted.size(), roleName);
+            }
+        }
+
+        return changed;
+    }
 
-        // Create ADMIN role with all permissions
-        if (!roleRepository.findByName(ERole.ROLE_ADMIN).isPresent()) {
-            Role adminRole = new Role();
-            adminRole.setName(ERole.ROLE_ADMIN);
-            adminRole.setPermissions(new HashSet<>(allPermissions));
-            roleRepository.save(adminRole);
-            log.info("Created ROLE_ADMIN with {} permissions", allPermissions.size());
+    /**
+     * Chạy migration nếu chưa từng chạy trên DB này, rồi đánh dấu đã chạy
+     * (hai instance khởi động cùng lúc có thể cùng chạy: migration phải idempotent)
+     *
+     * @return kết quả của migration, false nếu đã chạy trước đó
+     */
+    private boolean runOnce(String name, BooleanSupplier migration) {
+        if (processingCheckpointRepository.existsById(name)) {
+            return false;
         }
 
-        // Create USER role with limited permissions (GET only)
-        if (!roleRepository.findByName(ERole.ROLE_USER).isPresent()) {
-            Role userRole = new Role();
-            userRole.setName(ERole.ROLE_USER);
+        boolean changed = migration.getAsBoolean();
 
-            Set<Permission> userPermissions = new HashSet<>();
-            // Add only GET permissions for USER role
-            allPermissions.stream()
-                    .filter(p -> "GET".equals(p.getMethod()))
-                    .forEach(userPermissions::add);
+        ProcessingCheckpoint marker = new ProcessingCheckpoint(name);
+        marker.setUpdatedAt(LocalDateTime.now());
+        processingCheckpointRepository.save(marker);
+        log.info("Data migration {} applied", name);
+        return changed;
+    }
+
+    /**
+     * Thu hồi "Read transfer data" khỏi USER / MANAGER
+     * (seed trước đây gán mọi quyền GET, kể cả quyền này, cho USER / MANAGER)
+     *
+     * @return true nếu có role bị thu hồi quyền
+     */
+    private boolean revokeTransferReadPermission() {
+        boolean changed = false;
+
+        for (ERole roleName : List.of(ERole.ROLE_USER, ERole.ROLE_MANAGER)) {
+            Optional<Role> role = roleRepository.findByName(roleName);
+            if (role.isEmpty() || role.get().getPermissions() == null) {
+                continue;
+            }
 
-            userRole.setPermissions(userPermissions);
-            roleRepository.save(userRole);
-            log.info("Created ROLE_USER with {} GET permissions", userPermissions.size());
+            if (role.get().getPermissions().removeIf(DataInitConfig::isAdminOnlyPermission)) {
+                roleRepository.save(role.get());
+                changed = true;
+                log.warn("Revoked admin-only TRANSFERS permissions from {}", roleName);
+            }
         }
 
-        // Create MANAGER role with moderate permissions (GET, POST, PUT)
-        if (!roleRepository.findByName(ERole.ROLE_MANAGER).isPresent()) {
-            Role managerRole = new Role();
-            managerRole.setName(ERole.ROLE_MANAGER);
-
-            Set<Permission> managerPermissions = new HashSet<>();
-            // Add GET, POST, PUT permissions for MANAGER role
-            allPermissions.stream()
-                    .filter(p -> "GET".equals(p.getMethod()) ||
-                            "POST".equals(p.getMethod()) ||
-                            "PUT".equals(p.getMethod()))
-                    .forEach(managerPermissions::add);
-
-            managerRole.setPermissions(managerPermissions);
-            roleRepository.save(managerRole);
-            log.info("Created ROLE_MANAGER with {} permissions", managerPermissions.size());
+        return changed;
+    }
+
+    /**
+     * Gán cho USER các thao tác ghi trong USER_WRITE_PERMISSIONS
+     * (DB được seed trước đây đã có permission nhưng USER chỉ nhận quyền GET)
+     *
+     * @return true nếu USER được gán thêm quyền
+     */
+    private boolean grantUserWritePermissions() {
+        Optional<Role> role = roleRepository.findByName(ERole.ROLE_USER);
+        if (role.isEmpty() || role.get().getPermissions() == null) {
+            return false;
         }
+
+        List<Permission> missing = permissionRepository.findAll().stream()
+                .filter(DataInitConfig::isUserWritePermission)
+                .filter(p -> !role.get().getPermissions().contains(p))
+                .toList();
+        if (missing.isEmpty()) {
+            return false;
+        }
+
+        role.get().getPermissions().addAll(missing);
+        roleRepository.save(role.get());
+        log.info("Granted {} write permissions to {}", missing.size(), ERole.ROLE_USER);
+        return true;
+    }
+
+    /**
+     * Permission mặc định của từng role:
+     * - ADMIN: tất cả
+     * - MANAGER: GET, POST, PUT, PATCH (trừ ADMIN_ONLY_PERMISSIONS)
+     * - USER: GET (trừ ADMIN_ONLY_PERMISSIONS) và các thao tác trong USER_WRITE_PERMISSIONS
+     */
+    private Set<Permission> defaultPermissions(ERole roleName, List<Permission> permissions) {
+        Set<Permission> result = new HashSet<>();
+
+        for (Permission p : permissions) {
+            boolean granted = switch (roleName) {
+                case ROLE_ADMIN -> true;
+                case ROLE_MANAGER -> !isAdminOnlyPermission(p)
+                        && Set.of("GET", "POST", "PUT", "PATCH").contains(p.getMethod());
+                case ROLE_USER -> !isAdminOnlyPermission(p)
+                        && ("GET".equals(p.getMethod()) || isUserWritePermission(p));
+                default -> false;
+            };
+
+            if (granted) {
+                result.add(p);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isAdminOnlyPermission(Permission permission) {
+        return ADMIN_ONLY_PERMISSIONS.contains(permission.getMethod() + " " + permission.getApiPath());
+    }
+
+    private static boolean isUserWritePermission(Permission permission) {
+        return USER_WRITE_PERMISSIONS.contains(permission.getMethod() + " " + permission.getApiPath());
     }
 
     /**
@@ -0,0 +1,117 @@
+package com.example.crudjob.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.example.crudjob.entity.enums.EReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSource Routing Configuration
+ *
+ * Bật khi datasource.replicas.enabled=true: transaction read-only đọc từ replica,
+ * còn lại đi primary (spring.datasource). Tắt thì Spring Boot tự cấu hình một DataSource như cũ.
+ *
+ * LazyConnectionDataSourceProxy hoãn việc lấy connection thật tới câu SQL đầu tiên,
+ * lúc đó cờ read-only của transaction đã có → ReplicaRoutingDataSource chọn đúng nơi.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    /** JDBC URL các replica, phân cách bằng dấu phẩy */
+    @Value("${datasource.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    /** Số connection tối đa mỗi replica */
+    @Value("${datasource.replicas.pool-size:10}")
+    private int poolSize;
+
+    /** Chờ connection replica tối đa, ngắn để nhanh chóng chuyển sang primary */
+    @Value("${datasource.replicas.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+
+    @Value("${datasource.replicas.selection:ROUND_ROBIN}")
+    private EReplicaSelection selection;
+
+    /** Query đọc độ trễ replication (giây), để trống = chỉ kiểm tra kết nối */
+    @Value("${datasource.replicas.lag-query:show replica status}")
+    private String lagQuery;
+
+    @Value("${datasource.replicas.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    /**
+     * Pool primary, cấu hình từ spring.datasource.* và spring.datasource.hikari.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties) {
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (pools.size() + 1));
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setConnectionTimeout(connectionTimeoutMs);
+            pool.setReadOnly(true);
+            // Replica chưa sẵn sàng lúc khởi động không chặn ứng dụng, kiểm tra sức khoẻ sẽ thử lại
+            pool.setInitializationFailTimeout(-1);
+            pools.add(pool);
+        }
+        if (pools.isEmpty()) {
+            throw new IllegalStateException("datasource.replicas.enabled=true but datasource.replicas.urls is empty");
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource, pools, selection, lagQuery, maxLagSeconds);
+        routing.checkReplicas();
+
+        log.info("Replica routing enabled | replicas={} | selection={} | maxLagSeconds={}",
+                pools.size(), selection, maxLagSeconds);
+        return routing;
+    }
+
+    /**
+     * DataSource dùng cho JPA, JdbcTemplate, transaction manager
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
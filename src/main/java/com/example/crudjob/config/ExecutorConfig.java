@@ -0,0 +1,66 @@
+package com.example.crudjob.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executor Configuration
+ *
+ * Thread pool riêng cho các tác vụ mã hoá/giải mã hàng loạt (RSA tốn CPU).
+ * Giới hạn số thread theo số core để không tranh CPU với request thread,
+ * hàng đợi đầy thì thread gọi tự chạy (CallerRuns) → tự điều tiết tốc độ.
+ */
+@Configuration
+@Slf4j
+public class ExecutorConfig {
+
+    @Value("${crypto.executor.threads:0}")
+    private int threads;
+
+    @Value("${crypto.executor.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${job.events.executor-threads:4}")
+    private int eventThreads;
+
+    @Value("${job.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Bean(name = "cryptoExecutor")
+    public ThreadPoolTaskExecutor cryptoExecutor() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("crypto-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+
+        log.info("Crypto executor initialized with {} threads", poolSize);
+        return executor;
+    }
+
+    /**
+     * Thread pool gửi sự kiện SSE: mỗi client có tối đa một tác vụ trong hàng đợi,
+     * kết nối rảnh không giữ thread nào (async servlet).
+     */
+    @Bean(name = "jobEventExecutor")
+    public ThreadPoolTaskExecutor jobEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(eventThreads);
+        executor.setMaxPoolSize(eventThreads);
+        executor.setQueueCapacity(maxSubscribers);
+        executor.setThreadNamePrefix("job-events-");
+        executor.initialize();
+        return executor;
+    }
+}
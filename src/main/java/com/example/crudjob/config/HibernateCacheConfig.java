@@ -0,0 +1,93 @@
+package com.example.crudjob.config;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.crudjob.constant.AppConstants;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hibernate Second-Level Cache Configuration
+ *
+ * Cache cấp 2 (JCache, provider Caffeine trong tiến trình) cho Role, Permission và role_permission.
+ * Mỗi region được tạo sẵn với giới hạn số phần tử và thời gian sống:
+ * - Ghi qua Hibernate tự cập nhật / vô hiệu entity, collection và query cache
+ * - Cache nằm trong từng instance → ghi ở instance khác chỉ thấy sau expire-after-write
+ *
+ * Region timestamps (thời điểm ghi cuối mỗi bảng, dùng để loại query cache cũ) không giới hạn,
+ * không hết hạn: chỉ có vài phần tử, bị evict sớm sẽ khiến query cache trả dữ liệu cũ.
+ */
+@Configuration
+@Slf4j
+public class HibernateCacheConfig {
+
+    /** Số phần tử tối đa mỗi region entity / collection / query */
+    @Value("${hibernate-cache.max-entries:10000}")
+    private long maxEntries;
+
+    /** Thời gian sống của phần tử, giới hạn độ trễ khi instance khác sửa role/permission */
+    @Value("${hibernate-cache.expire-after-write-ms:600000}")
+    private long expireAfterWriteMs;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        for (String region : new String[] {
+                AppConstants.CACHE_ROLE,
+                AppConstants.CACHE_PERMISSION,
+                AppConstants.CACHE_ROLE_PERMISSIONS,
+                AppConstants.CACHE_ROLE_QUERY,
+                AppConstants.CACHE_PERMISSION_QUERY,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME }) {
+            createIfMissing(cacheManager, region, bounded());
+        }
+        createIfMissing(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+
+        log.info("Hibernate second-level cache initialized | maxEntries={} | expireAfterWriteMs={}",
+                maxEntries, expireAfterWriteMs);
+        return cacheManager;
+    }
+
+    /**
+     * Cho Hibernate dùng CacheManager đã cấu hình ở trên thay vì tự tạo
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private CaffeineConfiguration<Object, Object> bounded() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(expireAfterWriteMs)));
+        return configuration;
+    }
+
+    private static void createIfMissing(
+            CacheManager cacheManager,
+            String region,
+            CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+}
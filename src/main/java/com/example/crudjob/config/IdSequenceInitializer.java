@@ -0,0 +1,54 @@
+package com.example.crudjob.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.crudjob.constant.AppConstants;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Id Sequence Initializer
+ *
+ * Các bảng trước đây dùng IDENTITY đã có dữ liệu: đẩy next_val của bảng sequence
+ * vượt max(id) hiện có để id cấp theo lô không trùng. Chạy sau khi Hibernate cập nhật schema
+ * và trước DataInitConfig.
+ *
+ * Lỗi không được nuốt: chạy tiếp với sequence chưa căn sẽ cấp id trùng khoá ở lần INSERT
+ * đầu tiên, nên để exception dừng khởi động.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer {
+
+    /** Bảng sequence → bảng dữ liệu */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "job_seq", "jobs",
+            "users_seq", "users",
+            "roles_seq", "roles",
+            "permission_seq", "permission");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignSequences() {
+        SEQUENCES.forEach((sequence, table) -> {
+            long maxId = jdbcTemplate.queryForObject(
+                    "select coalesce(max(id), 0) from " + table, Long.class);
+            long floor = maxId + 1 + AppConstants.ID_ALLOCATION_SIZE;
+
+            int updated = jdbcTemplate.update(
+                    "update " + sequence + " set next_val = ? where next_val < ?", floor, floor);
+            if (updated > 0) {
+                log.info("Sequence {} moved to {} (max id of {} = {})", sequence, floor, table, maxId);
+            }
+        });
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.List;
@@ -32,6 +33,11 @@ public class PermissionInterceptor implements HandlerInterceptor {
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
             throws Exception {
 
+        // Async dispatch (SSE, streaming response) đã qua kiểm tra ở request gốc
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
         String requestPath = request.getRequestURI();
         String httpMethod = request.getMethod();
 
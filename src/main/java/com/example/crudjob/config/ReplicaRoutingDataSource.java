@@ -0,0 +1,239 @@
+package com.example.crudjob.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.example.crudjob.entity.enums.EReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ReplicaRoutingDataSource
+ *
+ * Chọn primary hoặc một replica mỗi lần cần connection thật
+ * (phải bọc trong LazyConnectionDataSourceProxy để cờ read-only của transaction đã được đặt):
+ * - Transaction read-only → replica khoẻ (ROUND_ROBIN / LEAST_BUSY)
+ * - Mọi trường hợp còn lại → primary
+ * - Replica mất kết nối hoặc trễ quá max-lag-seconds → bỏ qua tới lần kiểm tra sau
+ *   (hết replica khoẻ thì đọc primary)
+ * - Read-your-writes: request đã mở transaction ghi thì các lần đọc sau trong cùng request
+ *   đi primary (đánh dấu bằng request attribute, không rò sang request khác)
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final String PINNED_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".PINNED";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final EReplicaSelection selection;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<HikariDataSource> replicaPools,
+            EReplicaSelection selection,
+            String lagQuery,
+            long maxLagSeconds) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /* ================= ROUTING ================= */
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.pool.getConnection();
+        } catch (SQLException e) {
+            // Replica hỏng giữa hai lần kiểm tra → đọc primary, lần kiểm tra sau tự đưa lại
+            markUnhealthy(replica, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Per-call credentials are not supported by replica routing");
+    }
+
+    /**
+     * @return replica sẽ dùng, null = primary
+     */
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                pinToPrimary();
+            }
+            return null;
+        }
+        if (isPinnedToPrimary()) {
+            return null;
+        }
+        return selection == EReplicaSelection.LEAST_BUSY ? leastBusy() : roundRobin();
+    }
+
+    private Replica roundRobin() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastBusy() {
+        int size = replicas.size();
+        // Bắt đầu từ vị trí xoay vòng → các replica cùng tải được chia đều
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            int active = replica.activeConnections();
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    /* ================= READ-YOUR-WRITES ================= */
+
+    private static void pinToPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isPinnedToPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && attributes.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    /* ================= HEALTH ================= */
+
+    /**
+     * Kiểm tra kết nối và độ trễ của từng replica
+     */
+    @Scheduled(
+            initialDelayString = "${datasource.replicas.health-check-ms:5000}",
+            fixedDelayString = "${datasource.replicas.health-check-ms:5000}")
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.pool.getConnection()) {
+            Long lag = readLagSeconds(connection);
+            if (lag == null) {
+                markUnhealthy(replica, "replication is not running");
+            } else if (lag > maxLagSeconds) {
+                markUnhealthy(replica, "lag " + lag + "s > " + maxLagSeconds + "s");
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                replica.checked = true;
+                log.info("REPLICA_HEALTHY | pool={} | lagSeconds={}", replica.pool.getPoolName(), lag);
+            }
+        } catch (SQLException e) {
+            markUnhealthy(replica, e.getMessage());
+        }
+    }
+
+    /**
+     * Chạy lag-query: lấy cột Seconds_Behind_Source / Seconds_Behind_Master (SHOW REPLICA STATUS)
+     * hoặc cột đầu tiên.
+     *
+     * @return độ trễ (giây); 0 nếu không cấu hình query hoặc query không trả dòng nào
+     *         (instance độc lập, ví dụ khi thử với hai DB cục bộ); null nếu replication dừng
+     */
+    private Long readLagSeconds(Connection connection) throws SQLException {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return connection.isValid(2) ? 0L : null;
+        }
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            Object value = rs.getObject(lagColumn(rs.getMetaData()));
+            return value == null ? null : Long.valueOf(value.toString());
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData meta) throws SQLException {
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String label = meta.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+
+    private static void markUnhealthy(Replica replica, String reason) {
+        if (replica.healthy || !replica.checked) {
+            replica.healthy = false;
+            replica.checked = true;
+            log.warn("REPLICA_UNHEALTHY | pool={} | {}", replica.pool.getPoolName(), reason);
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+
+        /** Chưa kiểm tra lần nào → chưa dùng */
+        private volatile boolean healthy;
+        private volatile boolean checked;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean == null ? 0 : mxBean.getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.crudjob.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ *
+ * Bật @Scheduled cho các job nền (bảo trì partition, archive, ...)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
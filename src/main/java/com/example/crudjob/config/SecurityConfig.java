@@ -3,6 +3,7 @@ package com.example.crudjob.config;
 import com.example.crudjob.repository.UserRepository;
 import com.example.crudjob.service.JwtService;
 import com.example.crudjob.service.RolePermissionResolver;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,23 +47,37 @@ public class SecurityConfig {
 
                 // Configure authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatch của SSE / streaming response: request gốc đã được kiểm tra quyền
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/swagger-ui.html").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
-                        .requestMatchers("/api/transfers/**").permitAll()
 
                         // Admin endpoints
                         .requestMatchers(HttpMethod.POST, "/api/admin/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/admin/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/admin/**").hasRole("ADMIN")
 
-                        // Manager endpoints (GET, POST, PUT)
+                        // Transfer: số dư, lịch sử, rollup, đối soát, thống kê khoá → chỉ ADMIN
+                        .requestMatchers("/api/transfers/locks/stats").hasRole("ADMIN")
+                        .requestMatchers("/api/transfers/accounts/**").hasRole("ADMIN")
+                        .requestMatchers("/api/transfers/history/**").hasRole("ADMIN")
+                        .requestMatchers("/api/transfers/rollups").hasRole("ADMIN")
+                        .requestMatchers("/api/transfers/reconciliation").hasRole("ADMIN")
+                        .requestMatchers("/api/transfers/**").permitAll()
+
+                        // Ứng tuyển: USER được phép, đặt trước rule POST của MANAGER
+                        .requestMatchers(HttpMethod.POST, "/api/jobs/*/apply").hasAnyRole("USER", "MANAGER", "ADMIN")
+
+                        // Manager endpoints (GET, POST, PUT, PATCH)
                         .requestMatchers(HttpMethod.GET, "/api/jobs/**").hasAnyRole("USER", "MANAGER", "ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/jobs/**").hasAnyRole("MANAGER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/jobs/**").hasAnyRole("MANAGER", "ADMIN")
+                        .requestMatchers(HttpMethod.PATCH, "/api/jobs/**").hasAnyRole("MANAGER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/jobs/**").hasRole("ADMIN")
 
                         // Any other authenticated requests
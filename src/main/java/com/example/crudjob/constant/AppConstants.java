@@ -14,6 +14,36 @@ public class AppConstants {
      */
     public static final String DEFAULT_PAGE_SIZE_STR = "10";
 
+    // ============ Id Generation Constants ============
+    /**
+     * Số id cấp phát mỗi lần đọc bảng sequence (pooled optimizer).
+     * IDENTITY làm Hibernate tắt JDBC batch insert, sequence cấp theo lô thì batch được.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // ============ Second-Level Cache Regions ============
+    /** Entity Role */
+    public static final String CACHE_ROLE = "auth.role";
+
+    /** Entity Permission */
+    public static final String CACHE_PERMISSION = "auth.permission";
+
+    /** Collection Role.permissions (bảng role_permission) */
+    public static final String CACHE_ROLE_PERMISSIONS = "auth.role.permissions";
+
+    /** Kết quả query trên Role (findByName, findAll) */
+    public static final String CACHE_ROLE_QUERY = "auth.query.role";
+
+    /** Kết quả query trên Permission (findAll) */
+    public static final String CACHE_PERMISSION_QUERY = "auth.query.permission";
+
+    // ============ Cross-Node Cache Invalidation (cache_version) ============
+    /** Role / Permission / role_permission (cache cấp 2) */
+    public static final String CACHE_BUS_AUTH = "auth";
+
+    /** JobResponseCache */
+    public static final String CACHE_BUS_JOB_RESPONSE = "job-response";
+
     // ============ HTTP Status Messages ============
     /** Thông báo tạo công việc thành công */
     public static final String JOB_CREATED_SUCCESS = "Job created successfully";
@@ -30,13 +60,40 @@ public class AppConstants {
     /** Thông báo xoá công việc thành công */
     public static final String JOB_DELETED_SUCCESS = "Job deleted successfully";
 
+    /** Thông báo cập nhật hàng loạt công việc thành công */
+    public static final String JOB_BULK_UPDATED_SUCCESS = "Jobs updated successfully";
+
+    /** Thông báo xoá hàng loạt công việc thành công */
+    public static final String JOB_BULK_DELETED_SUCCESS = "Jobs deleted successfully";
+
+    /** Thông báo import công việc hoàn tất */
+    public static final String JOB_IMPORT_COMPLETED = "Job import completed";
+
     /** Thông báo tìm kiếm theo tiêu đề thành công */
     public static final String SEARCH_BY_TITLE_SUCCESS = "Search by title successfully";
 
     /** Thông báo tìm kiếm theo công ty thành công */
     public static final String SEARCH_BY_COMPANY_SUCCESS = "Search by company successfully";
 
+    /** Thông báo lọc công việc thành công */
+    public static final String JOB_FILTER_SUCCESS = "Filter jobs successfully";
+
+    /** Thông báo lấy số lượng facet công việc thành công */
+    public static final String JOB_FACETS_SUCCESS = "Get job facets successfully";
+
+    /** Thông báo tìm kiếm full-text công việc thành công */
+    public static final String JOB_SEARCH_SUCCESS = "Search jobs successfully";
+
+    /** Thông báo lấy thống kê lượt xem / ứng tuyển thành công */
+    public static final String JOB_STATS_SUCCESS = "Get job stats successfully";
+
+    /** Thông báo ghi nhận ứng tuyển thành công */
+    public static final String JOB_APPLIED_SUCCESS = "Application recorded successfully";
+
     // ============ Exception Messages ============
+    /** Thông báo xung đột version khi cập nhật đồng thời */
+    public static final String JOB_VERSION_CONFLICT = "Job was modified by another request, reload and retry";
+
     /** Thông báo lỗi validation */
     public static final String VALIDATION_FAILED = "Validation failed";
 
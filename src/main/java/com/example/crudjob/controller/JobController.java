@@ -1,23 +1,55 @@
 package com.example.crudjob.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.dto.request.JobBulkDeleteRequestDTO;
+import com.example.crudjob.dto.request.JobBulkUpdateRequestDTO;
+import com.example.crudjob.dto.request.JobFilterDTO;
 import com.example.crudjob.dto.request.JobRequestDTO;
 import com.example.crudjob.dto.response.ApiRes;
+import com.example.crudjob.dto.response.CachedJobResponseDTO;
+import com.example.crudjob.dto.response.CursorPageResponseDTO;
+import com.example.crudjob.dto.response.JobBulkResultDTO;
+import com.example.crudjob.dto.response.JobFacetsDTO;
+import com.example.crudjob.dto.response.JobImportResultDTO;
 import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.dto.response.JobSearchResponseDTO;
+import com.example.crudjob.dto.response.JobStatsDTO;
 import com.example.crudjob.dto.response.PageResponseDTO;
+import com.example.crudjob.entity.enums.EJobSort;
+import com.example.crudjob.entity.enums.EJobView;
+import com.example.crudjob.service.IJobEventService;
+import com.example.crudjob.service.IJobExportService;
+import com.example.crudjob.service.IJobImportService;
 import com.example.crudjob.service.IJobService;
+import com.example.crudjob.service.IJobStatsService;
+import com.example.crudjob.utils.JobETag;
+import com.example.crudjob.utils.JobFieldSelector;
+
+import com.fasterxml.jackson.databind.util.RawValue;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -31,6 +63,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.validation.annotation.Validated; // THÊM IMPORT NÀY
 
 /**
@@ -47,6 +80,10 @@ import org.springframework.validation.annotation.Validated; // THÊM IMPORT NÀY
 public class JobController {
 
         private final IJobService jobService;
+        private final IJobImportService jobImportService;
+        private final IJobExportService jobExportService;
+        private final IJobEventService jobEventService;
+        private final IJobStatsService jobStatsService;
 
         /* ================= CREATE ================= */
 
@@ -77,6 +114,36 @@ public class JobController {
                                                 HttpStatus.CREATED.value()));
         }
 
+        /* ================= IMPORT ================= */
+
+        /**
+         * Import jobs in bulk from a CSV or NDJSON file
+         *
+         * @param file CSV file with header (title,company,location,salary,type,status,description,expires_at)
+         *             or NDJSON file (one JobRequestDTO per line)
+         * @return ResponseEntity containing imported/failed counts and per-row errors
+         */
+        @Operation(summary = "Import jobs", description = "Bulk import jobs from a multipart CSV (with header) or NDJSON file. Rows are validated with the same rules as create; invalid rows are reported and skipped")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Import finished. Returns imported/failed counts and per-row errors"),
+                        @ApiResponse(responseCode = "400", description = "Unsupported file type, missing CSV columns or malformed CSV"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions to create jobs"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<ApiRes<JobImportResultDTO>> importJobs(
+                        @RequestPart("file") MultipartFile file) throws IOException {
+
+                JobImportResultDTO result = jobImportService.importJobs(file);
+
+                return ResponseEntity.ok(
+                                ApiRes.success(
+                                                result,
+                                                AppConstants.JOB_IMPORT_COMPLETED,
+                                                HttpStatus.OK.value()));
+        }
+
         /* ================= GET ALL ================= */
 
         /**
@@ -84,6 +151,8 @@ public class JobController {
          *
          * @param page Page number (default is 0, must be >= 0)
          * @param size Number of items per page (default is 10, must be 1-100)
+         * @param fields Comma-separated fields to return (overrides view)
+         * @param view   Predefined field set (SUMMARY or DETAIL)
          * @return ResponseEntity containing paginated job list
          */
         @Operation(summary = "Get all jobs with pagination", description = "Retrieve all jobs with pagination support using page number and page size")
@@ -97,10 +166,12 @@ public class JobController {
         @GetMapping
         public ResponseEntity<ApiRes<PageResponseDTO<JobResponseDTO>>> getAllWithPaging(
                         @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_STR) @Min(value = 0, message = "Page must be >= 0") int page,
-                        @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size) {
+                        @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size,
+                        @Parameter(description = "Comma-separated fields to return, e.g. title,company,salary (overrides view; id is always returned)") @RequestParam(required = false) String fields,
+                        @Parameter(description = "Predefined field set: SUMMARY (no location/description) or DETAIL (default)") @RequestParam(defaultValue = "DETAIL") EJobView view) {
 
                 var pageable = PageRequest.of(page, size);
-                var pageData = jobService.getAll(pageable);
+                var pageData = jobService.getAll(pageable, JobFieldSelector.resolve(fields, view));
 
                 PageResponseDTO<JobResponseDTO> response = new PageResponseDTO<>(pageData);
 
@@ -111,62 +182,242 @@ public class JobController {
                                                 HttpStatus.OK.value()));
         }
 
+        /**
+         * Export all jobs as NDJSON
+         *
+         * Rows are streamed from a database cursor and decrypted in bounded parallel
+         * chunks, so memory stays flat and the first bytes are sent immediately.
+         *
+         * @param gzip Whether to download the output as a gzip file
+         * @return ResponseEntity streaming one JSON job per line
+         */
+        @Operation(summary = "Export all jobs", description = "Stream every job as application/x-ndjson (one decrypted job per line) without loading the whole table into memory; gzip=true downloads a .gz file (application/gzip)")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Jobs are being streamed"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> export(
+                        @Parameter(description = "Gzip the output (default false)") @RequestParam(defaultValue = "false") boolean gzip) {
+
+                StreamingResponseBody body = out -> jobExportService.exportNdjson(gzip, out);
+
+                // File .gz là nội dung tải về, không phải mã hoá truyền tải: có Content-Encoding
+                // trình duyệt sẽ giải nén nhưng vẫn lưu với tên jobs.ndjson.gz
+                MediaType contentType = gzip
+                                ? MediaType.parseMediaType("application/gzip")
+                                : MediaType.parseMediaType("application/x-ndjson");
+
+                return ResponseEntity.ok()
+                                .contentType(contentType)
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"jobs.ndjson" + (gzip ? ".gz" : "") + "\"")
+                                .body(body);
+        }
+
+        /**
+         * Subscribe to job changes (Server-Sent Events)
+         *
+         * Emits CREATED / UPDATED / DELETED events after each committed change so
+         * clients no longer need to poll the list. On reconnect the browser sends
+         * Last-Event-ID and missed events are replayed from a bounded buffer; if they
+         * are no longer available a RESET event tells the client to reload.
+         *
+         * @param lastEventId Id of the last event received (sent automatically by EventSource on reconnect)
+         * @return SSE stream of job change events, or 503 when the connection limit is reached
+         */
+        @Operation(summary = "Stream job changes", description = "Server-Sent Events stream of job create/update/delete events with Last-Event-ID resume")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
+                        @ApiResponse(responseCode = "503", description = "Too many open event streams, retry later")
+        })
+        @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public ResponseEntity<SseEmitter> stream(
+                        @Parameter(description = "Id of the last event received") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+                SseEmitter emitter = jobEventService.subscribe(lastEventId);
+                if (emitter == null) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                        .header(HttpHeaders.RETRY_AFTER, "30")
+                                        .build();
+                }
+
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                                // Tắt buffer của reverse proxy (nginx) để sự kiện tới ngay
+                                .header("X-Accel-Buffering", "no")
+                                .body(emitter);
+        }
+
+        /**
+         * Retrieve jobs with cursor (keyset) pagination
+         *
+         * @param cursor       nextCursor returned by the previous page (omit for the first page)
+         * @param size         Number of items per page (default is 10, must be 1-100)
+         * @param sort         Sort key, always combined with id (default ID)
+         * @param includeTotal Whether to include an approximate total count (cached)
+         * @return ResponseEntity containing one page of jobs and the next cursor
+         */
+        @Operation(summary = "Get jobs with cursor pagination", description = "Infinite-scroll friendly listing: no COUNT query and no OFFSET scan. Pass nextCursor back to get the next page; the cursor is bound to the chosen sort")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully with the next cursor"),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor or pagination parameters"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @GetMapping("/scroll")
+        public ResponseEntity<ApiRes<CursorPageResponseDTO<JobResponseDTO>>> scroll(
+                        @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size,
+                        @RequestParam(defaultValue = "ID") EJobSort sort,
+                        @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+                var pageData = jobService.scroll(null, sort, cursor, size, includeTotal);
+
+                return ResponseEntity.ok(
+                                ApiRes.success(
+                                                pageData,
+                                                AppConstants.JOB_LIST_SUCCESS,
+                                                HttpStatus.OK.value()));
+        }
+
         /* ================= GET BY ID ================= */
 
         /**
          * Retrieve job details by ID
          *
-         * @param id ID of the job to retrieve
-         * @return ResponseEntity containing job details
+         * Served from a cache of serialized responses. The ETag is derived from
+         * the job version; a matching If-None-Match returns 304 without a body.
+         *
+         * @param id      ID of the job to retrieve
+         * @param request Current request (for If-None-Match)
+         * @return ResponseEntity containing job details, or 304 if not modified
          */
-        @Operation(summary = "Get job by ID", description = "Retrieve full details of a specific job using its ID")
+        @Operation(summary = "Get job by ID", description = "Retrieve full details of a specific job using its ID. Supports conditional GET with If-None-Match / ETag")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Job retrieved successfully"),
+                        @ApiResponse(responseCode = "304", description = "Job not modified since the ETag in If-None-Match"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
                         @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
                         @ApiResponse(responseCode = "404", description = "Job not found with the provided ID"),
                         @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
         })
         @GetMapping("/{id}")
-        public ResponseEntity<ApiRes<JobResponseDTO>> getById(
-                        @PathVariable Long id) {
+        public ResponseEntity<ApiRes<RawValue>> getById(
+                        @PathVariable Long id,
+                        WebRequest request) {
 
-                JobResponseDTO job = jobService.getById(id);
+                CachedJobResponseDTO job = jobService.getCachedById(id);
+                jobStatsService.recordView(id);
 
-                return ResponseEntity.ok(
-                                ApiRes.success(
-                                                job,
+                // Đặt ETag và trả 304 nếu client đã có đúng version
+                if (request.checkNotModified(job.getEtag())) {
+                        return null;
+                }
+
+                // JSON của job đã serialize sẵn, chèn nguyên văn vào field data
+                RawValue data = new RawValue(new String(job.getJson(), StandardCharsets.UTF_8));
+
+                return ResponseEntity.ok()
+                                .eTag(job.getEtag())
+                                .body(ApiRes.success(
+                                                data,
                                                 AppConstants.JOB_GET_SUCCESS,
                                                 HttpStatus.OK.value()));
         }
 
+        /**
+         * Get view / apply counters of a job
+         *
+         * @param id ID of the job
+         * @return ResponseEntity containing the job's counters, including increments not yet flushed
+         */
+        @Operation(summary = "Get job stats", description = "Get view and apply counts of a job. Counters are accumulated in memory and flushed periodically; the result includes pending increments of this instance")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Job stats retrieved successfully"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions to view jobs"),
+                        @ApiResponse(responseCode = "404", description = "Job not found with the provided ID"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @GetMapping("/{id}/stats")
+        public ResponseEntity<ApiRes<JobStatsDTO>> getStats(
+                        @PathVariable Long id) {
+
+                JobStatsDTO stats = jobStatsService.getStats(id);
+
+                return ResponseEntity.ok(ApiRes.success(
+                                stats,
+                                AppConstants.JOB_STATS_SUCCESS,
+                                HttpStatus.OK.value()));
+        }
+
+        /**
+         * Record an application to a job
+         *
+         * @param id ID of the job
+         * @return ResponseEntity confirming the application was recorded
+         */
+        @Operation(summary = "Apply to job", description = "Record an application to a job. Only the apply counter is kept")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Application recorded successfully"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
+                        @ApiResponse(responseCode = "404", description = "Job not found with the provided ID"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @PostMapping("/{id}/apply")
+        public ResponseEntity<ApiRes<Void>> apply(
+                        @PathVariable Long id) {
+
+                jobStatsService.recordApply(id);
+
+                return ResponseEntity.ok(ApiRes.success(
+                                null,
+                                AppConstants.JOB_APPLIED_SUCCESS,
+                                HttpStatus.OK.value()));
+        }
+
         /* ================= UPDATE ================= */
 
         /**
          * Update an existing job
          *
-         * @param id  ID of the job to update
-         * @param dto Updated job data
-         * @return ResponseEntity containing updated job information
+         * Executed as a single conditional UPDATE. When If-Match carries the ETag
+         * returned by GET, the update only succeeds if the job was not modified
+         * in the meantime.
+         *
+         * @param id      ID of the job to update
+         * @param ifMatch Optional ETag of the version being edited
+         * @param dto     Updated job data
+         * @return ResponseEntity containing updated job information and its new ETag
          */
-        @Operation(summary = "Update job", description = "Update an existing job by providing its ID and new data")
+        @Operation(summary = "Update job", description = "Update an existing job by providing its ID and new data. Send If-Match with the job's ETag to reject concurrent modifications with 409")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Job updated successfully"),
-                        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+                        @ApiResponse(responseCode = "400", description = "Invalid input data or malformed If-Match header"),
                         @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
                         @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions to update jobs"),
                         @ApiResponse(responseCode = "404", description = "Job not found with the provided ID"),
+                        @ApiResponse(responseCode = "409", description = "Job was modified since the version in If-Match"),
                         @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
         })
         @PutMapping("/{id}")
         public ResponseEntity<ApiRes<JobResponseDTO>> update(
                         @PathVariable Long id,
+                        @Parameter(description = "ETag of the job version being edited") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                         @Valid @RequestBody JobRequestDTO dto) {
 
-                JobResponseDTO updatedJob = jobService.update(id, dto);
+                JobResponseDTO updatedJob = jobService.update(id, dto, JobETag.parseVersion(ifMatch, id));
 
-                return ResponseEntity.ok(
-                                ApiRes.success(
+                return ResponseEntity.ok()
+                                .eTag(JobETag.of(updatedJob.getId(), updatedJob.getVersion()))
+                                .body(ApiRes.success(
                                                 updatedJob,
                                                 AppConstants.JOB_UPDATED_SUCCESS,
                                                 HttpStatus.OK.value()));
@@ -201,8 +452,177 @@ public class JobController {
                                                 HttpStatus.OK.value()));
         }
 
+        /* ================= BULK ================= */
+
+        /**
+         * Update many jobs at once
+         *
+         * @param request ids and/or filter selecting the jobs, plus the fields to change
+         * @return ResponseEntity containing the number of affected jobs
+         */
+        @Operation(summary = "Bulk update jobs", description = "Update all jobs matching the given ids and/or filter with a single UPDATE statement. Only provided fields are changed; encrypted fields are encrypted once per request")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Jobs updated successfully. Returns the affected count"),
+                        @ApiResponse(responseCode = "400", description = "Invalid input data, no selection criteria or no fields to update"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions to update jobs"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @PatchMapping("/bulk")
+        public ResponseEntity<ApiRes<JobBulkResultDTO>> bulkUpdate(
+                        @Valid @RequestBody JobBulkUpdateRequestDTO request) {
+
+                JobBulkResultDTO result = jobService.bulkUpdate(request);
+
+                return ResponseEntity.ok(
+                                ApiRes.success(
+                                                result,
+                                                AppConstants.JOB_BULK_UPDATED_SUCCESS,
+                                                HttpStatus.OK.value()));
+        }
+
+        /**
+         * Delete many jobs at once
+         *
+         * @param request ids and/or filter selecting the jobs
+         * @return ResponseEntity containing the number of deleted jobs
+         */
+        @Operation(summary = "Bulk delete jobs", description = "Delete all jobs matching the given ids and/or filter with a single DELETE statement. This action is irreversible")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Jobs deleted successfully. Returns the affected count"),
+                        @ApiResponse(responseCode = "400", description = "Invalid input data or no selection criteria"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions to delete jobs"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @DeleteMapping("/bulk")
+        public ResponseEntity<ApiRes<JobBulkResultDTO>> bulkDelete(
+                        @Valid @RequestBody JobBulkDeleteRequestDTO request) {
+
+                JobBulkResultDTO result = jobService.bulkDelete(request);
+
+                return ResponseEntity.ok(
+                                ApiRes.success(
+                                                result,
+                                                AppConstants.JOB_BULK_DELETED_SUCCESS,
+                                                HttpStatus.OK.value()));
+        }
+
         /* ================= SEARCH (MUST BE BEFORE GET BY ID) ================= */
 
+        /**
+         * Get job counts per type, status and salary band
+         *
+         * Served from in-memory counters that are kept up to date on every write
+         * and periodically re-checked against the database.
+         *
+         * @return ResponseEntity containing facet counts
+         */
+        @Operation(summary = "Get job facets", description = "Counts of jobs per type, status and salary band, served from precomputed in-memory counters")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Facets retrieved successfully"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @GetMapping("/facets")
+        public ResponseEntity<ApiRes<JobFacetsDTO>> getFacets() {
+
+                JobFacetsDTO facets = jobService.getFacets();
+
+                return ResponseEntity.ok(
+                                ApiRes.success(
+                                                facets,
+                                                AppConstants.JOB_FACETS_SUCCESS,
+                                                HttpStatus.OK.value()));
+        }
+
+        /**
+         * Filter jobs by salary range, type, status and title prefix
+         *
+         * All criteria are optional and combined with AND. Each combination is
+         * served by one of the composite indexes declared on the jobs table.
+         * NOTE: This endpoint must be defined BEFORE @GetMapping("/{id}")
+         *
+         * @param filter    Filter criteria (salaryMin, salaryMax, type, status, titlePrefix)
+         * @param page      Page number (default is 0, must be >= 0)
+         * @param size      Page size (default is 10, must be 1-100)
+         * @param sort      Sort key, always combined with id (default ID)
+         * @param direction Sort direction (default ASC)
+         * @param fields    Comma-separated fields to return (overrides view)
+         * @param view      Predefined field set (SUMMARY or DETAIL)
+         * @return ResponseEntity containing paginated filter results
+         */
+        @Operation(summary = "Filter jobs", description = "Filter jobs by salary range, type, status and title prefix (LIKE 'x%') with pagination and whitelisted sorting")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Jobs filtered successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid filter parameters. salaryMin must be <= salaryMax, page >= 0, size 1-100"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @GetMapping("/filter")
+        public ResponseEntity<ApiRes<PageResponseDTO<JobResponseDTO>>> filter(
+                        @Valid JobFilterDTO filter,
+                        @Parameter(description = "Page number (default 0, must be >= 0)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_STR) @Min(value = 0, message = "Page must be >= 0") int page,
+                        @Parameter(description = "Page size (default 10, must be 1-100)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size,
+                        @Parameter(description = "Sort key: ID or SALARY (default ID)") @RequestParam(defaultValue = "ID") EJobSort sort,
+                        @Parameter(description = "Sort direction: ASC or DESC (default ASC)") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                        @Parameter(description = "Comma-separated fields to return, e.g. title,company,salary (overrides view; id is always returned)") @RequestParam(required = false) String fields,
+                        @Parameter(description = "Predefined field set: SUMMARY (no location/description) or DETAIL (default)") @RequestParam(defaultValue = "DETAIL") EJobView view) {
+
+                Sort order = sort == EJobSort.ID
+                                ? Sort.by(direction, "id")
+                                : Sort.by(direction, sort.getProperty(), "id");
+                var pageable = PageRequest.of(page, size, order);
+                var pageData = jobService.filter(filter, pageable, JobFieldSelector.resolve(fields, view));
+
+                PageResponseDTO<JobResponseDTO> response = new PageResponseDTO<>(pageData);
+
+                return ResponseEntity.ok(
+                                ApiRes.success(
+                                                response,
+                                                AppConstants.JOB_FILTER_SUCCESS,
+                                                HttpStatus.OK.value()));
+        }
+
+        /**
+         * Full-text search over job title and description
+         *
+         * Bare terms are OR'ed and ranked with BM25 (title matches weigh more);
+         * quoted phrases must appear as-is. Served from the embedded search index.
+         * NOTE: This endpoint must be defined BEFORE @GetMapping("/{id}")
+         *
+         * @param q      Query, e.g. java "backend developer" (required, 1-255 characters)
+         * @param size   Maximum number of hits (default is 10, must be 1-100)
+         * @param fields Comma-separated fields to return (overrides view)
+         * @param view   Predefined field set (SUMMARY or DETAIL)
+         * @return ResponseEntity containing ranked hits and the total hit count
+         */
+        @Operation(summary = "Full-text search jobs", description = "Search job title and description with relevance ranking (BM25) and quoted phrase support")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid search parameters. Query cannot be blank, size 1-100"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @GetMapping("/search")
+        public ResponseEntity<ApiRes<JobSearchResponseDTO>> search(
+                        @Parameter(description = "Search query; quoted phrases must match exactly (required, 1-255 characters)") @RequestParam @NotBlank(message = "Query cannot be blank") @Size(min = 1, max = 255, message = "Query must be 1-255 characters") String q,
+                        @Parameter(description = "Maximum number of hits (default 10, must be 1-100)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size,
+                        @Parameter(description = "Comma-separated fields to return, e.g. title,company,salary (overrides view; id is always returned)") @RequestParam(required = false) String fields,
+                        @Parameter(description = "Predefined field set: SUMMARY (no location/description) or DETAIL (default)") @RequestParam(defaultValue = "DETAIL") EJobView view) {
+
+                JobSearchResponseDTO result = jobService.search(q, size, JobFieldSelector.resolve(fields, view));
+
+                return ResponseEntity.ok(
+                                ApiRes.success(
+                                                result,
+                                                AppConstants.JOB_SEARCH_SUCCESS,
+                                                HttpStatus.OK.value()));
+        }
+
         /**
          * Search jobs by title
          *
@@ -213,6 +633,8 @@ public class JobController {
          * @param title Job title to search (required, 1-255 characters)
          * @param page  Page number (default is 0, must be >= 0)
          * @param size  Page size (default is 10, must be 1-100)
+         * @param fields Comma-separated fields to return (overrides view)
+         * @param view   Predefined field set (SUMMARY or DETAIL)
          * @return ResponseEntity containing paginated search results
          */
         @Operation(summary = "Search jobs by title", description = "Search jobs by title using case-insensitive and partial match (LIKE) with pagination")
@@ -227,10 +649,12 @@ public class JobController {
         public ResponseEntity<ApiRes<PageResponseDTO<JobResponseDTO>>> searchByTitle(
                         @Parameter(description = "Job title to search (required, 1-255 characters)") @RequestParam @NotBlank(message = "Title cannot be blank") @Size(min = 1, max = 255, message = "Title must be 1-255 characters") String title,
                         @Parameter(description = "Page number (default 0, must be >= 0)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_STR) @Min(value = 0, message = "Page must be >= 0") int page,
-                        @Parameter(description = "Page size (default 10, must be 1-100)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size) {
+                        @Parameter(description = "Page size (default 10, must be 1-100)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size,
+                        @Parameter(description = "Comma-separated fields to return, e.g. title,company,salary (overrides view; id is always returned)") @RequestParam(required = false) String fields,
+                        @Parameter(description = "Predefined field set: SUMMARY (no location/description) or DETAIL (default)") @RequestParam(defaultValue = "DETAIL") EJobView view) {
 
                 var pageable = PageRequest.of(page, size);
-                var pageData = jobService.searchByTitle(title, pageable);
+                var pageData = jobService.searchByTitle(title, pageable, JobFieldSelector.resolve(fields, view));
 
                 PageResponseDTO<JobResponseDTO> response = new PageResponseDTO<>(pageData);
 
@@ -241,6 +665,41 @@ public class JobController {
                                                 HttpStatus.OK.value()));
         }
 
+        /**
+         * Search jobs by title with cursor (keyset) pagination
+         *
+         * @param title        Job title to search (required, 1-255 characters)
+         * @param cursor       nextCursor returned by the previous page (omit for the first page)
+         * @param size         Page size (default is 10, must be 1-100)
+         * @param sort         Sort key, always combined with id (default ID)
+         * @param includeTotal Whether to include an approximate total count (cached)
+         * @return ResponseEntity containing one page of matching jobs and the next cursor
+         */
+        @Operation(summary = "Search jobs by title with cursor pagination", description = "Same matching as /search/title but paginated by cursor: no COUNT query and no OFFSET scan")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid search parameters or cursor"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT token"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - User lacks required permissions"),
+                        @ApiResponse(responseCode = "500", description = "Internal server error. Please try again later")
+        })
+        @GetMapping("/search/title/scroll")
+        public ResponseEntity<ApiRes<CursorPageResponseDTO<JobResponseDTO>>> searchByTitleScroll(
+                        @Parameter(description = "Job title to search (required, 1-255 characters)") @RequestParam @NotBlank(message = "Title cannot be blank") @Size(min = 1, max = 255, message = "Title must be 1-255 characters") String title,
+                        @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size,
+                        @RequestParam(defaultValue = "ID") EJobSort sort,
+                        @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+                var pageData = jobService.scroll(title, sort, cursor, size, includeTotal);
+
+                return ResponseEntity.ok(
+                                ApiRes.success(
+                                                pageData,
+                                                AppConstants.SEARCH_BY_TITLE_SUCCESS,
+                                                HttpStatus.OK.value()));
+        }
+
         /**
          * Search jobs by company name
          *
@@ -255,6 +714,8 @@ public class JobController {
          * @param company Company name to search (required, 1-255 characters)
          * @param page    Page number (default is 0, must be >= 0)
          * @param size    Page size (default is 10, must be 1-100)
+         * @param fields  Comma-separated fields to return (overrides view)
+         * @param view    Predefined field set (SUMMARY or DETAIL)
          * @return ResponseEntity containing paginated search results
          */
         @Operation(summary = "Search jobs by company", description = "Search jobs by company name using case-insensitive and partial match (LIKE) with pagination. Note: This searches encrypted data by decrypting in memory, which may impact performance for large datasets.")
@@ -269,10 +730,12 @@ public class JobController {
         public ResponseEntity<ApiRes<PageResponseDTO<JobResponseDTO>>> searchByCompany(
                         @Parameter(description = "Company name to search (required, 1-255 characters)") @RequestParam @NotBlank(message = "Company cannot be blank") @Size(min = 1, max = 255, message = "Company must be 1-255 characters") String company,
                         @Parameter(description = "Page number (default 0, must be >= 0)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_STR) @Min(value = 0, message = "Page must be >= 0") int page,
-                        @Parameter(description = "Page size (default 10, must be 1-100)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size) {
+                        @Parameter(description = "Page size (default 10, must be 1-100)") @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE_STR) @Min(value = 1, message = "Size must be >= 1") @Max(value = 100, message = "Size cannot exceed 100 records per page") int size,
+                        @Parameter(description = "Comma-separated fields to return, e.g. title,company,salary (overrides view; id is always returned)") @RequestParam(required = false) String fields,
+                        @Parameter(description = "Predefined field set: SUMMARY (no location/description) or DETAIL (default)") @RequestParam(defaultValue = "DETAIL") EJobView view) {
 
                 var pageable = PageRequest.of(page, size);
-                var pageData = jobService.searchByCompany(company, pageable);
+                var pageData = jobService.searchByCompany(company, pageable, JobFieldSelector.resolve(fields, view));
 
                 PageResponseDTO<JobResponseDTO> response = new PageResponseDTO<>(pageData);
 
@@ -8,6 +8,8 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.crudjob.dto.request.RoleRequestDTO;
+import com.example.crudjob.dto.response.CacheInvalidationStatsDTO;
+import com.example.crudjob.dto.response.CacheRegionStatsDTO;
 import com.example.crudjob.dto.response.RoleResponseDTO;
 import com.example.crudjob.service.IRoleService;
 
@@ -48,6 +50,20 @@ public class RoleController {
         return ResponseEntity.ok(roleService.update(id, dto));
     }
 
+    @Operation(summary = "Get second-level cache statistics", description = "Hit/miss/put counts per cache region for roles, permissions and role_permission since startup")
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStats() {
+
+        return ResponseEntity.ok(roleService.getCacheStats());
+    }
+
+    @Operation(summary = "Get cross-node cache invalidation status", description = "Per-region cache_version applied on this node, number of invalidations caused by other nodes and observed lag, plus age of the last successful poll")
+    @GetMapping("/cache-invalidation")
+    public ResponseEntity<CacheInvalidationStatsDTO> getCacheInvalidationStats() {
+
+        return ResponseEntity.ok(roleService.getCacheInvalidationStats());
+    }
+
     @Operation(summary = "Get role by ID")
     @GetMapping("/{id}")
     public ResponseEntity<RoleResponseDTO> getById(
@@ -1,6 +1,13 @@
 package com.example.crudjob.controller;
 
+import com.example.crudjob.dto.response.AccountBalanceResponseDTO;
+import com.example.crudjob.dto.response.BalanceRebuildResultDTO;
+import com.example.crudjob.dto.response.CursorPageResponseDTO;
 import com.example.crudjob.dto.response.DecryptedTransferResponse;
+import com.example.crudjob.dto.response.LockStripeStatsDTO;
+import com.example.crudjob.dto.response.ReconciliationReportDTO;
+import com.example.crudjob.dto.response.RollupReportDTO;
+import com.example.crudjob.dto.response.TransactionHistoryResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,17 +17,33 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.crudjob.dto.EncryptedTransferCommand;
 import com.example.crudjob.dto.request.PlainTransferRequest;
+import com.example.crudjob.entity.enums.EExportFormat;
+import com.example.crudjob.entity.enums.ERollupGranularity;
+import com.example.crudjob.service.AccountBalanceService;
+import com.example.crudjob.service.ReconciliationService;
+import com.example.crudjob.service.TransactionExportService;
+import com.example.crudjob.service.TransactionHistoryService;
+import com.example.crudjob.service.TransactionRollupService;
 import com.example.crudjob.service.TransferService;
 import com.example.crudjob.utils.SecureLogUtil;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +65,11 @@ import lombok.extern.slf4j.Slf4j;
 public class TransferController {
 
     private final TransferService transferService;
+    private final AccountBalanceService accountBalanceService;
+    private final TransactionHistoryService transactionHistoryService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionRollupService transactionRollupService;
+    private final ReconciliationService reconciliationService;
 
     /**
      * =================================================
@@ -230,4 +258,190 @@ public class TransferController {
 
         return ResponseEntity.ok(decrypted);
     }
+
+    /**
+     * =================================================
+     * API LOCK STATS (MONITORING)
+     * =================================================
+     */
+    @Operation(
+            summary = "Account lock contention stats",
+            description = """
+                    Thống kê contention của striped lock theo tài khoản.
+                    Sắp xếp theo số lần phải chờ lock giảm dần.
+                    """
+    )
+    @GetMapping("/locks/stats")
+    public ResponseEntity<List<LockStripeStatsDTO>> getLockStats(
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1024) int limit) {
+
+        return ResponseEntity.ok(transferService.getLockStats(limit));
+    }
+
+    /**
+     * =================================================
+     * API ACCOUNT BALANCE (PROJECTION)
+     * =================================================
+     */
+    @Operation(
+            summary = "Get account balance",
+            description = """
+                    Đọc số dư từ projection account_balance (O(1), không quét lịch sử).
+                    ref có thể là số tài khoản hoặc blind index (hex 64 ký tự).
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lấy số dư thành công"),
+            @ApiResponse(responseCode = "404", description = "Tài khoản chưa có giao dịch")
+    })
+    @GetMapping("/accounts/{ref}/balance")
+    public ResponseEntity<AccountBalanceResponseDTO> getBalance(@PathVariable String ref) {
+
+        return ResponseEntity.ok(accountBalanceService.getBalance(ref));
+    }
+
+    @Operation(
+            summary = "Rebuild account balances from history",
+            description = """
+                    Dựng lại toàn bộ projection account_balance bằng cách stream
+                    transaction_history theo id. Transfer bị chặn (chờ hoặc 409) trong lúc rebuild,
+                    nên chạy lúc ít giao dịch.
+                    """
+    )
+    @PostMapping("/accounts/balance/rebuild")
+    public ResponseEntity<BalanceRebuildResultDTO> rebuildBalances() {
+
+        log.info("BALANCE_REBUILD_REQUESTED");
+        return ResponseEntity.ok(accountBalanceService.rebuildFromHistory());
+    }
+
+    /**
+     * =================================================
+     * API TRANSACTION HISTORY (KEYSET PAGINATION)
+     * =================================================
+     */
+    @Operation(
+            summary = "Query transaction history",
+            description = """
+                    Truy vấn lịch sử giao dịch theo khoảng thời gian / transactionId.
+                    Phân trang keyset trên (transactionTime, id): gửi lại nextCursor để lấy trang tiếp,
+                    không dùng OFFSET nên trang sâu có chi phí như trang đầu.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lấy lịch sử thành công"),
+            @ApiResponse(responseCode = "400", description = "Tham số hoặc cursor không hợp lệ")
+    })
+    @GetMapping("/history")
+    public ResponseEntity<CursorPageResponseDTO<TransactionHistoryResponseDTO>> getHistory(
+            @Parameter(description = "Từ thời điểm (bao gồm), ISO-8601")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Đến thời điểm (không bao gồm), ISO-8601")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String transactionId,
+            @Parameter(description = "nextCursor của trang trước")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size) {
+
+        return ResponseEntity.ok(
+                transactionHistoryService.getHistory(from, to, transactionId, cursor, size));
+    }
+
+    /**
+     * =================================================
+     * API TRANSACTION HISTORY EXPORT (STREAMING)
+     * =================================================
+     */
+    @Operation(
+            summary = "Export transaction history",
+            description = """
+                    Xuất toàn bộ lịch sử giao dịch trong khoảng thời gian dạng NDJSON hoặc CSV.
+                    Dữ liệu được stream trực tiếp từ DB cursor ra response (bộ nhớ không đổi theo số dòng),
+                    gzip=true để tải về file .gz (application/gzip).
+                    """
+    )
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @Parameter(description = "Từ thời điểm (bao gồm), ISO-8601")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Đến thời điểm (không bao gồm), ISO-8601")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") EExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        log.info("HISTORY_EXPORT_REQUESTED | from={} | to={} | format={} | gzip={}", from, to, format, gzip);
+
+        StreamingResponseBody body = out -> transactionExportService.export(from, to, format, gzip, out);
+
+        // gzip: tải về file .gz (application/gzip), không đặt Content-Encoding
+        // để client không tự giải nén rồi lưu nội dung thô dưới tên .gz
+        String filename = "transaction-history." + format.getExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(format.getContentType());
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * =================================================
+     * API DEBIT/CREDIT ROLLUPS
+     * =================================================
+     */
+    @Operation(
+            summary = "Debit/credit rollups",
+            description = """
+                    Tổng hợp số bản ghi, tổng nợ, tổng có theo giờ (HOUR) hoặc ngày (DAY).
+                    Đọc từ bảng transaction_rollup cộng phần giao dịch mới chưa được rollup,
+                    khoảng thời gian được mở rộng ra nguyên bucket.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lấy tổng hợp thành công"),
+            @ApiResponse(responseCode = "400", description = "Khoảng thời gian không hợp lệ")
+    })
+    @GetMapping("/rollups")
+    public ResponseEntity<RollupReportDTO> getRollups(
+            @RequestParam(defaultValue = "DAY") ERollupGranularity granularity,
+            @Parameter(description = "Từ thời điểm (bao gồm), ISO-8601")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Đến thời điểm (không bao gồm), ISO-8601")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        return ResponseEntity.ok(transactionRollupService.getRollups(granularity, from, to));
+    }
+
+    /**
+     * =================================================
+     * API LEDGER RECONCILIATION
+     * =================================================
+     */
+    @Operation(
+            summary = "Start ledger reconciliation",
+            description = """
+                    Chạy nền đối soát NỢ/CÓ theo transactionId (orphan, lệch số tiền, trùng lặp),
+                    tiếp tục từ checkpoint lần trước. reset=true để đối soát lại từ đầu.
+                    Nếu đang chạy thì trả về tiến độ hiện tại.
+                    """
+    )
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReportDTO> startReconciliation(
+            @RequestParam(defaultValue = "false") boolean reset) {
+
+        log.info("RECONCILIATION_REQUESTED | reset={}", reset);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.start(reset));
+    }
+
+    @Operation(
+            summary = "Ledger reconciliation report",
+            description = "Báo cáo (hoặc tiến độ) của lần đối soát gần nhất, kèm tốc độ rows/sec."
+    )
+    @GetMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReportDTO> getReconciliationReport() {
+
+        return ResponseEntity.ok(reconciliationService.getLatestReport());
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.crudjob.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Metadata của một segment archive transaction_history (bản trong bộ nhớ của history_archive_segment).
+ * Dùng để chọn segment cần đọc mà không phải tải block dữ liệu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistorySegmentMeta {
+
+    /** Tên partition nguồn (vd p202401) */
+    private String partition;
+
+    /** Số block dữ liệu (seq 0 .. blockCount - 1) */
+    private int blockCount;
+
+    private long rowCount;
+    private long minId;
+    private long maxId;
+    private LocalDateTime minTime;
+    private LocalDateTime maxTime;
+
+    /** Bloom filter các transactionId (Base64) */
+    private String transactionIdBloom;
+    private int bloomHashes;
+
+    private LocalDateTime createdAt;
+}
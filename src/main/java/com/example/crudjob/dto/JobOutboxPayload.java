@@ -0,0 +1,29 @@
+package com.example.crudjob.dto;
+
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload outbox của sự kiện JOB_*
+ *
+ * Chỉ gồm các field không mã hoá; hệ thống nhận cần chi tiết thì gọi GET /api/jobs/{id}.
+ * Với cập nhật hàng loạt chỉ các field thay đổi được set, DELETED chỉ có id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobOutboxPayload {
+
+    private Long id;
+    private String title;
+    private Integer salary;
+    private EJobType type;
+    private EJobStatus status;
+    private Long version;
+}
@@ -0,0 +1,30 @@
+package com.example.crudjob.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Danh sách segment đang dùng của chỉ mục tìm kiếm job (lưu dạng JSON trong thư mục chỉ mục).
+ * Chỉ các segment có trong manifest mới được mở khi khởi động.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchManifest {
+
+    private int formatVersion;
+
+    /** Generation sẽ cấp cho segment tiếp theo */
+    private long nextGeneration;
+
+    private List<Long> segments;
+
+    /** Dấu vân tay của khoá HMAC, khác khoá hiện tại → phải dựng lại chỉ mục */
+    private String keyFingerprint;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,40 @@
+package com.example.crudjob.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.crudjob.entity.OutboxEvent;
+import com.example.crudjob.entity.enums.EOutboxEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Sự kiện outbox gửi tới sink.
+ *
+ * Gửi theo kiểu at-least-once: hệ thống nhận phải bỏ qua id đã xử lý.
+ */
+@Data
+@AllArgsConstructor
+public class OutboxMessage {
+
+    private long id;
+    private EOutboxEventType type;
+    private String aggregateType;
+    private String aggregateId;
+    private LocalDateTime createdAt;
+
+    /** JSON đã serialize lúc ghi outbox, chèn nguyên văn */
+    @JsonRawValue
+    private String payload;
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(
+                event.getId(),
+                event.getEventType(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getCreatedAt(),
+                event.getPayload());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.crudjob.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload outbox của sự kiện TRANSFER_COMPLETED (không chứa số tài khoản)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferOutboxPayload {
+
+    private String transactionId;
+    private BigDecimal inDebt;
+    private BigDecimal have;
+    private LocalDateTime transactionTime;
+}
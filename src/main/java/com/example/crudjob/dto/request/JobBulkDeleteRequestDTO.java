@@ -0,0 +1,24 @@
+package com.example.crudjob.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Yêu cầu xoá hàng loạt: chọn job theo ids và/hoặc filter
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobBulkDeleteRequestDTO {
+
+    @Size(max = 1000, message = "ids must not exceed 1000 items")
+    private List<Long> ids;
+
+    @Valid
+    private JobFilterDTO filter;
+}
@@ -0,0 +1,29 @@
+package com.example.crudjob.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Yêu cầu cập nhật hàng loạt: chọn job theo ids và/hoặc filter, áp dụng changes
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobBulkUpdateRequestDTO {
+
+    @Size(max = 1000, message = "ids must not exceed 1000 items")
+    private List<Long> ids;
+
+    @Valid
+    private JobFilterDTO filter;
+
+    @Valid
+    @NotNull(message = "changes is required")
+    private JobPatchDTO changes;
+}
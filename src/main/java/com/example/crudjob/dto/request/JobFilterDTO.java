@@ -0,0 +1,38 @@
+package com.example.crudjob.dto.request;
+
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Điều kiện lọc job (các điều kiện được AND với nhau, null = bỏ qua)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobFilterDTO {
+
+    private EJobType type;
+
+    private EJobStatus status;
+
+    @Min(value = 0, message = "salaryMin must be >= 0")
+    private Integer salaryMin;
+
+    @Min(value = 0, message = "salaryMax must be >= 0")
+    private Integer salaryMax;
+
+    @Size(max = 255, message = "titlePrefix must not exceed 255 characters")
+    private String titlePrefix;
+
+    @AssertTrue(message = "salaryMin must be <= salaryMax")
+    private boolean isSalaryRangeValid() {
+        return salaryMin == null || salaryMax == null || salaryMin <= salaryMax;
+    }
+}
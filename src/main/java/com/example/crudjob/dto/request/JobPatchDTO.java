@@ -0,0 +1,42 @@
+package com.example.crudjob.dto.request;
+
+import java.time.LocalDateTime;
+
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Các field cần cập nhật hàng loạt (null = giữ nguyên)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobPatchDTO {
+
+    @Size(min = 3, max = 255, message = "Title must be between 3 and 255 characters")
+    private String title;
+
+    @Size(min = 2, max = 255, message = "Company must be between 2 and 255 characters")
+    private String company;
+
+    @Size(min = 2, max = 255, message = "Location must be between 2 and 255 characters")
+    private String location;
+
+    @Min(value = 0, message = "Salary must be greater than or equal to 0")
+    private Integer salary;
+
+    private EJobType type;
+
+    private EJobStatus status;
+
+    @Size(max = 2000, message = "Description must not exceed 2000 characters")
+    private String description;
+
+    private LocalDateTime expiresAt;
+}
@@ -1,5 +1,7 @@
 package com.example.crudjob.dto.request;
 
+import java.time.LocalDateTime;
+
 import com.example.crudjob.entity.enums.EJobStatus;
 import com.example.crudjob.entity.enums.EJobType;
 
@@ -40,4 +42,7 @@ public class JobRequestDTO {
 
     @Size(max = 2000, message = "Description must not exceed 2000 characters")
     private String description;
+
+    /** Thời điểm job tự đóng (null = không hết hạn) */
+    private LocalDateTime expiresAt;
 }
@@ -0,0 +1,23 @@
+package com.example.crudjob.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO trả về số dư của một tài khoản (không chứa số tài khoản plaintext)
+ */
+@Data
+@AllArgsConstructor
+public class AccountBalanceResponseDTO {
+
+    private String accountHash;
+    private BigDecimal totalDebit;
+    private BigDecimal totalCredit;
+    private BigDecimal balance;
+    private long transactionCount;
+    private LocalDateTime lastTransactionTime;
+    private LocalDateTime updatedAt;
+}
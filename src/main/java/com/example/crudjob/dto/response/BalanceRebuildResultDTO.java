@@ -0,0 +1,16 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO trả về kết quả dựng lại projection số dư
+ */
+@Data
+@AllArgsConstructor
+public class BalanceRebuildResultDTO {
+
+    private long rowsScanned;
+    private int accounts;
+    private long durationMs;
+}
@@ -0,0 +1,22 @@
+package com.example.crudjob.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Trạng thái bus invalidate cache trên instance hiện tại
+ */
+@Data
+@AllArgsConstructor
+public class CacheInvalidationStatsDTO {
+
+    /** Thời gian từ lần đọc cache_version thành công gần nhất, -1 = chưa đọc được lần nào */
+    private long lastPollAgeMs;
+
+    /** Số lần đọc lỗi liên tiếp */
+    private long consecutiveFailures;
+
+    private List<CacheRegionVersionDTO> regions;
+}
@@ -0,0 +1,20 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Thống kê một region cache cấp 2 (tính từ lúc khởi động)
+ */
+@Data
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+
+    /** hit / (hit + miss), 0 nếu chưa có lượt đọc */
+    private double hitRatio;
+}
@@ -0,0 +1,24 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Trạng thái đồng bộ một vùng cache giữa các instance (tính từ lúc khởi động)
+ */
+@Data
+@AllArgsConstructor
+public class CacheRegionVersionDTO {
+
+    private String region;
+
+    /** Version đã áp dụng trên instance này */
+    private long version;
+
+    /** Số lần xoá cache do instance khác thay đổi dữ liệu */
+    private long invalidations;
+
+    /** Độ trễ từ lúc tăng version tới lúc instance này xoá cache (lần gần nhất / lớn nhất) */
+    private long lastLagMs;
+    private long maxLagMs;
+}
@@ -0,0 +1,15 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * JobResponseDTO đã serialize sẵn (UTF-8 JSON) kèm strong ETag theo version
+ */
+@Getter
+@AllArgsConstructor
+public class CachedJobResponseDTO {
+
+    private final byte[] json;
+    private final String etag;
+}
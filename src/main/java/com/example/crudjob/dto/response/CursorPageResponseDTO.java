@@ -0,0 +1,37 @@
+package com.example.crudjob.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Trang kết quả theo keyset (seek) pagination.
+ * Không có totalElements/totalPages → không cần COUNT(*).
+ * approximateTotal chỉ có khi client yêu cầu (lấy từ cache, có thể lệch so với thực tế).
+ */
+public class CursorPageResponseDTO<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long approximateTotal;
+
+    public CursorPageResponseDTO(List<T> content, int size, String nextCursor) {
+        this(content, size, nextCursor, null);
+    }
+
+    public CursorPageResponseDTO(List<T> content, int size, String nextCursor, Long approximateTotal) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.approximateTotal = approximateTotal;
+    }
+
+    public List<T> getContent() { return content; }
+    public int getSize() { return size; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasNext() { return hasNext; }
+    public Long getApproximateTotal() { return approximateTotal; }
+}
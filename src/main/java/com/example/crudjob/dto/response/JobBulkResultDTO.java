@@ -0,0 +1,15 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO kết quả thao tác hàng loạt trên job
+ */
+@Data
+@AllArgsConstructor
+public class JobBulkResultDTO {
+
+    /** Số job bị ảnh hưởng */
+    private long affected;
+}
@@ -0,0 +1,30 @@
+package com.example.crudjob.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.crudjob.entity.enums.EJobEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Sự kiện thay đổi job gửi qua SSE (GET /api/jobs/stream)
+ *
+ * job chỉ có khi thay đổi một job đơn lẻ (create/update);
+ * thao tác hàng loạt chỉ gửi danh sách id, client tự tải lại nếu cần.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobChangeEventDTO {
+
+    private EJobEventType type;
+
+    private List<Long> jobIds;
+
+    private JobResponseDTO job;
+
+    private LocalDateTime occurredAt;
+}
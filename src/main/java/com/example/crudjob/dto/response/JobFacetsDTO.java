@@ -0,0 +1,23 @@
+package com.example.crudjob.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Số job theo từng type, status và khoảng lương (đếm sẵn trong bộ nhớ)
+ */
+@Data
+@AllArgsConstructor
+public class JobFacetsDTO {
+
+    private long total;
+    private Map<EJobType, Long> byType;
+    private Map<EJobStatus, Long> byStatus;
+    private List<SalaryBandFacetDTO> bySalaryBand;
+}
@@ -0,0 +1,17 @@
+package com.example.crudjob.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO lỗi của một dòng khi import job (row tính từ 1, không tính dòng header)
+ */
+@Data
+@AllArgsConstructor
+public class JobImportErrorDTO {
+
+    private long row;
+    private List<String> messages;
+}
@@ -0,0 +1,22 @@
+package com.example.crudjob.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO kết quả import job: số dòng thành công/thất bại và lỗi theo dòng
+ */
+@Data
+@AllArgsConstructor
+public class JobImportResultDTO {
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long durationMs;
+
+    /** Lỗi theo dòng (giới hạn số lượng, xem failed để biết tổng) */
+    private List<JobImportErrorDTO> errors;
+}
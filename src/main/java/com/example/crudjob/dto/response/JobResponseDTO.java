@@ -1,5 +1,9 @@
 package com.example.crudjob.dto.response;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import com.example.crudjob.entity.enums.EJobStatus;
 import com.example.crudjob.entity.enums.EJobType;
 
@@ -8,6 +12,7 @@ import lombok.Getter;
 
 @Getter
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JobResponseDTO {
 
     private Long id;
@@ -18,5 +23,7 @@ public class JobResponseDTO {
     private EJobType type;
     private EJobStatus status;
     private String description;
+    private LocalDateTime expiresAt;
+    private Long version;
 
 }
@@ -0,0 +1,16 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Một kết quả tìm kiếm full-text: điểm liên quan (BM25) và job
+ */
+@Data
+@AllArgsConstructor
+public class JobSearchHitDTO {
+
+    private double score;
+
+    private JobResponseDTO job;
+}
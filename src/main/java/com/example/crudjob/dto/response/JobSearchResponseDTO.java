@@ -0,0 +1,19 @@
+package com.example.crudjob.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO kết quả tìm kiếm full-text, sắp theo điểm giảm dần
+ */
+@Data
+@AllArgsConstructor
+public class JobSearchResponseDTO {
+
+    /** Tổng số job khớp truy vấn (không chỉ các job được trả về) */
+    private long totalHits;
+
+    private List<JobSearchHitDTO> hits;
+}
@@ -0,0 +1,18 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Số lượt xem / ứng tuyển của job (đã lưu + delta chưa flush)
+ */
+@Data
+@AllArgsConstructor
+public class JobStatsDTO {
+
+    private Long jobId;
+
+    private long viewCount;
+
+    private long applyCount;
+}
@@ -0,0 +1,19 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO trả về thống kê contention của một stripe lock tài khoản
+ */
+@Data
+@AllArgsConstructor
+public class LockStripeStatsDTO {
+
+    private int stripe;
+    private long acquisitions;
+    private long contended;
+    private long totalWaitMicros;
+    private long avgWaitMicros;
+    private int queueLength;
+}
@@ -0,0 +1,24 @@
+package com.example.crudjob.dto.response;
+
+import java.math.BigDecimal;
+
+import com.example.crudjob.entity.enums.EReconciliationIssue;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO một sai lệch phát hiện khi đối soát (theo transactionId)
+ */
+@Data
+@AllArgsConstructor
+public class ReconciliationIssueDTO {
+
+    private String transactionId;
+    private EReconciliationIssue type;
+    private long minId;
+    private long maxId;
+    private int rowCount;
+    private BigDecimal totalDebit;
+    private BigDecimal totalCredit;
+}
@@ -0,0 +1,43 @@
+package com.example.crudjob.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.crudjob.entity.enums.EReconciliationStatus;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO báo cáo (tiến độ) của một lần đối soát NỢ/CÓ
+ */
+@Getter
+@Builder
+public class ReconciliationReportDTO {
+
+    private EReconciliationStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /** Khoảng id của lần chạy: (fromId, toId] */
+    private long fromId;
+    private long toId;
+
+    /** Checkpoint đã lưu, lần chạy sau bắt đầu từ đây */
+    private long checkpointId;
+
+    private long rowsScanned;
+    private long transactionsChecked;
+    private long orphanCount;
+    private long mismatchCount;
+    private long duplicateCount;
+
+    /** Số transactionId chưa đủ cặp ở cuối khoảng (có thể đang ghi dở, để lần sau kiểm tra) */
+    private long pendingCount;
+
+    private double rowsPerSecond;
+    private String error;
+
+    /** Danh sách sai lệch (giới hạn số lượng, xem các *Count để biết tổng) */
+    private List<ReconciliationIssueDTO> issues;
+}
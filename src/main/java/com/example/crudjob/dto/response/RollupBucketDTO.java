@@ -0,0 +1,20 @@
+package com.example.crudjob.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO tổng hợp NỢ/CÓ của một bucket thời gian
+ */
+@Data
+@AllArgsConstructor
+public class RollupBucketDTO {
+
+    private LocalDateTime bucketStart;
+    private long transactionCount;
+    private BigDecimal totalDebit;
+    private BigDecimal totalCredit;
+}
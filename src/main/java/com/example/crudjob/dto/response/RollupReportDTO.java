@@ -0,0 +1,30 @@
+package com.example.crudjob.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.crudjob.entity.enums.ERollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO kết quả truy vấn rollup: các bucket trong khoảng [from, to) và tổng cộng
+ */
+@Data
+@AllArgsConstructor
+public class RollupReportDTO {
+
+    private ERollupGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    /** Id lớn nhất đã được cộng vào bảng rollup, phần sau được cộng trực tiếp từ lịch sử */
+    private long rolledUpToId;
+
+    private long transactionCount;
+    private BigDecimal totalDebit;
+    private BigDecimal totalCredit;
+    private List<RollupBucketDTO> buckets;
+}
@@ -0,0 +1,20 @@
+package com.example.crudjob.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Số job trong một khoảng lương [min, max)
+ */
+@Data
+@AllArgsConstructor
+public class SalaryBandFacetDTO {
+
+    /** Cận dưới (bao gồm) */
+    private int min;
+
+    /** Cận trên (không bao gồm), null = không giới hạn */
+    private Integer max;
+
+    private long count;
+}
@@ -0,0 +1,22 @@
+package com.example.crudjob.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO trả về một bản ghi lịch sử giao dịch (account đã giải mã)
+ */
+@Data
+@AllArgsConstructor
+public class TransactionHistoryResponseDTO {
+
+    private Long id;
+    private String transactionId;
+    private String account;
+    private BigDecimal inDebt;
+    private BigDecimal have;
+    private LocalDateTime transactionTime;
+}
@@ -0,0 +1,73 @@
+package com.example.crudjob.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Projection số dư theo tài khoản.
+ *
+ * Mỗi bản ghi tương ứng với:
+ * - Một tài khoản, định danh bằng blind index (HMAC của số tài khoản)
+ * - Tổng nợ / tổng có đã cộng dồn từ transaction_history
+ *
+ * Lưu ý:
+ * - Được cập nhật trong cùng transaction với các bản ghi NỢ/CÓ
+ * - Có thể dựng lại toàn bộ từ transaction_history khi cần
+ * - Balance = totalCredit - totalDebit
+ */
+@Entity
+@Table(name = "account_balance")
+@Getter
+@Setter
+public class AccountBalance {
+
+    /**
+     * Blind index của số tài khoản (HMAC-SHA256 hex).
+     */
+    @Id
+    @Column(name = "account_hash", length = 64)
+    private String accountHash;
+
+    /**
+     * Tổng số tiền ghi nợ.
+     */
+    @Column(name = "total_debit", nullable = false, precision = 20, scale = 2)
+    private BigDecimal totalDebit;
+
+    /**
+     * Tổng số tiền ghi có.
+     */
+    @Column(name = "total_credit", nullable = false, precision = 20, scale = 2)
+    private BigDecimal totalCredit;
+
+    /**
+     * Số dư hiện tại (totalCredit - totalDebit).
+     */
+    @Column(name = "balance", nullable = false, precision = 20, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * Số bản ghi NỢ/CÓ đã cộng dồn.
+     */
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    /**
+     * Thời gian giao dịch gần nhất.
+     */
+    @Column(name = "last_transaction_time")
+    private LocalDateTime lastTransactionTime;
+
+    /**
+     * Thời điểm projection được cập nhật lần cuối.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
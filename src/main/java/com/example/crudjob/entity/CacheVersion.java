@@ -0,0 +1,35 @@
+package com.example.crudjob.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Version của một vùng cache dùng chung giữa các instance.
+ *
+ * Instance ghi dữ liệu tăng version, các instance khác thấy version đổi
+ * thì xoá vùng cache tương ứng trong bộ nhớ của mình (CacheInvalidationBus).
+ */
+@Entity
+@Table(name = "cache_version")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CacheVersion {
+
+    @Id
+    @Column(name = "region", length = 64)
+    private String region;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false, columnDefinition = "DATETIME(3)")
+    private LocalDateTime updatedAt;
+}
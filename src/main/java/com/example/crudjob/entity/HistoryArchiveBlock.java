@@ -0,0 +1,60 @@
+package com.example.crudjob.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Một block dữ liệu archive (tối đa vài nghìn dòng, nén gzip, lưu theo cột).
+ *
+ * Các block của một partition được đánh số seq theo thứ tự (transactionTime, id),
+ * mỗi block lưu khoá dòng đầu / dòng cuối → trang kế tiếp seek thẳng tới block chứa cursor
+ * qua idx_archive_block_last_key thay vì đọc lại segment từ đầu.
+ */
+@Entity
+@Table(name = "history_archive_block", indexes = {
+        @Index(name = "idx_archive_block_last_key", columnList = "partition_name, last_time, last_id")
+})
+@IdClass(HistoryArchiveBlockId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class HistoryArchiveBlock {
+
+    @Id
+    @Column(name = "partition_name", length = 16)
+    private String partition;
+
+    @Id
+    @Column(name = "seq")
+    private int seq;
+
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    @Column(name = "first_time", nullable = false)
+    private LocalDateTime firstTime;
+
+    @Column(name = "first_id", nullable = false)
+    private long firstId;
+
+    @Column(name = "last_time", nullable = false)
+    private LocalDateTime lastTime;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    /** Dữ liệu block đã nén (MEDIUMBLOB trên MySQL) */
+    @Lob
+    @Column(name = "data", nullable = false, length = 16_777_215)
+    private byte[] data;
+}
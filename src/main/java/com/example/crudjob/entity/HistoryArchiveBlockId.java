@@ -0,0 +1,19 @@
+package com.example.crudjob.entity;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Khoá chính của HistoryArchiveBlock: (partition, seq)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryArchiveBlockId implements Serializable {
+
+    private String partition;
+    private int seq;
+}
@@ -0,0 +1,63 @@
+package com.example.crudjob.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Một partition transaction_history đã được archive.
+ *
+ * Mỗi bản ghi tương ứng với:
+ * - Một partition tháng đã DROP khỏi bảng nóng (vd p202401)
+ * - Khoảng id / thời gian, số dòng, số block dữ liệu (history_archive_block)
+ * - Bloom filter các transactionId để bỏ qua segment khi lọc theo transactionId
+ *
+ * Lưu trong DB (không phải file cục bộ) → mọi instance đọc được cùng một archive.
+ */
+@Entity
+@Table(name = "history_archive_segment")
+@Getter
+@Setter
+@NoArgsConstructor
+public class HistoryArchiveSegment {
+
+    @Id
+    @Column(name = "partition_name", length = 16)
+    private String partition;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    @Column(name = "block_count", nullable = false)
+    private int blockCount;
+
+    @Column(name = "min_id", nullable = false)
+    private long minId;
+
+    @Column(name = "max_id", nullable = false)
+    private long maxId;
+
+    @Column(name = "min_time", nullable = false)
+    private LocalDateTime minTime;
+
+    @Column(name = "max_time", nullable = false)
+    private LocalDateTime maxTime;
+
+    /** Bloom filter các transactionId (Base64) */
+    @Lob
+    @Column(name = "transaction_id_bloom", nullable = false)
+    private String transactionIdBloom;
+
+    @Column(name = "bloom_hashes", nullable = false)
+    private int bloomHashes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
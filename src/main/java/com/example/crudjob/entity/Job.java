@@ -1,7 +1,11 @@
 package com.example.crudjob.entity;
 
+import java.time.LocalDateTime;
+
+import com.example.crudjob.constant.AppConstants;
 import com.example.crudjob.entity.enums.EJobStatus;
 import com.example.crudjob.entity.enums.EJobType;
+import org.hibernate.annotations.ColumnDefault;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -12,14 +16,26 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        // Cột so sánh bằng đứng trước, cột range (salary) đứng cuối;
+        // cũng cho sẵn thứ tự salary khi lọc status + type → không filesort
+        @Index(name = "idx_job_status_type_salary", columnList = "status, type, salary"),
+        @Index(name = "idx_job_type_salary", columnList = "type, salary"),
+        // Khoảng lương đơn lẻ + keyset theo salary
+        @Index(name = "idx_job_salary", columnList = "salary"),
+        // LIKE 'prefix%' (collation mặc định của MySQL không phân biệt hoa thường)
+        @Index(name = "idx_job_title", columnList = "title"),
+        // Quét job hết hạn: status = 'Open' AND expires_at <= now, theo thứ tự expires_at
+        @Index(name = "idx_job_status_expires", columnList = "status, expires_at")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Job {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_seq")
+    @SequenceGenerator(name = "job_seq", sequenceName = "job_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Job title is required")
@@ -56,6 +72,17 @@ public class Job {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    // Hết hạn thì JobExpiryProcessor tự chuyển sang Closed (null = không hết hạn)
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    // Tăng mỗi lần cập nhật (optimistic locking + ETag).
+    // Không dùng columnDefinition: Hibernate lấy nguyên chuỗi đó làm kiểu CAST trong version = version + ?
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // ===== Getter / Setter =====
 
     public Long getId() {
@@ -117,4 +144,16 @@ public class Job {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.crudjob.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Số lượt xem / ứng tuyển đã cộng dồn của một job.
+ *
+ * Không cập nhật theo từng lượt: JobStatsCounter gom delta trong bộ nhớ
+ * rồi upsert theo lô định kỳ.
+ */
+@Entity
+@Table(name = "job_stats")
+@Getter
+@Setter
+public class JobStats {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "apply_count", nullable = false)
+    private long applyCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,54 @@
+package com.example.crudjob.entity;
+
+import java.time.LocalDateTime;
+
+import com.example.crudjob.entity.enums.EOutboxEventType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sự kiện chờ gửi cho hệ thống khác (transactional outbox).
+ *
+ * Được ghi trong cùng transaction với dữ liệu nghiệp vụ, OutboxRelay đọc theo id tăng dần
+ * và gửi tới các sink. Id dùng AUTO_INCREMENT (không cấp theo lô như các bảng khác)
+ * để thứ tự id gần với thứ tự commit.
+ * Payload không chứa field mã hoá (company, location, description, số tài khoản).
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private EOutboxEventType eventType;
+
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 100)
+    private String aggregateId;
+
+    /** JSON */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
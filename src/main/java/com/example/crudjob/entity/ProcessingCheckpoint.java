@@ -0,0 +1,38 @@
+package com.example.crudjob.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Vị trí đã xử lý của các job tail transaction_history.
+ *
+ * Mỗi bản ghi tương ứng với một job (name), lưu id lớn nhất đã xử lý xong.
+ */
+@Entity
+@Table(name = "processing_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProcessingCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ProcessingCheckpoint(String name) {
+        this.name = name;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.crudjob.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -10,9 +11,14 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.example.crudjob.constant.AppConstants;
 import com.example.crudjob.entity.enums.ERole;
 
 import lombok.Data;
@@ -22,10 +28,14 @@ import java.util.Set;
 @Entity
 @Table(name = "roles")
 @Data
+// Đọc ở mọi request (phân quyền), hiếm khi đổi → cache cấp 2
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CACHE_ROLE)
 public class Role {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "Role name cannot be null")
@@ -33,6 +43,7 @@ public class Role {
     private ERole name;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CACHE_ROLE_PERMISSIONS)
     @JoinTable(name = "role_permission", joinColumns = @JoinColumn(name = "role_id"), inverseJoinColumns = @JoinColumn(name = "permission_id"))
     private Set<Permission> permissions;
 }
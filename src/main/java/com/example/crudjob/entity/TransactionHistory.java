@@ -30,8 +30,11 @@ import lombok.Setter;
 public class TransactionHistory {
 
     /**
-     * ID nội bộ của bản ghi (auto-increment).
+     * ID nội bộ của bản ghi (auto increment).
      * Chỉ dùng cho DB, không dùng cho nghiệp vụ.
+     *
+     * Giữ IDENTITY (không cấp theo lô như Job): rollup / đối soát tail bảng theo id,
+     * id cấp theo lô ở nhiều instance không tăng theo thứ tự commit nên sẽ bỏ sót bản ghi.
      */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,62 @@
+package com.example.crudjob.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.crudjob.entity.enums.ERollupGranularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Tổng hợp NỢ/CÓ theo giờ / ngày.
+ *
+ * Mỗi bản ghi tương ứng với:
+ * - Một bucket thời gian (theo transactionTime) ở một mức chi tiết
+ * - Số bản ghi lịch sử, tổng nợ, tổng có trong bucket
+ *
+ * Lưu ý:
+ * - Được cộng dồn bởi job tail transaction_history theo id (checkpoint "transaction_rollup")
+ * - Dữ liệu sau checkpoint được cộng thêm lúc truy vấn
+ */
+@Entity
+@Table(name = "transaction_rollup")
+@IdClass(TransactionRollupId.class)
+@Getter
+@Setter
+public class TransactionRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 10)
+    private ERollupGranularity granularity;
+
+    /**
+     * Thời điểm bắt đầu bucket (đã làm tròn xuống theo granularity).
+     */
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    /**
+     * Số bản ghi NỢ/CÓ trong bucket.
+     */
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "total_debit", nullable = false, precision = 20, scale = 2)
+    private BigDecimal totalDebit;
+
+    @Column(name = "total_credit", nullable = false, precision = 20, scale = 2)
+    private BigDecimal totalCredit;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
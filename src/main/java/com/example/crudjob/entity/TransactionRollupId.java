@@ -0,0 +1,22 @@
+package com.example.crudjob.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.example.crudjob.entity.enums.ERollupGranularity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Khoá chính của TransactionRollup: (granularity, bucketStart)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionRollupId implements Serializable {
+
+    private ERollupGranularity granularity;
+    private LocalDateTime bucketStart;
+}
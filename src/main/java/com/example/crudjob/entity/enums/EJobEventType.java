@@ -0,0 +1,7 @@
+package com.example.crudjob.entity.enums;
+
+public enum EJobEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,35 @@
+package com.example.crudjob.entity.enums;
+
+public enum EJobField {
+    ID("id", false),
+    TITLE("title", false),
+    COMPANY("company", true),
+    LOCATION("location", true),
+    SALARY("salary", false),
+    TYPE("type", false),
+    STATUS("status", false),
+    DESCRIPTION("description", true),
+    EXPIRES_AT("expiresAt", false);
+
+    private final String attribute;
+    private final boolean encrypted;
+
+    EJobField(String attribute, boolean encrypted) {
+        this.attribute = attribute;
+        this.encrypted = encrypted;
+    }
+
+    /**
+     * Tên thuộc tính của Job (cũng là tên field trong JSON response)
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Field được mã hoá trong DB → phải giải mã khi trả về
+     */
+    public boolean isEncrypted() {
+        return encrypted;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.crudjob.entity.enums;
+
+public enum EJobSort {
+    ID("id"),
+    SALARY("salary");
+
+    private final String property;
+
+    EJobSort(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Tên thuộc tính của Job dùng để sắp xếp (luôn kèm id để thứ tự là duy nhất)
+     */
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.crudjob.entity.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum EJobView {
+    SUMMARY(EnumSet.of(
+            EJobField.ID,
+            EJobField.TITLE,
+            EJobField.COMPANY,
+            EJobField.SALARY,
+            EJobField.TYPE,
+            EJobField.STATUS)),
+    DETAIL(EnumSet.allOf(EJobField.class));
+
+    private final Set<EJobField> fields;
+
+    EJobView(Set<EJobField> fields) {
+        this.fields = fields;
+    }
+
+    public Set<EJobField> getFields() {
+        return EnumSet.copyOf(fields);
+    }
+}
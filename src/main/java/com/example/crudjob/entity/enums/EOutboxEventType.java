@@ -0,0 +1,18 @@
+package com.example.crudjob.entity.enums;
+
+public enum EOutboxEventType {
+    JOB_CREATED("JOB"),
+    JOB_UPDATED("JOB"),
+    JOB_DELETED("JOB"),
+    TRANSFER_COMPLETED("TRANSFER");
+
+    private final String aggregateType;
+
+    EOutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.crudjob.entity.enums;
+
+public enum EReconciliationIssue {
+    /** Có bản ghi NỢ nhưng không có bản ghi CÓ */
+    ORPHAN_DEBIT,
+    /** Có bản ghi CÓ nhưng không có bản ghi NỢ */
+    ORPHAN_CREDIT,
+    /** Số tiền NỢ khác số tiền CÓ */
+    AMOUNT_MISMATCH,
+    /** Nhiều hơn một bản ghi NỢ hoặc CÓ cho cùng transactionId */
+    DUPLICATE
+}
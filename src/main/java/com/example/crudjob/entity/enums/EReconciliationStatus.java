@@ -0,0 +1,8 @@
+package com.example.crudjob.entity.enums;
+
+public enum EReconciliationStatus {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.example.crudjob.entity.enums;
+
+/**
+ * Cách chọn replica cho transaction read-only
+ */
+public enum EReplicaSelection {
+    /** Lần lượt từng replica đang khoẻ */
+    ROUND_ROBIN,
+    /** Replica có ít connection đang dùng nhất */
+    LEAST_BUSY
+}
@@ -40,7 +40,8 @@ public enum ErrorCode {
     TRANSFER_SAME_ACCOUNT("TRF_004", "Source and target accounts cannot be the same"),
     TRANSFER_INVALID_AMOUNT("TRF_005", "Transfer amount must be positive"),
     TRANSFER_PERSISTENCE_FAILED("TRF_006", "Failed to save transaction to database"),
-    TRANSFER_DECRYPTION_FAILED("TRF_007", "Failed to decrypt transfer parameters");
+    TRANSFER_DECRYPTION_FAILED("TRF_007", "Failed to decrypt transfer parameters"),
+    TRANSFER_LOCK_TIMEOUT("TRF_008", "Account is busy with another transfer, please retry");
 
     private final String code;
     private final String defaultMessage;
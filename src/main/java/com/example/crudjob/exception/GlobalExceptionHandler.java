@@ -7,12 +7,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.example.crudjob.constant.AppConstants;
 import com.example.crudjob.dto.response.ApiRes;
+import com.example.crudjob.entity.enums.ErrorCode;
 
 import jakarta.validation.ConstraintViolationException;
 
@@ -34,6 +36,33 @@ public class GlobalExceptionHandler {
                                 .body(ApiRes.error(ex.getMessage(), HttpStatus.NOT_FOUND.value()));
         }
 
+        /* ========= 409 ========= */
+        /**
+         * Xử lý xung đột version khi cập nhật đồng thời (409)
+         * 
+         * @param ex ConflictException
+         * @return ResponseEntity với status 409
+         */
+        @ExceptionHandler(ConflictException.class)
+        public ResponseEntity<ApiRes<Void>> handleConflict(ConflictException ex) {
+                logger.warn("HANDLER_409: Conflict - message: {}", ex.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(ApiRes.error(ex.getMessage(), HttpStatus.CONFLICT.value()));
+        }
+
+        /**
+         * Xử lý optimistic locking thất bại khi ghi qua entity (409)
+         * 
+         * @param ex ObjectOptimisticLockingFailureException
+         * @return ResponseEntity với status 409
+         */
+        @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+        public ResponseEntity<ApiRes<Void>> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+                logger.warn("HANDLER_409: Optimistic lock failure - message: {}", ex.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(ApiRes.error(AppConstants.JOB_VERSION_CONFLICT, HttpStatus.CONFLICT.value()));
+        }
+
         /* ========= 400 ========= */
         /**
          * Xử lý exception BadRequestException (400)
@@ -199,6 +228,9 @@ public class GlobalExceptionHandler {
         }
 
         private HttpStatus determineTransferErrorStatus(String errorCode) {
+                if (ErrorCode.TRANSFER_LOCK_TIMEOUT.getCode().equals(errorCode)) {
+                        return HttpStatus.CONFLICT;
+                }
                 if (errorCode.contains("VALIDATION") || errorCode.contains("TRF_00[1-5]")) {
                         return HttpStatus.BAD_REQUEST;
                 }
@@ -0,0 +1,65 @@
+package com.example.crudjob.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.crudjob.entity.AccountBalance;
+
+@Repository
+public interface AccountBalanceRepository extends JpaRepository<AccountBalance, String> {
+
+    /**
+     * Cộng dồn một bản ghi NỢ/CÓ vào projection (upsert nguyên tử, không đọc trước)
+     *
+     * @param accountHash blind index của tài khoản
+     * @param debit       số tiền ghi nợ
+     * @param credit      số tiền ghi có
+     * @param count       số bản ghi lịch sử được cộng dồn
+     * @param time        thời gian giao dịch
+     * @return số dòng bị ảnh hưởng (1 = insert, 2 = update theo quy ước MySQL)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_balance
+                (account_hash, total_debit, total_credit, balance, transaction_count, last_transaction_time, updated_at)
+            VALUES
+                (:accountHash, :debit, :credit, :credit - :debit, :count, :time, NOW())
+            ON DUPLICATE KEY UPDATE
+                total_debit = total_debit + VALUES(total_debit),
+                total_credit = total_credit + VALUES(total_credit),
+                balance = balance + VALUES(balance),
+                transaction_count = transaction_count + VALUES(transaction_count),
+                last_transaction_time = GREATEST(COALESCE(last_transaction_time, VALUES(last_transaction_time)),
+                                                 VALUES(last_transaction_time)),
+                updated_at = NOW()
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("accountHash") String accountHash,
+            @Param("debit") BigDecimal debit,
+            @Param("credit") BigDecimal credit,
+            @Param("count") long count,
+            @Param("time") LocalDateTime time);
+
+    /**
+     * Khoá toàn bộ projection (record + gap lock dưới REPEATABLE READ):
+     * applyDelta của transfer ở node khác phải chờ tới khi transaction hiện tại kết thúc
+     *
+     * @return blind index của các dòng đã khoá
+     */
+    @Query(value = "SELECT account_hash FROM account_balance FOR UPDATE", nativeQuery = true)
+    List<String> lockAllRows();
+
+    /**
+     * Xoá toàn bộ projection (dùng khi dựng lại từ lịch sử)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM account_balance", nativeQuery = true)
+    int deleteAllRows();
+}
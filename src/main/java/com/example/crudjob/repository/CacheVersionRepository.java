@@ -0,0 +1,42 @@
+package com.example.crudjob.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.crudjob.entity.CacheVersion;
+
+@Repository
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, String> {
+
+    /**
+     * Tăng version của region (tạo mới với version 1 nếu chưa có)
+     */
+    @Modifying
+    @Query(value = """
+            insert into cache_version (region, version, updated_at) values (:region, 1, now(3))
+            on duplicate key update version = version + 1, updated_at = now(3)
+            """, nativeQuery = true)
+    int bump(@Param("region") String region);
+
+    @Query("select c.version from CacheVersion c where c.region = :region")
+    Optional<Long> findVersion(@Param("region") String region);
+
+    /**
+     * Version mọi region kèm tuổi của lần tăng cuối theo đồng hồ DB
+     * (bảng chỉ có vài dòng, đọc qua khoá chính)
+     *
+     * @return các dòng [String region, Number version, Number ageMs]
+     *         (floor(/) thay cho div của MySQL để chạy được cả trên H2)
+     */
+    @Query(value = """
+            select region, version, floor(timestampdiff(microsecond, updated_at, now(3)) / 1000)
+            from cache_version
+            """, nativeQuery = true)
+    List<Object[]> findAllWithAge();
+}
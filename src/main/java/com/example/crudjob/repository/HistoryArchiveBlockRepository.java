@@ -0,0 +1,46 @@
+package com.example.crudjob.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.entity.HistoryArchiveBlock;
+import com.example.crudjob.entity.HistoryArchiveBlockId;
+
+@Repository
+public interface HistoryArchiveBlockRepository extends JpaRepository<HistoryArchiveBlock, HistoryArchiveBlockId> {
+
+    /**
+     * Block đầu tiên còn dòng sau cursor (afterTime, afterId): seek trên idx_archive_block_last_key
+     *
+     * @return seq của block, null nếu mọi dòng của partition đều trước cursor
+     */
+    @Query("""
+            select min(b.seq) from HistoryArchiveBlock b
+            where b.partition = :partition
+              and (b.lastTime > :afterTime or (b.lastTime = :afterTime and b.lastId > :afterId))
+            """)
+    Integer findFirstSeqAfter(
+            @Param("partition") String partition,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") long afterId);
+
+    /**
+     * Dữ liệu nén của một block (không nạp entity vào persistence context)
+     */
+    @Query("select b.data from HistoryArchiveBlock b where b.partition = :partition and b.seq = :seq")
+    byte[] findData(@Param("partition") String partition, @Param("seq") int seq);
+
+    /**
+     * Xoá mọi block của partition (archive dở dang hoặc bị huỷ)
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from HistoryArchiveBlock b where b.partition = :partition")
+    int deleteByPartition(@Param("partition") String partition);
+}
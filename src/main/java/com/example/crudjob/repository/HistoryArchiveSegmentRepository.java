@@ -0,0 +1,17 @@
+package com.example.crudjob.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.crudjob.entity.HistoryArchiveSegment;
+
+@Repository
+public interface HistoryArchiveSegmentRepository extends JpaRepository<HistoryArchiveSegment, String> {
+
+    /**
+     * Các segment theo thứ tự thời gian (partition tháng không chồng nhau)
+     */
+    List<HistoryArchiveSegment> findAllByOrderByMinTimeAsc();
+}
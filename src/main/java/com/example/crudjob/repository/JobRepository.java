@@ -1,19 +1,28 @@
 package com.example.crudjob.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.crudjob.entity.Job;
 
+
 /**
  * Repository interface cung cấp các phương thức truy vấn cơ sở dữ liệu cho thực
  * thể Job.
  * Kế thừa từ JpaRepository để sử dụng các phương thức CRUD mặc định.
  */
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobRepositoryCustom {
 
     /**
      * Tìm kiếm công việc theo tiêu đề với tìm kiếm không phân biệt chữ hoa/thường.
@@ -38,4 +47,41 @@ public interface JobRepository extends JpaRepository<Job, Long> {
      * @return một Page chứa danh sách công việc của công ty khớp với tìm kiếm
      */
     Page<Job> findByCompanyContainingIgnoreCase(String company, Pageable pageable);
+
+    /**
+     * Đọc version hiện tại (không load entity, không đọc cột mã hoá)
+     *
+     * @param id id của job
+     * @return version, rỗng nếu job không tồn tại
+     */
+    @Query("select j.version from Job j where j.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Id các job Open đã hết hạn, cũ nhất trước, khoá dòng trong transaction hiện tại.
+     * SKIP LOCKED: bỏ qua job đang bị request khác cập nhật (lần quét sau xử lý tiếp).
+     * Dùng index (status, expires_at).
+     *
+     * @param now   mốc thời gian hết hạn
+     * @param limit số job tối đa
+     * @return danh sách id
+     */
+    @Query(value = """
+            select id from jobs
+            where status = 'Open' and expires_at <= :now
+            order by expires_at, id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<Long> lockExpiredOpenIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Xoá job theo id trong một câu lệnh (không load entity trước)
+     *
+     * @param id id của job
+     * @return số dòng bị xoá (0 = không tồn tại)
+     */
+    @Modifying
+    @Query("delete from Job j where j.id = :id")
+    int deleteJobById(@Param("id") Long id);
 }
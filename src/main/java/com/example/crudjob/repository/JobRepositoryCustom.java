@@ -0,0 +1,57 @@
+package com.example.crudjob.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobField;
+
+import jakarta.persistence.Tuple;
+
+/**
+ * Các truy vấn Job viết tay bằng Criteria API (Spring Data ghép vào JobRepository)
+ */
+public interface JobRepositoryCustom {
+
+    /**
+     * UPDATE ... SET ... WHERE spec trong một câu lệnh (không load entity)
+     *
+     * @param spec    điều kiện chọn job
+     * @param changes tên thuộc tính → giá trị mới
+     * @return số dòng bị cập nhật
+     */
+    int updateAll(Specification<Job> spec, Map<String, Object> changes);
+
+    /**
+     * SELECT chỉ các cột được yêu cầu (không load entity, không đọc cột TEXT thừa)
+     *
+     * @param spec     điều kiện lọc (null = tất cả)
+     * @param fields   các cột cần lấy, alias trong Tuple = EJobField.name()
+     * @param pageable phân trang + sắp xếp (unpaged = lấy hết, không COUNT)
+     * @return trang Tuple
+     */
+    Page<Tuple> findProjected(Specification<Job> spec, Set<EJobField> fields, Pageable pageable);
+
+    /**
+     * Duyệt toàn bộ job theo id bằng cursor (phải gọi trong transaction và đóng Stream sau khi dùng)
+     *
+     * @param fetchSize Integer.MIN_VALUE = MySQL Connector/J stream từng dòng;
+     *                  giá trị dương khi URL bật useCursorFetch=true (hoặc DB khác MySQL)
+     * @return Stream các job (read-only) theo thứ tự id tăng dần
+     */
+    Stream<Job> streamAll(int fetchSize);
+
+    /**
+     * Đếm job theo (type, status, salary) trong một lần quét (GROUP BY)
+     *
+     * @param spec điều kiện lọc (null = tất cả)
+     * @return các dòng [EJobType, EJobStatus, Integer salary, Long count]
+     */
+    List<Object[]> countByTypeStatusSalary(Specification<Job> spec);
+}
@@ -0,0 +1,118 @@
+package com.example.crudjob.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobField;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Cài đặt JobRepositoryCustom
+ */
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateAll(Specification<Job> spec, Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Job> update = cb.createCriteriaUpdate(Job.class);
+        Root<Job> root = update.from(Job.class);
+
+        changes.forEach(update::set);
+        // UPDATE hàng loạt không đi qua entity → tự tăng version
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(spec.toPredicate(root, null, cb));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public Page<Tuple> findProjected(Specification<Job> spec, Set<EJobField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field.getAttribute()).alias(field.name()))
+                .toList();
+        query.multiselect(selections);
+        applySpecification(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> countMatching(spec));
+    }
+
+    @Override
+    public Stream<Job> streamAll(int fetchSize) {
+        return entityManager.createQuery("select j from Job j order by j.id", Job.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Object[]> countByTypeStatusSalary(Specification<Job> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Job> root = query.from(Job.class);
+
+        query.multiselect(root.get("type"), root.get("status"), root.get("salary"), cb.count(root));
+        applySpecification(spec, root, query, cb);
+        query.groupBy(root.get("type"), root.get("status"), root.get("salary"));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private long countMatching(Specification<Job> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Job> root = query.from(Job.class);
+
+        query.select(cb.count(root));
+        applySpecification(spec, root, query, cb);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void applySpecification(
+            Specification<Job> spec,
+            Root<Job> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb) {
+        if (spec == null) {
+            return;
+        }
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.crudjob.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.crudjob.dto.request.JobFilterDTO;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobSort;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+
+/**
+ * Các điều kiện lọc Job dùng chung cho truy vấn và câu lệnh UPDATE/DELETE hàng loạt.
+ * Chỉ lọc trên cột không mã hoá (company/location/description là ciphertext).
+ */
+public final class JobSpecifications {
+
+    public static Specification<Job> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Job> hasVersion(long version) {
+        return (root, query, cb) -> cb.equal(root.get("version"), version);
+    }
+
+    public static Specification<Job> hasType(EJobType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Job> hasStatus(EJobStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Job> salaryAtLeast(int min) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("salary"), min);
+    }
+
+    public static Specification<Job> salaryAtMost(int max) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("salary"), max);
+    }
+
+    /**
+     * LIKE 'prefix%' (không bọc lower() để vẫn dùng được index trên title)
+     */
+    public static Specification<Job> titleStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("title"), escapeLike(prefix) + "%", '\\');
+    }
+
+    /**
+     * LIKE '%keyword%' không phân biệt hoa thường (cùng ngữ nghĩa với findByTitleContainingIgnoreCase)
+     */
+    public static Specification<Job> titleContainsIgnoreCase(String keyword) {
+        String pattern = "%" + escapeLike(keyword.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, '\\');
+    }
+
+    /**
+     * Điều kiện keyset: các job đứng sau (salary, id) hoặc (id) theo thứ tự tăng dần
+     *
+     * @param salary giá trị salary của phần tử cuối trang trước (bắt buộc khi sort theo salary, bỏ qua khi sort theo id)
+     */
+    public static Specification<Job> after(EJobSort sort, Integer salary, long id) {
+        if (sort == EJobSort.ID) {
+            return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+        }
+        if (salary == null) {
+            throw new IllegalArgumentException("Salary is required for a salary keyset");
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("salary"), salary),
+                cb.and(
+                        cb.equal(root.get("salary"), salary),
+                        cb.greaterThan(root.get("id"), id)));
+    }
+
+    /**
+     * Gộp các điều kiện của filter (AND), null nếu filter không có điều kiện nào
+     */
+    public static Specification<Job> fromFilter(JobFilterDTO filter) {
+        if (filter == null) {
+            return null;
+        }
+
+        Specification<Job> spec = null;
+        if (filter.getType() != null) {
+            spec = and(spec, hasType(filter.getType()));
+        }
+        if (filter.getStatus() != null) {
+            spec = and(spec, hasStatus(filter.getStatus()));
+        }
+        if (filter.getSalaryMin() != null) {
+            spec = and(spec, salaryAtLeast(filter.getSalaryMin()));
+        }
+        if (filter.getSalaryMax() != null) {
+            spec = and(spec, salaryAtMost(filter.getSalaryMax()));
+        }
+        if (filter.getTitlePrefix() != null && !filter.getTitlePrefix().isBlank()) {
+            spec = and(spec, titleStartsWith(filter.getTitlePrefix()));
+        }
+        return spec;
+    }
+
+    /**
+     * AND hai điều kiện, bỏ qua vế null
+     */
+    public static Specification<Job> and(Specification<Job> left, Specification<Job> right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null ? left : left.and(right);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private JobSpecifications() {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.crudjob.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.crudjob.entity.JobStats;
+
+@Repository
+public interface JobStatsRepository extends JpaRepository<JobStats, Long> {
+}
@@ -0,0 +1,32 @@
+package com.example.crudjob.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.crudjob.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Batch sự kiện kế tiếp của một sink: id > afterId, theo id tăng dần
+     */
+    @Query("select e from OutboxEvent e where e.id > :afterId order by e.id asc")
+    List<OutboxEvent> findBatch(
+            @Param("afterId") long afterId,
+            Pageable limit);
+
+    /**
+     * Xoá tối đa limit sự kiện đã được mọi sink nhận (id <= upToId)
+     * (quét khoảng khoá chính nên không cần ORDER BY; H2 của test cũng không nhận DELETE ... ORDER BY)
+     */
+    @Modifying
+    @Query(value = "delete from outbox_event where id <= :upToId limit :limit", nativeQuery = true)
+    int deleteDelivered(@Param("upToId") long upToId, @Param("limit") int limit);
+}
@@ -1,14 +1,31 @@
 package com.example.crudjob.repository;
 
+import com.example.crudjob.constant.AppConstants;
 import com.example.crudjob.entity.Permission;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
 
+    /**
+     * Lấy tất cả permission (query cache: PermissionInterceptor gọi ở mọi request)
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AppConstants.CACHE_PERMISSION_QUERY)
+    })
+    List<Permission> findAll();
+
     /**
      * Tìm permission theo name
      */
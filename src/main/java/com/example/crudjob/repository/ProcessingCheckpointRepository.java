@@ -0,0 +1,30 @@
+package com.example.crudjob.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.crudjob.entity.ProcessingCheckpoint;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ProcessingCheckpointRepository extends JpaRepository<ProcessingCheckpoint, String> {
+
+    /**
+     * Đọc checkpoint và khoá dòng (SELECT ... FOR UPDATE) để nhiều instance không xử lý trùng
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from ProcessingCheckpoint c where c.name = :name")
+    Optional<ProcessingCheckpoint> findForUpdate(@Param("name") String name);
+
+    /**
+     * Như findForUpdate nhưng bỏ qua nếu dòng đang bị instance khác khoá (FOR UPDATE SKIP LOCKED)
+     */
+    @Query(value = "select * from processing_checkpoint where name = :name for update skip locked", nativeQuery = true)
+    Optional<ProcessingCheckpoint> findForUpdateSkipLocked(@Param("name") String name);
+}
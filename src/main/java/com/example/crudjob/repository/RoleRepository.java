@@ -1,20 +1,41 @@
 package com.example.crudjob.repository;
 
+import com.example.crudjob.constant.AppConstants;
 import com.example.crudjob.entity.Role;
 import com.example.crudjob.entity.enums.ERole;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
     /**
-     * Tìm role theo enum
+     * Tìm role theo enum (query cache: gọi ở mọi request khi resolve quyền)
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AppConstants.CACHE_ROLE_QUERY)
+    })
     Optional<Role> findByName(ERole name);
 
+    /**
+     * Lấy tất cả role (query cache)
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AppConstants.CACHE_ROLE_QUERY)
+    })
+    List<Role> findAll();
+
     /**
      * Kiểm tra role đã tồn tại hay chưa
      */
@@ -0,0 +1,47 @@
+package com.example.crudjob.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.crudjob.entity.SchedulerLease;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Nhận hoặc gia hạn lease trong một câu lệnh (thời gian lấy theo đồng hồ DB).
+     * Lease đang thuộc instance khác và chưa hết hạn thì giữ nguyên.
+     *
+     * MySQL gán các cột theo thứ tự: owner được xét trước, leased_until chỉ đổi
+     * khi owner (sau khi gán) là instance hiện tại.
+     */
+    @Modifying
+    @Query(value = """
+            insert into scheduler_lease (name, owner, leased_until)
+            values (:name, :owner, now(3) + interval :leaseMs * 1000 microsecond)
+            on duplicate key update
+                owner = if(leased_until < now(3) or owner = values(owner), values(owner), owner),
+                leased_until = if(owner = values(owner), values(leased_until), leased_until)
+            """, nativeQuery = true)
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("leaseMs") long leaseMs);
+
+    /**
+     * @return 1 nếu instance đang giữ lease còn hạn, ngược lại 0
+     */
+    @Query(value = """
+            select count(*) from scheduler_lease
+            where name = :name and owner = :owner and leased_until > now(3)
+            """, nativeQuery = true)
+    long countHeld(@Param("name") String name, @Param("owner") String owner);
+
+    /**
+     * Nhả lease để instance khác nhận ngay, không phải chờ hết hạn
+     */
+    @Modifying
+    @Query(value = "update scheduler_lease set leased_until = now(3) where name = :name and owner = :owner",
+            nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -1,11 +1,63 @@
 package com.example.crudjob.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.crudjob.entity.TransactionHistory;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TransactionHistoryRepository
         extends JpaRepository<TransactionHistory, Long> {
+
+    /**
+     * Duyệt toàn bộ lịch sử theo thứ tự id tăng dần.
+     * Fetch size = Integer.MIN_VALUE → MySQL Connector/J stream từng dòng,
+     * không nạp cả bảng vào bộ nhớ. Phải gọi trong transaction và đóng Stream sau khi dùng.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from TransactionHistory t order by t.id asc")
+    Stream<TransactionHistory> streamAllOrderById();
+
+    /**
+     * Keyset (seek) pagination trên (transactionTime, id).
+     *
+     * Chỉ trả về id → không load cột account nên không phải giải mã AES/RSA
+     * cho các dòng chỉ dùng để dò trang. Điều kiện "transactionTime >= :afterTime"
+     * cho phép MySQL range scan trên idx_transaction_time (InnoDB tự gắn id vào index phụ),
+     * nên trang sâu tốn chi phí như trang đầu.
+     *
+     * @param afterTime     mốc thời gian của dòng cuối trang trước (hoặc cận dưới "from")
+     * @param afterId       id của dòng cuối trang trước (hoặc -1 nếu chưa có cursor)
+     * @param to            cận trên thời gian (không bao gồm)
+     * @param transactionId lọc theo transactionId (null = không lọc)
+     * @param limit         số dòng tối đa (chỉ dùng pageSize, không sinh COUNT)
+     */
+    @Query("""
+            select t.id from TransactionHistory t
+            where t.transactionTime >= :afterTime
+              and (t.transactionTime > :afterTime or t.id > :afterId)
+              and t.transactionTime < :to
+              and (:transactionId is null or t.transactionId = :transactionId)
+            order by t.transactionTime asc, t.id asc
+            """)
+    List<Long> findPageIds(
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") long afterId,
+            @Param("to") LocalDateTime to,
+            @Param("transactionId") String transactionId,
+            Pageable limit);
 }
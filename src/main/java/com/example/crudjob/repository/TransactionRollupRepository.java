@@ -0,0 +1,58 @@
+package com.example.crudjob.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.crudjob.entity.TransactionRollup;
+import com.example.crudjob.entity.TransactionRollupId;
+import com.example.crudjob.entity.enums.ERollupGranularity;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, TransactionRollupId> {
+
+    /**
+     * Cộng dồn vào một bucket (upsert nguyên tử, không đọc trước)
+     *
+     * @param granularity tên mức chi tiết (HOUR/DAY)
+     * @param bucketStart thời điểm bắt đầu bucket
+     * @param count       số bản ghi lịch sử
+     * @param debit       tổng nợ
+     * @param credit      tổng có
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO transaction_rollup
+                (granularity, bucket_start, transaction_count, total_debit, total_credit, updated_at)
+            VALUES
+                (:granularity, :bucketStart, :count, :debit, :credit, NOW())
+            ON DUPLICATE KEY UPDATE
+                transaction_count = transaction_count + VALUES(transaction_count),
+                total_debit = total_debit + VALUES(total_debit),
+                total_credit = total_credit + VALUES(total_credit),
+                updated_at = NOW()
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("count") long count,
+            @Param("debit") BigDecimal debit,
+            @Param("credit") BigDecimal credit);
+
+    @Query("""
+            select r from TransactionRollup r
+            where r.granularity = :granularity
+              and r.bucketStart >= :from and r.bucketStart < :to
+            order by r.bucketStart
+            """)
+    List<TransactionRollup> findRange(
+            @Param("granularity") ERollupGranularity granularity,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+}
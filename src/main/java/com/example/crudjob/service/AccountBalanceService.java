@@ -0,0 +1,42 @@
+package com.example.crudjob.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.crudjob.dto.response.AccountBalanceResponseDTO;
+import com.example.crudjob.dto.response.BalanceRebuildResultDTO;
+
+/**
+ * AccountBalanceService
+ *
+ * Quản lý projection số dư (account_balance):
+ * - Cộng dồn incremental theo từng giao dịch
+ * - Đọc số dư O(1) theo blind index
+ * - Dựng lại toàn bộ từ transaction_history
+ */
+public interface AccountBalanceService {
+
+    /**
+     * Cộng dồn một giao dịch chuyển khoản vào projection.
+     * Bắt buộc gọi trong transaction đang ghi transaction_history.
+     *
+     * @param sourceHash blind index tài khoản nguồn (ghi nợ)
+     * @param targetHash blind index tài khoản đích (ghi có)
+     * @param inDebt     số tiền ghi nợ
+     * @param have       số tiền ghi có
+     * @param time       thời gian giao dịch
+     */
+    void applyTransfer(String sourceHash, String targetHash, BigDecimal inDebt, BigDecimal have, LocalDateTime time);
+
+    /**
+     * Lấy số dư theo tham chiếu tài khoản
+     *
+     * @param accountRef số tài khoản hoặc blind index (hex 64 ký tự)
+     */
+    AccountBalanceResponseDTO getBalance(String accountRef);
+
+    /**
+     * Dựng lại toàn bộ projection bằng cách duyệt transaction_history theo id
+     */
+    BalanceRebuildResultDTO rebuildFromHistory();
+}
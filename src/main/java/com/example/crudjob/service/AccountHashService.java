@@ -0,0 +1,70 @@
+package com.example.crudjob.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.crudjob.exception.EncryptionException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AccountHashService
+ *
+ * Sinh "blind index" cho số tài khoản (HMAC-SHA256, hex 64 ký tự).
+ * - Cùng một số tài khoản luôn cho cùng một hash → dùng làm khoá lock / khoá tra cứu
+ * - Không thể suy ngược ra số tài khoản nếu không có secret
+ * - Cột account trong DB vẫn được mã hoá AES, hash chỉ dùng để tìm kiếm
+ */
+@Service
+@Slf4j
+public class AccountHashService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Value("${transfer.account-hash.secret}")
+    private String secret;
+
+    private SecretKeySpec keySpec;
+
+    @PostConstruct
+    public void init() {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException(
+                    "transfer.account-hash.secret must be set (environment variable ACCOUNT_HASH_SECRET)");
+        }
+        keySpec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        log.info("Account hash service initialized ({})", HMAC_ALGORITHM);
+    }
+
+    /**
+     * Tính blind index cho số tài khoản (plaintext)
+     *
+     * @param account số tài khoản đã giải mã
+     * @return HMAC-SHA256 dạng hex (64 ký tự)
+     */
+    public String hash(String account) {
+        if (account == null || account.isBlank()) {
+            throw new IllegalArgumentException("Account must not be blank");
+        }
+
+        try {
+            // Mac không thread-safe → tạo mới mỗi lần (chi phí rất nhỏ so với RSA)
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySpec);
+            byte[] digest = mac.doFinal(account.trim().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+
+        } catch (GeneralSecurityException e) {
+            log.error("[ACCOUNT_HASH] FAILED | exception={}", e.getClass().getSimpleName());
+            throw new EncryptionException("Failed to hash account", e);
+        }
+    }
+}
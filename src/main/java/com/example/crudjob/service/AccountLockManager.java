@@ -0,0 +1,239 @@
+package com.example.crudjob.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.crudjob.dto.response.LockStripeStatsDTO;
+import com.example.crudjob.entity.enums.ErrorCode;
+import com.example.crudjob.exception.TransferException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AccountLockManager
+ *
+ * Striped lock theo blind index của tài khoản (in-process):
+ * - Giao dịch trên các tài khoản khác nhau chạy song song hoàn toàn
+ * - Giao dịch cùng tài khoản được tuần tự hoá
+ * - Cặp nguồn/đích luôn lock theo thứ tự index stripe tăng dần → không deadlock
+ * - Thống kê contention cho từng stripe
+ *
+ * Lưu ý: chỉ tuần tự hoá trong một JVM, không thay thế lock ở tầng DB khi chạy nhiều node.
+ */
+@Component
+@Slf4j
+public class AccountLockManager {
+
+    @Value("${transfer.lock.stripes:1024}")
+    private int stripeCount;
+
+    @Value("${transfer.lock.timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    private ReentrantLock[] locks;
+    private LongAdder[] acquisitions;
+    private LongAdder[] contended;
+    private LongAdder[] waitNanos;
+    private int mask;
+
+    @PostConstruct
+    public void init() {
+        // Làm tròn lên luỹ thừa của 2 để chọn stripe bằng phép AND
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        mask = size - 1;
+
+        locks = new ReentrantLock[size];
+        acquisitions = new LongAdder[size];
+        contended = new LongAdder[size];
+        waitNanos = new LongAdder[size];
+
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+            acquisitions[i] = new LongAdder();
+            contended[i] = new LongAdder();
+            waitNanos[i] = new LongAdder();
+        }
+
+        log.info("Account lock manager initialized with {} stripes", size);
+    }
+
+    /**
+     * Lock cặp tài khoản nguồn/đích theo thứ tự stripe cố định
+     *
+     * @param sourceHash blind index tài khoản nguồn
+     * @param targetHash blind index tài khoản đích
+     * @return handle để unlock (gọi đúng một lần)
+     */
+    public PairLock lockPair(String sourceHash, String targetHash) {
+        int first = stripeOf(sourceHash);
+        int second = stripeOf(targetHash);
+
+        if (first > second) {
+            int tmp = first;
+            first = second;
+            second = tmp;
+        }
+
+        acquire(first);
+
+        if (second != first) {
+            try {
+                acquire(second);
+            } catch (RuntimeException e) {
+                locks[first].unlock();
+                throw e;
+            }
+        }
+
+        return new PairLock(first, second);
+    }
+
+    /**
+     * Lock toàn bộ stripe (theo thứ tự tăng dần như lockPair → không deadlock với transfer)
+     * Dùng khi cần chặn mọi transfer trong JVM, ví dụ lúc dựng lại projection số dư.
+     *
+     * @return handle để unlock (gọi đúng một lần)
+     */
+    public AllLock lockAll() {
+        int acquired = 0;
+
+        try {
+            for (; acquired < locks.length; acquired++) {
+                acquire(acquired);
+            }
+        } catch (RuntimeException e) {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+            throw e;
+        }
+
+        return new AllLock();
+    }
+
+    /**
+     * Snapshot thống kê các stripe đã từng được dùng, sắp xếp theo mức contention giảm dần
+     *
+     * @param limit số stripe tối đa trả về
+     */
+    public List<LockStripeStatsDTO> getStats(int limit) {
+        List<LockStripeStatsDTO> stats = new ArrayList<>();
+
+        for (int i = 0; i < locks.length; i++) {
+            long acquired = acquisitions[i].sum();
+            if (acquired == 0) {
+                continue;
+            }
+
+            long contendedCount = contended[i].sum();
+            long totalWaitNanos = waitNanos[i].sum();
+
+            stats.add(new LockStripeStatsDTO(
+                    i,
+                    acquired,
+                    contendedCount,
+                    TimeUnit.NANOSECONDS.toMicros(totalWaitNanos),
+                    contendedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos / contendedCount),
+                    locks[i].getQueueLength()));
+        }
+
+        stats.sort(Comparator.comparingLong(LockStripeStatsDTO::getContended).reversed()
+                .thenComparing(Comparator.comparingLong(LockStripeStatsDTO::getAcquisitions).reversed()));
+
+        return stats.size() > limit ? stats.subList(0, limit) : stats;
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private int stripeOf(String accountHash) {
+        int h = accountHash.hashCode();
+        // Trộn bit cao xuống bit thấp (giống HashMap.spread)
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void acquire(int stripe) {
+        ReentrantLock lock = locks[stripe];
+        acquisitions[stripe].increment();
+
+        if (lock.tryLock()) {
+            return;
+        }
+
+        contended[stripe].increment();
+        long start = System.nanoTime();
+
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("TRANSFER_LOCK_TIMEOUT | stripe={} | waitedMs={}", stripe, lockTimeoutMs);
+                throw new TransferException(
+                        ErrorCode.TRANSFER_LOCK_TIMEOUT,
+                        ErrorCode.TRANSFER_LOCK_TIMEOUT.getDefaultMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferException(
+                    ErrorCode.TRANSFER_LOCK_TIMEOUT,
+                    ErrorCode.TRANSFER_LOCK_TIMEOUT.getDefaultMessage(),
+                    e);
+        } finally {
+            waitNanos[stripe].add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Handle giữ lock của một cặp tài khoản
+     */
+    public final class PairLock {
+
+        private final int first;
+        private final int second;
+        private boolean released;
+
+        private PairLock(int first, int second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        public void unlock() {
+            if (released) {
+                return;
+            }
+            released = true;
+
+            if (second != first) {
+                locks[second].unlock();
+            }
+            locks[first].unlock();
+        }
+    }
+
+    /**
+     * Handle giữ toàn bộ stripe
+     */
+    public final class AllLock {
+
+        private boolean released;
+
+        private AllLock() {
+        }
+
+        public void unlock() {
+            if (released) {
+                return;
+            }
+            released = true;
+
+            for (int i = locks.length - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+    }
+}
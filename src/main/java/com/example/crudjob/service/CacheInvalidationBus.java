@@ -0,0 +1,200 @@
+package com.example.crudjob.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.dto.response.CacheInvalidationStatsDTO;
+import com.example.crudjob.dto.response.CacheRegionVersionDTO;
+import com.example.crudjob.repository.CacheVersionRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CacheInvalidationBus
+ *
+ * Đồng bộ xoá cache trong bộ nhớ giữa các instance qua bảng cache_version (không cần Redis/Kafka):
+ * - Instance ghi dữ liệu gọi publish(region) sau commit; lần poll kế tiếp tăng version
+ *   của region đó một lần (gộp mọi lần ghi trong một chu kỳ → không có dòng nóng)
+ * - Mỗi poll-interval-ms đọc version mọi region bằng một câu SELECT nhỏ,
+ *   region nào đổi version thì gọi các handler đã đăng ký để xoá cache cục bộ
+ * - Version do chính instance tăng không làm nó xoá lại cache của mình
+ *
+ * Độ trễ tối đa ≈ 2 × poll-interval-ms. Đọc cache_version lỗi quá max-staleness-ms
+ * thì xoá mọi vùng cache đã đăng ký (không còn đảm bảo được độ mới).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationBus {
+
+    private final CacheVersionRepository cacheVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Sau thời gian này mà chưa đọc được cache_version thì xoá toàn bộ cache đã đăng ký */
+    @Value("${cache-bus.max-staleness-ms:5000}")
+    private long maxStalenessMs;
+
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    private volatile long lastPollMillis = -1;
+    private volatile long consecutiveFailures;
+    private volatile boolean staleLogged;
+
+    /**
+     * Đăng ký handler xoá cache cục bộ của region
+     */
+    public void register(String region, Runnable evictLocal) {
+        regionOf(region).handlers.add(evictLocal);
+    }
+
+    /**
+     * Báo dữ liệu của region đã đổi (gọi sau commit; cache cục bộ do caller tự xoá)
+     */
+    public void publish(String region) {
+        regionOf(region).dirty.set(true);
+    }
+
+    @Scheduled(
+            initialDelayString = "${cache-bus.poll-interval-ms:300}",
+            fixedDelayString = "${cache-bus.poll-interval-ms:300}")
+    public void scheduledPoll() {
+        try {
+            poll();
+            lastPollMillis = System.currentTimeMillis();
+            consecutiveFailures = 0;
+            staleLogged = false;
+        } catch (Exception e) {
+            consecutiveFailures++;
+            if (consecutiveFailures == 1) {
+                log.warn("CACHE_BUS_POLL_FAILED | {}", e.getMessage());
+            }
+            evictIfStale();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            publishPending();
+        } catch (Exception e) {
+            log.warn("CACHE_BUS_PUBLISH_ON_SHUTDOWN_FAILED | {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Tăng version các region có thay đổi rồi xoá cache cục bộ của region bị instance khác đổi
+     */
+    public synchronized void poll() {
+        publishPending();
+
+        Set<String> seen = new HashSet<>();
+        for (Object[] row : cacheVersionRepository.findAllWithAge()) {
+            Region region = regions.get((String) row[0]);
+            if (region == null) {
+                continue;
+            }
+            seen.add((String) row[0]);
+            long version = ((Number) row[1]).longValue();
+            long lagMs = ((Number) row[2]).longValue();
+
+            if (region.version < 0) {
+                // Lần đọc đầu tiên: cache vừa khởi tạo, chỉ ghi nhận version
+                region.version = version;
+            } else if (version != region.version) {
+                region.version = version;
+                region.evictLocal();
+                region.invalidations++;
+                region.lastLagMs = lagMs;
+                region.maxLagMs = Math.max(region.maxLagMs, lagMs);
+                log.debug("CACHE_BUS_INVALIDATED | region={} | version={} | lagMs={}", row[0], version, lagMs);
+            }
+        }
+
+        // Region chưa có dòng nào: dòng xuất hiện sau này (version >= 1) sẽ được coi là thay đổi
+        regions.forEach((name, region) -> {
+            if (region.version < 0 && !seen.contains(name)) {
+                region.version = 0;
+            }
+        });
+    }
+
+    public CacheInvalidationStatsDTO statistics() {
+        List<CacheRegionVersionDTO> stats = new ArrayList<>();
+        regions.forEach((name, region) -> stats.add(new CacheRegionVersionDTO(
+                name, region.version, region.invalidations, region.lastLagMs, region.maxLagMs)));
+        long pollAge = lastPollMillis < 0 ? -1 : System.currentTimeMillis() - lastPollMillis;
+        return new CacheInvalidationStatsDTO(pollAge, consecutiveFailures, stats);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void publishPending() {
+        regions.forEach((name, region) -> {
+            if (!region.dirty.getAndSet(false)) {
+                return;
+            }
+            try {
+                Long version = transactionTemplate.execute(status -> {
+                    cacheVersionRepository.bump(name);
+                    return cacheVersionRepository.findVersion(name).orElse(-1L);
+                });
+                // Không ai tăng xen giữa → version mới là của mình, không cần tự xoá lại
+                if (region.version >= 0 && version != null && version == region.version + 1) {
+                    region.version = version;
+                }
+            } catch (RuntimeException e) {
+                region.dirty.set(true);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Quá max-staleness-ms chưa đọc được cache_version → xoá mọi cache đã đăng ký ở mỗi lần poll lỗi
+     * (cache nạp lại trong lúc này cũng không giữ quá một chu kỳ)
+     */
+    private void evictIfStale() {
+        long since = lastPollMillis < 0 ? 0 : System.currentTimeMillis() - lastPollMillis;
+        if (lastPollMillis < 0 || since < maxStalenessMs) {
+            return;
+        }
+        if (!staleLogged) {
+            staleLogged = true;
+            log.warn("CACHE_BUS_STALE | lastPollAgeMs={} | evicting all registered caches until polling recovers", since);
+        }
+        regions.values().forEach(Region::evictLocal);
+    }
+
+    private Region regionOf(String name) {
+        return regions.computeIfAbsent(name, key -> new Region());
+    }
+
+    private static final class Region {
+
+        private final List<Runnable> handlers = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        /* Ghi trong poll() (synchronized), đọc ở statistics() */
+        private volatile long version = -1;
+        private volatile long invalidations;
+        private volatile long lastLagMs;
+        private volatile long maxLagMs;
+
+        private void evictLocal() {
+            handlers.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.example.crudjob.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.crudjob.dto.HistorySegmentMeta;
+import com.example.crudjob.dto.response.TransactionHistoryResponseDTO;
+import com.example.crudjob.entity.HistoryArchiveBlock;
+import com.example.crudjob.entity.HistoryArchiveSegment;
+import com.example.crudjob.repository.HistoryArchiveBlockRepository;
+import com.example.crudjob.repository.HistoryArchiveSegmentRepository;
+import com.example.crudjob.utils.BloomFilter;
+import com.example.crudjob.utils.ParallelUtil;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HistoryArchiveStore
+ *
+ * Lưu các partition transaction_history đã hết hạn dưới dạng block nén trong DB
+ * (history_archive_segment + history_archive_block) → mọi instance đọc chung một archive.
+ *
+ * Định dạng một block (gzip, nén độc lập):
+ * - int magic | int n
+ * - lưu theo cột: n id | n epochSecond | n nano | n transactionId | n account (vẫn mã hoá AES) | n inDebt | n have
+ *
+ * Mỗi block lưu khoá (time, id) dòng đầu / dòng cuối → đọc trang kế tiếp seek thẳng tới block chứa cursor.
+ * Metadata segment (min/max time, bloom filter transactionId) được nạp sẵn vào bộ nhớ và làm mới định kỳ.
+ */
+@Component
+@Slf4j
+public class HistoryArchiveStore {
+
+    private static final int MAGIC = 0x54484132;
+    private static final int BLOCK_SIZE = 4096;
+    private static final int AMOUNT_SCALE = 2;
+    private static final long NULL_AMOUNT = Long.MIN_VALUE;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final HistoryArchiveSegmentRepository segmentRepository;
+    private final HistoryArchiveBlockRepository blockRepository;
+    private final EncryptionService encryptionService;
+    private final Executor cryptoExecutor;
+
+    /** Danh sách segment sắp theo minTime (thay cả list khi có segment mới) */
+    private volatile List<Segment> segments = List.of();
+
+    public HistoryArchiveStore(
+            HistoryArchiveSegmentRepository segmentRepository,
+            HistoryArchiveBlockRepository blockRepository,
+            EncryptionService encryptionService,
+            @Qualifier("cryptoExecutor") Executor cryptoExecutor) {
+        this.segmentRepository = segmentRepository;
+        this.blockRepository = blockRepository;
+        this.encryptionService = encryptionService;
+        this.cryptoExecutor = cryptoExecutor;
+    }
+
+    @PostConstruct
+    void loadSegments() {
+        refresh();
+        log.info("History archive loaded | segments={}", segments.size());
+    }
+
+    /**
+     * Nạp lại danh sách segment từ DB (segment do instance khác archive)
+     */
+    @Scheduled(fixedDelayString = "${history.archive.refresh-ms:60000}",
+            initialDelayString = "${history.archive.refresh-ms:60000}")
+    public void refresh() {
+        segments = segmentRepository.findAllByOrderByMinTimeAsc().stream()
+                .filter(s -> s.getRowCount() > 0)
+                .map(s -> new Segment(toMeta(s)))
+                .toList();
+    }
+
+    /* ================= WRITE ================= */
+
+    /**
+     * Mở writer cho một partition. Gọi {@link SegmentWriter#commit()} để công bố segment,
+     * close() mà chưa commit sẽ xoá các block đã ghi.
+     * Các dòng phải được append theo thứ tự (transactionTime, id).
+     * Segment cũ cùng partition (archive trước đó chưa DROP được) bị thay thế.
+     *
+     * @param partition    tên partition nguồn
+     * @param expectedRows số dòng dự kiến (để định kích thước bloom filter)
+     */
+    public SegmentWriter openWriter(String partition, long expectedRows) {
+        remove(partition);
+        return new SegmentWriter(partition, expectedRows);
+    }
+
+    /**
+     * Xoá segment và các block của partition
+     */
+    public void remove(String partition) {
+        if (segmentRepository.existsById(partition)) {
+            segmentRepository.deleteById(partition);
+        }
+        blockRepository.deleteByPartition(partition);
+        unpublish(partition);
+    }
+
+    /* ================= READ ================= */
+
+    public List<HistorySegmentMeta> getSegments() {
+        return segments.stream().map(s -> s.meta).toList();
+    }
+
+    /**
+     * Đọc tối đa limit dòng archive sau vị trí (afterTime, afterId), trước to,
+     * sắp theo (transactionTime, id). Account được giải mã.
+     */
+    public List<TransactionHistoryResponseDTO> findPage(
+            LocalDateTime afterTime,
+            long afterId,
+            LocalDateTime to,
+            String transactionId,
+            int limit) {
+
+        List<TransactionHistoryResponseDTO> result = new ArrayList<>();
+
+        for (Segment segment : segments) {
+            HistorySegmentMeta meta = segment.meta;
+            if (!meta.getMinTime().isBefore(to)) {
+                // Segment sắp theo thời gian → các segment sau cũng nằm ngoài khoảng
+                break;
+            }
+            if (meta.getMaxTime().isBefore(afterTime)) {
+                continue;
+            }
+            if (transactionId != null && !segment.bloom.mightContain(transactionId)) {
+                continue;
+            }
+
+            // Tiếp tục keyset: bỏ qua các block nằm trọn trước cursor
+            Integer firstSeq = meta.getMinTime().isAfter(afterTime)
+                    ? Integer.valueOf(0)
+                    : blockRepository.findFirstSeqAfter(meta.getPartition(), afterTime, afterId);
+            if (firstSeq == null) {
+                continue;
+            }
+
+            for (int seq = firstSeq; seq < meta.getBlockCount(); seq++) {
+                for (TransactionHistoryResponseDTO row : readBlock(meta.getPartition(), seq)) {
+                    LocalDateTime time = row.getTransactionTime();
+                    if (!time.isBefore(to)) {
+                        decryptAccounts(result);
+                        return result;
+                    }
+                    boolean afterCursor = time.isAfter(afterTime)
+                            || (time.isEqual(afterTime) && row.getId() > afterId);
+                    if (afterCursor && (transactionId == null || transactionId.equals(row.getTransactionId()))) {
+                        result.add(row);
+                        if (result.size() >= limit) {
+                            decryptAccounts(result);
+                            return result;
+                        }
+                    }
+                }
+            }
+        }
+
+        decryptAccounts(result);
+        return result;
+    }
+
+    /**
+     * Duyệt toàn bộ dòng archive (account đã giải mã), giải mã song song theo từng block
+     *
+     * @return số dòng đã duyệt
+     */
+    public long forEachRow(Consumer<TransactionHistoryResponseDTO> consumer) {
+        long rows = 0;
+
+        for (Segment segment : segments) {
+            for (int seq = 0; seq < segment.meta.getBlockCount(); seq++) {
+                List<TransactionHistoryResponseDTO> block = readBlock(segment.meta.getPartition(), seq);
+                decryptAccounts(block);
+                block.forEach(consumer);
+                rows += block.size();
+            }
+        }
+
+        return rows;
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private List<TransactionHistoryResponseDTO> readBlock(String partition, int seq) {
+        byte[] data = blockRepository.findData(partition, seq);
+        if (data == null) {
+            throw new IllegalStateException("Missing archive block " + partition + "#" + seq);
+        }
+
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Invalid archive block " + partition + "#" + seq);
+            }
+
+            int n = in.readInt();
+            long[] ids = new long[n];
+            long[] seconds = new long[n];
+            int[] nanos = new int[n];
+            String[] transactionIds = new String[n];
+            String[] accounts = new String[n];
+            long[] debits = new long[n];
+            long[] credits = new long[n];
+
+            for (int i = 0; i < n; i++) ids[i] = in.readLong();
+            for (int i = 0; i < n; i++) seconds[i] = in.readLong();
+            for (int i = 0; i < n; i++) nanos[i] = in.readInt();
+            for (int i = 0; i < n; i++) transactionIds[i] = in.readUTF();
+            for (int i = 0; i < n; i++) accounts[i] = in.readUTF();
+            for (int i = 0; i < n; i++) debits[i] = in.readLong();
+            for (int i = 0; i < n; i++) credits[i] = in.readLong();
+
+            List<TransactionHistoryResponseDTO> rows = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                rows.add(new TransactionHistoryResponseDTO(
+                        ids[i],
+                        transactionIds[i],
+                        accounts[i],
+                        toAmount(debits[i]),
+                        toAmount(credits[i]),
+                        LocalDateTime.ofEpochSecond(seconds[i], nanos[i], ZoneOffset.UTC)));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive block " + partition + "#" + seq, e);
+        }
+    }
+
+    private void decryptAccounts(List<TransactionHistoryResponseDTO> rows) {
+        List<String> accounts = ParallelUtil.mapOrdered(
+                rows, row -> encryptionService.decrypt(row.getAccount()), cryptoExecutor);
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).setAccount(accounts.get(i));
+        }
+    }
+
+    private synchronized void publish(Segment segment) {
+        List<Segment> updated = new ArrayList<>(segments);
+        updated.removeIf(s -> s.meta.getPartition().equals(segment.meta.getPartition()));
+        updated.add(segment);
+        updated.sort((a, b) -> a.meta.getMinTime().compareTo(b.meta.getMinTime()));
+        segments = List.copyOf(updated);
+    }
+
+    private synchronized void unpublish(String partition) {
+        segments = segments.stream()
+                .filter(s -> !s.meta.getPartition().equals(partition))
+                .toList();
+    }
+
+    private static HistorySegmentMeta toMeta(HistoryArchiveSegment segment) {
+        return new HistorySegmentMeta(
+                segment.getPartition(),
+                segment.getBlockCount(),
+                segment.getRowCount(),
+                segment.getMinId(),
+                segment.getMaxId(),
+                segment.getMinTime(),
+                segment.getMaxTime(),
+                segment.getTransactionIdBloom(),
+                segment.getBloomHashes(),
+                segment.getCreatedAt());
+    }
+
+    private static long toUnscaled(BigDecimal amount) {
+        return amount == null
+                ? NULL_AMOUNT
+                : amount.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toAmount(long unscaled) {
+        return unscaled == NULL_AMOUNT ? null : BigDecimal.valueOf(unscaled, AMOUNT_SCALE);
+    }
+
+    /**
+     * Segment đã công bố: metadata + bloom filter đã giải mã sẵn
+     */
+    private static final class Segment {
+
+        private final HistorySegmentMeta meta;
+        private final BloomFilter bloom;
+
+        private Segment(HistorySegmentMeta meta) {
+            this.meta = meta;
+            this.bloom = BloomFilter.fromBase64(meta.getTransactionIdBloom(), meta.getBloomHashes());
+        }
+    }
+
+    /**
+     * Ghi một segment: gom dòng thành block theo cột, nén và ghi từng block vào DB
+     */
+    public final class SegmentWriter implements Closeable {
+
+        private final String partition;
+        private final BloomFilter bloom;
+
+        private final long[] ids = new long[BLOCK_SIZE];
+        private final LocalDateTime[] times = new LocalDateTime[BLOCK_SIZE];
+        private final String[] transactionIds = new String[BLOCK_SIZE];
+        private final String[] accounts = new String[BLOCK_SIZE];
+        private final long[] debits = new long[BLOCK_SIZE];
+        private final long[] credits = new long[BLOCK_SIZE];
+        private int buffered;
+        private int blockCount;
+
+        private long rowCount;
+        private long minId = Long.MAX_VALUE;
+        private long maxId = Long.MIN_VALUE;
+        private LocalDateTime minTime;
+        private LocalDateTime maxTime;
+        private boolean committed;
+
+        private SegmentWriter(String partition, long expectedRows) {
+            this.partition = partition;
+            this.bloom = BloomFilter.create(expectedRows, BLOOM_FALSE_POSITIVE_RATE);
+        }
+
+        /**
+         * Thêm một dòng (account ở dạng đã mã hoá như trong DB)
+         */
+        public void append(
+                long id,
+                String transactionId,
+                String encryptedAccount,
+                BigDecimal inDebt,
+                BigDecimal have,
+                LocalDateTime transactionTime) throws IOException {
+
+            ids[buffered] = id;
+            times[buffered] = transactionTime;
+            transactionIds[buffered] = transactionId;
+            accounts[buffered] = encryptedAccount;
+            debits[buffered] = toUnscaled(inDebt);
+            credits[buffered] = toUnscaled(have);
+            buffered++;
+
+            bloom.put(transactionId);
+            rowCount++;
+            minId = Math.min(minId, id);
+            maxId = Math.max(maxId, id);
+            if (minTime == null || transactionTime.isBefore(minTime)) {
+                minTime = transactionTime;
+            }
+            if (maxTime == null || transactionTime.isAfter(maxTime)) {
+                maxTime = transactionTime;
+            }
+
+            if (buffered == BLOCK_SIZE) {
+                flushBlock();
+            }
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Ghi metadata và công bố segment cho luồng đọc (instance khác thấy sau lần refresh kế tiếp)
+         */
+        public HistorySegmentMeta commit() throws IOException {
+            flushBlock();
+
+            HistoryArchiveSegment segment = new HistoryArchiveSegment();
+            segment.setPartition(partition);
+            segment.setRowCount(rowCount);
+            segment.setBlockCount(blockCount);
+            segment.setMinId(rowCount == 0 ? 0 : minId);
+            segment.setMaxId(rowCount == 0 ? 0 : maxId);
+            segment.setMinTime(minTime != null ? minTime : LocalDateTime.now());
+            segment.setMaxTime(maxTime != null ? maxTime : segment.getMinTime());
+            segment.setTransactionIdBloom(bloom.toBase64());
+            segment.setBloomHashes(bloom.getNumHashes());
+            segment.setCreatedAt(LocalDateTime.now());
+            segmentRepository.save(segment);
+
+            committed = true;
+            HistorySegmentMeta meta = toMeta(segment);
+            if (rowCount > 0) {
+                publish(new Segment(meta));
+            }
+
+            log.info("History segment written | partition={} | rows={} | blocks={}", partition, rowCount, blockCount);
+            return meta;
+        }
+
+        /**
+         * Huỷ segment kể cả khi đã commit (vd DROP PARTITION thất bại → dữ liệu vẫn ở bảng nóng)
+         */
+        public void discard() {
+            remove(partition);
+            committed = true;
+        }
+
+        @Override
+        public void close() {
+            if (!committed) {
+                blockRepository.deleteByPartition(partition);
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            if (buffered == 0) {
+                return;
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(buffered * 64);
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes, 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(buffered);
+                for (int i = 0; i < buffered; i++) out.writeLong(ids[i]);
+                for (int i = 0; i < buffered; i++) out.writeLong(times[i].toEpochSecond(ZoneOffset.UTC));
+                for (int i = 0; i < buffered; i++) out.writeInt(times[i].getNano());
+                for (int i = 0; i < buffered; i++) out.writeUTF(transactionIds[i]);
+                for (int i = 0; i < buffered; i++) out.writeUTF(accounts[i]);
+                for (int i = 0; i < buffered; i++) out.writeLong(debits[i]);
+                for (int i = 0; i < buffered; i++) out.writeLong(credits[i]);
+            }
+
+            HistoryArchiveBlock block = new HistoryArchiveBlock();
+            block.setPartition(partition);
+            block.setSeq(blockCount++);
+            block.setRowCount(buffered);
+            block.setFirstTime(times[0]);
+            block.setFirstId(ids[0]);
+            block.setLastTime(times[buffered - 1]);
+            block.setLastId(ids[buffered - 1]);
+            block.setData(bytes.toByteArray());
+            blockRepository.save(block);
+
+            Arrays.fill(times, 0, buffered, null);
+            Arrays.fill(transactionIds, 0, buffered, null);
+            Arrays.fill(accounts, 0, buffered, null);
+            buffered = 0;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.crudjob.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.crudjob.service.HistoryArchiveStore.SegmentWriter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HistoryPartitionManager
+ *
+ * Quản lý partition theo tháng của transaction_history (MySQL RANGE COLUMNS(transaction_time)):
+ * - Lúc khởi động: chuyển bảng sang dạng partition nếu chưa có
+ * - Định kỳ: tạo trước partition cho các tháng tới, archive + DROP các partition quá hạn lưu giữ
+ *
+ * Mặc định tắt (history.partition.enabled). Khi bật, chỉ instance giữ lease "history-partition"
+ * chạy DDL; archive nằm trong DB (HistoryArchiveStore) nên mọi instance đọc được.
+ *
+ * MySQL yêu cầu mọi unique key chứa cột partition → khoá chính được đổi thành (id, transaction_time).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryPartitionManager {
+
+    private static final String TABLE = "transaction_history";
+    private static final String MAX_PARTITION = "pmax";
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("^p\\d{6}$");
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'uuuuMM");
+    private static final String LEASE_NAME = "history-partition";
+
+    private static final String PARTITIONS_SQL = """
+            select PARTITION_NAME from information_schema.PARTITIONS
+            where TABLE_SCHEMA = database() and TABLE_NAME = ? and PARTITION_NAME is not null
+            order by PARTITION_ORDINAL_POSITION
+            """;
+
+    private static final String PRIMARY_KEY_SQL = """
+            select COLUMN_NAME from information_schema.KEY_COLUMN_USAGE
+            where TABLE_SCHEMA = database() and TABLE_NAME = ? and CONSTRAINT_NAME = 'PRIMARY'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HistoryArchiveStore historyArchiveStore;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    @Value("${history.partition.enabled:false}")
+    private boolean enabled;
+
+    /** Thời hạn lease, được gia hạn trước mỗi partition cần archive */
+    @Value("${history.partition.lease-ms:600000}")
+    private long leaseMs;
+
+    /** Số tháng tạo sẵn partition phía trước */
+    @Value("${history.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    /** Số tháng giữ trong bảng nóng, cũ hơn sẽ được archive */
+    @Value("${history.retention.months:12}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            maintain();
+        }
+    }
+
+    @Scheduled(cron = "${history.partition.cron:0 30 2 * * *}")
+    public void scheduledMaintain() {
+        if (enabled) {
+            maintain();
+        }
+    }
+
+    /**
+     * Chạy một vòng bảo trì partition nếu nhận được lease. Lỗi chỉ được log, không làm dừng ứng dụng.
+     */
+    public synchronized void maintain() {
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, leaseMs)) {
+            log.debug("HISTORY_PARTITION_SKIPPED | lease held by another instance");
+            return;
+        }
+
+        try {
+            ensurePartitioned();
+            addFuturePartitions();
+            archiveExpiredPartitions();
+        } catch (Exception e) {
+            log.error("HISTORY_PARTITION_MAINTENANCE_FAILED | {}", e.getMessage(), e);
+        } finally {
+            schedulerLeaseManager.release(LEASE_NAME);
+        }
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void ensurePartitioned() {
+        if (!listPartitions().isEmpty()) {
+            return;
+        }
+
+        List<String> primaryKey = jdbcTemplate.queryForList(PRIMARY_KEY_SQL, String.class, TABLE);
+        if (!primaryKey.contains("transaction_time")) {
+            log.info("HISTORY_PARTITION | changing primary key to (id, transaction_time)");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE
+                    + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, transaction_time)");
+        }
+
+        LocalDateTime minTime = jdbcTemplate.queryForObject(
+                "select min(transaction_time) from " + TABLE, LocalDateTime.class);
+        YearMonth first = minTime != null ? YearMonth.from(minTime) : YearMonth.now();
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+
+        StringJoiner definitions = new StringJoiner(", ", "(", ")");
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.add(partitionDefinition(month));
+        }
+        definitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+
+        log.info("HISTORY_PARTITION | partitioning {} from {} to {}", TABLE, first, last);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE
+                + " PARTITION BY RANGE COLUMNS(transaction_time) " + definitions);
+    }
+
+    private void addFuturePartitions() {
+        YearMonth lastExisting = listPartitions().stream()
+                .filter(name -> MONTHLY_PARTITION.matcher(name).matches())
+                .map(name -> YearMonth.parse(name, PARTITION_NAME))
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+
+        YearMonth target = YearMonth.now().plusMonths(monthsAhead);
+        for (YearMonth month = lastExisting.plusMonths(1); !month.isAfter(target); month = month.plusMonths(1)) {
+            log.info("HISTORY_PARTITION | adding partition {}", month.format(PARTITION_NAME));
+            jdbcTemplate.execute("ALTER TABLE " + TABLE
+                    + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                    + partitionDefinition(month) + ", "
+                    + "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+        }
+    }
+
+    private void archiveExpiredPartitions() throws IOException {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        for (String name : listPartitions()) {
+            if (!MONTHLY_PARTITION.matcher(name).matches()) {
+                continue;
+            }
+            if (YearMonth.parse(name, PARTITION_NAME).isBefore(cutoff)) {
+                if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, leaseMs)) {
+                    log.warn("HISTORY_PARTITION_LEASE_LOST | stopping before partition {}", name);
+                    return;
+                }
+                archivePartition(name);
+            }
+        }
+    }
+
+    /**
+     * Ghi partition ra archive, rồi kiểm tra số dòng và DROP partition dưới cùng một LOCK TABLES
+     * (không transfer nào ghi thêm vào partition giữa lúc đếm lại và lúc DROP).
+     * Tên partition đã được kiểm tra theo MONTHLY_PARTITION nên an toàn khi nối vào SQL.
+     */
+    private void archivePartition(String name) throws IOException {
+        long start = System.currentTimeMillis();
+        String countSql = "select count(*) from " + TABLE + " partition (" + name + ")";
+        long count = jdbcTemplate.queryForObject(countSql, Long.class);
+
+        try (SegmentWriter writer = historyArchiveStore.openWriter(name, Math.max(count, 1))) {
+            if (count > 0) {
+                writePartition(name, writer);
+            }
+
+            boolean dropped = jdbcTemplate.execute((Connection con) -> dropIfUnchanged(con, name, countSql, writer));
+            if (!dropped) {
+                return;
+            }
+        }
+
+        log.info("HISTORY_PARTITION_ARCHIVED | partition={} | rows={} | durationMs={}",
+                name, count, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Trên một connection: LOCK TABLES ... WRITE → đếm lại → công bố segment → DROP PARTITION → UNLOCK.
+     * Số dòng lệch (có ghi muộn vào partition) thì bỏ segment, lần bảo trì sau archive lại.
+     */
+    private Boolean dropIfUnchanged(Connection con, String name, String countSql, SegmentWriter writer)
+            throws SQLException {
+
+        try (Statement statement = con.createStatement()) {
+            statement.execute("LOCK TABLES " + TABLE + " WRITE");
+            try {
+                long recount;
+                try (ResultSet rs = statement.executeQuery(countSql)) {
+                    rs.next();
+                    recount = rs.getLong(1);
+                }
+
+                if (recount != writer.getRowCount()) {
+                    log.warn("HISTORY_ARCHIVE_SKIPPED | partition={} | written={} | current={}",
+                            name, writer.getRowCount(), recount);
+                    return false;
+                }
+
+                // Công bố trước khi DROP: lỗi giữa chừng chỉ gây trùng tạm thời, không mất dữ liệu
+                writer.commit();
+                try {
+                    statement.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + name);
+                } catch (SQLException e) {
+                    writer.discard();
+                    throw e;
+                }
+                return true;
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                statement.execute("UNLOCK TABLES");
+            }
+        }
+    }
+
+    private void writePartition(String name, SegmentWriter writer) {
+        String sql = "select id, transaction_id, account, in_debt, have, transaction_time from " + TABLE
+                + " partition (" + name + ") order by transaction_time, id";
+
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(Integer.MIN_VALUE);
+                    return ps;
+                },
+                rs -> {
+                    try {
+                        // account giữ nguyên bản mã hoá trong DB
+                        writer.append(
+                                rs.getLong("id"),
+                                rs.getString("transaction_id"),
+                                rs.getString("account"),
+                                rs.getBigDecimal("in_debt"),
+                                rs.getBigDecimal("have"),
+                                rs.getObject("transaction_time", LocalDateTime.class));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, TABLE);
+    }
+
+    private static String partitionDefinition(YearMonth month) {
+        return "PARTITION " + month.format(PARTITION_NAME)
+                + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + " 00:00:00')";
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.crudjob.service;
+
+import java.util.Collection;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.entity.enums.EJobEventType;
+
+public interface IJobEventService {
+
+    /**
+     * Phát sự kiện thay đổi job tới các client đang nghe (sau khi transaction commit)
+     *
+     * @param type   loại thay đổi
+     * @param jobIds các job bị ảnh hưởng (rỗng = bỏ qua)
+     * @param job    dữ liệu job sau thay đổi, null với xoá hoặc thao tác hàng loạt
+     */
+    void publish(EJobEventType type, Collection<Long> jobIds, JobResponseDTO job);
+
+    /**
+     * Đăng ký nhận sự kiện qua SSE
+     *
+     * @param lastEventId id sự kiện cuối client đã nhận (header Last-Event-ID), null = chỉ nhận sự kiện mới
+     * @return SseEmitter, hoặc null nếu đã đủ số kết nối tối đa
+     */
+    SseEmitter subscribe(String lastEventId);
+}
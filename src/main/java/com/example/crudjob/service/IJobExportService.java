@@ -0,0 +1,16 @@
+package com.example.crudjob.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IJobExportService {
+
+    /**
+     * Stream toàn bộ job (đã giải mã) ra output dạng NDJSON, mỗi dòng một JobResponseDTO
+     *
+     * @param gzip nén gzip đầu ra
+     * @param out  output stream của response
+     * @return số job đã ghi
+     */
+    long exportNdjson(boolean gzip, OutputStream out) throws IOException;
+}
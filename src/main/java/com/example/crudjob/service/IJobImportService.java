@@ -0,0 +1,18 @@
+package com.example.crudjob.service;
+
+import java.io.IOException;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.crudjob.dto.response.JobImportResultDTO;
+
+public interface IJobImportService {
+
+    /**
+     * Import job hàng loạt từ file CSV (có header) hoặc NDJSON
+     *
+     * @param file file upload (.csv hoặc .ndjson/.jsonl)
+     * @return JobImportResultDTO số dòng thành công/thất bại và lỗi theo dòng
+     */
+    JobImportResultDTO importJobs(MultipartFile file) throws IOException;
+}
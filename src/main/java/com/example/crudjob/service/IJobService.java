@@ -1,9 +1,20 @@
 package com.example.crudjob.service;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Set;
 
+import com.example.crudjob.dto.request.JobBulkDeleteRequestDTO;
+import com.example.crudjob.dto.request.JobBulkUpdateRequestDTO;
+import com.example.crudjob.dto.request.JobFilterDTO;
 import com.example.crudjob.dto.request.JobRequestDTO;
+import com.example.crudjob.dto.response.CachedJobResponseDTO;
+import com.example.crudjob.dto.response.CursorPageResponseDTO;
+import com.example.crudjob.dto.response.JobBulkResultDTO;
+import com.example.crudjob.dto.response.JobFacetsDTO;
 import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.dto.response.JobSearchResponseDTO;
+import com.example.crudjob.entity.enums.EJobField;
+import com.example.crudjob.entity.enums.EJobSort;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -20,16 +31,6 @@ public interface IJobService {
      */
     JobResponseDTO create(JobRequestDTO dto);
 
-    /**
-     * Lấy danh sách tất cả Job
-     */
-    /**
-     * Lấy toàn bộ danh sách job (không phân trang)
-     * 
-     * @return Danh sách JobResponseDTO
-     */
-    List<JobResponseDTO> getAll();
-
     /**
      * Lấy danh sách Job có phân trang
      */
@@ -37,9 +38,27 @@ public interface IJobService {
      * Lấy danh sách job có phân trang
      * 
      * @param pageable thông tin phân trang (page/size,...)
+     * @param fields   các field cần trả về (chỉ các field này được SELECT và giải mã)
      * @return Đối tượng Page<JobResponseDTO> chứa dữ liệu theo trang
      */
-    Page<JobResponseDTO> getAll(Pageable pageable);
+    Page<JobResponseDTO> getAll(Pageable pageable, Set<EJobField> fields);
+
+    /**
+     * Lấy danh sách job theo keyset pagination (không COUNT, không OFFSET)
+     *
+     * @param title        lọc theo tiêu đề chứa từ khoá (null = không lọc)
+     * @param sort         khoá sắp xếp (luôn kèm id)
+     * @param cursor       token trang trước trả về (null = trang đầu)
+     * @param size         số bản ghi mỗi trang
+     * @param includeTotal có trả về tổng số xấp xỉ (từ cache) hay không
+     * @return CursorPageResponseDTO trang kết quả và nextCursor
+     */
+    CursorPageResponseDTO<JobResponseDTO> scroll(
+            String title,
+            EJobSort sort,
+            String cursor,
+            int size,
+            boolean includeTotal);
 
     /**
      * Lấy Job theo ID
@@ -52,17 +71,28 @@ public interface IJobService {
      */
     JobResponseDTO getById(Long id);
 
+    /**
+     * Lấy Job theo ID dưới dạng JSON đã serialize sẵn kèm ETag (đọc qua cache)
+     *
+     * @param id id của job
+     * @return CachedJobResponseDTO JSON của JobResponseDTO và strong ETag theo version
+     */
+    CachedJobResponseDTO getCachedById(Long id);
+
     /**
      * Cập nhật Job
      */
     /**
      * Cập nhật job theo id với thông tin mới
      * 
-     * @param id  id của job sẽ cập nhật
-     * @param dto thông tin mới của job
-     * @return JobResponseDTO thông tin job đã cập nhật
+     * Một câu UPDATE có điều kiện, không load entity trước.
+     * 
+     * @param id              id của job sẽ cập nhật
+     * @param dto             thông tin mới của job
+     * @param expectedVersion version client đang giữ (If-Match), null = không kiểm tra
+     * @return JobResponseDTO thông tin job đã cập nhật (ConflictException nếu version đã thay đổi)
      */
-    JobResponseDTO update(Long id, JobRequestDTO dto);
+    JobResponseDTO update(Long id, JobRequestDTO dto, Long expectedVersion);
 
     /**
      * Xoá Job
@@ -75,12 +105,64 @@ public interface IJobService {
     void delete(Long id);
 
     /**
-     * Tìm kiếm job theo tiêu đề
+     * Cập nhật hàng loạt các job khớp ids/filter bằng một câu lệnh UPDATE
+     *
+     * @param request ids và/hoặc filter chọn job, cùng các field cần đổi
+     * @return JobBulkResultDTO số job bị ảnh hưởng
+     */
+    JobBulkResultDTO bulkUpdate(JobBulkUpdateRequestDTO request);
+
+    /**
+     * Xoá hàng loạt các job khớp ids/filter bằng một câu lệnh DELETE
+     *
+     * @param request ids và/hoặc filter chọn job
+     * @return JobBulkResultDTO số job bị xoá
+     */
+    JobBulkResultDTO bulkDelete(JobBulkDeleteRequestDTO request);
+
+    /**
+     * Đóng (status = Closed) một lô job Open đã hết hạn trong một transaction ngắn
+     *
+     * @param now   mốc thời gian hết hạn
+     * @param limit số job tối đa của lô
+     * @return số job đã đóng (nhỏ hơn limit = đã hết job cần đóng, trừ job đang bị khoá)
+     */
+    int closeExpired(LocalDateTime now, int limit);
+
+    /**
+     * Số job theo type, status và khoảng lương (đếm sẵn trong bộ nhớ, không truy vấn DB)
+     *
+     * @return JobFacetsDTO các bộ đếm facet
+     */
+    JobFacetsDTO getFacets();
+
+    /**
+     * Lọc job theo nhiều tiêu chí (salary min/max, type, status, tiền tố title)
+     *
+     * @param filter   điều kiện lọc (AND, null = bỏ qua)
+     * @param pageable phân trang + sắp xếp (chỉ các khoá trong EJobSort)
+     * @param fields   các field cần trả về
+     * @return Page<JobResponseDTO> kết quả lọc
+     */
+    Page<JobResponseDTO> filter(JobFilterDTO filter, Pageable pageable, Set<EJobField> fields);
+
+    /**
+     * Tìm kiếm full-text trên title + description (chỉ mục nhúng, xếp hạng BM25)
+     *
+     * @param query  từ khoá; cụm từ trong dấu ngoặc kép phải xuất hiện liền nhau
+     * @param size   số kết quả tối đa
+     * @param fields các field cần trả về
+     * @return JobSearchResponseDTO kết quả sắp theo điểm giảm dần
+     */
+    JobSearchResponseDTO search(String query, int size, Set<EJobField> fields);
+
+    /**
+     * Tìm kiếm job theo tiêu đề, chỉ trả về các field được chọn
      */
-    Page<JobResponseDTO> searchByTitle(String title, Pageable pageable);
+    Page<JobResponseDTO> searchByTitle(String title, Pageable pageable, Set<EJobField> fields);
 
     /**
-     * Tìm kiếm job theo công ty
+     * Tìm kiếm job theo công ty, chỉ trả về các field được chọn
      */
-    Page<JobResponseDTO> searchByCompany(String company, Pageable pageable);
+    Page<JobResponseDTO> searchByCompany(String company, Pageable pageable, Set<EJobField> fields);
 }
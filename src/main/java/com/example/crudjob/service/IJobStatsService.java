@@ -0,0 +1,25 @@
+package com.example.crudjob.service;
+
+import com.example.crudjob.dto.response.JobStatsDTO;
+
+public interface IJobStatsService {
+
+    /**
+     * Ghi nhận một lượt xem job (cộng dồn trong bộ nhớ, flush định kỳ)
+     */
+    void recordView(Long jobId);
+
+    /**
+     * Ghi nhận một lượt ứng tuyển job
+     *
+     * @throws com.example.crudjob.exception.ResourceNotFoundException nếu job không tồn tại
+     */
+    void recordApply(Long jobId);
+
+    /**
+     * Lấy số lượt xem / ứng tuyển hiện tại của job
+     *
+     * @throws com.example.crudjob.exception.ResourceNotFoundException nếu job không tồn tại
+     */
+    JobStatsDTO getStats(Long jobId);
+}
@@ -3,6 +3,8 @@ package com.example.crudjob.service;
 import java.util.List;
 
 import com.example.crudjob.dto.request.RoleRequestDTO;
+import com.example.crudjob.dto.response.CacheInvalidationStatsDTO;
+import com.example.crudjob.dto.response.CacheRegionStatsDTO;
 import com.example.crudjob.dto.response.RoleResponseDTO;
 
 /**
@@ -19,4 +21,14 @@ public interface IRoleService {
     List<RoleResponseDTO> getAll();
 
     void delete(Long id);
+
+    /**
+     * Thống kê hit / miss cache cấp 2 của role, permission và role_permission theo region
+     */
+    List<CacheRegionStatsDTO> getCacheStats();
+
+    /**
+     * Trạng thái đồng bộ cache giữa các instance (version, số lần xoá, độ trễ)
+     */
+    CacheInvalidationStatsDTO getCacheInvalidationStats();
 }
@@ -0,0 +1,52 @@
+package com.example.crudjob.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache số lượng job (xấp xỉ) cho các trang cursor có yêu cầu tổng.
+ * COUNT(*) chỉ chạy khi hết hạn TTL, sai số chấp nhận được cho infinite scroll:
+ * tạo / xoá từng job không xoá cache (lệch tối đa một TTL), chỉ thao tác hàng loạt mới xoá.
+ */
+@Component
+public class JobCountCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    @Value("${job.count-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Lấy số lượng đã cache theo key, đếm lại bằng counter nếu chưa có hoặc đã hết hạn
+     */
+    public long get(String key, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.value;
+        }
+
+        long value = counter.getAsLong();
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(value, now + ttlMs));
+        return value;
+    }
+
+    /**
+     * Xoá toàn bộ cache (sau thao tác làm thay đổi số lượng lớn)
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private record Entry(long value, long expiresAt) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.crudjob.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JobExpiryProcessor
+ *
+ * Định kỳ đóng các job Open có expires_at đã qua:
+ * - Chỉ instance giữ lease "job-expiry" (scheduler_lease) chạy; lease được gia hạn trước mỗi lô,
+ *   mất lease thì dừng giữa chừng
+ * - Mỗi lô là một transaction ngắn: khoá tối đa chunk-size dòng (SKIP LOCKED) rồi một câu UPDATE
+ *   → không giữ khoá lâu, không giải mã / mã hoá lại field nào
+ * - Log số job và thời gian của từng lô và của cả lượt
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobExpiryProcessor {
+
+    private static final String LEASE_NAME = "job-expiry";
+
+    private final IJobService jobService;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    @Value("${job.expiry.enabled:true}")
+    private boolean enabled;
+
+    /** Số job mỗi transaction */
+    @Value("${job.expiry.chunk-size:500}")
+    private int chunkSize;
+
+    /** Thời hạn lease, phải lớn hơn thời gian xử lý một lô */
+    @Value("${job.expiry.lease-ms:60000}")
+    private long leaseMs;
+
+    /** Số lô tối đa mỗi lượt, phần còn lại để lượt sau */
+    @Value("${job.expiry.max-chunks:200}")
+    private int maxChunks;
+
+    @Scheduled(
+            initialDelayString = "${job.expiry.interval-ms:60000}",
+            fixedDelayString = "${job.expiry.interval-ms:60000}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            run();
+        } catch (Exception e) {
+            log.error("JOB_EXPIRY_FAILED | {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            schedulerLeaseManager.release(LEASE_NAME);
+        } catch (Exception e) {
+            log.debug("JOB_EXPIRY_RELEASE_FAILED | {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Đóng các job đã hết hạn tính tới thời điểm bắt đầu lượt
+     *
+     * @return số job đã đóng, 0 nếu instance khác đang giữ lease
+     */
+    public synchronized long run() {
+        LocalDateTime now = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+        long closed = 0;
+        int chunks = 0;
+
+        while (chunks < maxChunks) {
+            if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, leaseMs)) {
+                if (chunks > 0) {
+                    log.warn("JOB_EXPIRY_LEASE_LOST | closed={} | chunks={}", closed, chunks);
+                }
+                break;
+            }
+
+            long chunkStart = System.currentTimeMillis();
+            int rows = jobService.closeExpired(now, chunkSize);
+            if (rows == 0) {
+                break;
+            }
+            chunks++;
+            closed += rows;
+            log.debug("JOB_EXPIRY_CHUNK | chunk={} | rows={} | durationMs={}",
+                    chunks, rows, System.currentTimeMillis() - chunkStart);
+
+            if (rows < chunkSize) {
+                break;
+            }
+        }
+
+        if (closed > 0) {
+            log.info("JOB_EXPIRY_DONE | closed={} | chunks={} | durationMs={}",
+                    closed, chunks, System.currentTimeMillis() - start);
+        }
+        return closed;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.crudjob.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.crudjob.dto.response.JobFacetsDTO;
+import com.example.crudjob.dto.response.SalaryBandFacetDTO;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.utils.TransactionUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bộ đếm facet của job (theo type, status, khoảng lương) giữ trong bộ nhớ.
+ *
+ * - Khởi tạo bằng một câu GROUP BY lúc khởi động
+ * - Các thao tác ghi cộng/trừ delta (LongAdder) sau khi transaction commit
+ * - Định kỳ so lại với SQL, lệch ở hai lần so liên tiếp thì thay bằng số liệu mới
+ *   (tự sửa sai số do ghi đồng thời)
+ *
+ * Delta của transaction commit trong lúc load() chạy được cộng vào bộ đếm cũ nhưng có thể
+ * không có trong ảnh chụp SQL: một lần lệch đơn lẻ chưa phải sai số thật, thay ngay sẽ làm mất delta đó.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobFacetCounter {
+
+    private final JobRepository jobRepository;
+
+    /** Cận trên (không bao gồm) của các khoảng lương, tăng dần */
+    @Value("${job.facets.salary-bands:1000,2000,5000,10000}")
+    private int[] salaryBands;
+
+    /** null = chưa khởi tạo */
+    private volatile Counts counts;
+
+    /** Lần so trước đã thấy lệch */
+    private boolean driftSuspected;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Arrays.sort(salaryBands);
+        try {
+            counts = load();
+            log.info("JOB_FACETS_LOADED | total={}", counts.total.sum());
+        } catch (Exception e) {
+            log.error("JOB_FACETS_LOAD_FAILED | {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${job.facets.drift-check-ms:300000}",
+            fixedDelayString = "${job.facets.drift-check-ms:300000}")
+    public synchronized void checkDrift() {
+        try {
+            Counts fresh = load();
+            Counts current = counts;
+            if (current == null) {
+                counts = fresh;
+                return;
+            }
+            if (current.sameAs(fresh)) {
+                driftSuspected = false;
+                return;
+            }
+            if (!driftSuspected) {
+                // Có thể chỉ là delta commit trong lúc load(): chờ lần so sau
+                driftSuspected = true;
+                log.debug("JOB_FACETS_DRIFT_SUSPECTED | memory={} | sql={}", current.total.sum(), fresh.total.sum());
+                return;
+            }
+            log.warn("JOB_FACETS_DRIFT | memory={} | sql={}", current.total.sum(), fresh.total.sum());
+            counts = fresh;
+            driftSuspected = false;
+        } catch (Exception e) {
+            log.error("JOB_FACETS_DRIFT_CHECK_FAILED | {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ảnh chụp hiện tại của các bộ đếm (không truy vấn DB trừ lần đầu)
+     */
+    public JobFacetsDTO snapshot() {
+        Counts current = counts;
+        if (current == null) {
+            current = load();
+            counts = current;
+        }
+        return current.toDto(salaryBands);
+    }
+
+    /* ================= DELTA (áp dụng sau commit) ================= */
+
+    public void add(EJobType type, EJobStatus status, int salary) {
+        TransactionUtil.afterCommit(() -> apply(type, status, salary, 1));
+    }
+
+    /**
+     * Chuyển các job khớp spec sang (type, status, salary) mới
+     * (gọi TRƯỚC câu UPDATE, trong cùng transaction; chỉ đọc 3 cột)
+     */
+    public void moveMatching(Specification<Job> spec, EJobType type, EJobStatus status, int salary) {
+        List<Object[]> rows = jobRepository.countByTypeStatusSalary(spec);
+        TransactionUtil.afterCommit(() -> rows.forEach(row -> {
+            long count = (Long) row[3];
+            apply((EJobType) row[0], (EJobStatus) row[1], (Integer) row[2], -count);
+            apply(type, status, salary, count);
+        }));
+    }
+
+    /**
+     * Đổi status của các job khớp spec, giữ nguyên type và lương
+     * (gọi TRƯỚC câu UPDATE, trong cùng transaction)
+     */
+    public void changeStatusMatching(Specification<Job> spec, EJobStatus status) {
+        List<Object[]> rows = jobRepository.countByTypeStatusSalary(spec);
+        TransactionUtil.afterCommit(() -> rows.forEach(row -> {
+            long count = (Long) row[3];
+            apply((EJobType) row[0], (EJobStatus) row[1], (Integer) row[2], -count);
+            apply((EJobType) row[0], status, (Integer) row[2], count);
+        }));
+    }
+
+    /**
+     * Trừ các job khớp spec (gọi TRƯỚC câu DELETE, trong cùng transaction)
+     */
+    public void removeMatching(Specification<Job> spec) {
+        List<Object[]> rows = jobRepository.countByTypeStatusSalary(spec);
+        TransactionUtil.afterCommit(() -> rows.forEach(row -> apply(
+                (EJobType) row[0], (EJobStatus) row[1], (Integer) row[2], -((Long) row[3]))));
+    }
+
+    /**
+     * Đếm lại toàn bộ sau commit (thao tác hàng loạt không biết trước delta)
+     */
+    public void reload() {
+        TransactionUtil.afterCommit(() -> counts = load());
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private Counts load() {
+        Counts fresh = new Counts(salaryBands.length + 1);
+        for (Object[] row : jobRepository.countByTypeStatusSalary(null)) {
+            fresh.add((EJobType) row[0], (EJobStatus) row[1], band((Integer) row[2]), (Long) row[3]);
+        }
+        return fresh;
+    }
+
+    private void apply(EJobType type, EJobStatus status, int salary, long delta) {
+        Counts current = counts;
+        if (current != null) {
+            current.add(type, status, band(salary), delta);
+        }
+    }
+
+    private int band(int salary) {
+        int index = Arrays.binarySearch(salaryBands, salary);
+        // Trùng cận trên của khoảng i → thuộc khoảng i + 1
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static final class Counts {
+
+        private final LongAdder total = new LongAdder();
+        private final Map<EJobType, LongAdder> byType = new EnumMap<>(EJobType.class);
+        private final Map<EJobStatus, LongAdder> byStatus = new EnumMap<>(EJobStatus.class);
+        private final LongAdder[] byBand;
+
+        private Counts(int bands) {
+            for (EJobType type : EJobType.values()) {
+                byType.put(type, new LongAdder());
+            }
+            for (EJobStatus status : EJobStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+            byBand = new LongAdder[bands];
+            for (int i = 0; i < bands; i++) {
+                byBand[i] = new LongAdder();
+            }
+        }
+
+        private void add(EJobType type, EJobStatus status, int band, long delta) {
+            total.add(delta);
+            byType.get(type).add(delta);
+            byStatus.get(status).add(delta);
+            byBand[band].add(delta);
+        }
+
+        private boolean sameAs(Counts other) {
+            if (total.sum() != other.total.sum()) {
+                return false;
+            }
+            for (EJobType type : EJobType.values()) {
+                if (byType.get(type).sum() != other.byType.get(type).sum()) {
+                    return false;
+                }
+            }
+            for (EJobStatus status : EJobStatus.values()) {
+                if (byStatus.get(status).sum() != other.byStatus.get(status).sum()) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < byBand.length; i++) {
+                if (byBand[i].sum() != other.byBand[i].sum()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private JobFacetsDTO toDto(int[] bounds) {
+            Map<EJobType, Long> types = new EnumMap<>(EJobType.class);
+            byType.forEach((type, count) -> types.put(type, count.sum()));
+
+            Map<EJobStatus, Long> statuses = new EnumMap<>(EJobStatus.class);
+            byStatus.forEach((status, count) -> statuses.put(status, count.sum()));
+
+            List<SalaryBandFacetDTO> bands = new ArrayList<>(byBand.length);
+            for (int i = 0; i < byBand.length; i++) {
+                int min = i == 0 ? 0 : bounds[i - 1];
+                Integer max = i < bounds.length ? bounds[i] : null;
+                bands.add(new SalaryBandFacetDTO(min, max, byBand[i].sum()));
+            }
+
+            return new JobFacetsDTO(total.sum(), types, statuses, bands);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.crudjob.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.dto.response.CachedJobResponseDTO;
+import com.example.crudjob.utils.TransactionUtil;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cache read-through các JobResponseDTO đã giải mã + serialize, theo id.
+ *
+ * Giới hạn theo tổng số byte JSON (LRU), không theo số entry.
+ * Mọi thao tác ghi job phải invalidate; entry nạp song song với một lần
+ * invalidate sẽ không được đưa vào cache (tránh giữ bản cũ).
+ *
+ * Ghi ở instance khác → CacheInvalidationBus (region "job-response") xoá toàn bộ cache này.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobResponseCache {
+
+    /** Chi phí ước lượng cho key/entry/ETag ngoài phần JSON */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${job.response-cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    private final LinkedHashMap<Long, CachedJobResponseDTO> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private long usedBytes;
+
+    /**
+     * Lấy từ cache, chưa có thì nạp bằng loader rồi lưu lại
+     */
+    public CachedJobResponseDTO get(Long id, Supplier<CachedJobResponseDTO> loader) {
+        synchronized (this) {
+            CachedJobResponseDTO cached = entries.get(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long generation = invalidations.get();
+        CachedJobResponseDTO loaded = loader.get();
+
+        synchronized (this) {
+            if (generation == invalidations.get()) {
+                put(id, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Xoá một job khỏi cache ngay và lần nữa sau khi transaction commit
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        TransactionUtil.afterCommit(() -> {
+            evict(id);
+            cacheInvalidationBus.publish(AppConstants.CACHE_BUS_JOB_RESPONSE);
+        });
+    }
+
+    /**
+     * Xoá toàn bộ cache ngay và lần nữa sau khi transaction commit (thao tác hàng loạt)
+     */
+    public void invalidateAll() {
+        clear();
+        TransactionUtil.afterCommit(() -> {
+            clear();
+            cacheInvalidationBus.publish(AppConstants.CACHE_BUS_JOB_RESPONSE);
+        });
+    }
+
+    @PostConstruct
+    void registerInvalidation() {
+        cacheInvalidationBus.register(AppConstants.CACHE_BUS_JOB_RESPONSE, this::clear);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void put(Long id, CachedJobResponseDTO entry) {
+        long size = sizeOf(entry);
+        if (size > maxBytes) {
+            return;
+        }
+
+        CachedJobResponseDTO previous = entries.put(id, entry);
+        if (previous != null) {
+            usedBytes -= sizeOf(previous);
+        }
+        usedBytes += size;
+
+        // Bỏ các entry ít dùng nhất cho tới khi đủ chỗ
+        Iterator<Map.Entry<Long, CachedJobResponseDTO>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= sizeOf(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    private synchronized void evict(Long id) {
+        invalidations.incrementAndGet();
+        CachedJobResponseDTO removed = entries.remove(id);
+        if (removed != null) {
+            usedBytes -= sizeOf(removed);
+        }
+    }
+
+    private synchronized void clear() {
+        invalidations.incrementAndGet();
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    private static long sizeOf(CachedJobResponseDTO entry) {
+        return entry.getJson().length + (long) ENTRY_OVERHEAD_BYTES;
+    }
+}
@@ -0,0 +1,1093 @@
+package com.example.crudjob.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.dto.JobSearchManifest;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.JobSearchSegment.Posting;
+import com.example.crudjob.service.JobSearchSegment.Term;
+import com.example.crudjob.utils.ParallelUtil;
+import com.example.crudjob.utils.TextTokenizer;
+import com.example.crudjob.utils.TransactionUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JobSearchIndex
+ *
+ * Chỉ mục full-text nhúng trên title + description (đã giải mã) của job:
+ * - Ghi: doc mới/cập nhật vào bộ đệm trong bộ nhớ; đủ ngưỡng hoặc định kỳ thì flush thành segment bất biến
+ * - Cập nhật/xoá: doc cũ được đánh dấu xoá trong segment chứa nó
+ * - Đọc: xếp hạng BM25 trên mọi segment (mmap) + bộ đệm, cụm từ trong "..." là điều kiện bắt buộc
+ * - Nền: gộp các segment nhỏ / nhiều doc đã xoá thành segment mới
+ *
+ * Chỉ mục là dữ liệu dẫn xuất: thiếu manifest, đổi khoá HMAC hoặc lệch số lượng với bảng jobs
+ * khi khởi động thì được dựng lại từ DB. Ghi chưa flush sẽ mất nếu tiến trình chết đột ngột
+ * (lần khởi động sau phát hiện lệch số lượng và dựng lại).
+ */
+@Component
+@Slf4j
+public class JobSearchIndex {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String MANIFEST_FILE = "manifest.json";
+    private static final String KEY_FILE = "term.key";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Pattern PHRASE = Pattern.compile("\"([^\"]*)\"");
+    private static final int MAX_QUERY_TERMS = 32;
+
+    /** Tham số BM25 */
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Một lần xuất hiện trong title có trọng số bằng TITLE_BOOST lần xuất hiện trong description */
+    private static final int TITLE_BOOST = 3;
+
+    /** Kết quả tìm kiếm: id job và điểm BM25 */
+    public record Hit(long jobId, double score) {
+    }
+
+    /** Top kết quả và tổng số doc khớp */
+    public record SearchHits(long totalHits, List<Hit> hits) {
+    }
+
+    private final JobRepository jobRepository;
+    private final EncryptionService encryptionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Executor cryptoExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${job.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${job.search.dir:./data/job-search}")
+    private String indexDirPath;
+
+    /** Khoá HMAC băm term; để trống thì sinh ngẫu nhiên và lưu trong thư mục chỉ mục */
+    @Value("${job.search.term-key:}")
+    private String termKey;
+
+    /** Số doc trong bộ đệm thì flush thành segment */
+    @Value("${job.search.flush-docs:10000}")
+    private int flushDocs;
+
+    /** Vượt quá số segment này thì gộp các segment nhỏ nhất */
+    @Value("${job.search.max-segments:8}")
+    private int maxSegments;
+
+    /** Kích thước tối đa của segment sinh ra khi gộp (mmap giới hạn dưới 2GB) */
+    @Value("${job.search.max-segment-bytes:1073741824}")
+    private long maxSegmentBytes;
+
+    /** Số job giải mã song song mỗi lượt khi dựng lại chỉ mục */
+    @Value("${job.search.rebuild-batch-size:256}")
+    private int rebuildBatchSize;
+
+    /** Fetch size của cursor khi dựng lại chỉ mục (Integer.MIN_VALUE = MySQL stream từng dòng) */
+    @Value("${job.search.rebuild-fetch-size:-2147483648}")
+    private int rebuildFetchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService background = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private Path indexDir;
+    private String keyFingerprint;
+    private ThreadLocal<Mac> macs;
+    private volatile boolean rebuilding;
+
+    /* Các field dưới đây được bảo vệ bởi lock */
+    private List<JobSearchSegment> segments = new ArrayList<>();
+    private final Map<Long, BufferedDoc> buffer = new HashMap<>();
+    private final Map<Term, Set<Long>> bufferTerms = new HashMap<>();
+    private long bufferLength;
+    private long nextGeneration = 1;
+    private boolean manifestLoaded;
+    private boolean dirty;
+
+    public JobSearchIndex(
+            JobRepository jobRepository,
+            EncryptionService encryptionService,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Qualifier("cryptoExecutor") Executor cryptoExecutor) {
+        this.jobRepository = jobRepository;
+        this.encryptionService = encryptionService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.cryptoExecutor = cryptoExecutor;
+    }
+
+    /* ================= LIFECYCLE ================= */
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        indexDir = Paths.get(indexDirPath);
+        Files.createDirectories(indexDir);
+        initKey();
+
+        Path manifestPath = indexDir.resolve(MANIFEST_FILE);
+        if (Files.exists(manifestPath)) {
+            try {
+                JobSearchManifest manifest = objectMapper.readValue(manifestPath.toFile(), JobSearchManifest.class);
+                if (manifest.getFormatVersion() == FORMAT_VERSION
+                        && keyFingerprint.equals(manifest.getKeyFingerprint())) {
+                    List<JobSearchSegment> opened = new ArrayList<>();
+                    for (long generation : manifest.getSegments()) {
+                        opened.add(JobSearchSegment.open(indexDir, generation));
+                    }
+                    segments = opened;
+                    nextGeneration = manifest.getNextGeneration();
+                    manifestLoaded = true;
+                }
+            } catch (IOException e) {
+                log.warn("JOB_SEARCH_MANIFEST_INVALID | {}", e.getMessage());
+                segments = new ArrayList<>();
+            }
+        }
+
+        deleteUnreferencedFiles();
+        log.info("Job search index opened | dir={} | segments={} | docs={}",
+                indexDir.toAbsolutePath(), segments.size(), liveDocCount());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        background.submit(() -> {
+            try {
+                long indexed = liveDocCount();
+                long stored = jobRepository.count();
+                if (!manifestLoaded || indexed != stored) {
+                    log.info("JOB_SEARCH_REBUILD_REQUIRED | manifest={} | indexed={} | db={}",
+                            manifestLoaded, indexed, stored);
+                    rebuild();
+                }
+            } catch (Exception e) {
+                log.error("JOB_SEARCH_STARTUP_CHECK_FAILED | {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${job.search.flush-interval-ms:10000}",
+            fixedDelayString = "${job.search.flush-interval-ms:10000}")
+    public void scheduledFlush() {
+        if (!enabled) {
+            return;
+        }
+        flushSafely();
+
+        // Gộp segment chạy trên thread riêng, không giữ thread của scheduler
+        if (needsCompaction() && compactionQueued.compareAndSet(false, true)) {
+            background.submit(() -> {
+                try {
+                    compact();
+                } catch (Exception e) {
+                    log.error("JOB_SEARCH_COMPACTION_FAILED | {}", e.getMessage(), e);
+                } finally {
+                    compactionQueued.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (!enabled) {
+            return;
+        }
+        background.shutdownNow();
+        flushSafely();
+    }
+
+    /* ================= WRITE ================= */
+
+    /**
+     * Thêm/thay doc của job (áp dụng sau khi transaction commit)
+     */
+    public void index(long jobId, String title, String description) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> put(jobId, title, description, false));
+    }
+
+    /**
+     * Xoá các job khỏi chỉ mục (áp dụng sau khi transaction commit)
+     */
+    public void remove(Collection<Long> jobIds) {
+        if (!enabled || jobIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(jobIds);
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                ids.forEach(this::removeLocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Đọc lại và đánh chỉ mục lại các job trên thread nền (sau UPDATE hàng loạt)
+     */
+    public void reindexAsync(Collection<Long> jobIds) {
+        if (!enabled || jobIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(jobIds);
+        TransactionUtil.afterCommit(() -> background.submit(() -> {
+            try {
+                reindex(ids);
+            } catch (Exception e) {
+                log.error("JOB_SEARCH_REINDEX_FAILED | jobs={} | {}", ids.size(), e.getMessage(), e);
+            }
+        }));
+    }
+
+    /* ================= READ ================= */
+
+    /**
+     * Tìm kiếm theo BM25. Từ khoá rời được OR với nhau,
+     * cụm từ trong dấu ngoặc kép bắt buộc xuất hiện liền nhau đúng thứ tự.
+     *
+     * @param query câu truy vấn, vd: java "senior backend"
+     * @param limit số kết quả tối đa
+     */
+    public SearchHits search(String query, int limit) {
+        if (!enabled) {
+            return new SearchHits(0, List.of());
+        }
+
+        ParsedQuery parsed = parse(query);
+        if (parsed.terms.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            long docs = buffer.size();
+            long live = buffer.size();
+            long totalLength = bufferLength;
+            for (JobSearchSegment segment : segments) {
+                docs += segment.getDocCount();
+                live += segment.getLiveCount();
+                totalLength += segment.getTotalLength();
+            }
+            double avgLength = docs == 0 ? 1 : Math.max(1.0, (double) totalLength / docs);
+
+            int[][] termIndexes = new int[segments.size()][];
+            double[] idf = new double[parsed.terms.size()];
+            for (int t = 0; t < parsed.terms.size(); t++) {
+                Term term = parsed.terms.get(t);
+                long df = bufferTerms.getOrDefault(term, Set.of()).size();
+                for (int s = 0; s < segments.size(); s++) {
+                    if (termIndexes[s] == null) {
+                        termIndexes[s] = new int[parsed.terms.size()];
+                    }
+                    int index = segments.get(s).termIndex(term);
+                    termIndexes[s][t] = index;
+                    if (index >= 0) {
+                        df += segments.get(s).docFreq(index);
+                    }
+                }
+                idf[t] = Math.log(1 + Math.max(0, live - df + 0.5) / (df + 0.5));
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+            long totalHits = 0;
+            for (int s = 0; s < segments.size(); s++) {
+                totalHits += searchSegment(segments.get(s), termIndexes[s], parsed, idf, avgLength, top, limit);
+            }
+            totalHits += searchBuffer(parsed, idf, avgLength, top, limit);
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return new SearchHits(totalHits, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ================= FLUSH ================= */
+
+    /**
+     * Ghi bộ đệm thành segment mới, lưu các file .del đã đổi và manifest
+     */
+    public void flush() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+
+            if (!buffer.isEmpty()) {
+                long generation = nextGeneration++;
+                writeBufferSegment(generation);
+                segments.add(JobSearchSegment.open(indexDir, generation));
+                buffer.clear();
+                bufferTerms.clear();
+                bufferLength = 0;
+            }
+
+            for (JobSearchSegment segment : segments) {
+                segment.saveDeletes();
+            }
+            writeManifest();
+            dirty = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ================= PRIVATE: WRITE ================= */
+
+    private void put(long jobId, String title, String description, boolean fromRebuild) {
+        BufferedDoc doc = analyze(title, description);
+
+        boolean full;
+        lock.writeLock().lock();
+        try {
+            // Khi dựng lại: job đã được ghi trực tiếp trong lúc dựng thì dữ liệu đọc từ cursor đã cũ
+            if (fromRebuild && touchedDuringRebuild.contains(jobId)) {
+                return;
+            }
+            if (!fromRebuild) {
+                removeLocked(jobId);
+            }
+
+            buffer.put(jobId, doc);
+            doc.terms.keySet().forEach(term -> bufferTerms.computeIfAbsent(term, k -> new HashSet<>()).add(jobId));
+            bufferLength += doc.length;
+            dirty = true;
+            full = buffer.size() >= flushDocs;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (full) {
+            flushSafely();
+        }
+    }
+
+    private void removeLocked(long jobId) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(jobId);
+        }
+
+        BufferedDoc old = buffer.remove(jobId);
+        if (old != null) {
+            bufferLength -= old.length;
+            old.terms.keySet().forEach(term -> {
+                Set<Long> ids = bufferTerms.get(term);
+                if (ids != null && ids.remove(jobId) && ids.isEmpty()) {
+                    bufferTerms.remove(term);
+                }
+            });
+        }
+
+        for (JobSearchSegment segment : segments) {
+            int ord = segment.ordinalOf(jobId);
+            if (ord >= 0) {
+                segment.delete(ord);
+            }
+        }
+        dirty = true;
+    }
+
+    private BufferedDoc analyze(String title, String description) {
+        Map<Term, List<Integer>> positions = new HashMap<>();
+
+        List<String> titleTokens = TextTokenizer.tokenize(title);
+        int titleLength = Math.min(titleTokens.size(), JobSearchSegment.DESCRIPTION_OFFSET);
+        for (int i = 0; i < titleLength; i++) {
+            positions.computeIfAbsent(term(titleTokens.get(i)), k -> new ArrayList<>()).add(i);
+        }
+
+        List<String> descriptionTokens = TextTokenizer.tokenize(description);
+        for (int i = 0; i < descriptionTokens.size(); i++) {
+            positions.computeIfAbsent(term(descriptionTokens.get(i)), k -> new ArrayList<>())
+                    .add(JobSearchSegment.DESCRIPTION_OFFSET + i);
+        }
+
+        Map<Term, int[]> terms = new HashMap<>(positions.size() * 2);
+        positions.forEach((term, list) -> terms.put(term, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new BufferedDoc(terms, titleLength + descriptionTokens.size());
+    }
+
+    private void writeBufferSegment(long generation) throws IOException {
+        long[] jobIds = buffer.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int[] lengths = new int[jobIds.length];
+        TreeMap<Term, List<Posting>> terms = new TreeMap<>();
+
+        for (int ord = 0; ord < jobIds.length; ord++) {
+            BufferedDoc doc = buffer.get(jobIds[ord]);
+            lengths[ord] = doc.length;
+            for (Map.Entry<Term, int[]> entry : doc.terms.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(new Posting(ord, entry.getValue()));
+            }
+        }
+
+        JobSearchSegment.write(indexDir, generation, jobIds, lengths, terms.entrySet().iterator());
+    }
+
+    private void writeManifest() throws IOException {
+        JobSearchManifest manifest = new JobSearchManifest(
+                FORMAT_VERSION,
+                nextGeneration,
+                segments.stream().map(JobSearchSegment::getGeneration).toList(),
+                keyFingerprint,
+                LocalDateTime.now());
+
+        Path target = indexDir.resolve(MANIFEST_FILE);
+        Path tmp = indexDir.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writeValue(tmp.toFile(), manifest);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("JOB_SEARCH_FLUSH_FAILED | {}", e.getMessage(), e);
+        }
+    }
+
+    /* ================= PRIVATE: SEARCH ================= */
+
+    private long searchSegment(
+            JobSearchSegment segment,
+            int[] termIndexes,
+            ParsedQuery parsed,
+            double[] idf,
+            double avgLength,
+            PriorityQueue<Hit> top,
+            int limit) {
+
+        BitSet required = null;
+        for (int[] phrase : parsed.phrases) {
+            BitSet matches = phraseMatches(segment, termIndexes, phrase);
+            if (required == null) {
+                required = matches;
+            } else {
+                required.and(matches);
+            }
+            if (required.isEmpty()) {
+                return 0;
+            }
+        }
+
+        float[] scores = new float[segment.getDocCount()];
+        BitSet matched = new BitSet(segment.getDocCount());
+        for (int t = 0; t < termIndexes.length; t++) {
+            if (termIndexes[t] < 0) {
+                continue;
+            }
+            double weight = idf[t];
+            segment.visitPostings(termIndexes[t], (ord, freq, titleFreq) -> {
+                if (!segment.isDeleted(ord)) {
+                    scores[ord] += (float) bm25(weight, freq, titleFreq, segment.docLength(ord), avgLength);
+                    matched.set(ord);
+                }
+            });
+        }
+        if (required != null) {
+            matched.and(required);
+        }
+
+        long hits = 0;
+        for (int ord = matched.nextSetBit(0); ord >= 0; ord = matched.nextSetBit(ord + 1)) {
+            offer(top, limit, segment.jobId(ord), scores[ord]);
+            hits++;
+        }
+        return hits;
+    }
+
+    private BitSet phraseMatches(JobSearchSegment segment, int[] termIndexes, int[] phrase) {
+        BitSet matches = new BitSet(segment.getDocCount());
+        for (int t : phrase) {
+            if (termIndexes[t] < 0) {
+                return matches;
+            }
+        }
+
+        if (phrase.length == 1) {
+            segment.visitPostings(termIndexes[phrase[0]], (ord, freq, titleFreq) -> {
+                if (!segment.isDeleted(ord)) {
+                    matches.set(ord);
+                }
+            });
+            return matches;
+        }
+
+        List<Map<Integer, int[]>> following = new ArrayList<>(phrase.length - 1);
+        for (int i = 1; i < phrase.length; i++) {
+            Map<Integer, int[]> byOrd = new HashMap<>();
+            for (Posting posting : segment.postings(termIndexes[phrase[i]])) {
+                byOrd.put(posting.ord(), posting.positions());
+            }
+            following.add(byOrd);
+        }
+
+        for (Posting first : segment.postings(termIndexes[phrase[0]])) {
+            if (segment.isDeleted(first.ord())) {
+                continue;
+            }
+            List<int[]> positions = new ArrayList<>(phrase.length);
+            positions.add(first.positions());
+            for (Map<Integer, int[]> byOrd : following) {
+                int[] next = byOrd.get(first.ord());
+                if (next == null) {
+                    break;
+                }
+                positions.add(next);
+            }
+            if (positions.size() == phrase.length && containsPhrase(positions)) {
+                matches.set(first.ord());
+            }
+        }
+        return matches;
+    }
+
+    private long searchBuffer(ParsedQuery parsed, double[] idf, double avgLength, PriorityQueue<Hit> top, int limit) {
+        Set<Long> candidates = new HashSet<>();
+        for (Term term : parsed.terms) {
+            candidates.addAll(bufferTerms.getOrDefault(term, Set.of()));
+        }
+
+        long hits = 0;
+        for (long jobId : candidates) {
+            BufferedDoc doc = buffer.get(jobId);
+            if (!matchesPhrases(doc, parsed)) {
+                continue;
+            }
+
+            double score = 0;
+            for (int t = 0; t < parsed.terms.size(); t++) {
+                int[] positions = doc.terms.get(parsed.terms.get(t));
+                if (positions != null) {
+                    score += bm25(idf[t], positions.length, titleFreq(positions), doc.length, avgLength);
+                }
+            }
+            offer(top, limit, jobId, score);
+            hits++;
+        }
+        return hits;
+    }
+
+    private static boolean matchesPhrases(BufferedDoc doc, ParsedQuery parsed) {
+        for (int[] phrase : parsed.phrases) {
+            List<int[]> positions = new ArrayList<>(phrase.length);
+            for (int t : phrase) {
+                int[] termPositions = doc.terms.get(parsed.terms.get(t));
+                if (termPositions == null) {
+                    return false;
+                }
+                positions.add(termPositions);
+            }
+            if (!containsPhrase(positions)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Có vị trí p sao cho term thứ i của cụm từ nằm ở p + i
+     */
+    private static boolean containsPhrase(List<int[]> positions) {
+        for (int start : positions.get(0)) {
+            boolean all = true;
+            for (int i = 1; i < positions.size() && all; i++) {
+                all = Arrays.binarySearch(positions.get(i), start + i) >= 0;
+            }
+            if (all) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double bm25(double idf, int freq, int titleFreq, int docLength, double avgLength) {
+        double tf = freq + (TITLE_BOOST - 1) * titleFreq;
+        return idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLength / avgLength));
+    }
+
+    private static int titleFreq(int[] positions) {
+        int count = 0;
+        while (count < positions.length && positions[count] < JobSearchSegment.DESCRIPTION_OFFSET) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void offer(PriorityQueue<Hit> top, int limit, long jobId, double score) {
+        if (top.size() < limit) {
+            top.add(new Hit(jobId, score));
+        } else if (score > top.peek().score()) {
+            top.poll();
+            top.add(new Hit(jobId, score));
+        }
+    }
+
+    private ParsedQuery parse(String query) {
+        Map<Term, Integer> terms = new LinkedHashMap<>();
+        List<int[]> phrases = new ArrayList<>();
+
+        Matcher matcher = PHRASE.matcher(query);
+        while (matcher.find()) {
+            List<String> tokens = TextTokenizer.tokenize(matcher.group(1));
+            if (!tokens.isEmpty() && terms.size() + tokens.size() <= MAX_QUERY_TERMS) {
+                phrases.add(tokens.stream()
+                        .mapToInt(token -> terms.computeIfAbsent(term(token), k -> terms.size()))
+                        .toArray());
+            }
+        }
+
+        for (String token : TextTokenizer.tokenize(PHRASE.matcher(query).replaceAll(" "))) {
+            if (terms.size() >= MAX_QUERY_TERMS) {
+                break;
+            }
+            terms.computeIfAbsent(term(token), k -> terms.size());
+        }
+
+        return new ParsedQuery(List.copyOf(terms.keySet()), phrases);
+    }
+
+    /* ================= PRIVATE: COMPACTION ================= */
+
+    private boolean needsCompaction() {
+        lock.readLock().lock();
+        try {
+            return !pickForCompaction().isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quá maxSegments: gộp các segment nhỏ nhất (giới hạn theo maxSegmentBytes).
+     * Ngược lại: viết lại segment có hơn một nửa doc đã xoá.
+     */
+    private List<JobSearchSegment> pickForCompaction() {
+        if (segments.size() > maxSegments) {
+            List<JobSearchSegment> bySize = new ArrayList<>(segments);
+            bySize.sort(Comparator.comparingLong(JobSearchSegment::getSizeBytes));
+
+            int wanted = segments.size() - maxSegments + 1;
+            List<JobSearchSegment> picked = new ArrayList<>();
+            long bytes = 0;
+            for (JobSearchSegment segment : bySize) {
+                if (picked.size() >= wanted || bytes + segment.getSizeBytes() > maxSegmentBytes) {
+                    break;
+                }
+                picked.add(segment);
+                bytes += segment.getSizeBytes();
+            }
+            if (picked.size() >= 2) {
+                return picked;
+            }
+        }
+
+        for (JobSearchSegment segment : segments) {
+            if (segment.getDocCount() > 0 && segment.getLiveCount() * 2 < segment.getDocCount()) {
+                return List.of(segment);
+            }
+        }
+        return List.of();
+    }
+
+    private void compact() throws IOException {
+        List<JobSearchSegment> sources;
+        List<BitSet> deletedAtStart;
+        long generation;
+
+        lock.writeLock().lock();
+        try {
+            sources = pickForCompaction();
+            if (sources.isEmpty()) {
+                return;
+            }
+            generation = nextGeneration++;
+            deletedAtStart = sources.stream().map(JobSearchSegment::deletedSnapshot).toList();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        Merge merge = new Merge(sources, deletedAtStart);
+        if (merge.jobIds.length > 0) {
+            JobSearchSegment.write(indexDir, generation, merge.jobIds, merge.lengths, merge.terms());
+        }
+
+        lock.writeLock().lock();
+        try {
+            segments.removeAll(sources);
+            if (merge.jobIds.length > 0) {
+                JobSearchSegment target = JobSearchSegment.open(indexDir, generation);
+                // Doc bị xoá trong lúc đang gộp
+                for (int ord = 0; ord < merge.jobIds.length; ord++) {
+                    if (sources.get(merge.sourceIndex[ord]).isDeleted(merge.sourceOrd[ord])) {
+                        target.delete(ord);
+                    }
+                }
+                target.saveDeletes();
+                segments.add(target);
+            }
+            writeManifest();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        for (JobSearchSegment source : sources) {
+            source.deleteFiles();
+        }
+        log.info("JOB_SEARCH_COMPACTED | sources={} | docs={} | durationMs={}",
+                sources.size(), merge.jobIds.length, System.currentTimeMillis() - start);
+    }
+
+    /* ================= PRIVATE: REBUILD ================= */
+
+    private void rebuild() throws IOException {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        touchedDuringRebuild.clear();
+
+        try {
+            List<JobSearchSegment> old;
+            lock.writeLock().lock();
+            try {
+                old = segments;
+                segments = new ArrayList<>();
+                buffer.clear();
+                bufferTerms.clear();
+                bufferLength = 0;
+                writeManifest();
+                manifestLoaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            for (JobSearchSegment segment : old) {
+                segment.deleteFiles();
+            }
+
+            TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnly.setReadOnly(true);
+
+            long[] rows = { 0 };
+            readOnly.executeWithoutResult(status -> {
+                List<Job> batch = new ArrayList<>(rebuildBatchSize);
+                try (Stream<Job> jobs = jobRepository.streamAll(rebuildFetchSize)) {
+                    for (Job job : (Iterable<Job>) jobs::iterator) {
+                        batch.add(job);
+                        if (batch.size() >= rebuildBatchSize) {
+                            rows[0] += indexBatch(batch, true);
+                        }
+                    }
+                    rows[0] += indexBatch(batch, true);
+                }
+            });
+
+            flush();
+            log.info("JOB_SEARCH_REBUILT | jobs={} | durationMs={}", rows[0], System.currentTimeMillis() - start);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    private void reindex(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += rebuildBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + rebuildBatchSize, ids.size()));
+            List<Job> jobs = new ArrayList<>(jobRepository.findAllById(chunk));
+
+            Set<Long> missing = new HashSet<>(chunk);
+            jobs.forEach(job -> missing.remove(job.getId()));
+            if (!missing.isEmpty()) {
+                lock.writeLock().lock();
+                try {
+                    missing.forEach(this::removeLocked);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            indexBatch(jobs, false);
+        }
+    }
+
+    private int indexBatch(List<Job> batch, boolean fromRebuild) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<String> descriptions = ParallelUtil.mapOrdered(
+                batch,
+                job -> job.getDescription() == null ? null : encryptionService.decrypt(job.getDescription()),
+                cryptoExecutor);
+
+        for (int i = 0; i < batch.size(); i++) {
+            Job job = batch.get(i);
+            put(job.getId(), job.getTitle(), descriptions.get(i), fromRebuild);
+        }
+
+        int size = batch.size();
+        batch.clear();
+        if (fromRebuild) {
+            entityManager.clear();
+        }
+        return size;
+    }
+
+    /* ================= PRIVATE: KEY / FILES ================= */
+
+    private void initKey() throws IOException {
+        byte[] key;
+        if (termKey != null && !termKey.isBlank()) {
+            key = termKey.getBytes(StandardCharsets.UTF_8);
+        } else {
+            Path keyFile = indexDir.resolve(KEY_FILE);
+            if (!Files.exists(keyFile)) {
+                byte[] generated = new byte[32];
+                new SecureRandom().nextBytes(generated);
+                Files.write(keyFile, generated);
+            }
+            key = Files.readAllBytes(keyFile);
+            log.warn("JOB_SEARCH_TERM_KEY_NOT_SET | using generated key file {}", keyFile.toAbsolutePath());
+        }
+
+        SecretKeySpec secret = new SecretKeySpec(key, HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(secret);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+            }
+        });
+
+        byte[] fingerprint = macs.get().doFinal("job-search-key-fingerprint".getBytes(StandardCharsets.UTF_8));
+        keyFingerprint = HexFormat.of().formatHex(fingerprint, 0, 8);
+    }
+
+    private Term term(String token) {
+        ByteBuffer hash = ByteBuffer.wrap(macs.get().doFinal(token.getBytes(StandardCharsets.UTF_8)));
+        return new Term(hash.getLong(0), hash.getLong(8));
+    }
+
+    /**
+     * Xoá file segment không có trong manifest (vd: dừng giữa lúc gộp)
+     */
+    private void deleteUnreferencedFiles() throws IOException {
+        Set<Long> referenced = new HashSet<>();
+        segments.forEach(segment -> referenced.add(segment.getGeneration()));
+
+        try (Stream<Path> files = Files.list(indexDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                long generation = JobSearchSegment.generationOf(file);
+                boolean tmp = file.getFileName().toString().endsWith(".tmp");
+                if (tmp || (generation >= 0 && !referenced.contains(generation))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private long liveDocCount() {
+        lock.readLock().lock();
+        try {
+            long live = buffer.size();
+            for (JobSearchSegment segment : segments) {
+                live += segment.getLiveCount();
+            }
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ================= PRIVATE: TYPES ================= */
+
+    /** Doc chưa flush: term → positions tăng dần, length = số token */
+    private record BufferedDoc(Map<Term, int[]> terms, int length) {
+    }
+
+    /** Term của truy vấn (không trùng) và các cụm từ (chỉ số trong terms) */
+    private record ParsedQuery(List<Term> terms, List<int[]> phrases) {
+    }
+
+    /**
+     * Gộp nhiều segment: doc còn sống được sắp lại theo jobId,
+     * postings của từng term được ánh xạ sang ordinal mới.
+     */
+    private static final class Merge {
+
+        private final List<JobSearchSegment> sources;
+        private final int[][] oldToNew;
+        private final long[] jobIds;
+        private final int[] lengths;
+        private final int[] sourceIndex;
+        private final int[] sourceOrd;
+
+        private Merge(List<JobSearchSegment> sources, List<BitSet> deleted) {
+            this.sources = sources;
+
+            int live = 0;
+            oldToNew = new int[sources.size()][];
+            for (int s = 0; s < sources.size(); s++) {
+                oldToNew[s] = new int[sources.get(s).getDocCount()];
+                Arrays.fill(oldToNew[s], -1);
+                live += sources.get(s).getDocCount() - deleted.get(s).cardinality();
+            }
+
+            jobIds = new long[live];
+            lengths = new int[live];
+            sourceIndex = new int[live];
+            sourceOrd = new int[live];
+
+            int[] cursor = new int[sources.size()];
+            for (int s = 0; s < sources.size(); s++) {
+                cursor[s] = deleted.get(s).nextClearBit(0);
+            }
+
+            for (int ord = 0; ord < live; ord++) {
+                int min = -1;
+                for (int s = 0; s < sources.size(); s++) {
+                    if (cursor[s] < sources.get(s).getDocCount()
+                            && (min < 0 || sources.get(s).jobId(cursor[s]) < sources.get(min).jobId(cursor[min]))) {
+                        min = s;
+                    }
+                }
+
+                JobSearchSegment source = sources.get(min);
+                jobIds[ord] = source.jobId(cursor[min]);
+                lengths[ord] = source.docLength(cursor[min]);
+                sourceIndex[ord] = min;
+                sourceOrd[ord] = cursor[min];
+                oldToNew[min][cursor[min]] = ord;
+                cursor[min] = deleted.get(min).nextClearBit(cursor[min] + 1);
+            }
+        }
+
+        /**
+         * Các term của mọi segment nguồn theo thứ tự tăng dần (trộn k đường)
+         */
+        private Iterator<Map.Entry<Term, List<Posting>>> terms() {
+            int[] cursor = new int[sources.size()];
+
+            return new Iterator<>() {
+
+                @Override
+                public boolean hasNext() {
+                    for (int s = 0; s < sources.size(); s++) {
+                        if (cursor[s] < sources.get(s).getTermCount()) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public Map.Entry<Term, List<Posting>> next() {
+                    Term min = null;
+                    for (int s = 0; s < sources.size(); s++) {
+                        if (cursor[s] < sources.get(s).getTermCount()) {
+                            Term term = sources.get(s).term(cursor[s]);
+                            if (min == null || term.compareTo(min) < 0) {
+                                min = term;
+                            }
+                        }
+                    }
+                    if (min == null) {
+                        throw new NoSuchElementException();
+                    }
+
+                    List<Posting> postings = new ArrayList<>();
+                    for (int s = 0; s < sources.size(); s++) {
+                        JobSearchSegment source = sources.get(s);
+                        if (cursor[s] < source.getTermCount() && source.term(cursor[s]).equals(min)) {
+                            for (Posting posting : source.postings(cursor[s])) {
+                                int ord = oldToNew[s][posting.ord()];
+                                if (ord >= 0) {
+                                    postings.add(new Posting(ord, posting.positions()));
+                                }
+                            }
+                            cursor[s]++;
+                        }
+                    }
+                    postings.sort(Comparator.comparingInt(Posting::ord));
+                    return new AbstractMap.SimpleImmutableEntry<>(min, postings);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.crudjob.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segment bất biến của chỉ mục tìm kiếm job: một file, đọc qua mmap.
+ *
+ * Định dạng file:
+ * - docs:     docCount × (long jobId, int length), sắp theo jobId
+ * - postings: postings của từng term nằm liền nhau, mỗi doc: varint Δord | varint freq | freq × varint Δposition
+ * - terms:    termCount × (long hi, long lo, int docFreq, long offset, int length), sắp theo (hi, lo) không dấu
+ * - footer:   int magic | int version | int docCount | int termCount | long totalLength | long postingsStart | long termsStart
+ *
+ * Term được lưu dưới dạng HMAC 128 bit của token → file không chứa văn bản gốc của description.
+ * Doc đã xoá được đánh dấu trong file .del (BitSet) cạnh file segment, ghi lại khi flush.
+ * Mọi thay đổi trạng thái xoá phải được đồng bộ bởi lock của JobSearchIndex.
+ */
+public class JobSearchSegment {
+
+    private static final int MAGIC = 0x4A534731;
+    private static final int FORMAT_VERSION = 1;
+    private static final int DOC_ENTRY_BYTES = 12;
+    private static final int TERM_ENTRY_BYTES = 32;
+    private static final int FOOTER_BYTES = 40;
+
+    /** Vị trí bắt đầu của description trong doc (title nằm ở [0, DESCRIPTION_OFFSET)) */
+    public static final int DESCRIPTION_OFFSET = 1024;
+
+    private static final String DATA_SUFFIX = ".idx";
+    private static final String DELETES_SUFFIX = ".del";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /** Term đã băm (HMAC cắt còn 128 bit), so sánh không dấu */
+    public record Term(long hi, long lo) implements Comparable<Term> {
+
+        @Override
+        public int compareTo(Term other) {
+            int cmp = Long.compareUnsigned(hi, other.hi);
+            return cmp != 0 ? cmp : Long.compareUnsigned(lo, other.lo);
+        }
+    }
+
+    /** Một lần xuất hiện của term trong doc, positions tăng dần */
+    public record Posting(int ord, int[] positions) {
+    }
+
+    @FunctionalInterface
+    public interface PostingVisitor {
+        void visit(int ord, int freq, int titleFreq);
+    }
+
+    private final long generation;
+    private final Path dataFile;
+    private final Path deletesFile;
+    private final MappedByteBuffer buffer;
+    private final long sizeBytes;
+    private final int docCount;
+    private final int termCount;
+    private final long totalLength;
+    private final int postingsStart;
+    private final int termsStart;
+    private final BitSet deleted;
+    private int deletedCount;
+    private boolean dirty;
+
+    private JobSearchSegment(long generation, Path dataFile, Path deletesFile) throws IOException {
+        this.generation = generation;
+        this.dataFile = dataFile;
+        this.deletesFile = deletesFile;
+
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            sizeBytes = channel.size();
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, sizeBytes);
+        }
+
+        int footer = (int) sizeBytes - FOOTER_BYTES;
+        if (footer < 0 || buffer.getInt(footer) != MAGIC || buffer.getInt(footer + 4) != FORMAT_VERSION) {
+            throw new IOException("Invalid search segment: " + dataFile);
+        }
+        docCount = buffer.getInt(footer + 8);
+        termCount = buffer.getInt(footer + 12);
+        totalLength = buffer.getLong(footer + 16);
+        postingsStart = (int) buffer.getLong(footer + 24);
+        termsStart = (int) buffer.getLong(footer + 32);
+
+        deleted = Files.exists(deletesFile) ? BitSet.valueOf(Files.readAllBytes(deletesFile)) : new BitSet(docCount);
+        deletedCount = deleted.cardinality();
+    }
+
+    /* ================= OPEN / WRITE ================= */
+
+    public static JobSearchSegment open(Path dir, long generation) throws IOException {
+        return new JobSearchSegment(generation, dataPath(dir, generation), deletesPath(dir, generation));
+    }
+
+    /**
+     * Ghi một segment mới (file tạm rồi đổi tên nguyên tử)
+     *
+     * @param jobIds  id các doc, tăng dần (chỉ số = ordinal)
+     * @param lengths số token của từng doc
+     * @param terms   các term theo thứ tự tăng dần kèm postings (ord tăng dần)
+     */
+    public static void write(
+            Path dir,
+            long generation,
+            long[] jobIds,
+            int[] lengths,
+            Iterator<Map.Entry<Term, List<Posting>>> terms) throws IOException {
+
+        Path target = dataPath(dir, generation);
+        Path tmp = target.resolveSibling(target.getFileName() + TMP_SUFFIX);
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024))) {
+
+            long totalLength = 0;
+            for (int i = 0; i < jobIds.length; i++) {
+                out.writeLong(jobIds[i]);
+                out.writeInt(lengths[i]);
+                totalLength += lengths[i];
+            }
+
+            long postingsStart = out.size();
+            ByteArrayOutputStream termTable = new ByteArrayOutputStream();
+            DataOutputStream termOut = new DataOutputStream(termTable);
+            int termCount = 0;
+
+            while (terms.hasNext()) {
+                Map.Entry<Term, List<Posting>> entry = terms.next();
+                List<Posting> postings = entry.getValue();
+                if (postings.isEmpty()) {
+                    continue;
+                }
+
+                long offset = out.size();
+                int previousOrd = 0;
+                for (Posting posting : postings) {
+                    writeVarInt(out, posting.ord() - previousOrd);
+                    writeVarInt(out, posting.positions().length);
+                    int previousPosition = 0;
+                    for (int position : posting.positions()) {
+                        writeVarInt(out, position - previousPosition);
+                        previousPosition = position;
+                    }
+                    previousOrd = posting.ord();
+                }
+
+                termOut.writeLong(entry.getKey().hi());
+                termOut.writeLong(entry.getKey().lo());
+                termOut.writeInt(postings.size());
+                termOut.writeLong(offset);
+                termOut.writeInt((int) (out.size() - offset));
+                termCount++;
+            }
+
+            long termsStart = out.size();
+            termTable.writeTo(out);
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(jobIds.length);
+            out.writeInt(termCount);
+            out.writeLong(totalLength);
+            out.writeLong(postingsStart);
+            out.writeLong(termsStart);
+
+            // DataOutputStream.size() bão hoà ở Integer.MAX_VALUE → segment phải nhỏ hơn 2GB (giới hạn của mmap)
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Search segment exceeds 2GB");
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /* ================= DOCS ================= */
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public int getDocCount() {
+        return docCount;
+    }
+
+    public int getLiveCount() {
+        return docCount - deletedCount;
+    }
+
+    public long getTotalLength() {
+        return totalLength;
+    }
+
+    public long jobId(int ord) {
+        return buffer.getLong(ord * DOC_ENTRY_BYTES);
+    }
+
+    public int docLength(int ord) {
+        return buffer.getInt(ord * DOC_ENTRY_BYTES + 8);
+    }
+
+    /**
+     * @return ordinal của job trong segment, -1 nếu không có
+     */
+    public int ordinalOf(long jobId) {
+        int low = 0;
+        int high = docCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = jobId(mid);
+            if (value < jobId) {
+                low = mid + 1;
+            } else if (value > jobId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isDeleted(int ord) {
+        return deleted.get(ord);
+    }
+
+    public void delete(int ord) {
+        if (!deleted.get(ord)) {
+            deleted.set(ord);
+            deletedCount++;
+            dirty = true;
+        }
+    }
+
+    public BitSet deletedSnapshot() {
+        return (BitSet) deleted.clone();
+    }
+
+    /**
+     * Ghi lại file .del nếu có doc mới bị xoá từ lần ghi trước
+     */
+    public void saveDeletes() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Path tmp = deletesFile.resolveSibling(deletesFile.getFileName() + TMP_SUFFIX);
+        Files.write(tmp, deleted.toByteArray());
+        Files.move(tmp, deletesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        dirty = false;
+    }
+
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(dataFile);
+        Files.deleteIfExists(deletesFile);
+    }
+
+    /* ================= TERMS ================= */
+
+    public int getTermCount() {
+        return termCount;
+    }
+
+    /**
+     * @return chỉ số của term trong bảng term, -1 nếu không có
+     */
+    public int termIndex(Term term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = term(mid).compareTo(term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public Term term(int termIndex) {
+        int entry = termsStart + termIndex * TERM_ENTRY_BYTES;
+        return new Term(buffer.getLong(entry), buffer.getLong(entry + 8));
+    }
+
+    public int docFreq(int termIndex) {
+        return buffer.getInt(termsStart + termIndex * TERM_ENTRY_BYTES + 16);
+    }
+
+    /**
+     * Duyệt postings của term mà không cấp phát mảng positions (dùng khi chấm điểm)
+     */
+    public void visitPostings(int termIndex, PostingVisitor visitor) {
+        int[] cursor = { postingsOffset(termIndex) };
+        int end = cursor[0] + postingsLength(termIndex);
+        int ord = 0;
+        while (cursor[0] < end) {
+            ord += readVarInt(cursor);
+            int freq = readVarInt(cursor);
+            int titleFreq = 0;
+            int position = 0;
+            for (int i = 0; i < freq; i++) {
+                position += readVarInt(cursor);
+                if (position < DESCRIPTION_OFFSET) {
+                    titleFreq++;
+                }
+            }
+            visitor.visit(ord, freq, titleFreq);
+        }
+    }
+
+    /**
+     * Giải mã đầy đủ postings của term (dùng cho phrase query và compaction)
+     */
+    public List<Posting> postings(int termIndex) {
+        List<Posting> postings = new ArrayList<>(docFreq(termIndex));
+        int[] cursor = { postingsOffset(termIndex) };
+        int end = cursor[0] + postingsLength(termIndex);
+        int ord = 0;
+        while (cursor[0] < end) {
+            ord += readVarInt(cursor);
+            int[] positions = new int[readVarInt(cursor)];
+            int position = 0;
+            for (int i = 0; i < positions.length; i++) {
+                position += readVarInt(cursor);
+                positions[i] = position;
+            }
+            postings.add(new Posting(ord, positions));
+        }
+        return postings;
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private int postingsOffset(int termIndex) {
+        return (int) buffer.getLong(termsStart + termIndex * TERM_ENTRY_BYTES + 20);
+    }
+
+    private int postingsLength(int termIndex) {
+        return buffer.getInt(termsStart + termIndex * TERM_ENTRY_BYTES + 28);
+    }
+
+    private int readVarInt(int[] cursor) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(cursor[0]++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * @return generation của file segment (.idx/.del), -1 nếu không phải file segment
+     */
+    public static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("seg-") || !(name.endsWith(DATA_SUFFIX) || name.endsWith(DELETES_SUFFIX))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(4, name.lastIndexOf('.')));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Path dataPath(Path dir, long generation) {
+        return dir.resolve(String.format("seg-%08d%s", generation, DATA_SUFFIX));
+    }
+
+    private static Path deletesPath(Path dir, long generation) {
+        return dir.resolve(String.format("seg-%08d%s", generation, DELETES_SUFFIX));
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.crudjob.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.repository.JobStatsRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JobStatsCounter
+ *
+ * Đếm lượt xem / ứng tuyển theo job mà không ghi DB theo từng lượt:
+ * - Tăng đếm vào một trong N stripe (chọn theo jobId), mỗi stripe là bảng băm
+ *   long → (views, applies) địa chỉ mở, không boxing, khoá riêng → ít tranh chấp
+ * - Định kỳ (và khi tắt) lấy toàn bộ delta ra, upsert vào job_stats theo lô
+ *   (một câu INSERT ... ON DUPLICATE KEY UPDATE nhiều dòng)
+ * - Đọc = job_stats + delta đang flush + delta chưa flush
+ *
+ * Delta chưa flush mất nếu tiến trình chết đột ngột (tối đa một chu kỳ flush).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobStatsCounter {
+
+    private static final String UPSERT_PREFIX =
+            "insert into job_stats (job_id, view_count, apply_count, updated_at) values ";
+
+    private static final String UPSERT_SUFFIX = """
+             on duplicate key update
+                view_count = view_count + values(view_count),
+                apply_count = apply_count + values(apply_count),
+                updated_at = values(updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobStatsRepository jobStatsRepository;
+
+    /** Số stripe, 0 = 4 × số core (làm tròn lên luỹ thừa của 2) */
+    @Value("${job.stats.stripes:0}")
+    private int stripeCount;
+
+    /** Số job mỗi câu upsert */
+    @Value("${job.stats.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    private Stripe[] stripes;
+    private int stripeMask;
+
+    /**
+     * Delta đã lấy khỏi stripe nhưng chưa commit vào job_stats: jobId → {views, applies}.
+     * Ghi dưới write lock của flushLock, đọc dưới read lock.
+     */
+    private Map<Long, long[]> inFlight = Map.of();
+
+    /** Đọc (DB + inFlight + stripe) không chen vào giữa lúc lấy delta / commit → không đếm thiếu hay trùng */
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    void init() {
+        int wanted = stripeCount > 0 ? stripeCount : Runtime.getRuntime().availableProcessors() * 4;
+        int size = Integer.highestOneBit(Math.max(1, wanted - 1)) << 1;
+        stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        stripeMask = size - 1;
+    }
+
+    /* ================= WRITE ================= */
+
+    public void incrementViews(long jobId) {
+        stripeOf(jobId).add(jobId, 1, 0);
+    }
+
+    public void incrementApplies(long jobId) {
+        stripeOf(jobId).add(jobId, 0, 1);
+    }
+
+    /* ================= READ ================= */
+
+    /**
+     * @return {views, applies} = đã lưu + chưa flush
+     */
+    public long[] get(long jobId) {
+        long[] counts = new long[2];
+
+        flushLock.readLock().lock();
+        try {
+            jobStatsRepository.findById(jobId).ifPresent(stats -> {
+                counts[0] = stats.getViewCount();
+                counts[1] = stats.getApplyCount();
+            });
+            long[] flushing = inFlight.get(jobId);
+            if (flushing != null) {
+                counts[0] += flushing[0];
+                counts[1] += flushing[1];
+            }
+            stripeOf(jobId).addTo(jobId, counts);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /* ================= FLUSH ================= */
+
+    @Scheduled(
+            initialDelayString = "${job.stats.flush-interval-ms:5000}",
+            fixedDelayString = "${job.stats.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("JOB_STATS_FLUSH_FAILED | {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        scheduledFlush();
+    }
+
+    /**
+     * Lấy delta khỏi mọi stripe và upsert vào job_stats.
+     * Lỗi thì delta được trả lại stripe để lần sau flush tiếp.
+     */
+    public synchronized void flush() {
+        Map<Long, long[]> deltas = new HashMap<>();
+        flushLock.writeLock().lock();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.drainTo(deltas);
+            }
+            inFlight = deltas;
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Map.Entry<Long, long[]>> rows = new ArrayList<>(deltas.entrySet());
+        // Thứ tự khoá cố định giữa các instance → tránh deadlock khi upsert cùng lúc
+        rows.sort(Map.Entry.comparingByKey());
+
+        flushLock.writeLock().lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < rows.size(); from += flushBatchSize) {
+                    upsert(rows.subList(from, Math.min(from + flushBatchSize, rows.size())));
+                }
+            });
+        } catch (RuntimeException e) {
+            deltas.forEach((jobId, delta) -> stripeOf(jobId).add(jobId, delta[0], delta[1]));
+            throw e;
+        } finally {
+            inFlight = Map.of();
+            flushLock.writeLock().unlock();
+        }
+
+        log.debug("JOB_STATS_FLUSHED | jobs={} | durationMs={}", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void upsert(List<Map.Entry<Long, long[]>> rows) {
+        StringBuilder sql = new StringBuilder(UPSERT_PREFIX.length() + rows.size() * 16 + UPSERT_SUFFIX.length());
+        sql.append(UPSERT_PREFIX);
+        Object[] args = new Object[rows.size() * 3];
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, now())" : ", (?, ?, ?, now())");
+            args[i * 3] = rows.get(i).getKey();
+            args[i * 3 + 1] = rows.get(i).getValue()[0];
+            args[i * 3 + 2] = rows.get(i).getValue()[1];
+        }
+        sql.append(UPSERT_SUFFIX);
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private Stripe stripeOf(long jobId) {
+        return stripes[mix(jobId) & stripeMask];
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Bảng băm địa chỉ mở jobId → (views, applies). jobId = 0 đánh dấu ô trống (id job bắt đầu từ 1).
+     */
+    private static final class Stripe {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private long[] views = new long[INITIAL_CAPACITY];
+        private long[] applies = new long[INITIAL_CAPACITY];
+        private int size;
+
+        synchronized void add(long jobId, long viewDelta, long applyDelta) {
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int slot = slotOf(keys, jobId);
+            if (keys[slot] == 0) {
+                keys[slot] = jobId;
+                size++;
+            }
+            views[slot] += viewDelta;
+            applies[slot] += applyDelta;
+        }
+
+        synchronized void addTo(long jobId, long[] counts) {
+            int slot = slotOf(keys, jobId);
+            if (keys[slot] != 0) {
+                counts[0] += views[slot];
+                counts[1] += applies[slot];
+            }
+        }
+
+        /**
+         * Chuyển toàn bộ delta sang target và làm rỗng stripe
+         */
+        synchronized void drainTo(Map<Long, long[]> target) {
+            if (size == 0) {
+                return;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    target.put(keys[i], new long[] { views[i], applies[i] });
+                }
+            }
+            keys = new long[INITIAL_CAPACITY];
+            views = new long[INITIAL_CAPACITY];
+            applies = new long[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldViews = views;
+            long[] oldApplies = applies;
+            keys = new long[capacity];
+            views = new long[capacity];
+            applies = new long[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = slotOf(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    views[slot] = oldViews[i];
+                    applies[slot] = oldApplies[i];
+                }
+            }
+        }
+
+        private static int slotOf(long[] keys, long jobId) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(jobId * 0xC2B2AE3D27D4EB4FL) & mask;
+            while (keys[slot] != 0 && keys[slot] != jobId) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.crudjob.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.dto.OutboxMessage;
+import com.example.crudjob.entity.OutboxEvent;
+import com.example.crudjob.entity.ProcessingCheckpoint;
+import com.example.crudjob.repository.OutboxEventRepository;
+import com.example.crudjob.repository.ProcessingCheckpointRepository;
+import com.example.crudjob.utils.IdGapTracker;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OutboxRelay
+ *
+ * Định kỳ chuyển sự kiện từ outbox_event tới các OutboxSink:
+ * - Mỗi sink có offset riêng trong processing_checkpoint ("outbox:{name}"); mỗi batch chạy trong
+ *   một transaction giữ khoá dòng offset bằng FOR UPDATE SKIP LOCKED → nhiều instance chia nhau
+ *   các sink, không instance nào chờ khoá hay gửi trùng
+ * - Offset chỉ tiến sau khi sink nhận xong batch; sink lỗi thì batch được gửi lại lần sau
+ * - Sự kiện mà mọi sink đã nhận được xoá theo lô
+ *
+ * Id (IDENTITY) được cấp lúc INSERT: sự kiện id nhỏ có thể commit sau sự kiện id lớn hơn
+ * (transfer, lô import dài). Offset chỉ tiến qua các id liền mạch (IdGapTracker); khoảng trống
+ * được chờ tới khi lấp, hoặc bỏ qua sau gap-grace-ms (id của transaction đã rollback).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private static final String CHECKPOINT_PREFIX = "outbox:";
+
+    private static final String ENSURE_CHECKPOINT_SQL =
+            "insert ignore into processing_checkpoint (name, last_id, updated_at) values (?, 0, now())";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProcessingCheckpointRepository processingCheckpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    /** Số sự kiện mỗi lần gửi cho một sink */
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    /** Số sự kiện đã gửi xoá mỗi câu DELETE */
+    @Value("${outbox.relay.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    /** Thời gian chờ một khoảng trống id được lấp trước khi bỏ qua (lớn hơn transaction ghi dài nhất) */
+    @Value("${outbox.relay.gap-grace-ms:60000}")
+    private long gapGraceMs;
+
+    private final Map<String, IdGapTracker> gapTrackers = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureCheckpoints() {
+        if (!enabled) {
+            return;
+        }
+        if (sinks.isEmpty()) {
+            log.warn("OUTBOX_NO_SINKS | events are kept in outbox_event until a sink is enabled");
+            return;
+        }
+        sinks.forEach(sink -> jdbcTemplate.update(ENSURE_CHECKPOINT_SQL, checkpointName(sink)));
+        log.info("Outbox relay started | sinks={}", sinks.stream().map(OutboxSink::getName).toList());
+    }
+
+    @Scheduled(
+            initialDelayString = "${outbox.relay.interval-ms:1000}",
+            fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void scheduledRelay() {
+        if (!enabled || sinks.isEmpty()) {
+            return;
+        }
+        try {
+            relay();
+        } catch (Exception e) {
+            log.error("OUTBOX_RELAY_FAILED | {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gửi các sự kiện đang chờ tới mọi sink rồi xoá sự kiện đã gửi xong
+     */
+    public synchronized void relay() {
+        for (OutboxSink sink : sinks) {
+            try {
+                deliverPending(sink);
+            } catch (Exception e) {
+                // Sink lỗi không chặn các sink khác, offset giữ nguyên
+                log.warn("OUTBOX_SINK_FAILED | sink={} | {}", sink.getName(), e.getMessage());
+            }
+        }
+
+        purgeDelivered();
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void deliverPending(OutboxSink sink) {
+        long start = System.currentTimeMillis();
+        long delivered = 0;
+        int rows;
+        do {
+            rows = transactionTemplate.execute(status -> deliverBatch(sink));
+            delivered += rows;
+        } while (rows == batchSize);
+
+        if (delivered > 0) {
+            log.debug("OUTBOX_DELIVERED | sink={} | events={} | durationMs={}",
+                    sink.getName(), delivered, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Gửi một batch sau offset của sink trong một transaction (offset bị khoá FOR UPDATE SKIP LOCKED).
+     * Chỉ gửi phần liền mạch với offset, dừng ở khoảng trống id chưa được lấp.
+     *
+     * @return số sự kiện đã gửi, 0 nếu hết, đang chờ khoảng trống, hoặc sink đang được instance khác xử lý
+     */
+    private int deliverBatch(OutboxSink sink) {
+        ProcessingCheckpoint checkpoint = processingCheckpointRepository
+                .findForUpdateSkipLocked(checkpointName(sink))
+                .orElse(null);
+        if (checkpoint == null) {
+            return 0;
+        }
+
+        List<OutboxEvent> batch = outboxEventRepository.findBatch(
+                checkpoint.getLastId(),
+                PageRequest.of(0, batchSize));
+        int contiguous = gapTracker(sink).contiguousCount(
+                checkpoint.getLastId(),
+                batch.stream().map(OutboxEvent::getId).toList());
+        if (contiguous == 0) {
+            return 0;
+        }
+        List<OutboxEvent> events = batch.subList(0, contiguous);
+
+        try {
+            sink.deliver(events.stream().map(OutboxMessage::of).toList());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Outbox relay interrupted", e);
+        } catch (Exception e) {
+            // Rollback → offset không đổi, batch được gửi lại lần sau
+            throw e instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException("Outbox sink " + sink.getName() + " failed", e);
+        }
+
+        checkpoint.setLastId(events.get(events.size() - 1).getId());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        processingCheckpointRepository.save(checkpoint);
+
+        // Dừng ở khoảng trống: events ngắn hơn batch-size → vòng gửi kết thúc, lần chạy sau kiểm tra lại
+        return events.size();
+    }
+
+    /**
+     * Xoá sự kiện có id <= offset nhỏ nhất của các sink đang bật
+     */
+    private void purgeDelivered() {
+        List<String> names = sinks.stream().map(OutboxRelay::checkpointName).toList();
+        List<ProcessingCheckpoint> checkpoints = processingCheckpointRepository.findAllById(names);
+        if (checkpoints.size() < names.size()) {
+            return;
+        }
+
+        long deliveredUpTo = checkpoints.stream()
+                .mapToLong(ProcessingCheckpoint::getLastId)
+                .min()
+                .orElse(0);
+        if (deliveredUpTo <= 0) {
+            return;
+        }
+
+        long deleted = 0;
+        int rows;
+        do {
+            rows = transactionTemplate.execute(
+                    status -> outboxEventRepository.deleteDelivered(deliveredUpTo, deleteBatchSize));
+            deleted += rows;
+        } while (rows == deleteBatchSize);
+
+        if (deleted > 0) {
+            log.debug("OUTBOX_PURGED | events={} | upToId={}", deleted, deliveredUpTo);
+        }
+    }
+
+    private IdGapTracker gapTracker(OutboxSink sink) {
+        return gapTrackers.computeIfAbsent(sink.getName(), name -> new IdGapTracker(checkpointName(sink), gapGraceMs));
+    }
+
+    private static String checkpointName(OutboxSink sink) {
+        return CHECKPOINT_PREFIX + sink.getName();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.crudjob.service;
+
+import java.util.Map;
+
+import com.example.crudjob.entity.enums.EOutboxEventType;
+
+public interface OutboxService {
+
+    /**
+     * Ghi một sự kiện vào outbox trong transaction hiện tại (bắt buộc có transaction)
+     *
+     * @param type        loại sự kiện
+     * @param aggregateId id của đối tượng nghiệp vụ (job id, transactionId)
+     * @param payload     dữ liệu sự kiện, serialize thành JSON
+     */
+    void record(EOutboxEventType type, String aggregateId, Object payload);
+
+    /**
+     * Ghi nhiều sự kiện cùng loại bằng một JDBC batch (thao tác hàng loạt, import)
+     *
+     * @param type     loại sự kiện
+     * @param payloads aggregateId → payload, theo thứ tự ghi
+     */
+    void recordAll(EOutboxEventType type, Map<String, ?> payloads);
+}
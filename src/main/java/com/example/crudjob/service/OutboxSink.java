@@ -0,0 +1,21 @@
+package com.example.crudjob.service;
+
+import java.util.List;
+
+import com.example.crudjob.dto.OutboxMessage;
+
+/**
+ * Đích nhận sự kiện outbox. Mỗi sink có offset riêng (processing_checkpoint "outbox:{name}").
+ *
+ * deliver ném exception → batch được gửi lại ở lần chạy sau (at-least-once).
+ */
+public interface OutboxSink {
+
+    /** Tên cố định, dùng làm khoá offset (tối đa 57 ký tự) */
+    String getName();
+
+    /**
+     * Gửi một batch theo thứ tự id tăng dần, chỉ trả về khi sink đã nhận bền vững
+     */
+    void deliver(List<OutboxMessage> messages) throws Exception;
+}
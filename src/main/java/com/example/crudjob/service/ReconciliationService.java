@@ -0,0 +1,24 @@
+package com.example.crudjob.service;
+
+import com.example.crudjob.dto.response.ReconciliationReportDTO;
+
+/**
+ * ReconciliationService
+ *
+ * Đối soát transaction_history: mỗi transactionId phải có đúng một bản ghi NỢ
+ * và một bản ghi CÓ với cùng số tiền.
+ */
+public interface ReconciliationService {
+
+    /**
+     * Bắt đầu đối soát chạy nền từ checkpoint (nếu đang chạy thì trả tiến độ hiện tại)
+     *
+     * @param reset true = bỏ checkpoint, đối soát lại từ đầu bảng
+     */
+    ReconciliationReportDTO start(boolean reset);
+
+    /**
+     * Báo cáo của lần chạy gần nhất (hoặc tiến độ lần đang chạy)
+     */
+    ReconciliationReportDTO getLatestReport();
+}
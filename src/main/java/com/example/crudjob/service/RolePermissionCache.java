@@ -0,0 +1,91 @@
+package com.example.crudjob.service;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.dto.response.CacheRegionStatsDTO;
+import com.example.crudjob.entity.Permission;
+import com.example.crudjob.entity.Role;
+import com.example.crudjob.utils.TransactionUtil;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RolePermissionCache
+ *
+ * Điều khiển cache cấp 2 của Role / Permission:
+ * - Ghi role / permission → xoá cả entity, collection role_permission và query cache sau commit
+ *   (Hibernate chỉ tự cập nhật entity bị ghi; collection của role khác vẫn giữ id permission đã xoá)
+ * - Báo các instance khác qua CacheInvalidationBus (region "auth") để chúng xoá cache của mình
+ * - Thống kê hit / miss / put theo region
+ */
+@Component
+@Slf4j
+public class RolePermissionCache {
+
+    private static final List<String> REGIONS = List.of(
+            AppConstants.CACHE_ROLE,
+            AppConstants.CACHE_PERMISSION,
+            AppConstants.CACHE_ROLE_PERMISSIONS,
+            AppConstants.CACHE_ROLE_QUERY,
+            AppConstants.CACHE_PERMISSION_QUERY);
+
+    private final SessionFactory sessionFactory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public RolePermissionCache(
+            EntityManagerFactory entityManagerFactory,
+            CacheInvalidationBus cacheInvalidationBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.register(AppConstants.CACHE_BUS_AUTH, this::evictLocal);
+    }
+
+    /**
+     * Xoá toàn bộ cache role / permission sau khi transaction hiện tại commit (không có transaction → ngay)
+     */
+    public void evictAll() {
+        TransactionUtil.afterCommit(() -> {
+            evictLocal();
+            cacheInvalidationBus.publish(AppConstants.CACHE_BUS_AUTH);
+        });
+    }
+
+    /**
+     * @return thống kê từng region (cần hibernate.generate_statistics=true)
+     */
+    public List<CacheRegionStatsDTO> statistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return REGIONS.stream()
+                .map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+                .toList();
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void evictLocal() {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Role.class);
+        cache.evictEntityData(Permission.class);
+        cache.evictCollectionData(Role.class.getName() + ".permissions");
+        cache.evictQueryRegion(AppConstants.CACHE_ROLE_QUERY);
+        cache.evictQueryRegion(AppConstants.CACHE_PERMISSION_QUERY);
+        log.debug("ROLE_PERMISSION_CACHE_EVICTED");
+    }
+
+    private static CacheRegionStatsDTO toDto(String region, CacheRegionStatistics stats) {
+        if (stats == null) {
+            return new CacheRegionStatsDTO(region, 0, 0, 0, 0);
+        }
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        double ratio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new CacheRegionStatsDTO(region, hits, misses, stats.getPutCount(), ratio);
+    }
+}
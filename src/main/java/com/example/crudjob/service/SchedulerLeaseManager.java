@@ -0,0 +1,62 @@
+package com.example.crudjob.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.repository.SchedulerLeaseRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SchedulerLeaseManager
+ *
+ * Bầu một instance chạy tác vụ định kỳ qua bảng scheduler_lease:
+ * - Instance nhận lease bằng một câu upsert, chỉ thành công khi lease trống,
+ *   đã hết hạn hoặc đang thuộc chính nó (gia hạn)
+ * - Instance chết thì lease hết hạn sau leaseMs, instance khác nhận thay
+ * - Thời gian tính theo đồng hồ DB → không phụ thuộc lệch giờ giữa các máy
+ *
+ * Tác vụ dài phải gia hạn (gọi lại tryAcquire) giữa các bước, mất lease thì dừng.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLeaseManager {
+
+    /** Định danh instance: pid@host + hậu tố ngẫu nhiên (phân biệt các lần khởi động) */
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName()
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+
+    /**
+     * Nhận hoặc gia hạn lease
+     *
+     * @param name    tên tác vụ
+     * @param leaseMs thời hạn lease tính từ bây giờ
+     * @return true nếu instance hiện tại đang giữ lease
+     */
+    @Transactional
+    public boolean tryAcquire(String name, long leaseMs) {
+        schedulerLeaseRepository.acquire(name, owner, leaseMs);
+        return schedulerLeaseRepository.countHeld(name, owner) > 0;
+    }
+
+    /**
+     * Nhả lease nếu đang giữ
+     */
+    @Transactional
+    public void release(String name) {
+        if (schedulerLeaseRepository.release(name, owner) > 0) {
+            log.debug("LEASE_RELEASED | name={} | owner={}", name, owner);
+        }
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
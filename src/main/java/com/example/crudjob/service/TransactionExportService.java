@@ -0,0 +1,33 @@
+package com.example.crudjob.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import com.example.crudjob.entity.enums.EExportFormat;
+
+/**
+ * TransactionExportService
+ *
+ * Xuất lịch sử giao dịch dạng stream (NDJSON/CSV) cho đối soát/kiểm toán.
+ * Bộ nhớ sử dụng không phụ thuộc độ dài khoảng thời gian.
+ */
+public interface TransactionExportService {
+
+    /**
+     * Ghi lịch sử giao dịch trong khoảng [from, to) ra output stream, sắp theo (transactionTime, id)
+     *
+     * @param from   cận dưới thời gian (bao gồm, null = không giới hạn)
+     * @param to     cận trên thời gian (không bao gồm, null = không giới hạn)
+     * @param format định dạng đầu ra
+     * @param gzip   nén gzip đầu ra hay không
+     * @param out    output stream của response (không bị đóng bởi service)
+     * @return số bản ghi đã ghi
+     */
+    long export(
+            LocalDateTime from,
+            LocalDateTime to,
+            EExportFormat format,
+            boolean gzip,
+            OutputStream out) throws IOException;
+}
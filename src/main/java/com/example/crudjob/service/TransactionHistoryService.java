@@ -0,0 +1,30 @@
+package com.example.crudjob.service;
+
+import java.time.LocalDateTime;
+
+import com.example.crudjob.dto.response.CursorPageResponseDTO;
+import com.example.crudjob.dto.response.TransactionHistoryResponseDTO;
+
+/**
+ * TransactionHistoryService
+ *
+ * Truy vấn lịch sử giao dịch (chỉ đọc).
+ */
+public interface TransactionHistoryService {
+
+    /**
+     * Lấy một trang lịch sử giao dịch theo keyset pagination
+     *
+     * @param from          cận dưới thời gian (bao gồm, null = không giới hạn)
+     * @param to            cận trên thời gian (không bao gồm, null = không giới hạn)
+     * @param transactionId lọc theo transactionId (null = không lọc)
+     * @param cursor        token trang trước trả về (null = trang đầu)
+     * @param size          số bản ghi mỗi trang
+     */
+    CursorPageResponseDTO<TransactionHistoryResponseDTO> getHistory(
+            LocalDateTime from,
+            LocalDateTime to,
+            String transactionId,
+            String cursor,
+            int size);
+}
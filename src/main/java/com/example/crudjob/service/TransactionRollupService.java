@@ -0,0 +1,30 @@
+package com.example.crudjob.service;
+
+import java.time.LocalDateTime;
+
+import com.example.crudjob.dto.response.RollupReportDTO;
+import com.example.crudjob.entity.enums.ERollupGranularity;
+
+/**
+ * TransactionRollupService
+ *
+ * Tổng hợp NỢ/CÓ theo giờ/ngày, cộng dồn tăng dần từ transaction_history.
+ */
+public interface TransactionRollupService {
+
+    /**
+     * Cộng các bản ghi lịch sử mới (sau checkpoint) vào bảng rollup
+     *
+     * @return số bản ghi đã xử lý
+     */
+    long processPending();
+
+    /**
+     * Lấy tổng hợp theo bucket trong khoảng thời gian, gồm cả phần chưa được rollup
+     *
+     * @param granularity mức chi tiết
+     * @param from        cận dưới (làm tròn xuống đầu bucket)
+     * @param to          cận trên (không bao gồm, làm tròn lên cuối bucket)
+     */
+    RollupReportDTO getRollups(ERollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
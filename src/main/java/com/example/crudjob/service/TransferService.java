@@ -2,9 +2,11 @@ package com.example.crudjob.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import com.example.crudjob.dto.EncryptedTransferCommand;
 import com.example.crudjob.dto.response.DecryptedTransferResponse;
+import com.example.crudjob.dto.response.LockStripeStatsDTO;
 
 /**
  * TransferService
@@ -39,4 +41,11 @@ public interface TransferService {
 
     DecryptedTransferResponse decryptTransferCommand(EncryptedTransferCommand command);
 
+    /**
+     * Thống kê contention của các stripe lock tài khoản
+     *
+     * @param limit số stripe tối đa trả về (nhiều contention nhất trước)
+     */
+    List<LockStripeStatsDTO> getLockStats(int limit);
+
 }
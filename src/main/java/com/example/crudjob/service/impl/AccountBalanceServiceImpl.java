@@ -0,0 +1,194 @@
+package com.example.crudjob.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.dto.response.AccountBalanceResponseDTO;
+import com.example.crudjob.dto.response.BalanceRebuildResultDTO;
+import com.example.crudjob.entity.AccountBalance;
+import com.example.crudjob.entity.TransactionHistory;
+import com.example.crudjob.exception.ResourceNotFoundException;
+import com.example.crudjob.repository.AccountBalanceRepository;
+import com.example.crudjob.repository.TransactionHistoryRepository;
+import com.example.crudjob.service.AccountBalanceService;
+import com.example.crudjob.service.AccountHashService;
+import com.example.crudjob.service.AccountLockManager;
+import com.example.crudjob.service.HistoryArchiveStore;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AccountBalanceServiceImpl
+ *
+ * Trách nhiệm:
+ * - Upsert nguyên tử vào account_balance cho mỗi bản ghi NỢ/CÓ
+ * - Trả số dư theo blind index (một lần đọc theo khoá chính)
+ * - Dựng lại projection từ transaction_history (stream theo id), chặn transfer trong lúc dựng
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountBalanceServiceImpl implements AccountBalanceService {
+
+    private static final Pattern ACCOUNT_HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+    private static final String BALANCE_NOT_FOUND = "Account balance not found";
+
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final TransactionHistoryRepository transactionHistoryRepository;
+    private final AccountHashService accountHashService;
+    private final HistoryArchiveStore historyArchiveStore;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /* ================= INCREMENTAL ================= */
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyTransfer(
+            String sourceHash,
+            String targetHash,
+            BigDecimal inDebt,
+            BigDecimal have,
+            LocalDateTime time) {
+
+        accountBalanceRepository.applyDelta(sourceHash, inDebt, BigDecimal.ZERO, 1, time);
+        accountBalanceRepository.applyDelta(targetHash, BigDecimal.ZERO, have, 1, time);
+    }
+
+    /* ================= READ ================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountBalanceResponseDTO getBalance(String accountRef) {
+
+        String accountHash = ACCOUNT_HASH_PATTERN.matcher(accountRef).matches()
+                ? accountRef
+                : accountHashService.hash(accountRef);
+
+        AccountBalance balance = accountBalanceRepository.findById(accountHash)
+                .orElseThrow(() -> new ResourceNotFoundException(BALANCE_NOT_FOUND));
+
+        return new AccountBalanceResponseDTO(
+                balance.getAccountHash(),
+                balance.getTotalDebit(),
+                balance.getTotalCredit(),
+                balance.getBalance(),
+                balance.getTransactionCount(),
+                balance.getLastTransactionTime(),
+                balance.getUpdatedAt());
+    }
+
+    /* ================= REBUILD ================= */
+
+    /**
+     * Dựng lại projection:
+     * 1. Chặn transfer: giữ toàn bộ stripe của AccountLockManager (transfer trong JVM chờ hoặc 409)
+     *    và khoá mọi dòng account_balance (applyDelta ở node khác chờ tới khi commit)
+     * 2. Duyệt các partition đã archive, sau đó stream transaction_history theo id
+     *    (không nạp cả bảng vào bộ nhớ)
+     * 3. Cộng dồn theo blind index (bộ nhớ tỉ lệ với số tài khoản, không phải số giao dịch)
+     * 4. Xoá projection cũ và ghi lại trong cùng transaction
+     *
+     * Stripe được lấy trước khi transaction bắt đầu và nhả sau commit: snapshot đọc lịch sử
+     * chứa mọi transfer đã cộng vào projection, transfer bị chặn cộng tiếp lên kết quả mới.
+     * Khoá dòng dựa vào gap lock của REPEATABLE READ (mặc định của MySQL).
+     */
+    @Override
+    public BalanceRebuildResultDTO rebuildFromHistory() {
+
+        log.info("BALANCE_REBUILD_START");
+
+        AccountLockManager.AllLock lock = accountLockManager.lockAll();
+        try {
+            return transactionTemplate.execute(status -> rebuildLocked());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BalanceRebuildResultDTO rebuildLocked() {
+
+        long start = System.currentTimeMillis();
+        long rowsScanned = 0;
+        Map<String, Totals> totalsByAccount = new HashMap<>();
+
+        // Khoá trước lần đọc đầu tiên → snapshot của transaction được tạo sau khi đã chặn ghi
+        int lockedRows = accountBalanceRepository.lockAllRows().size();
+        log.info("BALANCE_REBUILD_LOCKED | rows={}", lockedRows);
+
+        rowsScanned += historyArchiveStore.forEachRow(row -> totalsByAccount
+                .computeIfAbsent(accountHashService.hash(row.getAccount()), k -> new Totals())
+                .add(row.getInDebt(), row.getHave(), row.getTransactionTime()));
+
+        try (Stream<TransactionHistory> rows = transactionHistoryRepository.streamAllOrderById()) {
+            for (TransactionHistory row : (Iterable<TransactionHistory>) rows::iterator) {
+                // account đã được AesAttributeConverter giải mã khi load
+                String accountHash = accountHashService.hash(row.getAccount());
+                totalsByAccount.computeIfAbsent(accountHash, k -> new Totals())
+                        .add(row.getInDebt(), row.getHave(), row.getTransactionTime());
+
+                // Detach để persistence context không phình theo số dòng
+                entityManager.detach(row);
+                rowsScanned++;
+
+                if (rowsScanned % 10_000 == 0) {
+                    log.info("BALANCE_REBUILD_PROGRESS | rowsScanned={}", rowsScanned);
+                }
+            }
+        }
+
+        accountBalanceRepository.deleteAllRows();
+
+        totalsByAccount.forEach((accountHash, totals) -> accountBalanceRepository.applyDelta(
+                accountHash,
+                totals.debit,
+                totals.credit,
+                totals.count,
+                totals.lastTime));
+
+        long durationMs = System.currentTimeMillis() - start;
+
+        log.info("BALANCE_REBUILD_SUCCESS | rowsScanned={} | accounts={} | durationMs={}",
+                rowsScanned, totalsByAccount.size(), durationMs);
+
+        return new BalanceRebuildResultDTO(rowsScanned, totalsByAccount.size(), durationMs);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    /**
+     * Bộ cộng dồn tạm cho một tài khoản khi rebuild
+     */
+    private static final class Totals {
+
+        private BigDecimal debit = BigDecimal.ZERO;
+        private BigDecimal credit = BigDecimal.ZERO;
+        private long count;
+        private LocalDateTime lastTime;
+
+        private void add(BigDecimal inDebt, BigDecimal have, LocalDateTime time) {
+            debit = debit.add(inDebt);
+            credit = credit.add(have);
+            count++;
+
+            if (lastTime == null || time.isAfter(lastTime)) {
+                lastTime = time;
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.crudjob.service.impl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.crudjob.dto.response.JobChangeEventDTO;
+import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.entity.enums.EJobEventType;
+import com.example.crudjob.service.IJobEventService;
+import com.example.crudjob.utils.TransactionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JobEventServiceImpl
+ *
+ * Event bus trong tiến trình cho thay đổi job, phát qua SSE:
+ * - Sự kiện được serialize một lần rồi ghi vào ring buffer có giới hạn (id tăng dần)
+ * - Mỗi client giữ con trỏ tới sự kiện cuối đã gửi; khi có sự kiện mới, một tác vụ
+ *   trên jobEventExecutor đọc ring buffer từ con trỏ và gửi tiếp → replay Last-Event-ID
+ *   và gửi trực tiếp dùng chung một đường
+ * - Client tụt quá xa (sự kiện đã bị ghi đè) hoặc Last-Event-ID của lần chạy trước
+ *   nhận sự kiện RESET để tải lại danh sách
+ *
+ * Kết nối rảnh không giữ thread (async servlet), heartbeat định kỳ để phát hiện kết nối chết.
+ * Chỉ phát sự kiện của instance hiện tại.
+ */
+@Service
+@Slf4j
+public class JobEventServiceImpl implements IJobEventService {
+
+    private static final String RESET_EVENT = "RESET";
+    private static final int SEND_BATCH = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Executor jobEventExecutor;
+
+    /** Số sự kiện giữ lại để client kết nối lại có thể tiếp tục */
+    @Value("${job.events.buffer-size:10000}")
+    private int bufferSize;
+
+    /** Số kết nối SSE tối đa */
+    @Value("${job.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    /** Thời gian sống của một kết nối, hết hạn thì client tự kết nối lại với Last-Event-ID */
+    @Value("${job.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    /** Phân biệt id sự kiện giữa các lần khởi động (sequence bắt đầu lại từ 0) */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object ringLock = new Object();
+
+    /* Các field dưới đây được bảo vệ bởi ringLock */
+    private StoredEvent[] ring;
+    private long lastSequence;
+
+    public JobEventServiceImpl(
+            ObjectMapper objectMapper,
+            @Qualifier("jobEventExecutor") Executor jobEventExecutor) {
+        this.objectMapper = objectMapper;
+        this.jobEventExecutor = jobEventExecutor;
+    }
+
+    @PostConstruct
+    void init() {
+        ring = new StoredEvent[bufferSize];
+    }
+
+    /* ================= PUBLISH ================= */
+
+    @Override
+    public void publish(EJobEventType type, Collection<Long> jobIds, JobResponseDTO job) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+
+        JobChangeEventDTO event = new JobChangeEventDTO(type, List.copyOf(jobIds), job, LocalDateTime.now());
+        TransactionUtil.afterCommit(() -> append(event));
+    }
+
+    /* ================= SUBSCRIBE ================= */
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        synchronized (ringLock) {
+            subscriber.cursor = lastSequence;
+            long resumeFrom = parseSequence(lastEventId);
+            if (resumeFrom >= 0 && resumeFrom <= lastSequence) {
+                subscriber.cursor = resumeFrom;
+            } else if (lastEventId != null && !lastEventId.isBlank()) {
+                subscriber.reset = true;
+            }
+        }
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        // Gửi heartbeat ngay để response (header) được flush về client
+        subscriber.heartbeatDue = true;
+        subscribers.add(subscriber);
+        schedule(subscriber);
+
+        return emitter;
+    }
+
+    @Scheduled(
+            initialDelayString = "${job.events.heartbeat-ms:15000}",
+            fixedDelayString = "${job.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(this::close);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void append(JobChangeEventDTO event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("JOB_EVENT_SERIALIZE_FAILED | type={} | {}", event.getType(), e.getMessage());
+            return;
+        }
+
+        synchronized (ringLock) {
+            long sequence = ++lastSequence;
+            ring[(int) (sequence % ring.length)] = new StoredEvent(sequence, event.getType().name(), json);
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    /**
+     * Đưa client vào hàng đợi gửi nếu chưa có tác vụ nào đang gửi cho client đó
+     */
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            jobEventExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+            log.warn("JOB_EVENT_EXECUTOR_FULL | subscribers={}", subscribers.size());
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.heartbeatDue) {
+                    subscriber.heartbeatDue = false;
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+
+                List<StoredEvent> pending = readPending(subscriber);
+                if (subscriber.reset) {
+                    subscriber.reset = false;
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(eventId(subscriber.cursor))
+                            .name(RESET_EVENT)
+                            .data("{}"));
+                }
+                for (StoredEvent event : pending) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(eventId(event.sequence))
+                            .name(event.name)
+                            .data(event.json));
+                }
+
+                if (pending.isEmpty()) {
+                    subscriber.draining.set(false);
+                    // Sự kiện đến giữa lần đọc cuối và lúc nhả cờ → tự nhận lại nếu chưa ai nhận
+                    if (!hasPending(subscriber) || !subscriber.draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("JOB_EVENT_SUBSCRIBER_GONE | {}", e.getMessage());
+            close(subscriber);
+        }
+    }
+
+    /**
+     * Lấy các sự kiện sau con trỏ của client và dời con trỏ.
+     * Sự kiện cần gửi đã bị ghi đè → đánh dấu reset và nhảy tới sự kiện mới nhất.
+     */
+    private List<StoredEvent> readPending(Subscriber subscriber) {
+        synchronized (ringLock) {
+            long oldest = Math.max(1, lastSequence - ring.length + 1);
+            if (subscriber.cursor + 1 < oldest) {
+                subscriber.reset = true;
+                subscriber.cursor = lastSequence;
+                return List.of();
+            }
+
+            long to = Math.min(lastSequence, subscriber.cursor + SEND_BATCH);
+            List<StoredEvent> pending = new ArrayList<>((int) (to - subscriber.cursor));
+            for (long sequence = subscriber.cursor + 1; sequence <= to; sequence++) {
+                pending.add(ring[(int) (sequence % ring.length)]);
+            }
+            subscriber.cursor = to;
+            return pending;
+        }
+    }
+
+    private boolean hasPending(Subscriber subscriber) {
+        synchronized (ringLock) {
+            return subscriber.cursor < lastSequence || subscriber.heartbeatDue || subscriber.reset;
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException e) {
+            // Emitter đã kết thúc
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * @return sequence trong Last-Event-ID của lần chạy hiện tại, -1 nếu không có hoặc không hợp lệ
+     */
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Sự kiện đã serialize sẵn, gửi cho mọi client không serialize lại */
+    private record StoredEvent(long sequence, String name, String json) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /** Sequence của sự kiện cuối đã lấy để gửi (bảo vệ bởi ringLock) */
+        private long cursor;
+
+        private volatile boolean reset;
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.crudjob.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.EncryptionService;
+import com.example.crudjob.service.IJobExportService;
+import com.example.crudjob.utils.ParallelUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JobExportServiceImpl
+ *
+ * - Đọc bằng Stream<Job> (cursor của MySQL) trong transaction read-only → không load hết bảng
+ * - Gom từng chunk, giải mã song song trên cryptoExecutor nhưng ghi theo đúng thứ tự id
+ * - Ghi NDJSON thẳng ra response, clear persistence context sau mỗi chunk → bộ nhớ cỡ 1 chunk
+ */
+@Service
+@Slf4j
+public class JobExportServiceImpl implements IJobExportService {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final JobRepository jobRepository;
+    private final EncryptionService encryptionService;
+    private final ObjectMapper objectMapper;
+    private final Executor cryptoExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Fetch size của cursor. Integer.MIN_VALUE = MySQL Connector/J stream từng dòng;
+     * nếu URL bật useCursorFetch=true thì đặt giá trị dương (vd 1000).
+     */
+    @Value("${job.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    /** Số job giải mã song song mỗi lượt */
+    @Value("${job.export.batch-size:256}")
+    private int batchSize;
+
+    public JobExportServiceImpl(
+            JobRepository jobRepository,
+            EncryptionService encryptionService,
+            ObjectMapper objectMapper,
+            @Qualifier("cryptoExecutor") Executor cryptoExecutor) {
+        this.jobRepository = jobRepository;
+        this.encryptionService = encryptionService;
+        this.objectMapper = objectMapper;
+        this.cryptoExecutor = cryptoExecutor;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(boolean gzip, OutputStream out) throws IOException {
+
+        long start = System.currentTimeMillis();
+
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, OUTPUT_BUFFER_SIZE) : null;
+        BufferedOutputStream buffered = new BufferedOutputStream(gzip ? gzipOut : out, OUTPUT_BUFFER_SIZE);
+
+        List<Job> batch = new ArrayList<>(batchSize);
+        long rows = 0;
+
+        try (Stream<Job> jobs = jobRepository.streamAll(fetchSize)) {
+            for (Job job : (Iterable<Job>) jobs::iterator) {
+                batch.add(job);
+                if (batch.size() >= batchSize) {
+                    rows += writeBatch(batch, buffered);
+                }
+            }
+            rows += writeBatch(batch, buffered);
+        } catch (UncheckedIOException e) {
+            // Client ngắt kết nối giữa chừng → dừng đọc cursor
+            throw e.getCause();
+        }
+
+        buffered.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+
+        log.info("JOB_EXPORT_DONE | gzip={} | rows={} | durationMs={}",
+                gzip, rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private int writeBatch(List<Job> batch, OutputStream out) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<JobResponseDTO> decrypted = ParallelUtil.mapOrdered(batch, this::toResponse, cryptoExecutor);
+
+        try {
+            for (JobResponseDTO job : decrypted) {
+                out.write(objectMapper.writeValueAsBytes(job));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int written = batch.size();
+        batch.clear();
+        // Bỏ các entity đã ghi khỏi persistence context để bộ nhớ không tăng theo số dòng
+        entityManager.clear();
+        return written;
+    }
+
+    /**
+     * Giải mã vào DTO (không sửa entity đang được quản lý)
+     */
+    private JobResponseDTO toResponse(Job job) {
+        return JobResponseDTO.builder()
+                .id(job.getId())
+                .title(job.getTitle())
+                .company(encryptionService.decrypt(job.getCompany()))
+                .location(encryptionService.decrypt(job.getLocation()))
+                .salary(job.getSalary())
+                .type(job.getType())
+                .status(job.getStatus())
+                .description(job.getDescription() == null ? null : encryptionService.decrypt(job.getDescription()))
+                .expiresAt(job.getExpiresAt())
+                .version(job.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,359 @@
+package com.example.crudjob.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.crudjob.dto.JobOutboxPayload;
+import com.example.crudjob.dto.request.JobRequestDTO;
+import com.example.crudjob.dto.response.JobImportErrorDTO;
+import com.example.crudjob.dto.response.JobImportResultDTO;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobEventType;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.entity.enums.EOutboxEventType;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.EncryptionService;
+import com.example.crudjob.service.IJobEventService;
+import com.example.crudjob.service.IJobImportService;
+import com.example.crudjob.service.JobCountCache;
+import com.example.crudjob.service.JobFacetCounter;
+import com.example.crudjob.service.JobSearchIndex;
+import com.example.crudjob.service.OutboxService;
+import com.example.crudjob.utils.CsvReader;
+import com.example.crudjob.utils.Mapper;
+import com.example.crudjob.utils.ParallelUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service import job hàng loạt
+ * - Đọc file theo từng dòng (không nạp cả file)
+ * - Validate theo rule của JobRequestDTO, lỗi được ghi nhận theo dòng
+ * - Mỗi chunk: encrypt song song trên cryptoExecutor, ghi bằng JDBC batch trong một transaction
+ */
+@Service
+@Slf4j
+public class JobImportServiceImpl implements IJobImportService {
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("title", "company", "location", "salary", "type", "status");
+
+    private final JobRepository jobRepository;
+    private final EncryptionService encryptionService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor cryptoExecutor;
+    private final JobCountCache jobCountCache;
+    private final JobFacetCounter jobFacetCounter;
+    private final JobSearchIndex jobSearchIndex;
+    private final IJobEventService jobEventService;
+    private final OutboxService outboxService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Số dòng mỗi transaction */
+    @Value("${job.import.chunk-size:500}")
+    private int chunkSize;
+
+    /** Số lỗi tối đa trả về trong báo cáo */
+    @Value("${job.import.max-errors:1000}")
+    private int maxErrors;
+
+    public JobImportServiceImpl(
+            JobRepository jobRepository,
+            EncryptionService encryptionService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("cryptoExecutor") Executor cryptoExecutor,
+            JobCountCache jobCountCache,
+            JobFacetCounter jobFacetCounter,
+            JobSearchIndex jobSearchIndex,
+            IJobEventService jobEventService,
+            OutboxService outboxService) {
+        this.jobRepository = jobRepository;
+        this.encryptionService = encryptionService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.cryptoExecutor = cryptoExecutor;
+        this.jobCountCache = jobCountCache;
+        this.jobFacetCounter = jobFacetCounter;
+        this.jobSearchIndex = jobSearchIndex;
+        this.jobEventService = jobEventService;
+        this.outboxService = outboxService;
+    }
+
+    @Override
+    public JobImportResultDTO importJobs(MultipartFile file) throws IOException {
+
+        long start = System.currentTimeMillis();
+        boolean csv = isCsv(file);
+        ImportState state = new ImportState();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            if (csv) {
+                readCsv(reader, state);
+            } else {
+                readNdjson(reader, state);
+            }
+        }
+        state.flushChunk();
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("JOB_IMPORT_DONE | file={} | rows={} | imported={} | failed={} | durationMs={}",
+                file.getOriginalFilename(), state.totalRows, state.imported, state.failed, durationMs);
+
+        return new JobImportResultDTO(state.totalRows, state.imported, state.failed, durationMs, state.errors);
+    }
+
+    /* ================= PARSE ================= */
+
+    private void readCsv(BufferedReader reader, ImportState state) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+
+        List<String> header = csvReader.readRecord();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Bỏ BOM nếu file được lưu từ Excel
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Missing CSV columns: " + missing);
+        }
+
+        long row = 0;
+        List<String> record;
+        while (true) {
+            try {
+                record = csvReader.readRecord();
+            } catch (IOException e) {
+                throw new BadRequestException("Malformed CSV after row " + row + ": " + e.getMessage());
+            }
+            if (record == null) {
+                break;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            row++;
+
+            List<String> errors = new ArrayList<>();
+            JobRequestDTO dto = new JobRequestDTO();
+            dto.setTitle(field(record, columns, "title"));
+            dto.setCompany(field(record, columns, "company"));
+            dto.setLocation(field(record, columns, "location"));
+            dto.setDescription(field(record, columns, "description"));
+
+            String salary = field(record, columns, "salary");
+            try {
+                dto.setSalary(salary == null ? null : Integer.valueOf(salary));
+            } catch (NumberFormatException e) {
+                errors.add("salary: must be an integer");
+            }
+
+            String type = field(record, columns, "type");
+            try {
+                dto.setType(type == null ? null : EJobType.valueOf(type));
+            } catch (IllegalArgumentException e) {
+                errors.add("type: must be one of " + Arrays.toString(EJobType.values()));
+            }
+
+            String status = field(record, columns, "status");
+            try {
+                dto.setStatus(status == null ? null : EJobStatus.valueOf(status));
+            } catch (IllegalArgumentException e) {
+                errors.add("status: must be one of " + Arrays.toString(EJobStatus.values()));
+            }
+
+            String expiresAt = field(record, columns, "expires_at");
+            try {
+                dto.setExpiresAt(expiresAt == null ? null : LocalDateTime.parse(expiresAt));
+            } catch (DateTimeParseException e) {
+                errors.add("expires_at: must be an ISO date-time (e.g. 2025-12-31T23:59:59)");
+            }
+
+            if (errors.isEmpty()) {
+                state.accept(row, dto);
+            } else {
+                state.reject(row, errors);
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportState state) throws IOException {
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+
+            try {
+                state.accept(row, objectMapper.readValue(line, JobRequestDTO.class));
+            } catch (JsonProcessingException e) {
+                state.reject(row, List.of("Invalid JSON: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private boolean isCsv(MultipartFile file) {
+        String name = file.getOriginalFilename() == null
+                ? ""
+                : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        String contentType = file.getContentType() == null ? "" : file.getContentType();
+
+        if (name.endsWith(".csv") || contentType.startsWith("text/csv")) {
+            return true;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || contentType.startsWith("application/x-ndjson")) {
+            return false;
+        }
+        throw new BadRequestException("Unsupported import file, expected .csv or .ndjson");
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Job encryptJob(JobRequestDTO dto) {
+        Job job = Mapper.toEntity(dto);
+        job.setCompany(encryptionService.encrypt(job.getCompany()));
+        job.setLocation(encryptionService.encrypt(job.getLocation()));
+        job.setDescription(encryptionService.encrypt(job.getDescription()));
+        return job;
+    }
+
+    /**
+     * Trạng thái của một lần import: bộ đếm, lỗi theo dòng và chunk đang gom
+     */
+    private final class ImportState {
+
+        private long totalRows;
+        private long imported;
+        private long failed;
+        private final List<JobImportErrorDTO> errors = new ArrayList<>();
+        private final List<Long> chunkRows = new ArrayList<>();
+        private final List<JobRequestDTO> chunk = new ArrayList<>();
+
+        private void accept(long row, JobRequestDTO dto) {
+            totalRows++;
+
+            Set<ConstraintViolation<JobRequestDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                failed++;
+                addError(row, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .toList());
+                return;
+            }
+
+            chunkRows.add(row);
+            chunk.add(dto);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        private void reject(long row, List<String> messages) {
+            totalRows++;
+            failed++;
+            addError(row, messages);
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            try {
+                List<Job> jobs = ParallelUtil.mapOrdered(chunk, JobImportServiceImpl.this::encryptJob, cryptoExecutor);
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    jobRepository.saveAll(jobs);
+                    outboxService.recordAll(EOutboxEventType.JOB_CREATED, outboxPayloads(jobs));
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                imported += jobs.size();
+                jobCountCache.invalidateAll();
+                jobs.forEach(job -> jobFacetCounter.add(job.getType(), job.getStatus(), job.getSalary()));
+                // Đánh chỉ mục bằng bản rõ trong DTO, không cần giải mã lại
+                for (int i = 0; i < jobs.size(); i++) {
+                    jobSearchIndex.index(jobs.get(i).getId(), chunk.get(i).getTitle(), chunk.get(i).getDescription());
+                }
+                jobEventService.publish(EJobEventType.CREATED, jobs.stream().map(Job::getId).toList(), null);
+            } catch (RuntimeException e) {
+                log.warn("JOB_IMPORT_CHUNK_FAILED | rows={}-{} | {}",
+                        chunkRows.get(0), chunkRows.get(chunkRows.size() - 1), e.getMessage());
+                failed += chunk.size();
+                chunkRows.forEach(row -> addError(row, List.of("Could not save row: " + e.getMessage())));
+            }
+
+            chunkRows.clear();
+            chunk.clear();
+        }
+
+        /**
+         * Payload outbox từ bản rõ trong DTO (id vừa được cấp khi persist)
+         */
+        private Map<String, JobOutboxPayload> outboxPayloads(List<Job> jobs) {
+            Map<String, JobOutboxPayload> payloads = new LinkedHashMap<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                Job job = jobs.get(i);
+                payloads.put(String.valueOf(job.getId()), Mapper.toOutboxPayload(job.getId(), chunk.get(i), job.getVersion()));
+            }
+            return payloads;
+        }
+
+        private void addError(long row, List<String> messages) {
+            if (errors.size() < maxErrors) {
+                errors.add(new JobImportErrorDTO(row, messages));
+            }
+        }
+    }
+}
@@ -1,21 +1,66 @@
 package com.example.crudjob.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.dto.JobOutboxPayload;
+import com.example.crudjob.dto.request.JobBulkDeleteRequestDTO;
+import com.example.crudjob.dto.request.JobBulkUpdateRequestDTO;
+import com.example.crudjob.dto.request.JobFilterDTO;
+import com.example.crudjob.dto.request.JobPatchDTO;
 import com.example.crudjob.dto.request.JobRequestDTO;
+import com.example.crudjob.dto.response.CachedJobResponseDTO;
+import com.example.crudjob.dto.response.CursorPageResponseDTO;
+import com.example.crudjob.dto.response.JobBulkResultDTO;
+import com.example.crudjob.dto.response.JobFacetsDTO;
 import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.dto.response.JobSearchHitDTO;
+import com.example.crudjob.dto.response.JobSearchResponseDTO;
 import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobEventType;
+import com.example.crudjob.entity.enums.EJobField;
+import com.example.crudjob.entity.enums.EJobSort;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.entity.enums.EOutboxEventType;
+import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.exception.ConflictException;
 import com.example.crudjob.exception.ResourceNotFoundException;
 import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.repository.JobSpecifications;
+import com.example.crudjob.service.IJobEventService;
 import com.example.crudjob.service.IJobService;
 import com.example.crudjob.service.EncryptionService;
+import com.example.crudjob.service.JobCountCache;
+import com.example.crudjob.service.JobFacetCounter;
+import com.example.crudjob.service.JobResponseCache;
+import com.example.crudjob.service.JobSearchIndex;
+import com.example.crudjob.service.OutboxService;
+import com.example.crudjob.utils.CursorCodec;
+import com.example.crudjob.utils.JobETag;
 import com.example.crudjob.utils.Mapper;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -29,12 +74,21 @@ public class JobServiceImpl implements IJobService {
 
     private final JobRepository jobRepository;
     private final EncryptionService encryptionService;
+    private final JobCountCache jobCountCache;
+    private final JobFacetCounter jobFacetCounter;
+    private final JobResponseCache jobResponseCache;
+    private final JobSearchIndex jobSearchIndex;
+    private final IJobEventService jobEventService;
+    private final OutboxService outboxService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
     private static final String JOB_NOT_FOUND = "Job not found";
 
     /* ================= CREATE ================= */
 
     @Override
+    @Transactional
     public JobResponseDTO create(JobRequestDTO dto) {
 
         Job job = Mapper.toEntity(dto);
@@ -45,127 +99,487 @@ public class JobServiceImpl implements IJobService {
         job.setDescription(encryptionService.encrypt(job.getDescription()));
 
         Job savedJob = jobRepository.save(job);
+        jobFacetCounter.add(savedJob.getType(), savedJob.getStatus(), savedJob.getSalary());
+        jobSearchIndex.index(savedJob.getId(), dto.getTitle(), dto.getDescription());
+
+        outboxService.record(
+                EOutboxEventType.JOB_CREATED,
+                String.valueOf(savedJob.getId()),
+                Mapper.toOutboxPayload(savedJob.getId(), dto, savedJob.getVersion()));
+
+        // Response lấy từ request (plaintext): không giải mã lại, không sửa entity đang được quản lý
+        JobResponseDTO response = Mapper.toResponse(savedJob.getId(), dto, savedJob.getVersion());
+        jobEventService.publish(EJobEventType.CREATED, List.of(response.getId()), response);
 
-        return Mapper.toResponse(decryptJob(savedJob));
+        return response;
     }
 
     /* ================= READ ================= */
 
     @Override
-    public List<JobResponseDTO> getAll() {
+    @Transactional(readOnly = true)
+    public Page<JobResponseDTO> getAll(Pageable pageable, Set<EJobField> fields) {
 
-        return jobRepository.findAll()
-                .stream()
-                .map(this::decryptJob)
-                .map(Mapper::toResponse)
-                .toList();
+        return jobRepository
+                .findProjected(null, fields, pageable)
+                .map(row -> toResponse(row, fields, null));
     }
 
     @Override
-    public Page<JobResponseDTO> getAll(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<JobResponseDTO> scroll(
+            String title,
+            EJobSort sort,
+            String cursor,
+            int size,
+            boolean includeTotal) {
+
+        Specification<Job> filter = title == null ? null : JobSpecifications.titleContainsIgnoreCase(title);
+        Specification<Job> spec = filter;
+
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorCodec.decode(cursor, 3);
+            if (!sort.name().equals(parts[0])) {
+                throw new BadRequestException("Cursor was issued for a different sort");
+            }
+            if (sort == EJobSort.SALARY && parts[1].isEmpty()) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            try {
+                Integer salary = sort == EJobSort.SALARY ? Integer.valueOf(parts[1]) : null;
+                spec = JobSpecifications.and(spec, JobSpecifications.after(sort, salary, Long.parseLong(parts[2])));
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor", e);
+            }
+        }
+
+        Sort order = sort == EJobSort.ID ? Sort.by("id") : Sort.by(sort.getProperty(), "id");
+
+        // Lấy dư 1 dòng để biết còn trang sau hay không
+        List<Job> jobs = jobRepository.findBy(
+                Specification.where(spec),
+                query -> query.sortBy(order).limit(size + 1).all());
+
+        boolean hasNext = jobs.size() > size;
+        List<Job> page = hasNext ? jobs.subList(0, size) : jobs;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Job last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(
+                    sort.name(),
+                    sort == EJobSort.SALARY ? String.valueOf(last.getSalary()) : "",
+                    String.valueOf(last.getId()));
+        }
+
+        Long approximateTotal = null;
+        if (includeTotal) {
+            approximateTotal = title == null
+                    ? jobCountCache.get("all", jobRepository::count)
+                    : jobCountCache.get("title:" + title.toLowerCase(), () -> jobRepository.count(filter));
+        }
+
+        List<JobResponseDTO> content = page.stream()
+                .map(this::toDecryptedResponse)
+                .toList();
 
-        return jobRepository.findAll(pageable)
-                .map(this::decryptJob)
-                .map(Mapper::toResponse);
+        return new CursorPageResponseDTO<>(content, size, nextCursor, approximateTotal);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public JobResponseDTO getById(Long id) {
 
-        Job job = jobRepository.findById(id)
+        return jobRepository.findById(id)
+                .map(this::toDecryptedResponse)
                 .orElseThrow(() -> new ResourceNotFoundException(JOB_NOT_FOUND));
+    }
 
-        return Mapper.toResponse(decryptJob(job));
+    @Override
+    public CachedJobResponseDTO getCachedById(Long id) {
+
+        // Cache hit: không truy vấn DB, không giải mã, không serialize lại
+        return jobResponseCache.get(id, () -> {
+            // Nạp cache trong transaction ghi → đọc từ primary (replica đang trễ sẽ cache bản cũ kèm ETag cũ).
+            // Dùng TransactionTemplate: gọi getById từ đây là self-call, không qua proxy @Transactional
+            JobResponseDTO job = transactionTemplate.execute(status -> jobRepository.findById(id)
+                    .map(this::toDecryptedResponse)
+                    .orElseThrow(() -> new ResourceNotFoundException(JOB_NOT_FOUND)));
+            try {
+                return new CachedJobResponseDTO(
+                        objectMapper.writeValueAsBytes(job),
+                        JobETag.of(job.getId(), job.getVersion()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize job " + id, e);
+            }
+        });
     }
 
     /* ================= UPDATE ================= */
 
     @Override
-    public JobResponseDTO update(Long id, JobRequestDTO dto) {
+    @Transactional
+    public JobResponseDTO update(Long id, JobRequestDTO dto, Long expectedVersion) {
 
-        Job job = jobRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(JOB_NOT_FOUND));
+        Map<String, Object> changes = new HashMap<>();
 
         // Fields NOT encrypted (search / index)
-        job.setTitle(dto.getTitle());
-        job.setSalary(dto.getSalary());
-        job.setType(dto.getType());
-        job.setStatus(dto.getStatus());
+        changes.put("title", dto.getTitle());
+        changes.put("salary", dto.getSalary());
+        changes.put("type", dto.getType());
+        changes.put("status", dto.getStatus());
+        changes.put("expiresAt", dto.getExpiresAt());
 
         // Encrypted fields
-        job.setCompany(encryptionService.encrypt(dto.getCompany()));
-        job.setLocation(encryptionService.encrypt(dto.getLocation()));
-        job.setDescription(encryptionService.encrypt(dto.getDescription()));
+        changes.put("company", encryptionService.encrypt(dto.getCompany()));
+        changes.put("location", encryptionService.encrypt(dto.getLocation()));
+        changes.put("description", encryptionService.encrypt(dto.getDescription()));
+
+        Specification<Job> spec = JobSpecifications.idIn(List.of(id));
+        if (expectedVersion != null) {
+            spec = spec.and(JobSpecifications.hasVersion(expectedVersion));
+        }
+
+        jobFacetCounter.moveMatching(spec, dto.getType(), dto.getStatus(), dto.getSalary());
 
-        Job updatedJob = jobRepository.save(job);
+        // Một câu UPDATE ... WHERE id = ? [AND version = ?], version tự tăng
+        if (jobRepository.updateAll(spec, changes) == 0) {
+            if (expectedVersion != null && jobRepository.existsById(id)) {
+                throw new ConflictException(AppConstants.JOB_VERSION_CONFLICT);
+            }
+            throw new ResourceNotFoundException(JOB_NOT_FOUND);
+        }
+        jobResponseCache.invalidate(id);
+        jobSearchIndex.index(id, dto.getTitle(), dto.getDescription());
 
-        return Mapper.toResponse(decryptJob(updatedJob));
+        Long version = expectedVersion != null
+                ? expectedVersion + 1
+                : jobRepository.findVersionById(id).orElse(null);
+
+        outboxService.record(EOutboxEventType.JOB_UPDATED, String.valueOf(id), Mapper.toOutboxPayload(id, dto, version));
+
+        JobResponseDTO response = Mapper.toResponse(id, dto, version);
+        jobEventService.publish(EJobEventType.UPDATED, List.of(id), response);
+
+        return response;
     }
 
     /* ================= DELETE ================= */
 
     @Override
+    @Transactional
     public void delete(Long id) {
 
-        jobRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(JOB_NOT_FOUND));
+        jobFacetCounter.removeMatching(JobSpecifications.idIn(List.of(id)));
 
-        jobRepository.deleteById(id);
+        // Một câu DELETE, số dòng = 0 nghĩa là không tồn tại
+        if (jobRepository.deleteJobById(id) == 0) {
+            throw new ResourceNotFoundException(JOB_NOT_FOUND);
+        }
+        jobResponseCache.invalidate(id);
+        jobSearchIndex.remove(List.of(id));
+        outboxService.record(EOutboxEventType.JOB_DELETED, String.valueOf(id), deletedPayload(id));
+        jobEventService.publish(EJobEventType.DELETED, List.of(id), null);
+    }
+
+    /* ================= BULK ================= */
+
+    @Override
+    @Transactional
+    public JobBulkResultDTO bulkUpdate(JobBulkUpdateRequestDTO request) {
+
+        Specification<Job> spec = bulkSpecification(request.getIds(), request.getFilter());
+        JobPatchDTO patch = request.getChanges();
+
+        Map<String, Object> changes = new HashMap<>();
+        putIfPresent(changes, "title", patch.getTitle());
+        putIfPresent(changes, "salary", patch.getSalary());
+        putIfPresent(changes, "type", patch.getType());
+        putIfPresent(changes, "status", patch.getStatus());
+        putIfPresent(changes, "expiresAt", patch.getExpiresAt());
+
+        // Chỉ mã hoá field thực sự thay đổi, mỗi field một lần cho cả lô
+        if (patch.getCompany() != null) {
+            changes.put("company", encryptionService.encrypt(patch.getCompany()));
+        }
+        if (patch.getLocation() != null) {
+            changes.put("location", encryptionService.encrypt(patch.getLocation()));
+        }
+        if (patch.getDescription() != null) {
+            changes.put("description", encryptionService.encrypt(patch.getDescription()));
+        }
+
+        if (changes.isEmpty()) {
+            throw new BadRequestException("No fields to update");
+        }
+
+        // Id phải lấy trước UPDATE vì điều kiện lọc có thể dựa trên chính field bị đổi
+        List<Long> ids = findIds(spec);
+
+        int affected = jobRepository.updateAll(spec, changes);
+        jobCountCache.invalidateAll();
+        jobResponseCache.invalidateAll();
+        if (patch.getType() != null || patch.getStatus() != null || patch.getSalary() != null) {
+            jobFacetCounter.reload();
+        }
+        if (patch.getTitle() != null || patch.getDescription() != null) {
+            jobSearchIndex.reindexAsync(ids);
+        }
+        outboxService.recordAll(EOutboxEventType.JOB_UPDATED, outboxPayloads(ids, id -> new JobOutboxPayload(
+                id,
+                patch.getTitle(),
+                patch.getSalary(),
+                patch.getType(),
+                patch.getStatus(),
+                null)));
+        jobEventService.publish(EJobEventType.UPDATED, ids, null);
+
+        return new JobBulkResultDTO(affected);
+    }
+
+    @Override
+    @Transactional
+    public JobBulkResultDTO bulkDelete(JobBulkDeleteRequestDTO request) {
+
+        Specification<Job> spec = bulkSpecification(request.getIds(), request.getFilter());
+
+        List<Long> ids = findIds(spec);
+
+        jobFacetCounter.removeMatching(spec);
+        long affected = jobRepository.delete(spec);
+        jobCountCache.invalidateAll();
+        jobResponseCache.invalidateAll();
+        jobSearchIndex.remove(ids);
+        outboxService.recordAll(EOutboxEventType.JOB_DELETED, outboxPayloads(ids, JobServiceImpl::deletedPayload));
+        jobEventService.publish(EJobEventType.DELETED, ids, null);
+
+        return new JobBulkResultDTO(affected);
+    }
+
+    /* ================= EXPIRY ================= */
+
+    @Override
+    @Transactional
+    public int closeExpired(LocalDateTime now, int limit) {
+
+        // Khoá các dòng được chọn tới hết transaction → UPDATE dưới đây đúng tập id này
+        List<Long> ids = jobRepository.lockExpiredOpenIds(now, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Specification<Job> spec = JobSpecifications.idIn(ids);
+        jobFacetCounter.changeStatusMatching(spec, EJobStatus.Closed);
+
+        int affected = jobRepository.updateAll(spec, Map.of("status", EJobStatus.Closed));
+        ids.forEach(jobResponseCache::invalidate);
+        outboxService.recordAll(EOutboxEventType.JOB_UPDATED, outboxPayloads(ids, id -> new JobOutboxPayload(
+                id,
+                null,
+                null,
+                null,
+                EJobStatus.Closed,
+                null)));
+        jobEventService.publish(EJobEventType.UPDATED, ids, null);
+
+        return affected;
+    }
+
+    /* ================= FACETS ================= */
+
+    @Override
+    public JobFacetsDTO getFacets() {
+        return jobFacetCounter.snapshot();
     }
 
     /* ================= SEARCH ================= */
 
     @Override
-    public Page<JobResponseDTO> searchByTitle(String title, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public JobSearchResponseDTO search(String query, int size, Set<EJobField> fields) {
+
+        JobSearchIndex.SearchHits result = jobSearchIndex.search(query, size);
+        if (result.hits().isEmpty()) {
+            return new JobSearchResponseDTO(result.totalHits(), List.of());
+        }
+
+        Set<EJobField> selected = EnumSet.copyOf(fields);
+        selected.add(EJobField.ID);
+
+        List<Long> ids = result.hits().stream().map(JobSearchIndex.Hit::jobId).toList();
+        Map<Long, JobResponseDTO> jobs = new HashMap<>();
+        jobRepository
+                .findProjected(JobSpecifications.idIn(ids), selected, Pageable.unpaged())
+                .forEach(row -> jobs.put(row.get(EJobField.ID.name(), Long.class), toResponse(row, fields, null)));
+
+        // Giữ thứ tự theo điểm, bỏ qua job vừa bị xoá nhưng chỉ mục chưa kịp cập nhật
+        List<JobSearchHitDTO> hits = new ArrayList<>(ids.size());
+        for (JobSearchIndex.Hit hit : result.hits()) {
+            JobResponseDTO job = jobs.get(hit.jobId());
+            if (job != null) {
+                hits.add(new JobSearchHitDTO(hit.score(), job));
+            }
+        }
+
+        return new JobSearchResponseDTO(result.totalHits(), hits);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<JobResponseDTO> filter(JobFilterDTO filter, Pageable pageable, Set<EJobField> fields) {
+
+        // Điều kiện được thiết kế khớp với index trên bảng jobs
+        // (status, type, salary) / (type, salary) / (salary) / (title)
+        return jobRepository
+                .findProjected(JobSpecifications.fromFilter(filter), fields, pageable)
+                .map(row -> toResponse(row, fields, null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<JobResponseDTO> searchByTitle(String title, Pageable pageable, Set<EJobField> fields) {
 
         return jobRepository
-                .findByTitleContainingIgnoreCase(title, pageable)
-                .map(this::decryptJob)
-                .map(Mapper::toResponse);
+                .findProjected(JobSpecifications.titleContainsIgnoreCase(title), fields, pageable)
+                .map(row -> toResponse(row, fields, null));
     }
 
     @Override
-    public Page<JobResponseDTO> searchByCompany(String company, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<JobResponseDTO> searchByCompany(String company, Pageable pageable, Set<EJobField> fields) {
 
         // Vì company field được encrypt trong DB, không thể search trực tiếp bằng SQL
-        // Giải pháp: Decrypt tất cả records trong memory và filter
-        // Lưu ý: Cách này có thể ảnh hưởng performance với dataset lớn
+        // Giải pháp: Decrypt company của tất cả records trong memory và filter
+        // Chỉ SELECT id + company + các field được chọn, các field mã hoá khác
+        // chỉ được giải mã cho các dòng thuộc trang trả về
 
         String searchTerm = company.toLowerCase();
 
-        // Lấy tất cả jobs từ DB
-        List<Job> allJobs = jobRepository.findAll();
+        Set<EJobField> selected = EnumSet.copyOf(fields);
+        selected.add(EJobField.COMPANY);
 
-        // Decrypt và filter theo company
-        List<JobResponseDTO> filteredJobs = allJobs.stream()
-                .map(this::decryptJob) // Decrypt company, location, description
-                .filter(job -> job.getCompany().toLowerCase().contains(searchTerm))
-                .map(Mapper::toResponse)
-                .toList();
+        List<Tuple> rows = jobRepository
+                .findProjected(null, selected, Pageable.unpaged(pageable.getSort()))
+                .getContent();
+
+        // Decrypt company và filter
+        List<Tuple> matchedRows = new ArrayList<>();
+        List<String> matchedCompanies = new ArrayList<>();
+        for (Tuple row : rows) {
+            String plainCompany = encryptionService.decrypt(row.get(EJobField.COMPANY.name(), String.class));
+            if (plainCompany.toLowerCase().contains(searchTerm)) {
+                matchedRows.add(row);
+                matchedCompanies.add(plainCompany);
+            }
+        }
 
         // Apply pagination manually
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredJobs.size());
-        List<JobResponseDTO> pageContent = filteredJobs.subList(start, end);
+        int start = (int) Math.min(pageable.getOffset(), matchedRows.size());
+        int end = Math.min(start + pageable.getPageSize(), matchedRows.size());
+
+        List<JobResponseDTO> pageContent = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            pageContent.add(toResponse(matchedRows.get(i), fields, matchedCompanies.get(i)));
+        }
 
         // Tạo Page object với pagination metadata
         return new PageImpl<>(
                 pageContent,
                 pageable,
-                filteredJobs.size());
+                matchedRows.size());
     }
 
     /* ================= PRIVATE ================= */
 
     /**
-     * Decrypt các field nhạy cảm sau khi đọc từ DB
+     * Điều kiện chọn job cho thao tác hàng loạt: ids AND filter.
+     * Bắt buộc có ít nhất một điều kiện để tránh cập nhật/xoá toàn bảng ngoài ý muốn.
      */
-    private Job decryptJob(Job job) {
+    private Specification<Job> bulkSpecification(List<Long> ids, JobFilterDTO filter) {
 
-        job.setCompany(encryptionService.decrypt(job.getCompany()));
-        job.setLocation(encryptionService.decrypt(job.getLocation()));
-        job.setDescription(encryptionService.decrypt(job.getDescription()));
+        Specification<Job> spec = JobSpecifications.fromFilter(filter);
+        if (ids != null && !ids.isEmpty()) {
+            spec = JobSpecifications.and(JobSpecifications.idIn(ids), spec);
+        }
+
+        if (spec == null) {
+            throw new BadRequestException("Either ids or filter is required");
+        }
+        return spec;
+    }
 
-        return job;
+    private List<Long> findIds(Specification<Job> spec) {
+        return jobRepository
+                .findProjected(spec, EnumSet.of(EJobField.ID), Pageable.unpaged())
+                .map(row -> row.get(EJobField.ID.name(), Long.class))
+                .getContent();
+    }
+
+    private static JobOutboxPayload deletedPayload(Long id) {
+        return new JobOutboxPayload(id, null, null, null, null, null);
+    }
+
+    private static Map<String, JobOutboxPayload> outboxPayloads(List<Long> ids, Function<Long, JobOutboxPayload> payload) {
+        Map<String, JobOutboxPayload> payloads = new LinkedHashMap<>();
+        ids.forEach(id -> payloads.put(String.valueOf(id), payload.apply(id)));
+        return payloads;
+    }
+
+    private static void putIfPresent(Map<String, Object> changes, String attribute, Object value) {
+        if (value != null) {
+            changes.put(attribute, value);
+        }
+    }
+
+    /**
+     * Dựng response từ projection: chỉ set (và chỉ giải mã) các field được chọn
+     *
+     * @param plainCompany company đã giải mã sẵn (null = tự giải mã nếu được chọn)
+     */
+    private JobResponseDTO toResponse(Tuple row, Set<EJobField> fields, String plainCompany) {
+
+        JobResponseDTO.JobResponseDTOBuilder builder = JobResponseDTO.builder();
+
+        for (EJobField field : fields) {
+            Object value = row.get(field.name());
+            if (field.isEncrypted() && value != null) {
+                value = field == EJobField.COMPANY && plainCompany != null
+                        ? plainCompany
+                        : encryptionService.decrypt((String) value);
+            }
+
+            switch (field) {
+                case ID -> builder.id((Long) value);
+                case TITLE -> builder.title((String) value);
+                case COMPANY -> builder.company((String) value);
+                case LOCATION -> builder.location((String) value);
+                case SALARY -> builder.salary((Integer) value);
+                case TYPE -> builder.type((EJobType) value);
+                case STATUS -> builder.status((EJobStatus) value);
+                case DESCRIPTION -> builder.description((String) value);
+                case EXPIRES_AT -> builder.expiresAt((LocalDateTime) value);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Decrypt các field nhạy cảm vào DTO, entity đang được quản lý giữ nguyên ciphertext
+     */
+    private JobResponseDTO toDecryptedResponse(Job job) {
+
+        return JobResponseDTO.builder()
+                .id(job.getId())
+                .title(job.getTitle())
+                .company(encryptionService.decrypt(job.getCompany()))
+                .location(encryptionService.decrypt(job.getLocation()))
+                .salary(job.getSalary())
+                .type(job.getType())
+                .status(job.getStatus())
+                .description(encryptionService.decrypt(job.getDescription()))
+                .expiresAt(job.getExpiresAt())
+                .version(job.getVersion())
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.crudjob.service.impl;
+
+import org.springframework.stereotype.Service;
+
+import com.example.crudjob.dto.response.JobStatsDTO;
+import com.example.crudjob.exception.ResourceNotFoundException;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.IJobStatsService;
+import com.example.crudjob.service.JobStatsCounter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JobStatsServiceImpl
+ *
+ * Lượt xem / ứng tuyển đi qua JobStatsCounter, không ghi DB trên đường request.
+ * Lượt xem được ghi sau khi GET /api/jobs/{id} đã tìm thấy job nên không kiểm tra lại.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobStatsServiceImpl implements IJobStatsService {
+
+    private static final String JOB_NOT_FOUND = "Job not found";
+
+    private final JobRepository jobRepository;
+    private final JobStatsCounter jobStatsCounter;
+
+    @Override
+    public void recordView(Long jobId) {
+        jobStatsCounter.incrementViews(jobId);
+    }
+
+    @Override
+    public void recordApply(Long jobId) {
+        requireJob(jobId);
+        jobStatsCounter.incrementApplies(jobId);
+    }
+
+    @Override
+    public JobStatsDTO getStats(Long jobId) {
+        requireJob(jobId);
+        long[] counts = jobStatsCounter.get(jobId);
+        return new JobStatsDTO(jobId, counts[0], counts[1]);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void requireJob(Long jobId) {
+        if (!jobRepository.existsById(jobId)) {
+            throw new ResourceNotFoundException(JOB_NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.crudjob.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.entity.enums.EOutboxEventType;
+import com.example.crudjob.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * OutboxServiceImpl
+ *
+ * Ghi sự kiện vào bảng outbox_event bằng JDBC trong transaction của nghiệp vụ:
+ * rollback thì sự kiện cũng mất, commit thì OutboxRelay chắc chắn thấy sự kiện.
+ * Không gọi hệ thống ngoài trên luồng request.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final String INSERT_SQL = """
+            insert into outbox_event (event_type, aggregate_type, aggregate_id, payload, created_at)
+            values (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(EOutboxEventType type, String aggregateId, Object payload) {
+        recordAll(type, Map.of(aggregateId, payload));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(EOutboxEventType type, Map<String, ?> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        payloads.forEach((aggregateId, payload) -> rows.add(new Object[] {
+                type.name(),
+                type.getAggregateType(),
+                aggregateId,
+                toJson(payload),
+                now }));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
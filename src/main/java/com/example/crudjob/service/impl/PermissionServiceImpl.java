@@ -10,6 +10,7 @@ import com.example.crudjob.entity.Permission;
 import com.example.crudjob.exception.ResourceNotFoundException;
 import com.example.crudjob.repository.PermissionRepository;
 import com.example.crudjob.service.IPermissionService;
+import com.example.crudjob.service.RolePermissionCache;
 import com.example.crudjob.utils.PermissionMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 public class PermissionServiceImpl implements IPermissionService {
 
     private final PermissionRepository permissionRepository;
+    private final RolePermissionCache rolePermissionCache;
 
     private static final String PERMISSION_NOT_FOUND = "Permission not found";
 
@@ -44,8 +46,10 @@ public class PermissionServiceImpl implements IPermissionService {
         permission.setApiPath(dto.getApiPath());
         permission.setMethod(dto.getMethod());
 
-        return PermissionMapper.toResponse(
-                permissionRepository.save(permission));
+        Permission saved = permissionRepository.save(permission);
+        rolePermissionCache.evictAll();
+
+        return PermissionMapper.toResponse(saved);
     }
 
     /**
@@ -64,8 +68,10 @@ public class PermissionServiceImpl implements IPermissionService {
         permission.setApiPath(dto.getApiPath());
         permission.setMethod(dto.getMethod());
 
-        return PermissionMapper.toResponse(
-                permissionRepository.save(permission));
+        Permission saved = permissionRepository.save(permission);
+        rolePermissionCache.evictAll();
+
+        return PermissionMapper.toResponse(saved);
     }
 
     /**
@@ -104,5 +110,6 @@ public class PermissionServiceImpl implements IPermissionService {
                         PERMISSION_NOT_FOUND));
 
         permissionRepository.delete(permission);
+        rolePermissionCache.evictAll();
     }
 }
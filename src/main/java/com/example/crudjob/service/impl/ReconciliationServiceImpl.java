@@ -0,0 +1,452 @@
+package com.example.crudjob.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.crudjob.dto.response.ReconciliationIssueDTO;
+import com.example.crudjob.dto.response.ReconciliationReportDTO;
+import com.example.crudjob.entity.ProcessingCheckpoint;
+import com.example.crudjob.entity.enums.EReconciliationIssue;
+import com.example.crudjob.entity.enums.EReconciliationStatus;
+import com.example.crudjob.repository.ProcessingCheckpointRepository;
+import com.example.crudjob.service.ReconciliationService;
+import com.example.crudjob.service.SchedulerLeaseManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ReconciliationServiceImpl
+ *
+ * Đối soát theo cửa sổ id:
+ * 1. Mỗi cửa sổ được chia đôi đệ quy (fork/join) tới khoảng lá, lá quét một khoảng id bằng JDBC
+ *    và gom theo transactionId
+ * 2. transactionId đủ NỢ + CÓ được kiểm tra ngay; transactionId thiếu cặp (cặp nằm ở khoảng bên cạnh)
+ *    được đẩy lên và ghép khi gộp kết quả hai khoảng con
+ * 3. Sau mỗi cửa sổ: nhóm còn thiếu cặp mà cách cuối cửa sổ quá pair-gap id → orphan;
+ *    checkpoint = cuối cửa sổ
+ * 4. Chạy tiếp: quét lại từ checkpoint - pair-gap để dựng lại các nhóm còn chờ ở lần trước;
+ *    nhóm có id lớn nhất <= checkpoint đã được kết luận ở lần trước nên bị bỏ qua
+ *    (không báo orphan giả cho bản ghi có cặp nằm trước điểm quét lại)
+ *
+ * Chỉ một instance chạy tại một thời điểm (lease "reconciliation", gia hạn sau mỗi cửa sổ).
+ * Chỉ đọc cột số tiền (không giải mã account).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    static final String CHECKPOINT = "reconciliation";
+
+    static final String LEASE_NAME = "reconciliation";
+
+    private static final String MAX_ID_SQL = "select coalesce(max(id), 0) from transaction_history";
+
+    private static final String RANGE_SQL = """
+            select id, transaction_id, coalesce(in_debt, 0) as in_debt, coalesce(have, 0) as have
+            from transaction_history
+            where id > ? and id <= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProcessingCheckpointRepository processingCheckpointRepository;
+    private final SchedulerLeaseManager schedulerLeaseManager;
+
+    /** Số luồng quét song song (mỗi luồng giữ 1 connection trong lúc quét), 0 = min(số core, 4) */
+    @Value("${reconciliation.parallelism:0}")
+    private int parallelism;
+
+    /** Số id mỗi khoảng lá */
+    @Value("${reconciliation.leaf-size:50000}")
+    private long leafSize;
+
+    /** Số id mỗi cửa sổ (lưu checkpoint sau mỗi cửa sổ) */
+    @Value("${reconciliation.window-size:1000000}")
+    private long windowSize;
+
+    /** Khoảng cách id tối đa giữa bản ghi NỢ và CÓ của cùng một giao dịch */
+    @Value("${reconciliation.pair-gap:10000}")
+    private long pairGap;
+
+    /** Số sai lệch tối đa giữ trong báo cáo */
+    @Value("${reconciliation.max-issues:1000}")
+    private int maxIssues;
+
+    /** Thời hạn lease, phải lớn hơn thời gian quét một cửa sổ */
+    @Value("${reconciliation.lease-ms:600000}")
+    private long leaseMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private ForkJoinPool pool;
+    private ExecutorService coordinator;
+
+    private volatile ReconciliationReportDTO latestReport = ReconciliationReportDTO.builder()
+            .status(EReconciliationStatus.IDLE)
+            .issues(List.of())
+            .build();
+
+    @PostConstruct
+    void init() {
+        int threads = parallelism > 0 ? parallelism : Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        pool = new ForkJoinPool(threads);
+        coordinator = Executors.newSingleThreadExecutor(r -> new Thread(r, "reconciliation"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    @Scheduled(cron = "${reconciliation.cron:0 0 3 * * *}")
+    public void scheduledRun() {
+        // Instance khác đang giữ lease → lần chạy đêm nay thuộc về instance đó
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, leaseMs)) {
+            log.debug("RECONCILIATION_SKIPPED | lease held by another instance");
+            return;
+        }
+        start(false);
+    }
+
+    @Override
+    public ReconciliationReportDTO start(boolean reset) {
+        if (!running.compareAndSet(false, true)) {
+            return latestReport;
+        }
+
+        latestReport = ReconciliationReportDTO.builder()
+                .status(EReconciliationStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .issues(List.of())
+                .build();
+
+        coordinator.execute(() -> {
+            try {
+                run(reset);
+            } catch (Exception e) {
+                log.error("RECONCILIATION_FAILED | {}", e.getMessage(), e);
+                latestReport = ReconciliationReportDTO.builder()
+                        .status(EReconciliationStatus.FAILED)
+                        .startedAt(latestReport.getStartedAt())
+                        .finishedAt(LocalDateTime.now())
+                        .fromId(latestReport.getFromId())
+                        .toId(latestReport.getToId())
+                        .checkpointId(latestReport.getCheckpointId())
+                        .error(e.getMessage())
+                        .issues(latestReport.getIssues())
+                        .build();
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return latestReport;
+    }
+
+    @Override
+    public ReconciliationReportDTO getLatestReport() {
+        return latestReport;
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void run(boolean reset) {
+        if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, leaseMs)) {
+            throw new IllegalStateException("Reconciliation is running on another instance");
+        }
+        try {
+            runLeased(reset);
+        } finally {
+            schedulerLeaseManager.release(LEASE_NAME);
+        }
+    }
+
+    private void runLeased(boolean reset) {
+        LocalDateTime startedAt = latestReport.getStartedAt();
+        long startNanos = System.nanoTime();
+
+        // Mọi nhóm có id lớn nhất <= decidedId đã được kết luận ở lần chạy trước
+        long decidedId = reset
+                ? 0
+                : processingCheckpointRepository.findById(CHECKPOINT).map(ProcessingCheckpoint::getLastId).orElse(0L);
+        long fromId = Math.max(0, decidedId - pairGap);
+        long toId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+
+        log.info("RECONCILIATION_START | fromId={} | checkpointId={} | toId={} | parallelism={}",
+                fromId, decidedId, toId, pool.getParallelism());
+
+        RangeResult total = new RangeResult(decidedId);
+        long checkpointId = decidedId;
+
+        for (long windowStart = fromId; windowStart < toId; ) {
+            long windowEnd = Math.min(windowStart + windowSize, toId);
+
+            total.merge(pool.invoke(new RangeTask(windowStart, windowEnd, decidedId)));
+            total.flushOrphans(windowEnd - pairGap);
+
+            checkpointId = Math.max(checkpointId, windowEnd);
+            saveCheckpoint(checkpointId);
+
+            latestReport = toReport(EReconciliationStatus.RUNNING, startedAt, null,
+                    fromId, toId, checkpointId, total, startNanos);
+
+            if (!schedulerLeaseManager.tryAcquire(LEASE_NAME, leaseMs)) {
+                throw new IllegalStateException("Reconciliation lease lost at id " + checkpointId);
+            }
+            windowStart = windowEnd;
+        }
+
+        latestReport = toReport(EReconciliationStatus.COMPLETED, startedAt, LocalDateTime.now(),
+                fromId, toId, checkpointId, total, startNanos);
+
+        log.info("RECONCILIATION_DONE | rows={} | transactions={} | orphans={} | mismatches={} | duplicates={} | rowsPerSec={}",
+                total.rows, total.checked, total.orphans, total.mismatches, total.duplicates,
+                latestReport.getRowsPerSecond());
+    }
+
+    private void saveCheckpoint(long lastId) {
+        ProcessingCheckpoint checkpoint = processingCheckpointRepository.findById(CHECKPOINT)
+                .orElseGet(() -> new ProcessingCheckpoint(CHECKPOINT));
+        checkpoint.setLastId(lastId);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        processingCheckpointRepository.save(checkpoint);
+    }
+
+    private ReconciliationReportDTO toReport(
+            EReconciliationStatus status,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            long fromId,
+            long toId,
+            long checkpointId,
+            RangeResult result,
+            long startNanos) {
+
+        double seconds = Math.max(1, System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        return ReconciliationReportDTO.builder()
+                .status(status)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .fromId(fromId)
+                .toId(toId)
+                .checkpointId(checkpointId)
+                .rowsScanned(result.rows)
+                .transactionsChecked(result.checked)
+                .orphanCount(result.orphans)
+                .mismatchCount(result.mismatches)
+                .duplicateCount(result.duplicates)
+                .pendingCount(result.pending.size())
+                .rowsPerSecond(Math.round(result.rows / seconds))
+                .issues(List.copyOf(result.issues))
+                .build();
+    }
+
+    /**
+     * Quét khoảng id (lo, hi]: chia đôi tới khi đủ nhỏ rồi quét bằng JDBC
+     */
+    private final class RangeTask extends RecursiveTask<RangeResult> {
+
+        private final long lo;
+        private final long hi;
+        private final long decidedId;
+
+        private RangeTask(long lo, long hi, long decidedId) {
+            this.lo = lo;
+            this.hi = hi;
+            this.decidedId = decidedId;
+        }
+
+        @Override
+        protected RangeResult compute() {
+            if (hi - lo <= leafSize) {
+                return scan();
+            }
+
+            long mid = lo + (hi - lo) / 2;
+            RangeTask left = new RangeTask(lo, mid, decidedId);
+            RangeTask right = new RangeTask(mid, hi, decidedId);
+            left.fork();
+            RangeResult rightResult = right.compute();
+            RangeResult leftResult = left.join();
+            leftResult.merge(rightResult);
+            return leftResult;
+        }
+
+        private RangeResult scan() {
+            Map<String, Group> groups = new HashMap<>();
+            RangeResult result = new RangeResult(decidedId);
+
+            jdbcTemplate.query(RANGE_SQL, rs -> {
+                groups.computeIfAbsent(rs.getString("transaction_id"), Group::new)
+                        .add(rs.getLong("id"), rs.getBigDecimal("in_debt"), rs.getBigDecimal("have"));
+                result.rows++;
+            }, lo, hi);
+
+            groups.values().forEach(result::accept);
+            return result;
+        }
+    }
+
+    /**
+     * Kết quả đối soát của một khoảng: bộ đếm, sai lệch và các nhóm còn thiếu cặp
+     */
+    private final class RangeResult {
+
+        private long rows;
+        private long checked;
+        private long orphans;
+        private long mismatches;
+        private long duplicates;
+        private final List<ReconciliationIssueDTO> issues = new ArrayList<>();
+        private final Map<String, Group> pending = new HashMap<>();
+
+        /** Nhóm có id lớn nhất <= decidedId đã được kết luận ở lần chạy trước */
+        private final long decidedId;
+
+        private RangeResult(long decidedId) {
+            this.decidedId = decidedId;
+        }
+
+        private void accept(Group group) {
+            if (!group.isComplete()) {
+                pending.put(group.transactionId, group);
+                return;
+            }
+            if (group.maxId <= decidedId) {
+                return;
+            }
+
+            checked++;
+            if (group.rowCount > 2) {
+                duplicates++;
+                addIssue(group, EReconciliationIssue.DUPLICATE);
+            } else if (group.debit.compareTo(group.credit) != 0) {
+                mismatches++;
+                addIssue(group, EReconciliationIssue.AMOUNT_MISMATCH);
+            }
+        }
+
+        private void merge(RangeResult other) {
+            rows += other.rows;
+            checked += other.checked;
+            orphans += other.orphans;
+            mismatches += other.mismatches;
+            duplicates += other.duplicates;
+            for (ReconciliationIssueDTO issue : other.issues) {
+                if (issues.size() < maxIssues) {
+                    issues.add(issue);
+                }
+            }
+
+            for (Group group : other.pending.values()) {
+                Group existing = pending.remove(group.transactionId);
+                if (existing == null) {
+                    pending.put(group.transactionId, group);
+                } else {
+                    existing.merge(group);
+                    accept(existing);
+                }
+            }
+        }
+
+        /**
+         * Nhóm thiếu cặp có id lớn nhất <= threshold không thể còn bản ghi đối ứng → orphan
+         */
+        private void flushOrphans(long threshold) {
+            Iterator<Group> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                Group group = iterator.next();
+                if (group.maxId <= decidedId) {
+                    iterator.remove();
+                } else if (group.maxId <= threshold) {
+                    orphans++;
+                    addIssue(group, group.debitCount > 0
+                            ? EReconciliationIssue.ORPHAN_DEBIT
+                            : EReconciliationIssue.ORPHAN_CREDIT);
+                    iterator.remove();
+                }
+            }
+        }
+
+        private void addIssue(Group group, EReconciliationIssue type) {
+            if (issues.size() < maxIssues) {
+                issues.add(new ReconciliationIssueDTO(
+                        group.transactionId,
+                        type,
+                        group.minId,
+                        group.maxId,
+                        group.rowCount,
+                        group.debit,
+                        group.credit));
+            }
+        }
+    }
+
+    /**
+     * Các bản ghi của một transactionId đã gặp
+     */
+    private static final class Group {
+
+        private final String transactionId;
+        private long minId = Long.MAX_VALUE;
+        private long maxId = Long.MIN_VALUE;
+        private int rowCount;
+        private int debitCount;
+        private int creditCount;
+        private BigDecimal debit = BigDecimal.ZERO;
+        private BigDecimal credit = BigDecimal.ZERO;
+
+        private Group(String transactionId) {
+            this.transactionId = transactionId;
+        }
+
+        private void add(long id, BigDecimal inDebt, BigDecimal have) {
+            minId = Math.min(minId, id);
+            maxId = Math.max(maxId, id);
+            rowCount++;
+
+            // Bản ghi NỢ có inDebt > 0, bản ghi CÓ có inDebt = 0
+            if (inDebt.signum() > 0) {
+                debitCount++;
+                debit = debit.add(inDebt);
+            } else {
+                creditCount++;
+                credit = credit.add(have);
+            }
+        }
+
+        private void merge(Group other) {
+            minId = Math.min(minId, other.minId);
+            maxId = Math.max(maxId, other.maxId);
+            rowCount += other.rowCount;
+            debitCount += other.debitCount;
+            creditCount += other.creditCount;
+            debit = debit.add(other.debit);
+            credit = credit.add(other.credit);
+        }
+
+        private boolean isComplete() {
+            return debitCount > 0 && creditCount > 0;
+        }
+    }
+}
@@ -7,13 +7,17 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
 import com.example.crudjob.dto.request.RoleRequestDTO;
+import com.example.crudjob.dto.response.CacheInvalidationStatsDTO;
+import com.example.crudjob.dto.response.CacheRegionStatsDTO;
 import com.example.crudjob.dto.response.RoleResponseDTO;
 import com.example.crudjob.entity.Permission;
 import com.example.crudjob.entity.Role;
 import com.example.crudjob.exception.ResourceNotFoundException;
 import com.example.crudjob.repository.PermissionRepository;
 import com.example.crudjob.repository.RoleRepository;
+import com.example.crudjob.service.CacheInvalidationBus;
 import com.example.crudjob.service.IRoleService;
+import com.example.crudjob.service.RolePermissionCache;
 import com.example.crudjob.utils.RoleMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -27,6 +31,8 @@ public class RoleServiceImpl implements IRoleService {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final RolePermissionCache rolePermissionCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     private static final String ROLE_NOT_FOUND = "Role not found";
 
@@ -51,7 +57,10 @@ public class RoleServiceImpl implements IRoleService {
             role.setPermissions(permissions);
         }
 
-        return RoleMapper.toResponse(roleRepository.save(role));
+        Role saved = roleRepository.save(role);
+        rolePermissionCache.evictAll();
+
+        return RoleMapper.toResponse(saved);
     }
 
     /**
@@ -73,7 +82,10 @@ public class RoleServiceImpl implements IRoleService {
             role.setPermissions(permissions);
         }
 
-        return RoleMapper.toResponse(roleRepository.save(role));
+        Role saved = roleRepository.save(role);
+        rolePermissionCache.evictAll();
+
+        return RoleMapper.toResponse(saved);
     }
 
     /**
@@ -110,5 +122,24 @@ public class RoleServiceImpl implements IRoleService {
                 .orElseThrow(() -> new ResourceNotFoundException(ROLE_NOT_FOUND));
 
         roleRepository.delete(role);
+        rolePermissionCache.evictAll();
+    }
+
+    /**
+     * Thống kê cache cấp 2 theo region
+     */
+    @Override
+    public List<CacheRegionStatsDTO> getCacheStats() {
+
+        return rolePermissionCache.statistics();
+    }
+
+    /**
+     * Trạng thái đồng bộ cache giữa các instance
+     */
+    @Override
+    public CacheInvalidationStatsDTO getCacheInvalidationStats() {
+
+        return cacheInvalidationBus.statistics();
     }
 }
@@ -0,0 +1,225 @@
+package com.example.crudjob.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.example.crudjob.dto.response.TransactionHistoryResponseDTO;
+import com.example.crudjob.entity.enums.EExportFormat;
+import com.example.crudjob.service.EncryptionService;
+import com.example.crudjob.service.TransactionExportService;
+import com.example.crudjob.utils.ParallelUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TransactionExportServiceImpl
+ *
+ * - Đọc bằng JDBC cursor forward-only (không qua JPA → không giữ entity trong persistence context,
+ *   không giải mã đồng bộ qua AesAttributeConverter)
+ * - Gom từng batch, giải mã account song song trên cryptoExecutor nhưng ghi ra theo đúng thứ tự
+ * - Ghi thẳng ra output stream của response → bộ nhớ chỉ cỡ 1 batch
+ */
+@Service
+@Slf4j
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    /** Cận dưới mặc định (giới hạn DATETIME của MySQL) */
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    /** Cận trên mặc định (giới hạn DATETIME của MySQL) */
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String EXPORT_SQL = """
+            select id, transaction_id, account, in_debt, have, transaction_time
+            from transaction_history
+            where transaction_time >= ? and transaction_time < ?
+            order by transaction_time, id
+            """;
+
+    private static final String CSV_HEADER = "id,transactionId,account,inDebt,have,transactionTime\n";
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EncryptionService encryptionService;
+    private final ObjectMapper objectMapper;
+    private final Executor cryptoExecutor;
+
+    /**
+     * Fetch size của cursor. Integer.MIN_VALUE = MySQL Connector/J stream từng dòng;
+     * nếu URL bật useCursorFetch=true thì đặt giá trị dương (vd 1000).
+     */
+    @Value("${history.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    /** Số dòng giải mã song song mỗi lượt */
+    @Value("${history.export.batch-size:512}")
+    private int batchSize;
+
+    public TransactionExportServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            EncryptionService encryptionService,
+            ObjectMapper objectMapper,
+            @Qualifier("cryptoExecutor") Executor cryptoExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encryptionService = encryptionService;
+        this.objectMapper = objectMapper;
+        this.cryptoExecutor = cryptoExecutor;
+    }
+
+    @Override
+    public long export(
+            LocalDateTime from,
+            LocalDateTime to,
+            EExportFormat format,
+            boolean gzip,
+            OutputStream out) throws IOException {
+
+        long start = System.currentTimeMillis();
+
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, OUTPUT_BUFFER_SIZE) : null;
+        BufferedOutputStream buffered = new BufferedOutputStream(gzip ? gzipOut : out, OUTPUT_BUFFER_SIZE);
+
+        if (format == EExportFormat.CSV) {
+            buffered.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        BatchWriter writer = new BatchWriter(format, buffered);
+
+        try {
+            jdbcTemplate.query(
+                    con -> {
+                        PreparedStatement ps = con.prepareStatement(
+                                EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setFetchSize(fetchSize);
+                        ps.setTimestamp(1, Timestamp.valueOf(from != null ? from : MIN_TIME));
+                        ps.setTimestamp(2, Timestamp.valueOf(to != null ? to : MAX_TIME));
+                        return ps;
+                    },
+                    writer);
+            writer.flushBatch();
+        } catch (UncheckedIOException e) {
+            // Client ngắt kết nối giữa chừng → dừng đọc cursor
+            throw e.getCause();
+        }
+
+        buffered.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+
+        log.info("HISTORY_EXPORT_DONE | format={} | gzip={} | rows={} | durationMs={}",
+                format, gzip, writer.rows, System.currentTimeMillis() - start);
+        return writer.rows;
+    }
+
+    /* ================= PRIVATE ================= */
+
+    /**
+     * Nhận từng dòng từ cursor, đủ batch thì giải mã song song rồi ghi ra stream
+     */
+    private class BatchWriter implements RowCallbackHandler {
+
+        private final EExportFormat format;
+        private final OutputStream out;
+        private final List<TransactionHistoryResponseDTO> batch = new ArrayList<>(batchSize);
+        private long rows;
+
+        BatchWriter(EExportFormat format, OutputStream out) {
+            this.format = format;
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            batch.add(new TransactionHistoryResponseDTO(
+                    rs.getLong("id"),
+                    rs.getString("transaction_id"),
+                    rs.getString("account"),
+                    rs.getBigDecimal("in_debt"),
+                    rs.getBigDecimal("have"),
+                    rs.getTimestamp("transaction_time").toLocalDateTime()));
+
+            if (batch.size() >= batchSize) {
+                flushBatch();
+            }
+        }
+
+        void flushBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<String> accounts = ParallelUtil.mapOrdered(
+                    batch,
+                    row -> row.getAccount() == null ? null : encryptionService.decrypt(row.getAccount()),
+                    cryptoExecutor);
+
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    TransactionHistoryResponseDTO row = batch.get(i);
+                    row.setAccount(accounts.get(i));
+                    write(row);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            rows += batch.size();
+            batch.clear();
+        }
+
+        private void write(TransactionHistoryResponseDTO row) throws IOException {
+            if (format == EExportFormat.NDJSON) {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write('\n');
+                return;
+            }
+
+            StringBuilder line = new StringBuilder(128)
+                    .append(row.getId()).append(',')
+                    .append(csv(row.getTransactionId())).append(',')
+                    .append(csv(row.getAccount())).append(',')
+                    .append(plain(row.getInDebt())).append(',')
+                    .append(plain(row.getHave())).append(',')
+                    .append(row.getTransactionTime())
+                    .append('\n');
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.crudjob.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.dto.response.CursorPageResponseDTO;
+import com.example.crudjob.dto.response.TransactionHistoryResponseDTO;
+import com.example.crudjob.entity.TransactionHistory;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.repository.TransactionHistoryRepository;
+import com.example.crudjob.service.HistoryArchiveStore;
+import com.example.crudjob.service.TransactionHistoryService;
+import com.example.crudjob.utils.CursorCodec;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * TransactionHistoryServiceImpl
+ *
+ * Keyset pagination 2 bước:
+ * 1. Dò id của trang (chỉ đọc index, không giải mã)
+ * 2. Load entity cho đúng các id của trang → account chỉ được giải mã cho trang trả về
+ *
+ * Các partition đã archive được đọc từ HistoryArchiveStore và trộn theo (transactionTime, id),
+ * client không cần biết dữ liệu nằm ở bảng nóng hay file archive.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+
+    /** Cận dưới mặc định (giới hạn DATETIME của MySQL) */
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    /** Cận trên mặc định (giới hạn DATETIME của MySQL) */
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final Comparator<TransactionHistoryResponseDTO> TIME_ID_ORDER =
+            Comparator.comparing(TransactionHistoryResponseDTO::getTransactionTime)
+                    .thenComparing(TransactionHistoryResponseDTO::getId);
+
+    private final TransactionHistoryRepository transactionHistoryRepository;
+    private final HistoryArchiveStore historyArchiveStore;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<TransactionHistoryResponseDTO> getHistory(
+            LocalDateTime from,
+            LocalDateTime to,
+            String transactionId,
+            String cursor,
+            int size) {
+
+        LocalDateTime afterTime = from != null ? from : MIN_TIME;
+        long afterId = -1;
+
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            try {
+                afterTime = LocalDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException("Invalid cursor", e);
+            }
+        }
+
+        LocalDateTime upper = to != null ? to : MAX_TIME;
+        String filter = transactionId == null || transactionId.isBlank() ? null : transactionId;
+
+        // Lấy dư 1 id để biết còn trang sau hay không
+        List<Long> ids = transactionHistoryRepository.findPageIds(
+                afterTime,
+                afterId,
+                upper,
+                filter,
+                PageRequest.of(0, size + 1));
+
+        List<TransactionHistoryResponseDTO> merged = new ArrayList<>(
+                historyArchiveStore.findPage(afterTime, afterId, upper, filter, size + 1));
+        transactionHistoryRepository.findAllById(ids)
+                .stream()
+                .map(this::toResponse)
+                .forEach(merged::add);
+        merged.sort(TIME_ID_ORDER);
+
+        boolean hasNext = merged.size() > size;
+        List<TransactionHistoryResponseDTO> content = hasNext ? merged.subList(0, size) : merged;
+
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            TransactionHistoryResponseDTO last = content.get(content.size() - 1);
+            nextCursor = CursorCodec.encode(last.getTransactionTime().toString(), String.valueOf(last.getId()));
+        }
+
+        return new CursorPageResponseDTO<>(content, size, nextCursor);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private TransactionHistoryResponseDTO toResponse(TransactionHistory history) {
+        return new TransactionHistoryResponseDTO(
+                history.getId(),
+                history.getTransactionId(),
+                history.getAccount(),
+                history.getInDebt(),
+                history.getHave(),
+                history.getTransactionTime());
+    }
+}
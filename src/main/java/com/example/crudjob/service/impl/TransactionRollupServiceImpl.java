@@ -0,0 +1,241 @@
+package com.example.crudjob.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.dto.response.RollupBucketDTO;
+import com.example.crudjob.dto.response.RollupReportDTO;
+import com.example.crudjob.entity.ProcessingCheckpoint;
+import com.example.crudjob.entity.TransactionRollup;
+import com.example.crudjob.entity.TransactionRollupId;
+import com.example.crudjob.entity.enums.ERollupGranularity;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.repository.ProcessingCheckpointRepository;
+import com.example.crudjob.repository.TransactionRollupRepository;
+import com.example.crudjob.service.TransactionRollupService;
+import com.example.crudjob.utils.IdGapTracker;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TransactionRollupServiceImpl
+ *
+ * - Job định kỳ đọc transaction_history theo id sau checkpoint (chỉ cột số tiền/thời gian,
+ *   không giải mã account), cộng dồn vào transaction_rollup theo HOUR và DAY
+ * - Truy vấn = rollup đã lưu + phần đuôi (id > checkpoint) tính trực tiếp
+ *
+ * Id auto-increment được cấp lúc INSERT nên có thể commit không theo thứ tự (transfer chờ khoá,
+ * chờ rebuild số dư): checkpoint chỉ tiến qua các id liền mạch (IdGapTracker), khoảng trống được
+ * chờ tới khi lấp hoặc bỏ qua sau gap-grace-ms. Bản ghi sau khoảng trống vẫn có trong báo cáo
+ * qua phần đuôi (id > checkpoint).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionRollupServiceImpl implements TransactionRollupService {
+
+    static final String CHECKPOINT = "transaction_rollup";
+
+    private static final String ENSURE_CHECKPOINT_SQL =
+            "insert ignore into processing_checkpoint (name, last_id, updated_at) values (?, 0, now())";
+
+    private static final String TAIL_BATCH_SQL = """
+            select id, coalesce(in_debt, 0) as in_debt, coalesce(have, 0) as have, transaction_time
+            from transaction_history
+            where id > ?
+            order by id
+            limit ?
+            """;
+
+    private static final String TAIL_RANGE_SQL = """
+            select coalesce(in_debt, 0) as in_debt, coalesce(have, 0) as have, transaction_time
+            from transaction_history
+            where id > ? and transaction_time >= ? and transaction_time < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionRollupRepository transactionRollupRepository;
+    private final ProcessingCheckpointRepository processingCheckpointRepository;
+
+    @Value("${history.rollup.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * Thời gian chờ một khoảng trống id được lấp trước khi bỏ qua: phải lớn hơn thời gian một transfer
+     * có thể giữ id trước khi commit (transfer.lock.timeout-ms, rebuild số dư, transaction timeout)
+     */
+    @Value("${history.rollup.gap-grace-ms:60000}")
+    private long gapGraceMs;
+
+    private volatile IdGapTracker gapTracker;
+    private volatile boolean checkpointEnsured;
+
+    /* ================= INCREMENTAL ================= */
+
+    @Scheduled(
+            initialDelayString = "${history.rollup.interval-ms:5000}",
+            fixedDelayString = "${history.rollup.interval-ms:5000}")
+    public void scheduledProcess() {
+        try {
+            processPending();
+        } catch (Exception e) {
+            log.error("ROLLUP_PROCESS_FAILED | {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized long processPending() {
+        if (!checkpointEnsured) {
+            // Nhiều instance cùng tạo checkpoint lần đầu: insert ignore thay vì INSERT trùng khoá
+            jdbcTemplate.update(ENSURE_CHECKPOINT_SQL, CHECKPOINT);
+            checkpointEnsured = true;
+        }
+        if (gapTracker == null) {
+            gapTracker = new IdGapTracker(CHECKPOINT, gapGraceMs);
+        }
+
+        long start = System.currentTimeMillis();
+        long processed = 0;
+        int rows;
+        do {
+            rows = transactionTemplate.execute(status -> processBatch());
+            processed += rows;
+        } while (rows == batchSize);
+
+        if (processed > 0) {
+            log.debug("ROLLUP_PROCESSED | rows={} | durationMs={}", processed, System.currentTimeMillis() - start);
+        }
+        return processed;
+    }
+
+    /* ================= READ ================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public RollupReportDTO getRollups(ERollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+
+        // Mở rộng khoảng ra nguyên bucket
+        LocalDateTime start = granularity.bucketStart(from);
+        LocalDateTime lastBucket = granularity.bucketStart(to);
+        LocalDateTime end = lastBucket.isEqual(to) ? to : granularity.nextBucket(lastBucket);
+
+        Map<LocalDateTime, Totals> buckets = new TreeMap<>();
+        for (TransactionRollup rollup : transactionRollupRepository.findRange(granularity, start, end)) {
+            buckets.computeIfAbsent(rollup.getBucketStart(), k -> new Totals())
+                    .add(rollup.getTransactionCount(), rollup.getTotalDebit(), rollup.getTotalCredit());
+        }
+
+        // Phần đuôi chưa được rollup: thường chỉ vài giây dữ liệu
+        long rolledUpToId = processingCheckpointRepository.findById(CHECKPOINT)
+                .map(ProcessingCheckpoint::getLastId)
+                .orElse(0L);
+
+        jdbcTemplate.query(TAIL_RANGE_SQL, rs -> {
+            LocalDateTime time = rs.getObject("transaction_time", LocalDateTime.class);
+            buckets.computeIfAbsent(granularity.bucketStart(time), k -> new Totals())
+                    .add(1, rs.getBigDecimal("in_debt"), rs.getBigDecimal("have"));
+        }, rolledUpToId, start, end);
+
+        Totals total = new Totals();
+        List<RollupBucketDTO> content = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, totals) -> {
+            total.add(totals.count, totals.debit, totals.credit);
+            content.add(new RollupBucketDTO(bucketStart, totals.count, totals.debit, totals.credit));
+        });
+
+        return new RollupReportDTO(
+                granularity,
+                start,
+                end,
+                rolledUpToId,
+                total.count,
+                total.debit,
+                total.credit,
+                content);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    /**
+     * Xử lý một batch sau checkpoint trong một transaction (checkpoint bị khoá FOR UPDATE).
+     * Chỉ cộng phần liền mạch với checkpoint, dừng ở khoảng trống id chưa được lấp.
+     *
+     * @return số bản ghi đã xử lý
+     */
+    private int processBatch() {
+        ProcessingCheckpoint checkpoint = processingCheckpointRepository.findForUpdate(CHECKPOINT)
+                .orElseThrow(() -> new IllegalStateException("Rollup checkpoint is missing"));
+        long lastId = checkpoint.getLastId();
+
+        List<TailRow> batch = jdbcTemplate.query(TAIL_BATCH_SQL, (rs, rowNum) -> new TailRow(
+                rs.getLong("id"),
+                rs.getObject("transaction_time", LocalDateTime.class),
+                rs.getBigDecimal("in_debt"),
+                rs.getBigDecimal("have")), lastId, batchSize);
+
+        int rows = gapTracker.contiguousCount(lastId, batch.stream().map(TailRow::id).toList());
+        if (rows == 0) {
+            return 0;
+        }
+
+        Map<TransactionRollupId, Totals> deltas = new HashMap<>();
+        for (TailRow row : batch.subList(0, rows)) {
+            for (ERollupGranularity granularity : ERollupGranularity.values()) {
+                deltas.computeIfAbsent(
+                        new TransactionRollupId(granularity, granularity.bucketStart(row.time())),
+                        k -> new Totals())
+                        .add(1, row.debit(), row.credit());
+            }
+        }
+
+        deltas.forEach((key, totals) -> transactionRollupRepository.applyDelta(
+                key.getGranularity().name(),
+                key.getBucketStart(),
+                totals.count,
+                totals.debit,
+                totals.credit));
+
+        checkpoint.setLastId(batch.get(rows - 1).id());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        processingCheckpointRepository.save(checkpoint);
+
+        return rows;
+    }
+
+    private record TailRow(long id, LocalDateTime time, BigDecimal debit, BigDecimal credit) {
+    }
+
+    /**
+     * Bộ cộng dồn tạm cho một bucket
+     */
+    private static final class Totals {
+
+        private long count;
+        private BigDecimal debit = BigDecimal.ZERO;
+        private BigDecimal credit = BigDecimal.ZERO;
+
+        private void add(long count, BigDecimal debit, BigDecimal credit) {
+            this.count += count;
+            this.debit = this.debit.add(debit);
+            this.credit = this.credit.add(credit);
+        }
+    }
+}
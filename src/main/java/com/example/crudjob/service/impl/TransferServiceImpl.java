@@ -2,20 +2,30 @@ package com.example.crudjob.service.impl;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import com.example.crudjob.dto.response.DecryptedTransferResponse;
+import com.example.crudjob.dto.response.LockStripeStatsDTO;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.example.crudjob.dto.EncryptedTransferCommand;
+import com.example.crudjob.dto.TransferOutboxPayload;
 import com.example.crudjob.entity.TransactionHistory;
+import com.example.crudjob.entity.enums.EOutboxEventType;
 import com.example.crudjob.entity.enums.ErrorCode;
 import com.example.crudjob.exception.DecryptionException;
 import com.example.crudjob.exception.EncryptionException;
 import com.example.crudjob.exception.InvalidEncryptedDataException;
 import com.example.crudjob.exception.TransferException;
 import com.example.crudjob.repository.TransactionHistoryRepository;
+import com.example.crudjob.service.AccountBalanceService;
+import com.example.crudjob.service.AccountHashService;
+import com.example.crudjob.service.AccountLockManager;
 import com.example.crudjob.service.EncryptionService;
+import com.example.crudjob.service.OutboxService;
 import com.example.crudjob.service.TransferService;
 import com.example.crudjob.utils.SecureLogUtil;
 
@@ -28,7 +38,9 @@ import lombok.extern.slf4j.Slf4j;
  * Trách nhiệm:
  * - Giải mã RSA dữ liệu nhận từ service khác
  * - Validate nghiệp vụ
+ * - Tuần tự hoá giao dịch trên cùng tài khoản (striped lock theo account hash)
  * - Lưu lịch sử giao dịch (Account = AES)
+ * - Cập nhật projection số dư (account_balance) trong cùng transaction
  * - Log đầy đủ, CHE TOÀN BỘ dữ liệu nhạy cảm
  */
 @Service
@@ -38,6 +50,10 @@ public class TransferServiceImpl implements TransferService {
 
         private final TransactionHistoryRepository transactionHistoryRepository;
         private final EncryptionService encryptionService;
+        private final AccountHashService accountHashService;
+        private final AccountLockManager accountLockManager;
+        private final AccountBalanceService accountBalanceService;
+        private final OutboxService outboxService;
 
         /**
          * =========================
@@ -74,6 +90,11 @@ public class TransferServiceImpl implements TransferService {
                                                                         transactionId, sourceAccount, targetAccount,
                                                                         inDebt, have, time)));
 
+                        /* ===== 2b. LOCK SOURCE/TARGET UNTIL COMMIT ===== */
+                        String sourceHash = accountHashService.hash(sourceAccount);
+                        String targetHash = accountHashService.hash(targetAccount);
+                        lockAccountsUntilCompletion(sourceHash, targetHash);
+
                     /* ===== 3. SAVE DEBIT ===== */
                     TransactionHistory debit = new TransactionHistory();
                     debit.setTransactionId(transactionId);
@@ -94,6 +115,15 @@ public class TransferServiceImpl implements TransferService {
 
                     transactionHistoryRepository.save(credit);
 
+                    /* ===== 5. UPDATE BALANCE PROJECTION (SAME TRANSACTION) ===== */
+                    accountBalanceService.applyTransfer(sourceHash, targetHash, inDebt, have, time);
+
+                    /* ===== 6. OUTBOX EVENT (SAME TRANSACTION, NO ACCOUNT NUMBERS) ===== */
+                    outboxService.record(
+                                    EOutboxEventType.TRANSFER_COMPLETED,
+                                    transactionId,
+                                    new TransferOutboxPayload(transactionId, inDebt, have, time));
+
                     log.info("TRANSFER_SUCCESS | transactionId={}", transactionId);
 
                         log.info("TRANSFER_SUCCESS | transactionId=?");
@@ -128,6 +158,27 @@ public class TransferServiceImpl implements TransferService {
                 }
         }
 
+        /**
+         * Lock cặp tài khoản và chỉ nhả lock sau khi transaction commit/rollback,
+         * để giao dịch kế tiếp trên cùng tài khoản luôn thấy dữ liệu đã commit.
+         */
+        private void lockAccountsUntilCompletion(String sourceHash, String targetHash) {
+                AccountLockManager.PairLock lock = accountLockManager.lockPair(sourceHash, targetHash);
+
+                try {
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                                @Override
+                                public void afterCompletion(int status) {
+                                        lock.unlock();
+                                }
+                        });
+                } catch (IllegalStateException e) {
+                        // Không có transaction đang hoạt động → không thể giữ lock tới lúc commit
+                        lock.unlock();
+                        throw e;
+                }
+        }
+
         /**
          * =========================
          * ENCRYPT COMMAND FOR OTHER SERVICES
@@ -174,4 +225,9 @@ public class TransferServiceImpl implements TransferService {
         return res;
     }
 
+    @Override
+    public List<LockStripeStatsDTO> getLockStats(int limit) {
+        return accountLockManager.getStats(limit);
+    }
+
 }
@@ -0,0 +1,87 @@
+package com.example.crudjob.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Đọc CSV theo từng bản ghi (RFC 4180: dấu phẩy, trường trong ngoặc kép, "" là dấu nháy,
+ * xuống dòng bên trong ngoặc kép). Không nạp cả file vào bộ nhớ.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private int pending = -2;
+
+    /**
+     * @param reader nên là BufferedReader vì đọc từng ký tự
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Đọc bản ghi tiếp theo
+     *
+     * @return danh sách trường, null khi hết dữ liệu
+     */
+    public List<String> readRecord() throws IOException {
+        int c = next();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int peek = next();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = peek;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                int peek = next();
+                if (peek != '\n') {
+                    pending = peek;
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = next();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int next() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
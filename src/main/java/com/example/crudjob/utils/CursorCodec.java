@@ -0,0 +1,49 @@
+package com.example.crudjob.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.crudjob.exception.BadRequestException;
+
+/**
+ * Mã hoá / giải mã continuation token cho keyset pagination.
+ *
+ * Token là chuỗi Base64 URL-safe của các phần (sort key, id, ...) nối bằng '|'.
+ * Client coi token là opaque, chỉ gửi lại nguyên vẹn để lấy trang tiếp theo.
+ */
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor        token do server phát hành
+     * @param expectedParts số phần mong đợi
+     * @return các phần đã tách
+     * @throws BadRequestException nếu token không hợp lệ
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+
+            if (parts.length != expectedParts) {
+                throw new BadRequestException(INVALID_CURSOR);
+            }
+            return parts;
+
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID_CURSOR, e);
+        }
+    }
+
+    private CursorCodec() {
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.crudjob.utils;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cho consumer đọc bảng theo id tăng dần (IDENTITY / auto-increment) biết được tiến offset tới đâu.
+ *
+ * Id được cấp lúc INSERT, không phải lúc commit: transaction giữ id N có thể commit sau id N+1.
+ * Offset vượt qua khoảng trống thì bản ghi N commit muộn bị bỏ sót vĩnh viễn. Vì vậy chỉ nhận
+ * các id liền mạch với offset; gặp khoảng trống thì dừng và chờ nó được lấp. Khoảng trống không
+ * bao giờ được lấp (transaction rollback, instance chết giữa chừng) được bỏ qua khi đã tồn tại
+ * quá graceMs, tính từ lần đầu instance này nhìn thấy nó. graceMs phải lớn hơn thời gian tối đa
+ * một transaction ghi có thể giữ id trước khi commit.
+ */
+@Slf4j
+public class IdGapTracker {
+
+    private final String name;
+    private final long graceMs;
+
+    /** id đầu của khoảng trống → thời điểm nhìn thấy lần đầu */
+    private final NavigableMap<Long, Long> firstSeen = new TreeMap<>();
+
+    public IdGapTracker(String name, long graceMs) {
+        this.name = name;
+        this.graceMs = graceMs;
+    }
+
+    /**
+     * @param offset id cuối đã xử lý
+     * @param ids    id đọc được sau offset, tăng dần
+     * @return số id đầu danh sách được phép xử lý
+     */
+    public synchronized int contiguousCount(long offset, List<Long> ids) {
+        long now = System.currentTimeMillis();
+        firstSeen.headMap(offset, true).clear();
+
+        long expected = offset + 1;
+        int count = 0;
+        for (long id : ids) {
+            if (id > expected) {
+                long seenAt = firstSeen.computeIfAbsent(expected, key -> now);
+                if (now - seenAt < graceMs) {
+                    break;
+                }
+                firstSeen.remove(expected);
+                log.warn("ID_GAP_SKIPPED | consumer={} | ids={}-{} | waitedMs={}",
+                        name, expected, id - 1, now - seenAt);
+            }
+            expected = id + 1;
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.crudjob.utils;
+
+import com.example.crudjob.exception.BadRequestException;
+
+/**
+ * Strong ETag của job: "&lt;id&gt;-&lt;version&gt;"
+ */
+public class JobETag {
+
+    public static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Lấy version mong đợi từ header If-Match
+     *
+     * @param ifMatch giá trị header (null hoặc "*" = không ràng buộc version)
+     * @param id      id của job đang cập nhật
+     * @return version mong đợi, null nếu không ràng buộc
+     * @throws BadRequestException nếu header không phải ETag của job này
+     */
+    public static Long parseVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String value = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!value.startsWith(prefix) || !value.endsWith("\"") || value.length() <= prefix.length() + 1) {
+            throw new BadRequestException("If-Match must be a strong ETag of this job");
+        }
+
+        try {
+            return Long.valueOf(value.substring(prefix.length(), value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match must be a strong ETag of this job", e);
+        }
+    }
+
+    private JobETag() {
+    }
+}
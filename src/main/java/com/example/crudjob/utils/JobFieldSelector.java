@@ -0,0 +1,51 @@
+package com.example.crudjob.utils;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.example.crudjob.entity.enums.EJobField;
+import com.example.crudjob.entity.enums.EJobView;
+import com.example.crudjob.exception.BadRequestException;
+
+/**
+ * Xác định tập field Job cần trả về từ tham số fields= / view=.
+ *
+ * fields (danh sách tên field, phân cách bằng dấu phẩy) ưu tiên hơn view.
+ * id luôn được trả về.
+ */
+public class JobFieldSelector {
+
+    /**
+     * @param fields ví dụ "title,company,salary" (null/blank = dùng view)
+     * @param view   tập field định sẵn (null = DETAIL)
+     * @return tập field đã chọn, luôn chứa ID
+     * @throws BadRequestException nếu có tên field không hợp lệ
+     */
+    public static Set<EJobField> resolve(String fields, EJobView view) {
+        if (fields == null || fields.isBlank()) {
+            return (view != null ? view : EJobView.DETAIL).getFields();
+        }
+
+        Set<EJobField> selected = EnumSet.of(EJobField.ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(parse(trimmed));
+        }
+        return selected;
+    }
+
+    private static EJobField parse(String name) {
+        for (EJobField field : EJobField.values()) {
+            if (field.getAttribute().equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unknown field: " + name);
+    }
+
+    private JobFieldSelector() {
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.crudjob.utils;
 
+import com.example.crudjob.dto.JobOutboxPayload;
 import com.example.crudjob.dto.request.JobRequestDTO;
 import com.example.crudjob.dto.response.JobResponseDTO;
 import com.example.crudjob.entity.Job;
@@ -15,6 +16,7 @@ public class Mapper {
                 .type(dto.getType())
                 .status(dto.getStatus())
                 .description(dto.getDescription())
+                .expiresAt(dto.getExpiresAt())
                 .build();
     }
 
@@ -28,7 +30,33 @@ public class Mapper {
                 .type(job.getType())
                 .status(job.getStatus())
                 .description(job.getDescription())
+                .expiresAt(job.getExpiresAt())
+                .version(job.getVersion())
                 .build();
     }
 
+    /**
+     * Response sau cập nhật có điều kiện: dữ liệu lấy từ request (plaintext), không đọc lại DB
+     */
+    public static JobResponseDTO toResponse(Long id, JobRequestDTO dto, Long version) {
+        return JobResponseDTO.builder()
+                .id(id)
+                .title(dto.getTitle())
+                .company(dto.getCompany())
+                .location(dto.getLocation())
+                .salary(dto.getSalary())
+                .type(dto.getType())
+                .status(dto.getStatus())
+                .description(dto.getDescription())
+                .expiresAt(dto.getExpiresAt())
+                .version(version)
+                .build();
+    }
+
+    /**
+     * Payload outbox: chỉ các field không mã hoá
+     */
+    public static JobOutboxPayload toOutboxPayload(Long id, JobRequestDTO dto, Long version) {
+        return new JobOutboxPayload(id, dto.getTitle(), dto.getSalary(), dto.getType(), dto.getStatus(), version);
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.crudjob.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Tiện ích xử lý song song một batch nhưng giữ nguyên thứ tự kết quả.
+ * Dùng cho mã hoá/giải mã hàng loạt (mỗi phần tử là một phép RSA độc lập).
+ */
+public class ParallelUtil {
+
+    /**
+     * Áp dụng mapper lên từng phần tử trên executor, trả kết quả theo đúng thứ tự đầu vào
+     *
+     * @param items    batch đầu vào (nên giới hạn kích thước để bộ nhớ ổn định)
+     * @param mapper   hàm xử lý từng phần tử
+     * @param executor executor chạy song song
+     * @return danh sách kết quả cùng thứ tự với items
+     * @throws RuntimeException exception gốc của phần tử đầu tiên bị lỗi
+     */
+    public static <T, R> List<R> mapOrdered(List<T> items, Function<T, R> mapper, Executor executor) {
+        if (items.size() <= 1) {
+            return items.stream().map(mapper).toList();
+        }
+
+        List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(CompletableFuture.supplyAsync(() -> mapper.apply(item), executor));
+        }
+
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(f -> f.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private ParallelUtil() {
+    }
+}
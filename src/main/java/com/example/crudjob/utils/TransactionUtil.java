@@ -0,0 +1,30 @@
+package com.example.crudjob.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tiện ích gắn hành động vào vòng đời transaction hiện tại
+ */
+public class TransactionUtil {
+
+    /**
+     * Chạy action sau khi transaction hiện tại commit (rollback thì bỏ qua).
+     * Không có transaction → chạy ngay.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private TransactionUtil() {
+    }
+}
@@ -0,0 +1,14 @@
+-- Bảng mô phỏng sequence cho id cấp phát theo lô (MySQL không có SEQUENCE).
+-- Chạy trước khi Hibernate khởi tạo để profile ddl-auto=validate không lỗi thiếu bảng.
+CREATE TABLE IF NOT EXISTS job_seq (next_val BIGINT);
+INSERT INTO job_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM job_seq);
+
+CREATE TABLE IF NOT EXISTS users_seq (next_val BIGINT);
+INSERT INTO users_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM users_seq);
+
+CREATE TABLE IF NOT EXISTS roles_seq (next_val BIGINT);
+INSERT INTO roles_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM roles_seq);
+
+CREATE TABLE IF NOT EXISTS permission_seq (next_val BIGINT);
+INSERT INTO permission_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM permission_seq);
+
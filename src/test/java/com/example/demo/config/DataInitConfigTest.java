@@ -0,0 +1,192 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.crudjob.config.DataInitConfig;
+import com.example.crudjob.entity.Permission;
+import com.example.crudjob.entity.ProcessingCheckpoint;
+import com.example.crudjob.entity.Role;
+import com.example.crudjob.entity.enums.ERole;
+import com.example.crudjob.repository.PermissionRepository;
+import com.example.crudjob.repository.ProcessingCheckpointRepository;
+import com.example.crudjob.repository.RoleRepository;
+import com.example.crudjob.repository.UserRepository;
+import com.example.crudjob.service.RolePermissionCache;
+
+/**
+ * Seed dữ liệu trên repository giả lập trong bộ nhớ: lần chạy đầu, chạy lại trên DB đã có dữ liệu
+ */
+class DataInitConfigTest {
+
+    private final List<Permission> permissions = new ArrayList<>();
+    private final Map<ERole, Role> roles = new EnumMap<>(ERole.class);
+    private final Set<String> migrations = new HashSet<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private RolePermissionCache rolePermissionCache;
+    private DataInitConfig dataInitConfig;
+
+    @BeforeEach
+    void setUp() {
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        rolePermissionCache = mock(RolePermissionCache.class);
+        ProcessingCheckpointRepository processingCheckpointRepository = mock(ProcessingCheckpointRepository.class);
+
+        when(permissionRepository.existsByApiPathAndMethod(anyString(), anyString()))
+                .thenAnswer(inv -> find(inv.getArgument(0), inv.getArgument(1)).isPresent());
+        when(permissionRepository.findAll()).thenAnswer(inv -> new ArrayList<>(permissions));
+        when(permissionRepository.saveAll(any())).thenAnswer(inv -> {
+            List<Permission> saved = new ArrayList<>();
+            for (Permission p : inv.<Iterable<Permission>>getArgument(0)) {
+                p.setId(ids.incrementAndGet());
+                permissions.add(p);
+                saved.add(p);
+            }
+            return saved;
+        });
+        when(roleRepository.findByName(any())).thenAnswer(inv -> Optional.ofNullable(roles.get(inv.getArgument(0))));
+        when(roleRepository.save(any())).thenAnswer(inv -> {
+            Role role = inv.getArgument(0);
+            roles.put(role.getName(), role);
+            return role;
+        });
+        when(userRepository.existsByUsername("admin")).thenReturn(true);
+        when(processingCheckpointRepository.existsById(anyString()))
+                .thenAnswer(inv -> migrations.contains(inv.<String>getArgument(0)));
+        when(processingCheckpointRepository.save(any())).thenAnswer(inv -> {
+            migrations.add(inv.<ProcessingCheckpoint>getArgument(0).getName());
+            return inv.getArgument(0);
+        });
+
+        dataInitConfig = new DataInitConfig(
+                roleRepository, permissionRepository, userRepository, mock(PasswordEncoder.class), rolePermissionCache,
+                processingCheckpointRepository);
+    }
+
+    @Test
+    void emptyDatabaseGetsDefaultRolesAndTransferReadsStayAdminOnly() throws Exception {
+        dataInitConfig.initializeData().run();
+
+        Permission readTransfers = find("/api/transfers/**", "GET").orElseThrow();
+        assertThat(roles.get(ERole.ROLE_ADMIN).getPermissions()).containsExactlyInAnyOrderElementsOf(permissions);
+        assertThat(roles.get(ERole.ROLE_USER).getPermissions())
+                .isNotEmpty()
+                .noneMatch(p -> p.getApiPath().startsWith("/api/transfers"));
+        // MANAGER giữ quyền POST transfer như seed ban đầu, chỉ quyền đọc là của ADMIN
+        assertThat(roles.get(ERole.ROLE_MANAGER).getPermissions())
+                .isNotEmpty()
+                .contains(find("/api/transfers/**", "POST").orElseThrow(),
+                        find("/api/transfers/encrypt", "POST").orElseThrow())
+                .doesNotContain(readTransfers)
+                .noneMatch(p -> "DELETE".equals(p.getMethod()));
+    }
+
+    @Test
+    void rerunOnSeededDatabaseAddsOnlyMissingPermissions() throws Exception {
+        dataInitConfig.initializeData().run();
+        int seeded = permissions.size();
+
+        // DB cũ: thiếu permission mới được thêm vào code
+        Permission facets = find("/api/jobs/facets", "GET").orElseThrow();
+        permissions.remove(facets);
+        roles.values().forEach(role -> role.getPermissions().remove(facets));
+        clearInvocations(rolePermissionCache);
+
+        dataInitConfig.initializeData().run();
+
+        assertThat(permissions).hasSize(seeded);
+        Permission restored = find("/api/jobs/facets", "GET").orElseThrow();
+        assertThat(roles.get(ERole.ROLE_ADMIN).getPermissions()).contains(restored);
+        assertThat(roles.get(ERole.ROLE_USER).getPermissions()).contains(restored);
+        verify(rolePermissionCache).evictAll();
+
+        clearInvocations(rolePermissionCache);
+        dataInitConfig.initializeData().run();
+
+        assertThat(permissions).hasSize(seeded);
+        verify(rolePermissionCache, never()).evictAll();
+    }
+
+    @Test
+    void transferReadGrantedByOldSeedIsRevokedOnceAndLaterGrantsAreKept() throws Exception {
+        dataInitConfig.initializeData().run();
+
+        // DB seed trước migration: USER có "Read transfer data", chưa có dấu migration
+        Permission readTransfers = find("/api/transfers/**", "GET").orElseThrow();
+        roles.get(ERole.ROLE_USER).getPermissions().add(readTransfers);
+        migrations.clear();
+        clearInvocations(rolePermissionCache);
+
+        dataInitConfig.initializeData().run();
+
+        assertThat(roles.get(ERole.ROLE_USER).getPermissions()).doesNotContain(readTransfers);
+        assertThat(roles.get(ERole.ROLE_ADMIN).getPermissions()).contains(readTransfers);
+        verify(rolePermissionCache).evictAll();
+
+        // Admin cố ý cấp lại: lần khởi động sau không thu hồi
+        roles.get(ERole.ROLE_MANAGER).getPermissions().add(readTransfers);
+        dataInitConfig.initializeData().run();
+
+        assertThat(roles.get(ERole.ROLE_MANAGER).getPermissions()).contains(readTransfers);
+    }
+
+    @Test
+    void userCanApplyButNotOtherwiseWrite() throws Exception {
+        dataInitConfig.initializeData().run();
+
+        assertThat(roles.get(ERole.ROLE_USER).getPermissions())
+                .contains(find("/api/jobs/{id}/apply", "POST").orElseThrow())
+                .filteredOn(p -> !"GET".equals(p.getMethod()))
+                .hasSize(1);
+    }
+
+    @Test
+    void applyPermissionIsGrantedOnceToUserOnDatabaseSeededWithGetOnly() throws Exception {
+        dataInitConfig.initializeData().run();
+
+        // Seed cũ: permission ứng tuyển đã có nhưng USER chỉ nhận quyền GET, chưa có dấu migration
+        Permission apply = find("/api/jobs/{id}/apply", "POST").orElseThrow();
+        roles.get(ERole.ROLE_USER).getPermissions().remove(apply);
+        migrations.clear();
+        clearInvocations(rolePermissionCache);
+
+        dataInitConfig.initializeData().run();
+
+        assertThat(roles.get(ERole.ROLE_USER).getPermissions()).contains(apply);
+        verify(rolePermissionCache).evictAll();
+
+        // Admin cố ý thu hồi: lần khởi động sau không cấp lại
+        roles.get(ERole.ROLE_USER).getPermissions().remove(apply);
+        dataInitConfig.initializeData().run();
+
+        assertThat(roles.get(ERole.ROLE_USER).getPermissions()).doesNotContain(apply);
+    }
+
+    private Optional<Permission> find(String apiPath, String method) {
+        return permissions.stream()
+                .filter(p -> p.getApiPath().equals(apiPath) && p.getMethod().equals(method))
+                .findFirst();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.crudjob.config.IdSequenceInitializer;
+
+class IdSequenceInitializerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private IdSequenceInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        initializer = new IdSequenceInitializer(jdbcTemplate);
+    }
+
+    @Test
+    void sequenceIsMovedPastTheLargestExistingId() {
+        when(jdbcTemplate.queryForObject("select coalesce(max(id), 0) from jobs", Long.class)).thenReturn(120L);
+
+        ReflectionTestUtils.invokeMethod(initializer, "alignSequences");
+
+        verify(jdbcTemplate).update("update job_seq set next_val = ? where next_val < ?", 171L, 171L);
+    }
+
+    @Test
+    void failureStopsStartupInsteadOfBeingLogged() {
+        when(jdbcTemplate.queryForObject("select coalesce(max(id), 0) from roles", Long.class))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> ReflectionTestUtils.invokeMethod(initializer, "alignSequences"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+}
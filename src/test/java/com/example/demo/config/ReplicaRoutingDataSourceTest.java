@@ -0,0 +1,163 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.crudjob.config.ReplicaRoutingDataSource;
+import com.example.crudjob.entity.enums.EReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Primary và replica là các DB H2 riêng, mỗi DB có bảng node ghi tên của nó → câu đọc cho biết
+ * connection được định tuyến về đâu. Replica có thêm bảng replication_lag để giả lập độ trễ.
+ * Nối dây như DataSourceRoutingConfig: LazyConnectionDataSourceProxy bọc routing DataSource.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select seconds_behind_source from replication_lag";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndEverythingElseToThePrimary() {
+        setUp(EReplicaSelection.ROUND_ROBIN, "replica-1");
+
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+        assertThat(readWriteNode()).isEqualTo("primary");
+        // Không có transaction (DDL, tác vụ nền) → primary
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void writeInARequestPinsItsLaterReadsToThePrimary() {
+        setUp(EReplicaSelection.ROUND_ROBIN, "replica-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+        // Read-your-writes: replica có thể chưa nhận bản ghi vừa ghi
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        // Request khác không bị ảnh hưởng
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+
+        // Ngoài request (scheduler): không ghim
+        RequestContextHolder.resetRequestAttributes();
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void replicasBehindMaxLagOrNotReplicatingAreSkippedUntilTheyRecover() {
+        setUp(EReplicaSelection.ROUND_ROBIN, "replica-1", "replica-2");
+
+        // Xoay vòng giữa các replica khoẻ
+        assertThat(List.of(readOnlyNode(), readOnlyNode())).containsExactlyInAnyOrder("replica-1", "replica-2");
+
+        setLag(0, 30L);
+        setLag(1, null);
+        routing.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        setLag(1, 2L);
+        routing.checkReplicas();
+        assertThat(List.of(readOnlyNode(), readOnlyNode(), readOnlyNode())).containsOnly("replica-2");
+
+        setLag(0, 0L);
+        routing.checkReplicas();
+        assertThat(List.of(readOnlyNode(), readOnlyNode())).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        setUp(EReplicaSelection.LEAST_BUSY, "replica-1");
+
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+
+        // Replica hỏng giữa hai lần kiểm tra: lần lấy connection lỗi đọc primary, không báo lỗi cho request
+        pools.get(1).close();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        routing.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void setUp(EReplicaSelection selection, String... replicaNames) {
+        HikariDataSource primary = pool("primary");
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String name : replicaNames) {
+            HikariDataSource replica = pool(name);
+            new JdbcTemplate(replica).execute("create table replication_lag (seconds_behind_source bigint)");
+            new JdbcTemplate(replica).update("insert into replication_lag values (0)");
+            replicas.add(replica);
+        }
+
+        routing = new ReplicaRoutingDataSource(primary, replicas, selection, LAG_QUERY, 5);
+        routing.checkReplicas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime());
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(250);
+        pools.add(pool);
+
+        JdbcTemplate jdbc = new JdbcTemplate(pool);
+        jdbc.execute("create table node (name varchar(32))");
+        jdbc.update("insert into node values (?)", name);
+        return pool;
+    }
+
+    private void setLag(int replica, Long seconds) {
+        new JdbcTemplate(pools.get(replica + 1)).update("update replication_lag set seconds_behind_source = ?", seconds);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.config.SecurityConfig;
+import com.example.crudjob.controller.JobController;
+import com.example.crudjob.entity.Permission;
+import com.example.crudjob.entity.Role;
+import com.example.crudjob.entity.User;
+import com.example.crudjob.entity.enums.ERole;
+import com.example.crudjob.repository.PermissionRepository;
+import com.example.crudjob.repository.UserRepository;
+import com.example.crudjob.service.IJobEventService;
+import com.example.crudjob.service.IJobExportService;
+import com.example.crudjob.service.IJobImportService;
+import com.example.crudjob.service.IJobService;
+import com.example.crudjob.service.IJobStatsService;
+import com.example.crudjob.service.JwtService;
+import com.example.crudjob.service.RolePermissionResolver;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Chạy qua SecurityConfig + PermissionInterceptor với JWT của một tài khoản ROLE_USER
+ * đã được seed quyền "Apply to a job"
+ */
+@WebMvcTest(JobController.class)
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Import(SecurityConfig.class)
+class JobApplySecurityTest {
+
+    private static final String TOKEN = "user-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private RolePermissionResolver rolePermissionResolver;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private PermissionRepository permissionRepository;
+
+    @MockBean
+    private IJobService jobService;
+
+    @MockBean
+    private IJobImportService jobImportService;
+
+    @MockBean
+    private IJobExportService jobExportService;
+
+    @MockBean
+    private IJobEventService jobEventService;
+
+    @MockBean
+    private IJobStatsService jobStatsService;
+
+    @BeforeEach
+    void setUp() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("alice");
+        when(claims.get("userId", Long.class)).thenReturn(1L);
+        when(jwtService.validateToken(TOKEN)).thenReturn(true);
+        when(jwtService.parseToken(TOKEN)).thenReturn(claims);
+
+        Role role = new Role();
+        role.setName(ERole.ROLE_USER);
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("alice");
+        user.setRoles(Set.of(role));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        when(rolePermissionResolver.resolveAuthorities(List.of("ROLE_USER"))).thenReturn(List.of(
+                new SimpleGrantedAuthority("ROLE_USER"),
+                new SimpleGrantedAuthority("Apply to a job")));
+        when(permissionRepository.findAll()).thenReturn(List.of(
+                permission("Apply to a job", "/api/jobs/{id}/apply"),
+                permission("Create a job", "/api/jobs")));
+    }
+
+    @Test
+    void userCanApplyToAJob() throws Exception {
+        mockMvc.perform(post("/api/jobs/7/apply").header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN))
+                .andExpect(status().isOk());
+
+        verify(jobStatsService).recordApply(7L);
+    }
+
+    @Test
+    void userStillCannotCreateJobsAndAnonymousCannotApply() throws Exception {
+        mockMvc.perform(post("/api/jobs")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/jobs/7/apply"))
+                .andExpect(status().isForbidden());
+
+        verify(jobService, never()).create(any());
+        verify(jobStatsService, never()).recordApply(any());
+    }
+
+    private static Permission permission(String name, String apiPath) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        permission.setApiPath(apiPath);
+        permission.setMethod("POST");
+        return permission;
+    }
+}
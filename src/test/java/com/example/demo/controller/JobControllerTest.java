@@ -0,0 +1,167 @@
+package com.example.demo.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.controller.JobController;
+import com.example.crudjob.dto.request.JobRequestDTO;
+import com.example.crudjob.dto.response.CachedJobResponseDTO;
+import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.exception.ConflictException;
+import com.example.crudjob.exception.GlobalExceptionHandler;
+import com.example.crudjob.service.IJobEventService;
+import com.example.crudjob.service.IJobExportService;
+import com.example.crudjob.service.IJobImportService;
+import com.example.crudjob.service.IJobService;
+import com.example.crudjob.service.IJobStatsService;
+
+class JobControllerTest {
+
+    private static final String ETAG = "\"7-3\"";
+
+    private static final String JOB_JSON = """
+            {"title":"Backend Lead","company":"Acme","location":"Hanoi","salary":2000,"type":"Full_time","status":"Open"}
+            """;
+
+    private IJobService jobService;
+    private IJobStatsService jobStatsService;
+    private IJobExportService jobExportService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        jobService = mock(IJobService.class);
+        jobStatsService = mock(IJobStatsService.class);
+        jobExportService = mock(IJobExportService.class);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new JobController(
+                        jobService,
+                        mock(IJobImportService.class),
+                        jobExportService,
+                        mock(IJobEventService.class),
+                        jobStatsService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    /* ================= GET BY ID (user-040) ================= */
+
+    @Test
+    void getByIdEmbedsCachedJsonAndSetsETag() throws Exception {
+        when(jobService.getCachedById(7L)).thenReturn(new CachedJobResponseDTO(
+                "{\"id\":7,\"title\":\"Backend Engineer\",\"version\":3}".getBytes(StandardCharsets.UTF_8), ETAG));
+
+        mockMvc.perform(get("/api/jobs/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.data.id").value(7))
+                .andExpect(jsonPath("$.data.title").value("Backend Engineer"));
+
+        verify(jobStatsService).recordView(7L);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModifiedWithoutBody() throws Exception {
+        when(jobService.getCachedById(7L)).thenReturn(new CachedJobResponseDTO(
+                "{\"id\":7}".getBytes(StandardCharsets.UTF_8), ETAG));
+
+        mockMvc.perform(get("/api/jobs/7").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/jobs/7").header(HttpHeaders.IF_NONE_MATCH, "\"7-2\""))
+                .andExpect(status().isOk());
+    }
+
+    /* ================= CONDITIONAL UPDATE (user-041) ================= */
+
+    @Test
+    void ifMatchVersionIsPassedToTheUpdateAndTheNewETagReturned() throws Exception {
+        when(jobService.update(eq(7L), any(JobRequestDTO.class), eq(3L)))
+                .thenReturn(JobResponseDTO.builder().id(7L).title("Backend Lead").version(4L).build());
+
+        mockMvc.perform(put("/api/jobs/7")
+                        .header(HttpHeaders.IF_MATCH, ETAG)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JOB_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-4\""));
+    }
+
+    @Test
+    void staleVersionIsConflictAndMalformedIfMatchIsBadRequest() throws Exception {
+        when(jobService.update(eq(7L), any(JobRequestDTO.class), eq(3L)))
+                .thenThrow(new ConflictException(AppConstants.JOB_VERSION_CONFLICT));
+
+        mockMvc.perform(put("/api/jobs/7")
+                        .header(HttpHeaders.IF_MATCH, ETAG)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JOB_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value(AppConstants.JOB_VERSION_CONFLICT));
+
+        mockMvc.perform(put("/api/jobs/7")
+                        .header(HttpHeaders.IF_MATCH, "\"8-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JOB_JSON))
+                .andExpect(status().isBadRequest());
+        // If-Match của job khác bị từ chối trước khi gọi service
+        verify(jobService, times(1)).update(any(), any(), any());
+    }
+
+    /* ================= EXPORT (user-042) ================= */
+
+    @Test
+    void exportStreamsNdjsonAndGzipDownloadsAGzipFileWithoutContentEncoding() throws Exception {
+        when(jobExportService.exportNdjson(anyBoolean(), any())).thenAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult plain = mockMvc.perform(get("/api/jobs/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(plain))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobs.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n"));
+
+        MvcResult gzip = mockMvc.perform(get("/api/jobs/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(gzip))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobs.ndjson.gz\""));
+        verify(jobExportService).exportNdjson(eq(true), any());
+    }
+}
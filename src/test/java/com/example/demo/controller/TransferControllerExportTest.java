@@ -0,0 +1,86 @@
+package com.example.demo.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.crudjob.controller.TransferController;
+import com.example.crudjob.entity.enums.EExportFormat;
+import com.example.crudjob.service.AccountBalanceService;
+import com.example.crudjob.service.ReconciliationService;
+import com.example.crudjob.service.TransactionExportService;
+import com.example.crudjob.service.TransactionHistoryService;
+import com.example.crudjob.service.TransactionRollupService;
+import com.example.crudjob.service.TransferService;
+
+class TransferControllerExportTest {
+
+    private TransactionExportService transactionExportService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transactionExportService = mock(TransactionExportService.class);
+        when(transactionExportService.export(any(), any(), any(EExportFormat.class), eq(false), any()))
+                .thenAnswer(inv -> {
+                    inv.<OutputStream>getArgument(4).write("row\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new TransferController(
+                mock(TransferService.class),
+                mock(AccountBalanceService.class),
+                mock(TransactionHistoryService.class),
+                transactionExportService,
+                mock(TransactionRollupService.class),
+                mock(ReconciliationService.class))).build();
+    }
+
+    @Test
+    void gzipDownloadIsGzipFileWithoutContentEncoding() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transfers/history/export")
+                        .param("format", "CSV")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transaction-history.csv.gz\""));
+    }
+
+    @Test
+    void plainDownloadKeepsFormatContentType() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transfers/history/export").param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transaction-history.ndjson\""))
+                .andExpect(content().string("row\n"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.demo.controller;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.config.SecurityConfig;
+import com.example.crudjob.controller.TransferController;
+import com.example.crudjob.entity.Permission;
+import com.example.crudjob.entity.Role;
+import com.example.crudjob.entity.User;
+import com.example.crudjob.entity.enums.ERole;
+import com.example.crudjob.repository.PermissionRepository;
+import com.example.crudjob.repository.UserRepository;
+import com.example.crudjob.service.AccountBalanceService;
+import com.example.crudjob.service.JwtService;
+import com.example.crudjob.service.ReconciliationService;
+import com.example.crudjob.service.RolePermissionResolver;
+import com.example.crudjob.service.TransactionExportService;
+import com.example.crudjob.service.TransactionHistoryService;
+import com.example.crudjob.service.TransactionRollupService;
+import com.example.crudjob.service.TransferService;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Chạy qua SecurityConfig + PermissionInterceptor với JWT của một tài khoản ROLE_MANAGER
+ * mang các quyền TRANSFERS mà seed mặc định cấp cho MANAGER
+ */
+@WebMvcTest(TransferController.class)
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Import(SecurityConfig.class)
+class TransferSecurityTest {
+
+    private static final String TOKEN = "manager-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private RolePermissionResolver rolePermissionResolver;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private PermissionRepository permissionRepository;
+
+    @MockBean
+    private TransferService transferService;
+
+    @MockBean
+    private AccountBalanceService accountBalanceService;
+
+    @MockBean
+    private TransactionHistoryService transactionHistoryService;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
+    @MockBean
+    private TransactionRollupService transactionRollupService;
+
+    @MockBean
+    private ReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("bob");
+        when(claims.get("userId", Long.class)).thenReturn(2L);
+        when(jwtService.validateToken(TOKEN)).thenReturn(true);
+        when(jwtService.parseToken(TOKEN)).thenReturn(claims);
+
+        Role role = new Role();
+        role.setName(ERole.ROLE_MANAGER);
+        User user = new User();
+        user.setId(2L);
+        user.setUsername("bob");
+        user.setRoles(Set.of(role));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+
+        when(rolePermissionResolver.resolveAuthorities(List.of("ROLE_MANAGER"))).thenReturn(List.of(
+                new SimpleGrantedAuthority("ROLE_MANAGER"),
+                new SimpleGrantedAuthority("Access transfer API"),
+                new SimpleGrantedAuthority("Encrypt data")));
+        when(permissionRepository.findAll()).thenReturn(List.of(
+                permission("Access transfer API", "/api/transfers/**", "POST"),
+                permission("Encrypt data", "/api/transfers/encrypt", "POST"),
+                permission("Read transfer data", "/api/transfers/**", "GET")));
+    }
+
+    @Test
+    void transferAndEncryptStayOpenToNonAdminCallers() throws Exception {
+        mockMvc.perform(post("/api/transfers")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/transfers/encrypt")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void readAndAdminEndpointsRequireAdmin() throws Exception {
+        for (String path : List.of(
+                "/api/transfers/locks/stats",
+                "/api/transfers/accounts/123/balance",
+                "/api/transfers/history",
+                "/api/transfers/history/export",
+                "/api/transfers/rollups",
+                "/api/transfers/reconciliation")) {
+            mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN))
+                    .andExpect(status().isForbidden());
+        }
+
+        // Quyền "Access transfer API" (POST /api/transfers/**) không mở được rebuild / đối soát
+        mockMvc.perform(post("/api/transfers/accounts/balance/rebuild")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/transfers/reconciliation")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN))
+                .andExpect(status().isForbidden());
+
+        verify(accountBalanceService, never()).rebuildFromHistory();
+        verify(reconciliationService, never()).start(anyBoolean());
+    }
+
+    private static Permission permission(String name, String apiPath, String method) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        permission.setApiPath(apiPath);
+        permission.setMethod(method);
+        return permission;
+    }
+}
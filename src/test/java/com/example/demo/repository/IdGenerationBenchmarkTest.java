@@ -0,0 +1,343 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.TransactionHistory;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.demo.support.FakeEncryption;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Id cấp theo lô + JDBC batch
+ *
+ * - Các test thường: Job được insert theo batch, TransactionHistory giữ IDENTITY
+ * - Benchmark (chỉ chạy khi có -Dbenchmark=true) in ra rows/sec:
+ *   mvn test -Dtest=IdGenerationBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=50000]
+ *   Mặc định chạy trên H2 của profile test (round trip gần như bằng 0 nên chênh lệch nhỏ hơn thực tế);
+ *   đo trên MySQL bằng cách truyền thêm -Dspring.datasource.url=... -Dspring.datasource.username=...
+ *   -Dspring.datasource.password=... -Dspring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver
+ *   -Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=" + AppConstants.ID_ALLOCATION_SIZE,
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdGenerationBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+
+    /** Số dòng mỗi transaction, giống job.import.chunk-size */
+    private static final int CHUNK = 500;
+
+    /** Khớp hibernate.jdbc.batch_size */
+    private static final int BATCH_SIZE = AppConstants.ID_ALLOCATION_SIZE;
+
+    private static final String IDENTITY_TABLE = "bench_jobs_identity";
+    private static final String POOLED_TABLE = "bench_jobs_pooled";
+    private static final String POOLED_SEQ_TABLE = "bench_jobs_seq";
+
+    private static final String JOB_COLUMNS =
+            "title, company, location, salary, type, status, description, expires_at, version";
+
+    private static final String JOB_COLUMNS_DDL = "title varchar(255) not null, company text not null, "
+            + "location text not null, salary int not null, type int not null, status int not null, "
+            + "description text, expires_at timestamp, version bigint not null";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        FakeEncryption.install();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics().clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from jobs");
+        jdbcTemplate.update("delete from transaction_history");
+        jdbcTemplate.execute("drop table if exists " + IDENTITY_TABLE);
+        jdbcTemplate.execute("drop table if exists " + POOLED_TABLE);
+        jdbcTemplate.execute("drop table if exists " + POOLED_SEQ_TABLE);
+    }
+
+    /* ================= BEHAVIOUR ================= */
+
+    @Test
+    void jobInsertsAreBatchedWithPooledIds() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 100; i++) {
+                entityManager.persist(job(i));
+            }
+        });
+
+        Statistics statistics = statistics();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        // 2 batch INSERT + vài lần đọc sequence (50 id / lần), IDENTITY sẽ cần 100 câu lệnh
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jobs", Long.class)).isEqualTo(100);
+    }
+
+    @Test
+    void transactionHistoryKeepsCommitOrderedIdentityIds() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(transactionTemplate.execute(status -> {
+                TransactionHistory row = history("TXN-ORDER", BigDecimal.ONE, BigDecimal.ZERO);
+                entityManager.persist(row);
+                return row.getId();
+            }));
+        }
+
+        // Mỗi transaction nhận id kế tiếp, không nhảy theo khối cấp phát
+        assertThat(ids.get(1)).isEqualTo(ids.get(0) + 1);
+        assertThat(ids.get(2)).isEqualTo(ids.get(1) + 1);
+    }
+
+    /* ================= BENCHMARK ================= */
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkBulkJobImport() {
+        jdbcTemplate.execute("create table " + IDENTITY_TABLE + " (id bigint auto_increment primary key, " + JOB_COLUMNS_DDL + ")");
+        jdbcTemplate.execute("create table " + POOLED_TABLE + " (id bigint primary key, " + JOB_COLUMNS_DDL + ")");
+        jdbcTemplate.execute("create table " + POOLED_SEQ_TABLE + " (next_val bigint)");
+        jdbcTemplate.update("insert into " + POOLED_SEQ_TABLE + " (next_val) values (1)");
+
+        // Làm nóng JIT / pool trước khi đo
+        insertJobsRowByRow(Math.min(ROWS, 2_000));
+        insertJobsPooledBatch(Math.min(ROWS, 2_000));
+        jdbcTemplate.update("delete from " + IDENTITY_TABLE);
+        jdbcTemplate.update("delete from " + POOLED_TABLE);
+
+        // Trước: IDENTITY, mỗi dòng một INSERT + đọc generated key (Hibernate không batch được)
+        long identityNanos = time(() -> insertJobsRowByRow(ROWS));
+        // Sau: id cấp theo lô (1 lần đọc sequence / 50 id), INSERT gửi theo batch 50
+        long pooledNanos = time(() -> insertJobsPooledBatch(ROWS));
+        // Toàn bộ đường đi qua Hibernate (Job thật, pooled + batch_size=50)
+        long hibernateNanos = time(() -> {
+            for (int from = 0; from < ROWS; from += CHUNK) {
+                int start = from;
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = start; i < Math.min(start + CHUNK, ROWS); i++) {
+                        entityManager.persist(job(i));
+                    }
+                });
+            }
+        });
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from " + IDENTITY_TABLE, Long.class)).isEqualTo(ROWS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from " + POOLED_TABLE, Long.class)).isEqualTo(ROWS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jobs", Long.class)).isEqualTo(ROWS);
+
+        report("jobs JDBC, IDENTITY row-by-row", ROWS, identityNanos);
+        report("jobs JDBC, pooled ids + batch 50", ROWS, pooledNanos);
+        report("jobs Hibernate, pooled ids + batch 50", ROWS, hibernateNanos);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkBatchTransfers() {
+        int pairs = ROWS / 2;
+
+        // Mỗi transfer: một dòng NỢ + một dòng CÓ trong một transaction (như TransferServiceImpl)
+        long perTransferNanos = time(() -> {
+            for (int i = 0; i < pairs; i++) {
+                String transactionId = "TXN-" + i;
+                transactionTemplate.executeWithoutResult(status -> {
+                    entityManager.persist(history(transactionId, BigDecimal.TEN, BigDecimal.ZERO));
+                    entityManager.persist(history(transactionId, BigDecimal.ZERO, BigDecimal.TEN));
+                });
+            }
+        });
+
+        // Nhiều transfer mỗi transaction: IDENTITY vẫn insert từng dòng
+        jdbcTemplate.update("delete from transaction_history");
+        long chunkedNanos = time(() -> {
+            for (int from = 0; from < pairs; from += CHUNK) {
+                int start = from;
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = start; i < Math.min(start + CHUNK, pairs); i++) {
+                        entityManager.persist(history("TXN-" + i, BigDecimal.TEN, BigDecimal.ZERO));
+                        entityManager.persist(history("TXN-" + i, BigDecimal.ZERO, BigDecimal.TEN));
+                    }
+                });
+            }
+        });
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from transaction_history", Long.class))
+                .isEqualTo(pairs * 2L);
+
+        report("transfers IDENTITY, 1 transfer / tx", pairs * 2L, perTransferNanos);
+        report("transfers IDENTITY, " + CHUNK + " transfers / tx", pairs * 2L, chunkedNanos);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private void insertJobsRowByRow(int rows) {
+        String sql = "insert into " + IDENTITY_TABLE + " (" + JOB_COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < rows; i++) {
+                try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    bindJob(ps, 1, job(i));
+                    ps.executeUpdate();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        keys.next();
+                    }
+                }
+                if ((i + 1) % CHUNK == 0) {
+                    connection.commit();
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void insertJobsPooledBatch(int rows) {
+        String sql = "insert into " + POOLED_TABLE + " (id, " + JOB_COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        String nextBlockSql = "update " + POOLED_SEQ_TABLE + " set next_val = next_val + " + AppConstants.ID_ALLOCATION_SIZE;
+        String readBlockSql = "select next_val from " + POOLED_SEQ_TABLE;
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement(sql);
+                PreparedStatement nextBlock = connection.prepareStatement(nextBlockSql);
+                PreparedStatement readBlock = connection.prepareStatement(readBlockSql)) {
+            connection.setAutoCommit(false);
+            long nextId = 0;
+            long blockEnd = 0;
+
+            for (int i = 0; i < rows; i++) {
+                if (nextId == blockEnd) {
+                    nextBlock.executeUpdate();
+                    try (ResultSet rs = readBlock.executeQuery()) {
+                        rs.next();
+                        blockEnd = rs.getLong(1);
+                    }
+                    nextId = blockEnd - AppConstants.ID_ALLOCATION_SIZE;
+                }
+
+                ps.setLong(1, nextId++);
+                bindJob(ps, 2, job(i));
+                ps.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+                if ((i + 1) % CHUNK == 0) {
+                    connection.commit();
+                }
+            }
+            ps.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void bindJob(PreparedStatement ps, int first, Job job) throws SQLException {
+        ps.setString(first, job.getTitle());
+        ps.setString(first + 1, job.getCompany());
+        ps.setString(first + 2, job.getLocation());
+        ps.setInt(first + 3, job.getSalary());
+        ps.setInt(first + 4, job.getType().ordinal());
+        ps.setInt(first + 5, job.getStatus().ordinal());
+        ps.setString(first + 6, job.getDescription());
+        ps.setObject(first + 7, job.getExpiresAt());
+    }
+
+    private Job job(int i) {
+        Job job = new Job();
+        job.setTitle("Benchmark job " + i);
+        job.setCompany("enc:company-" + (i % 100));
+        job.setLocation("enc:location-" + (i % 20));
+        job.setSalary(1000 + i % 9000);
+        job.setType(EJobType.values()[i % EJobType.values().length]);
+        job.setStatus(EJobStatus.Open);
+        job.setDescription("Imported by benchmark");
+        job.setExpiresAt(LocalDateTime.of(2027, 1, 1, 0, 0));
+        return job;
+    }
+
+    private TransactionHistory history(String transactionId, BigDecimal inDebt, BigDecimal have) {
+        TransactionHistory row = new TransactionHistory();
+        row.setTransactionId(transactionId);
+        row.setAccount("0981234567");
+        row.setInDebt(inDebt);
+        row.setHave(have);
+        row.setTransactionTime(LocalDateTime.of(2026, 3, 1, 9, 0));
+        return row;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static long time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String name, long rows, long nanos) {
+        System.out.printf("BENCHMARK | %-40s | rows=%d | durationMs=%d | rowsPerSec=%d%n",
+                name, rows, nanos / 1_000_000, Math.round(rows / (nanos / 1_000_000_000.0)));
+    }
+}
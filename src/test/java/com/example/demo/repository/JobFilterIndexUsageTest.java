@@ -0,0 +1,197 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.request.JobFilterDTO;
+import com.example.crudjob.entity.enums.EJobField;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.repository.JobSpecifications;
+
+/**
+ * EXPLAIN câu SQL mà Hibernate thực sự sinh ra cho từng tổ hợp filter trên MySQL thật:
+ * mỗi tổ hợp phải dùng đúng index đã khai báo trên Job, không quét toàn bảng.
+ * Cần Docker (Testcontainers), tự bỏ qua khi không có.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobFilterIndexUsageTest {
+
+    private static final int ROWS = 20_000;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static boolean seeded;
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                SqlCapture.class::getName);
+    }
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        String[] words = { "Backend", "Data", "Frontend", "Mobile", "Platform", "Security", "Cloud", "Embedded" };
+        EJobType[] types = EJobType.values();
+        EJobStatus[] statuses = EJobStatus.values();
+
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            // Vài dòng có tiền tố hiếm để lọc theo title có tính chọn lọc cao
+            String title = (i % 1000 == 0 ? "Zeta " : words[i % words.length] + " ") + "Engineer " + i;
+            rows.add(new Object[] {
+                    (long) i, title, "enc:Company " + i, "enc:Hanoi",
+                    (i * 7919) % 20_000, types[i % types.length].name(), statuses[(i / 3) % statuses.length].name()
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into jobs (id, title, company, location, salary, type, status, version)
+                values (?, ?, ?, ?, ?, ?, ?, 0)
+                """, rows);
+        jdbcTemplate.execute("analyze table jobs");
+        seeded = true;
+    }
+
+    @Test
+    void statusTypeAndSalaryRangeUseTheCompositeIndex() {
+        JobFilterDTO filter = new JobFilterDTO(EJobType.Remote, EJobStatus.Open, 1000, 1500, null);
+
+        Map<String, Object> plan = explain(filter, Sort.by("salary", "id"),
+                EJobType.Remote.name(), EJobStatus.Open.name(), 1000, 1500);
+
+        assertThat(plan.get("key")).isEqualTo("idx_job_status_type_salary");
+        assertThat(plan.get("type")).isEqualTo("range");
+    }
+
+    @Test
+    void statusAndTypeSortedBySalaryNeedNoFilesort() {
+        JobFilterDTO filter = new JobFilterDTO(EJobType.Full_time, EJobStatus.Closed, null, null, null);
+
+        Map<String, Object> plan = explain(filter, Sort.by("salary", "id"),
+                EJobType.Full_time.name(), EJobStatus.Closed.name());
+
+        assertThat(plan.get("key")).isEqualTo("idx_job_status_type_salary");
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("filesort");
+    }
+
+    @Test
+    void typeAndSalaryRangeUseTheTypeSalaryIndex() {
+        JobFilterDTO filter = new JobFilterDTO(EJobType.Remote, null, 1000, 1200, null);
+
+        Map<String, Object> plan = explain(filter, Sort.by("id"), EJobType.Remote.name(), 1000, 1200);
+
+        assertThat(plan.get("key")).isEqualTo("idx_job_type_salary");
+        assertThat(plan.get("type")).isEqualTo("range");
+    }
+
+    @Test
+    void salaryRangeAloneUsesTheSalaryIndex() {
+        JobFilterDTO filter = new JobFilterDTO(null, null, 1000, 1050, null);
+
+        Map<String, Object> plan = explain(filter, Sort.by("id"), 1000, 1050);
+
+        assertThat(plan.get("key")).isEqualTo("idx_job_salary");
+        assertThat(plan.get("type")).isEqualTo("range");
+    }
+
+    @Test
+    void titlePrefixUsesTheTitleIndexAndIgnoresCase() {
+        JobFilterDTO filter = new JobFilterDTO(null, null, null, null, "zeta");
+
+        Map<String, Object> plan = explain(filter, Sort.by("id"), "zeta%");
+
+        assertThat(plan.get("key")).isEqualTo("idx_job_title");
+        assertThat(plan.get("type")).isEqualTo("range");
+        // Collation mặc định của MySQL không phân biệt hoa thường: "zeta" khớp "Zeta ..."
+        assertThat(jobRepository.findProjected(JobSpecifications.fromFilter(filter),
+                EnumSet.of(EJobField.ID), PageRequest.of(0, 100)).getTotalElements())
+                .isEqualTo(ROWS / 1000);
+    }
+
+    /**
+     * Chạy filter qua repository, lấy câu SELECT Hibernate đã gửi đi rồi EXPLAIN với cùng tham số
+     *
+     * @param params giá trị tham số theo thứ tự của điều kiện lọc (LIMIT được thêm tự động)
+     */
+    private Map<String, Object> explain(JobFilterDTO filter, Sort sort, Object... params) {
+        SqlCapture.STATEMENTS.clear();
+        jobRepository.findProjected(
+                JobSpecifications.fromFilter(filter),
+                EnumSet.of(EJobField.ID, EJobField.TITLE, EJobField.SALARY),
+                PageRequest.of(0, 20, sort));
+
+        String sql = SqlCapture.STATEMENTS.stream()
+                .filter(s -> s.startsWith("select") && !s.contains("count("))
+                .findFirst()
+                .orElseThrow();
+
+        List<Object> bound = new ArrayList<>(List.of(params));
+        long placeholders = sql.chars().filter(c -> c == '?').count();
+        while (bound.size() < placeholders) {
+            bound.add(20);
+        }
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, bound.toArray());
+        assertThat(plan).as(sql).hasSize(1);
+        assertThat(plan.get(0).get("type")).as(sql).isNotEqualTo("ALL");
+        return plan.get(0);
+    }
+
+    /**
+     * Ghi lại các câu SQL Hibernate chuẩn bị (đăng ký qua hibernate.session_factory.statement_inspector)
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
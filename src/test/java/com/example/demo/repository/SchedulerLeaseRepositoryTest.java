@@ -0,0 +1,118 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.entity.SchedulerLease;
+import com.example.crudjob.repository.SchedulerLeaseRepository;
+import com.example.crudjob.service.SchedulerLeaseManager;
+
+/**
+ * Câu upsert nhận lease dùng cú pháp và thứ tự gán cột của MySQL (IF, INTERVAL, VALUES()),
+ * H2 không chạy được → chạy trên MySQL thật qua Testcontainers, tự bỏ qua khi không có Docker.
+ * Hai SchedulerLeaseManager đóng vai hai instance (owner khác nhau).
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchedulerLeaseRepositoryTest {
+
+    private static final String LEASE = "job-expiry";
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private SchedulerLeaseManager nodeA;
+    private SchedulerLeaseManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new SchedulerLeaseManager(schedulerLeaseRepository);
+        nodeB = new SchedulerLeaseManager(schedulerLeaseRepository);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        schedulerLeaseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void onlyOneNodeHoldsTheLeaseAndRenewalMovesTheDeadline() throws InterruptedException {
+        assertThat(acquire(nodeA, 60_000)).isTrue();
+        LocalDateTime firstDeadline = lease().getLeasedUntil();
+
+        assertThat(acquire(nodeB, 60_000)).isFalse();
+        assertThat(lease().getOwner()).isEqualTo(nodeA.getOwner());
+
+        Thread.sleep(20);
+        assertThat(acquire(nodeA, 60_000)).isTrue();
+        assertThat(lease().getLeasedUntil()).isAfter(firstDeadline);
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndTheOldOwnerLosesIt() throws InterruptedException {
+        assertThat(acquire(nodeA, 300)).isTrue();
+        assertThat(acquire(nodeB, 60_000)).isFalse();
+
+        Thread.sleep(500);
+
+        assertThat(acquire(nodeB, 60_000)).isTrue();
+        assertThat(acquire(nodeA, 300)).isFalse();
+        assertThat(lease().getOwner()).isEqualTo(nodeB.getOwner());
+    }
+
+    @Test
+    void releasedLeaseIsTakenOverWithoutWaiting() {
+        assertThat(acquire(nodeA, 60_000)).isTrue();
+
+        // Instance khác nhả lease: không ảnh hưởng lease của A
+        transactionTemplate.executeWithoutResult(status -> nodeB.release(LEASE));
+        assertThat(acquire(nodeB, 60_000)).isFalse();
+
+        transactionTemplate.executeWithoutResult(status -> nodeA.release(LEASE));
+        assertThat(acquire(nodeB, 60_000)).isTrue();
+    }
+
+    private boolean acquire(SchedulerLeaseManager node, long leaseMs) {
+        return transactionTemplate.execute(status -> node.tryAcquire(LEASE, leaseMs));
+    }
+
+    private SchedulerLease lease() {
+        return schedulerLeaseRepository.findById(LEASE).orElseThrow();
+    }
+}
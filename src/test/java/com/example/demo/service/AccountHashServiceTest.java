@@ -0,0 +1,42 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.crudjob.service.AccountHashService;
+
+class AccountHashServiceTest {
+
+    @Test
+    void missingSecretFailsStartup() {
+        AccountHashService service = new AccountHashService();
+        ReflectionTestUtils.setField(service, "secret", "");
+
+        assertThatThrownBy(service::init)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ACCOUNT_HASH_SECRET");
+    }
+
+    @Test
+    void hashIsStableHexAndDependsOnSecret() {
+        AccountHashService service = withSecret("secret-one");
+        AccountHashService other = withSecret("secret-two");
+
+        String hash = service.hash("0981234567");
+
+        assertThat(hash).hasSize(64).matches("[0-9a-f]+");
+        assertThat(service.hash(" 0981234567 ")).isEqualTo(hash);
+        assertThat(service.hash("0978889999")).isNotEqualTo(hash);
+        assertThat(other.hash("0981234567")).isNotEqualTo(hash);
+    }
+
+    private AccountHashService withSecret(String secret) {
+        AccountHashService service = new AccountHashService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        service.init();
+        return service;
+    }
+}
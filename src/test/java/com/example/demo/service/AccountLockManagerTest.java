@@ -0,0 +1,100 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.crudjob.dto.response.LockStripeStatsDTO;
+import com.example.crudjob.entity.enums.ErrorCode;
+import com.example.crudjob.exception.TransferException;
+import com.example.crudjob.service.AccountLockManager;
+
+class AccountLockManagerTest {
+
+    private AccountLockManager lockManager;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        lockManager = new AccountLockManager();
+        ReflectionTestUtils.setField(lockManager, "stripeCount", 64);
+        ReflectionTestUtils.setField(lockManager, "lockTimeoutMs", 200L);
+        lockManager.init();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void samePairIsSerializedAndTimesOutWith409Code() throws Exception {
+        AccountLockManager.PairLock held = lockManager.lockPair("account-a", "account-b");
+
+        Future<?> waiter = executor.submit(() -> lockManager.lockPair("account-b", "account-a"));
+
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(TransferException.class)
+                .cause()
+                .extracting(e -> ((TransferException) e).getErrorCode())
+                .isEqualTo(ErrorCode.TRANSFER_LOCK_TIMEOUT);
+
+        held.unlock();
+        lockManager.lockPair("account-b", "account-a").unlock();
+    }
+
+    @Test
+    void oppositeOrderTransfersDoNotDeadlock() throws Exception {
+        ReflectionTestUtils.setField(lockManager, "lockTimeoutMs", 5_000L);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Future<?> forward = executor.submit(() -> transferLoop(start, "acc-1", "acc-2"));
+        Future<?> backward = executor.submit(() -> transferLoop(start, "acc-2", "acc-1"));
+        start.countDown();
+
+        forward.get(10, TimeUnit.SECONDS);
+        backward.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void unlockIsIdempotentAndStatsTrackContention() throws Exception {
+        AccountLockManager.PairLock held = lockManager.lockPair("hot", "hot");
+        Future<?> waiter = executor.submit(() -> lockManager.lockPair("hot", "hot").unlock());
+
+        TimeUnit.MILLISECONDS.sleep(50);
+        held.unlock();
+        held.unlock();
+        waiter.get(5, TimeUnit.SECONDS);
+
+        List<LockStripeStatsDTO> stats = lockManager.getStats(10);
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getAcquisitions()).isEqualTo(2);
+        assertThat(stats.get(0).getContended()).isEqualTo(1);
+        assertThat(stats.get(0).getStripe()).isBetween(0, 63);
+    }
+
+    private void transferLoop(CountDownLatch start, String source, String target) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            lockManager.lockPair(source, target).unlock();
+        }
+    }
+}
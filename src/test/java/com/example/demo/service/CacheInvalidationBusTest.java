@@ -0,0 +1,186 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.response.CacheRegionVersionDTO;
+import com.example.crudjob.repository.CacheVersionRepository;
+import com.example.crudjob.service.CacheInvalidationBus;
+
+/**
+ * Hai CacheInvalidationBus dùng chung bảng cache_version đóng vai hai instance.
+ * Mỗi instance đăng ký một bộ đếm làm handler xoá cache cục bộ.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheInvalidationBusTest {
+
+    private static final String AUTH = "auth";
+    private static final String JOBS = "job-response";
+
+    @Autowired
+    private CacheVersionRepository cacheVersionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private CacheInvalidationBus nodeA;
+    private CacheInvalidationBus nodeB;
+    private final AtomicInteger evictedA = new AtomicInteger();
+    private final AtomicInteger evictedB = new AtomicInteger();
+    private final AtomicInteger evictedJobsB = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new CacheInvalidationBus(cacheVersionRepository, transactionTemplate);
+        nodeB = new CacheInvalidationBus(cacheVersionRepository, transactionTemplate);
+        nodeA.register(AUTH, evictedA::incrementAndGet);
+        nodeB.register(AUTH, evictedB::incrementAndGet);
+        nodeB.register(JOBS, evictedJobsB::incrementAndGet);
+        nodeA.poll();
+        nodeB.poll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        cacheVersionRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void publishIsAppliedByOtherNodesButNotByThePublisher() {
+        nodeA.publish(AUTH);
+        nodeB.poll();
+        // Chưa tăng version: publish chỉ đánh dấu, lần poll của A mới ghi
+        assertThat(evictedB).hasValue(0);
+
+        nodeA.poll();
+        nodeB.poll();
+
+        assertThat(evictedA).hasValue(0);
+        assertThat(evictedB).hasValue(1);
+        assertThat(evictedJobsB).hasValue(0);
+
+        // Không có thay đổi mới → không xoá lại
+        nodeB.poll();
+        assertThat(evictedB).hasValue(1);
+        assertThat(region(nodeB, AUTH).getInvalidations()).isEqualTo(1);
+        assertThat(region(nodeB, AUTH).getMaxLagMs()).isBetween(0L, 60_000L);
+        assertThat(region(nodeB, AUTH).getVersion()).isEqualTo(region(nodeA, AUTH).getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesWithinOnePollIntervalShareOneBump() {
+        for (int i = 0; i < 5; i++) {
+            nodeA.publish(AUTH);
+        }
+        nodeA.poll();
+        nodeB.poll();
+
+        assertThat(cacheVersionRepository.findVersion(AUTH)).contains(1L);
+        assertThat(evictedB).hasValue(1);
+    }
+
+    @Test
+    void interleavedBumpsFromBothNodesEvictBothCaches() {
+        // B tăng version xen giữa lần đọc của A → A không nhận version đó là của mình
+        nodeB.publish(AUTH);
+        nodeB.poll();
+        nodeA.publish(AUTH);
+        nodeA.poll();
+        nodeB.poll();
+
+        assertThat(cacheVersionRepository.findVersion(AUTH)).contains(2L);
+        assertThat(evictedA).hasValue(1);
+        assertThat(evictedB).hasValue(1);
+    }
+
+    @Test
+    void nodeStartingAfterABumpOnlyRecordsTheVersion() {
+        nodeA.publish(AUTH);
+        nodeA.poll();
+
+        CacheInvalidationBus nodeC = new CacheInvalidationBus(cacheVersionRepository, transactionTemplate);
+        AtomicInteger evictedC = new AtomicInteger();
+        nodeC.register(AUTH, evictedC::incrementAndGet);
+        nodeC.poll();
+
+        assertThat(evictedC).hasValue(0);
+        assertThat(region(nodeC, AUTH).getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void failedBumpIsRetriedOnTheNextPoll() {
+        CacheVersionRepository failing = mock(CacheVersionRepository.class);
+        when(failing.findAllWithAge()).thenReturn(List.of());
+        when(failing.bump(any()))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(1);
+        CacheInvalidationBus node = new CacheInvalidationBus(failing, transactionTemplate);
+        node.register(AUTH, () -> { });
+
+        node.publish(AUTH);
+        assertThatThrownBy(node::poll).isInstanceOf(DataAccessResourceFailureException.class);
+        node.poll();
+
+        verify(failing, times(2)).bump(AUTH);
+    }
+
+    @Test
+    void cachesAreEvictedOnEveryFailedPollOnceStalenessIsExceeded() {
+        CacheVersionRepository failing = mock(CacheVersionRepository.class);
+        when(failing.findAllWithAge())
+                .thenReturn(List.of())
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        CacheInvalidationBus node = new CacheInvalidationBus(failing, transactionTemplate);
+        ReflectionTestUtils.setField(node, "maxStalenessMs", 50L);
+        AtomicInteger evicted = new AtomicInteger();
+        node.register(AUTH, evicted::incrementAndGet);
+
+        node.scheduledPoll();
+        assertThat(node.statistics().getLastPollAgeMs()).isGreaterThanOrEqualTo(0);
+
+        // Lỗi ngắn (dưới max-staleness-ms): vẫn giữ cache
+        node.scheduledPoll();
+        assertThat(evicted).hasValue(0);
+        assertThat(node.statistics().getConsecutiveFailures()).isEqualTo(1);
+
+        ReflectionTestUtils.setField(node, "lastPollMillis", System.currentTimeMillis() - 100);
+        node.scheduledPoll();
+        node.scheduledPoll();
+        assertThat(evicted).hasValue(2);
+        assertThat(node.statistics().getConsecutiveFailures()).isEqualTo(3);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private static CacheRegionVersionDTO region(CacheInvalidationBus node, String name) {
+        return node.statistics().getRegions().stream()
+                .filter(region -> region.getRegion().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.response.TransactionHistoryResponseDTO;
+import com.example.crudjob.repository.HistoryArchiveBlockRepository;
+import com.example.crudjob.repository.HistoryArchiveSegmentRepository;
+import com.example.crudjob.service.HistoryArchiveStore;
+import com.example.crudjob.service.HistoryArchiveStore.SegmentWriter;
+import com.example.demo.support.FakeEncryption;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HistoryArchiveStoreTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    private HistoryArchiveSegmentRepository segmentRepository;
+
+    @Autowired
+    private HistoryArchiveBlockRepository blockRepository;
+
+    private HistoryArchiveBlockRepository blocks;
+    private HistoryArchiveStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blockRepository.deleteAll();
+        segmentRepository.deleteAll();
+
+        blocks = mock(HistoryArchiveBlockRepository.class, AdditionalAnswers.delegatesTo(blockRepository));
+        store = new HistoryArchiveStore(segmentRepository, blocks, FakeEncryption.install(), Runnable::run);
+        store.refresh();
+
+        try (SegmentWriter writer = store.openWriter("p202501", ROWS)) {
+            for (int i = 0; i < ROWS; i++) {
+                // 2 dòng mỗi giây → cursor phải phân biệt bằng id
+                writer.append(i + 1, "TXN-" + (i % 500), FakeEncryption.PREFIX + "acc-" + i,
+                        new BigDecimal("1.50"), null, T0.plusSeconds(i / 2));
+            }
+            writer.commit();
+        }
+    }
+
+    @Test
+    void pagingWithCursorReturnsEveryRowOnceInOrder() {
+        List<TransactionHistoryResponseDTO> seen = new ArrayList<>();
+        LocalDateTime afterTime = T0.minusDays(1);
+        long afterId = -1;
+
+        while (true) {
+            List<TransactionHistoryResponseDTO> page = store.findPage(afterTime, afterId, T0.plusDays(1), null, 700);
+            if (page.isEmpty()) {
+                break;
+            }
+            seen.addAll(page);
+            TransactionHistoryResponseDTO last = page.get(page.size() - 1);
+            afterTime = last.getTransactionTime();
+            afterId = last.getId();
+        }
+
+        assertThat(seen).hasSize(ROWS);
+        assertThat(seen).extracting(TransactionHistoryResponseDTO::getId)
+                .isSorted()
+                .doesNotHaveDuplicates();
+        assertThat(seen.get(42).getAccount()).isEqualTo("acc-42");
+        assertThat(seen.get(42).getInDebt()).isEqualByComparingTo("1.50");
+        assertThat(seen.get(42).getHave()).isNull();
+    }
+
+    @Test
+    void deepPageSeeksToTheBlockHoldingTheCursor() {
+        clearInvocations(blocks);
+
+        // Dòng id 9001 nằm ở block cuối (block 4096 dòng): không đọc lại hai block đầu
+        List<TransactionHistoryResponseDTO> page = store.findPage(T0.plusSeconds(4500), 9001, T0.plusDays(1), null, 10);
+
+        assertThat(page).extracting(TransactionHistoryResponseDTO::getId)
+                .containsExactly(9002L, 9003L, 9004L, 9005L, 9006L, 9007L, 9008L, 9009L, 9010L, 9011L);
+        verify(blocks, times(1)).findData(anyString(), anyInt());
+    }
+
+    @Test
+    void upperBoundAndTransactionIdFilterApply() {
+        List<TransactionHistoryResponseDTO> page = store.findPage(T0.minusDays(1), -1, T0.plusSeconds(1000), "TXN-7", 100);
+
+        assertThat(page).extracting(TransactionHistoryResponseDTO::getId).containsExactly(8L, 508L, 1008L, 1508L);
+        assertThat(store.findPage(T0.minusDays(1), -1, T0.plusDays(1), "TXN-unknown", 100)).isEmpty();
+    }
+
+    @Test
+    void otherInstancesSeeSegmentAfterRefreshAndUncommittedWriterLeavesNothing() throws IOException {
+        HistoryArchiveStore otherInstance =
+                new HistoryArchiveStore(segmentRepository, blockRepository, FakeEncryption.install(), Runnable::run);
+        otherInstance.refresh();
+
+        assertThat(otherInstance.getSegments()).hasSize(1);
+        assertThat(otherInstance.forEachRow(row -> { })).isEqualTo(ROWS);
+
+        try (SegmentWriter writer = store.openWriter("p202502", 1)) {
+            writer.append(ROWS + 1, "TXN-X", "enc:acc", BigDecimal.ONE, BigDecimal.ZERO, T0.plusMonths(1));
+        }
+        otherInstance.refresh();
+
+        assertThat(otherInstance.getSegments()).hasSize(1);
+        assertThat(blockRepository.findAll()).allMatch(b -> b.getPartition().equals("p202501"));
+    }
+
+    @Test
+    void discardRemovesCommittedSegment() throws IOException {
+        SegmentWriter writer = store.openWriter("p202502", 1);
+        writer.append(ROWS + 1, "TXN-X", "enc:acc", BigDecimal.ONE, BigDecimal.ZERO, T0.plusMonths(1));
+        writer.commit();
+        assertThat(store.getSegments()).hasSize(2);
+
+        writer.discard();
+
+        assertThat(store.getSegments()).hasSize(1);
+        assertThat(segmentRepository.existsById("p202502")).isFalse();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.crudjob.service.HistoryArchiveStore;
+import com.example.crudjob.service.HistoryArchiveStore.SegmentWriter;
+import com.example.crudjob.service.HistoryPartitionManager;
+import com.example.crudjob.service.SchedulerLeaseManager;
+
+class HistoryPartitionManagerTest {
+
+    private static final String EXPIRED = "p200001";
+    private static final String DROP_SQL = "ALTER TABLE transaction_history DROP PARTITION " + EXPIRED;
+
+    private JdbcTemplate jdbcTemplate;
+    private HistoryArchiveStore historyArchiveStore;
+    private SchedulerLeaseManager leaseManager;
+    private SegmentWriter writer;
+    private Statement statement;
+    private ResultSet recount;
+    private HistoryPartitionManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        historyArchiveStore = mock(HistoryArchiveStore.class);
+        leaseManager = mock(SchedulerLeaseManager.class);
+        writer = mock(SegmentWriter.class);
+        statement = mock(Statement.class);
+        recount = mock(ResultSet.class);
+
+        // Đã partition sẵn tới tháng hiện tại + 3 → không cần ADD / PARTITION BY
+        List<String> partitions = new ArrayList<>(List.of(EXPIRED));
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("'p'uuuuMM");
+        for (int i = -1; i <= 3; i++) {
+            partitions.add(YearMonth.now().plusMonths(i).format(format));
+        }
+        partitions.add("pmax");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any())).thenReturn(partitions);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(recount);
+        when(recount.next()).thenReturn(true);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> inv.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+
+        when(historyArchiveStore.openWriter(eq(EXPIRED), anyLong())).thenReturn(writer);
+        when(leaseManager.tryAcquire(anyString(), anyLong())).thenReturn(true);
+
+        manager = new HistoryPartitionManager(jdbcTemplate, historyArchiveStore, leaseManager);
+        ReflectionTestUtils.setField(manager, "enabled", true);
+        ReflectionTestUtils.setField(manager, "monthsAhead", 3);
+        ReflectionTestUtils.setField(manager, "retentionMonths", 12);
+        ReflectionTestUtils.setField(manager, "leaseMs", 60_000L);
+    }
+
+    @Test
+    void disabledByDefaultDoesNothingOnStartup() {
+        ReflectionTestUtils.setField(manager, "enabled", false);
+
+        manager.onStartup();
+        manager.scheduledMaintain();
+
+        verifyNoInteractions(jdbcTemplate, leaseManager);
+    }
+
+    @Test
+    void instanceWithoutLeaseRunsNoDdl() {
+        when(leaseManager.tryAcquire(anyString(), anyLong())).thenReturn(false);
+
+        manager.maintain();
+
+        verifyNoInteractions(jdbcTemplate, historyArchiveStore);
+    }
+
+    @Test
+    void unchangedPartitionIsPublishedAndDroppedUnderTableLock() throws Exception {
+        when(recount.getLong(1)).thenReturn(0L);
+        when(writer.getRowCount()).thenReturn(0L);
+
+        manager.maintain();
+
+        InOrder order = inOrder(statement, writer, leaseManager);
+        order.verify(statement).execute("LOCK TABLES transaction_history WRITE");
+        order.verify(statement).executeQuery("select count(*) from transaction_history partition (" + EXPIRED + ")");
+        order.verify(writer).commit();
+        order.verify(statement).execute(DROP_SQL);
+        order.verify(statement).execute("UNLOCK TABLES");
+        order.verify(leaseManager).release("history-partition");
+    }
+
+    @Test
+    void rowsWrittenAfterArchiveKeepThePartition() throws Exception {
+        when(recount.getLong(1)).thenReturn(3L);
+        when(writer.getRowCount()).thenReturn(0L);
+
+        manager.maintain();
+
+        verify(writer, never()).commit();
+        verify(statement, never()).execute(DROP_SQL);
+        verify(statement).execute("UNLOCK TABLES");
+        verify(writer).close();
+    }
+
+    @Test
+    void failedDropDiscardsPublishedSegment() throws Exception {
+        when(recount.getLong(1)).thenReturn(0L);
+        when(statement.execute(DROP_SQL)).thenThrow(new java.sql.SQLException("lock wait timeout"));
+
+        manager.maintain();
+
+        verify(writer).commit();
+        verify(writer).discard();
+        verify(statement).execute("UNLOCK TABLES");
+        verify(leaseManager).release("history-partition");
+    }
+}
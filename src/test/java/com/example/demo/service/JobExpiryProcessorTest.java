@@ -0,0 +1,112 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.crudjob.service.IJobService;
+import com.example.crudjob.service.JobExpiryProcessor;
+import com.example.crudjob.service.SchedulerLeaseManager;
+
+/**
+ * chunk-size = 3, lease 60s, tối đa 4 lô mỗi lượt
+ */
+class JobExpiryProcessorTest {
+
+    private IJobService jobService;
+    private SchedulerLeaseManager schedulerLeaseManager;
+    private JobExpiryProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        jobService = mock(IJobService.class);
+        schedulerLeaseManager = mock(SchedulerLeaseManager.class);
+        processor = new JobExpiryProcessor(jobService, schedulerLeaseManager);
+        ReflectionTestUtils.setField(processor, "enabled", true);
+        ReflectionTestUtils.setField(processor, "chunkSize", 3);
+        ReflectionTestUtils.setField(processor, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(processor, "maxChunks", 4);
+    }
+
+    @Test
+    void leaseIsRenewedBeforeEveryChunkUntilAShortChunk() {
+        when(schedulerLeaseManager.tryAcquire("job-expiry", 60_000L)).thenReturn(true);
+        when(jobService.closeExpired(any(), eq(3))).thenReturn(3, 3, 1);
+
+        assertThat(processor.run()).isEqualTo(7);
+
+        InOrder order = inOrder(schedulerLeaseManager, jobService);
+        for (int i = 0; i < 3; i++) {
+            order.verify(schedulerLeaseManager).tryAcquire("job-expiry", 60_000L);
+            order.verify(jobService).closeExpired(any(), eq(3));
+        }
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void everyChunkUsesTheCutoffTakenAtTheStartOfThePass() {
+        when(schedulerLeaseManager.tryAcquire("job-expiry", 60_000L)).thenReturn(true);
+        when(jobService.closeExpired(any(), eq(3))).thenReturn(3, 0);
+        LocalDateTime before = LocalDateTime.now();
+
+        processor.run();
+
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobService, times(2)).closeExpired(cutoffs.capture(), eq(3));
+        assertThat(cutoffs.getAllValues().get(0))
+                .isAfterOrEqualTo(before)
+                .isEqualTo(cutoffs.getAllValues().get(1));
+    }
+
+    @Test
+    void anotherNodeHoldingTheLeaseStopsThePass() {
+        when(schedulerLeaseManager.tryAcquire("job-expiry", 60_000L)).thenReturn(false);
+
+        assertThat(processor.run()).isZero();
+        verify(jobService, never()).closeExpired(any(), anyInt());
+
+        // Mất lease giữa lượt: lô đang xử lý đã commit, không chạy lô kế tiếp
+        when(schedulerLeaseManager.tryAcquire("job-expiry", 60_000L)).thenReturn(true, false);
+        when(jobService.closeExpired(any(), eq(3))).thenReturn(3);
+
+        assertThat(processor.run()).isEqualTo(3);
+        verify(jobService, times(1)).closeExpired(any(), eq(3));
+    }
+
+    @Test
+    void passIsCappedAtMaxChunksAndTheLeaseReleasedOnShutdown() {
+        when(schedulerLeaseManager.tryAcquire("job-expiry", 60_000L)).thenReturn(true);
+        when(jobService.closeExpired(any(), eq(3))).thenReturn(3);
+
+        assertThat(processor.run()).isEqualTo(12);
+        verify(jobService, times(4)).closeExpired(any(), eq(3));
+
+        ReflectionTestUtils.invokeMethod(processor, "shutdown");
+        verify(schedulerLeaseManager).release("job-expiry");
+    }
+
+    @Test
+    void disabledProcessorDoesNothing() {
+        ReflectionTestUtils.setField(processor, "enabled", false);
+
+        processor.scheduledRun();
+
+        verify(schedulerLeaseManager, never()).tryAcquire(any(), anyLong());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.crudjob.dto.response.JobFacetsDTO;
+import com.example.crudjob.dto.response.SalaryBandFacetDTO;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.JobFacetCounter;
+
+class JobFacetCounterTest {
+
+    private JobRepository jobRepository;
+    private JobFacetCounter counter;
+    private List<Object[]> table;
+
+    @BeforeEach
+    void setUp() {
+        table = new ArrayList<>();
+        table.add(row(EJobType.Remote, EJobStatus.Open, 999, 2));
+        table.add(row(EJobType.Full_time, EJobStatus.Open, 1000, 1));
+        table.add(row(EJobType.Full_time, EJobStatus.Closed, 10000, 1));
+
+        jobRepository = mock(JobRepository.class);
+        when(jobRepository.countByTypeStatusSalary(isNull())).thenAnswer(inv -> table);
+
+        counter = new JobFacetCounter(jobRepository);
+        ReflectionTestUtils.setField(counter, "salaryBands", new int[] { 10000, 1000, 2000, 5000 });
+        counter.onStartup();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bandsAreSortedAndUpperBoundsBelongToTheNextBand() {
+        JobFacetsDTO facets = counter.snapshot();
+
+        assertThat(facets.getTotal()).isEqualTo(4);
+        assertThat(facets.getBySalaryBand())
+                .extracting(SalaryBandFacetDTO::getMin, SalaryBandFacetDTO::getMax, SalaryBandFacetDTO::getCount)
+                .containsExactly(
+                        tuple(0, 1000, 2L),
+                        tuple(1000, 2000, 1L),
+                        tuple(2000, 5000, 0L),
+                        tuple(5000, 10000, 0L),
+                        tuple(10000, null, 1L));
+        assertThat(facets.getByType()).containsEntry(EJobType.Remote, 2L).containsEntry(EJobType.Part_time, 0L);
+    }
+
+    @Test
+    void deltasAreAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        counter.add(EJobType.Part_time, EJobStatus.Open, 3000);
+        assertThat(counter.snapshot().getTotal()).isEqualTo(4);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        JobFacetsDTO facets = counter.snapshot();
+        assertThat(facets.getTotal()).isEqualTo(5);
+        assertThat(facets.getByType()).containsEntry(EJobType.Part_time, 1L);
+        assertThat(facets.getBySalaryBand().get(2).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkDeltasMoveCountsReadBeforeTheStatement() {
+        when(jobRepository.countByTypeStatusSalary(notNull())).thenReturn(
+                List.<Object[]>of(row(EJobType.Remote, EJobStatus.Open, 999, 2)));
+
+        counter.changeStatusMatching(spec(), EJobStatus.Closed);
+        assertThat(counter.snapshot().getByStatus())
+                .containsEntry(EJobStatus.Open, 1L)
+                .containsEntry(EJobStatus.Closed, 3L);
+
+        counter.moveMatching(spec(), EJobType.Part_time, EJobStatus.Open, 6000);
+        JobFacetsDTO moved = counter.snapshot();
+        assertThat(moved.getByType()).containsEntry(EJobType.Remote, 0L).containsEntry(EJobType.Part_time, 2L);
+        assertThat(moved.getBySalaryBand().get(3).getCount()).isEqualTo(2);
+
+        counter.removeMatching(spec());
+        assertThat(counter.snapshot().getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void driftSeenOnTwoConsecutiveChecksReplacesCountsWithSql() {
+        counter.add(EJobType.Remote, EJobStatus.Open, 500);
+        assertThat(counter.snapshot().getTotal()).isEqualTo(5);
+
+        counter.checkDrift();
+        assertThat(counter.snapshot().getTotal()).isEqualTo(5);
+
+        counter.checkDrift();
+        assertThat(counter.snapshot().getTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void deltaCommittedWhileTheCheckLoadsIsNotLost() {
+        // Ảnh chụp SQL đọc trước khi job mới commit; delta của job đó tới bộ đếm trong lúc load()
+        when(jobRepository.countByTypeStatusSalary(isNull())).thenAnswer(inv -> {
+            List<Object[]> snapshot = new ArrayList<>(table);
+            table.add(row(EJobType.Part_time, EJobStatus.Open, 3000, 1));
+            counter.add(EJobType.Part_time, EJobStatus.Open, 3000);
+            return snapshot;
+        }).thenAnswer(inv -> table);
+
+        counter.checkDrift();
+        counter.checkDrift();
+
+        JobFacetsDTO facets = counter.snapshot();
+        assertThat(facets.getTotal()).isEqualTo(5);
+        assertThat(facets.getByType()).containsEntry(EJobType.Part_time, 1L);
+    }
+
+    private static Specification<Job> spec() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    private static Object[] row(EJobType type, EJobStatus status, int salary, long count) {
+        return new Object[] { type, status, salary, count };
+    }
+}
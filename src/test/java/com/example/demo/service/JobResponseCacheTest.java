@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.dto.response.CachedJobResponseDTO;
+import com.example.crudjob.service.CacheInvalidationBus;
+import com.example.crudjob.service.JobResponseCache;
+
+class JobResponseCacheTest {
+
+    /** 100 byte JSON + 128 byte overhead */
+    private static final long ENTRY_BYTES = 228;
+
+    private CacheInvalidationBus cacheInvalidationBus;
+    private JobResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        cache = new JobResponseCache(cacheInvalidationBus);
+        ReflectionTestUtils.setField(cache, "maxBytes", 2 * ENTRY_BYTES);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void hitReturnsTheStoredEntryWithoutLoading() {
+        CachedJobResponseDTO first = cache.get(1L, () -> entry(1));
+        CachedJobResponseDTO second = cache.get(1L, () -> entry(1));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedByBytes() {
+        cache.get(1L, () -> entry(1));
+        cache.get(2L, () -> entry(2));
+        // Đọc lại 1 → 2 thành entry ít dùng nhất
+        cache.get(1L, () -> entry(1));
+        cache.get(3L, () -> entry(3));
+
+        cache.get(1L, () -> entry(1));
+        cache.get(2L, () -> entry(2));
+
+        assertThat(loads).hasValue(4);
+        assertThat(ReflectionTestUtils.getField(cache, "usedBytes")).isEqualTo(2 * ENTRY_BYTES);
+    }
+
+    @Test
+    void entryLargerThanTheBudgetIsNotCached() {
+        ReflectionTestUtils.setField(cache, "maxBytes", ENTRY_BYTES - 1);
+
+        cache.get(1L, () -> entry(1));
+        cache.get(1L, () -> entry(1));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void entryLoadedDuringAnInvalidationIsNotKept() {
+        cache.get(1L, () -> {
+            // Một lần ghi xảy ra khi đang nạp: giá trị đang nạp có thể đã cũ
+            cache.invalidate(1L);
+            return entry(1);
+        });
+        cache.get(1L, () -> entry(1));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidationIsBroadcastAndRemoteInvalidationClearsEverything() {
+        cache.get(1L, () -> entry(1));
+        cache.invalidate(1L);
+        verify(cacheInvalidationBus).publish(AppConstants.CACHE_BUS_JOB_RESPONSE);
+
+        ReflectionTestUtils.invokeMethod(cache, "registerInvalidation");
+        ArgumentCaptor<Runnable> handler = ArgumentCaptor.forClass(Runnable.class);
+        verify(cacheInvalidationBus).register(eq(AppConstants.CACHE_BUS_JOB_RESPONSE), handler.capture());
+
+        cache.get(2L, () -> entry(2));
+        handler.getValue().run();
+        cache.get(2L, () -> entry(2));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    private CachedJobResponseDTO entry(long id) {
+        loads.incrementAndGet();
+        String json = String.format("{\"id\":%-93d}", id);
+        return new CachedJobResponseDTO(json.getBytes(StandardCharsets.UTF_8), "\"" + id + "-0\"");
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.JobSearchIndex;
+import com.example.crudjob.service.JobSearchIndex.Hit;
+import com.example.crudjob.service.JobSearchIndex.SearchHits;
+import com.example.demo.support.FakeEncryption;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Chỉ mục chạy trên thư mục tạm, không có transaction → index/remove áp dụng ngay
+ */
+class JobSearchIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private JobRepository jobRepository;
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        index = open("test-term-key");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(index, "close");
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        index.index(1, "Kế toán tổng hợp", "Làm việc với Java và Excel");
+        index.index(2, "Java Backend Developer", "Spring Boot, MySQL");
+        index.index(3, "Frontend Developer", "React");
+
+        SearchHits result = index.search("java", 10);
+
+        assertThat(result.totalHits()).isEqualTo(2);
+        assertThat(result.hits()).extracting(Hit::jobId).containsExactly(2L, 1L);
+        // Không phân biệt dấu / hoa thường
+        assertThat(index.search("KE TOAN", 10).hits()).extracting(Hit::jobId).containsExactly(1L);
+    }
+
+    @Test
+    void rareTermsWeighMoreThanCommonOnes() {
+        index.index(1, "Developer", "kubernetes");
+        index.index(2, "Developer", "developer");
+        index.index(3, "Developer", null);
+
+        // "kubernetes" chỉ có ở doc 1 → idf cao hơn "developer" có ở mọi doc
+        assertThat(index.search("developer kubernetes", 10).hits().get(0).jobId()).isEqualTo(1L);
+    }
+
+    @Test
+    void quotedPhraseMustAppearInOrder() throws IOException {
+        index.index(1, "Senior Backend Engineer", null);
+        index.index(2, "Backend Senior Engineer", null);
+        index.flush();
+        index.index(3, "Lead", "We need a senior backend person");
+
+        assertThat(index.search("\"senior backend\"", 10).hits())
+                .extracting(Hit::jobId)
+                .containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("engineer \"backend senior\"", 10).hits())
+                .extracting(Hit::jobId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void updatesAndDeletesHideOldDocsInFlushedSegments() throws IOException {
+        index.index(1, "Golang Developer", null);
+        index.index(2, "Golang Engineer", null);
+        index.flush();
+
+        index.index(1, "Rust Developer", null);
+        index.remove(List.of(2L));
+
+        assertThat(index.search("golang", 10).totalHits()).isZero();
+        assertThat(index.search("rust", 10).hits()).extracting(Hit::jobId).containsExactly(1L);
+
+        index.flush();
+        assertThat(index.search("golang rust developer", 10).hits()).extracting(Hit::jobId).containsExactly(1L);
+    }
+
+    @Test
+    void limitKeepsTheBestHitsButCountsAllMatches() {
+        for (long id = 1; id <= 20; id++) {
+            // Cùng tần suất, doc 7 ngắn nhất → điểm BM25 cao nhất
+            index.index(id, "Engineer " + id, id == 7 ? null : "remote team, flexible hours, health insurance");
+        }
+
+        SearchHits result = index.search("engineer", 3);
+
+        assertThat(result.totalHits()).isEqualTo(20);
+        assertThat(result.hits()).hasSize(3);
+        assertThat(result.hits().get(0).jobId()).isEqualTo(7L);
+    }
+
+    @Test
+    void flushedIndexIsReopenedWithTheSameKeyAndTermsAreHashedOnDisk() throws IOException {
+        index.index(1, "Kubernetes Operator", "Helm charts");
+        index.flush();
+        ReflectionTestUtils.invokeMethod(index, "close");
+
+        index = open("test-term-key");
+        assertThat(ReflectionTestUtils.getField(index, "manifestLoaded")).isEqualTo(true);
+        assertThat(index.search("helm", 10).hits()).extracting(Hit::jobId).containsExactly(1L);
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                assertThat(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1))
+                        .as(file.toString())
+                        .doesNotContain("kubernetes", "helm");
+            }
+        }
+    }
+
+    @Test
+    void differentTermKeyIgnoresTheOldIndex() throws IOException {
+        index.index(1, "Kubernetes Operator", null);
+        index.flush();
+        ReflectionTestUtils.invokeMethod(index, "close");
+
+        index = open("another-term-key");
+
+        // Manifest không khớp khoá → coi như chưa có chỉ mục (lúc khởi động sẽ dựng lại từ DB)
+        assertThat(ReflectionTestUtils.getField(index, "manifestLoaded")).isEqualTo(false);
+        assertThat(index.search("kubernetes", 10).totalHits()).isZero();
+    }
+
+    @Test
+    void compactionMergesSegmentsAndDropsDeletedDocs() throws IOException {
+        ReflectionTestUtils.setField(index, "maxSegments", 1);
+        for (long id = 1; id <= 3; id++) {
+            index.index(id, "Data Engineer " + id, null);
+            index.flush();
+        }
+        index.remove(List.of(2L));
+        index.flush();
+
+        ReflectionTestUtils.invokeMethod(index, "compact");
+
+        assertThat((List<?>) ReflectionTestUtils.getField(index, "segments")).hasSize(1);
+        assertThat(index.search("data engineer", 10).hits())
+                .extracting(Hit::jobId)
+                .containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void rebuildReplacesTheIndexWithDecryptedJobsFromTheDatabase() throws IOException {
+        index.index(99, "Stale Job", null);
+        index.flush();
+        when(jobRepository.streamAll(anyInt())).thenReturn(Stream.of(
+                job(1L, "Backend Engineer", "enc:Java Spring"),
+                job(2L, "Tester", null)));
+
+        ReflectionTestUtils.invokeMethod(index, "rebuild");
+
+        assertThat(index.search("stale", 10).totalHits()).isZero();
+        assertThat(index.search("spring", 10).hits()).extracting(Hit::jobId).containsExactly(1L);
+        assertThat(index.search("tester", 10).hits()).extracting(Hit::jobId).containsExactly(2L);
+    }
+
+    private static Job job(Long id, String title, String description) {
+        return Job.builder()
+                .id(id)
+                .title(title)
+                .company("enc:Acme")
+                .location("enc:Hanoi")
+                .salary(1000)
+                .type(EJobType.Remote)
+                .status(EJobStatus.Open)
+                .description(description)
+                .build();
+    }
+
+    private JobSearchIndex open(String termKey) {
+        JobSearchIndex opened = new JobSearchIndex(
+                jobRepository,
+                FakeEncryption.install(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                JsonMapper.builder().findAndAddModules().build(),
+                Runnable::run);
+        ReflectionTestUtils.setField(opened, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(opened, "enabled", true);
+        ReflectionTestUtils.setField(opened, "indexDirPath", dir.toString());
+        ReflectionTestUtils.setField(opened, "termKey", termKey);
+        ReflectionTestUtils.setField(opened, "flushDocs", 10_000);
+        ReflectionTestUtils.setField(opened, "maxSegments", 8);
+        ReflectionTestUtils.setField(opened, "maxSegmentBytes", 1L << 30);
+        ReflectionTestUtils.setField(opened, "rebuildBatchSize", 16);
+        ReflectionTestUtils.invokeMethod(opened, "open");
+        return opened;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.entity.JobStats;
+import com.example.crudjob.repository.JobStatsRepository;
+import com.example.crudjob.service.JobStatsCounter;
+
+/**
+ * 4 stripe, upsert 7 job mỗi câu; flush ghi thật vào job_stats (H2 chế độ MySQL)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobStatsCounterTest {
+
+    private static final int JOBS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobStatsRepository jobStatsRepository;
+
+    /** Bật để lần flush kế tiếp lỗi như khi mất kết nối DB */
+    private final AtomicBoolean failNextFlush = new AtomicBoolean();
+
+    private JobStatsCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+                if (failNextFlush.getAndSet(false)) {
+                    throw new DataAccessResourceFailureException("Connection refused");
+                }
+                return super.execute(action);
+            }
+        };
+        counter = new JobStatsCounter(jdbcTemplate, transactionTemplate, jobStatsRepository);
+        ReflectionTestUtils.setField(counter, "stripeCount", 4);
+        ReflectionTestUtils.setField(counter, "flushBatchSize", 7);
+        ReflectionTestUtils.invokeMethod(counter, "init");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jobStatsRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentIncrementsAreCountedExactlyBeforeAndAfterFlush() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        long jobId = 1 + i % JOBS;
+                        counter.incrementViews(jobId);
+                        if (i % 5 == 0) {
+                            counter.incrementApplies(jobId);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 8 luồng × 50 lượt xem mỗi job, lượt ứng tuyển ở i % 5 == 0 → job có (id - 1) % 5 == 0
+        assertThat(counter.get(1)).containsExactly(400, 400);
+        assertThat(counter.get(2)).containsExactly(400, 0);
+
+        counter.flush();
+
+        assertThat(jobStatsRepository.count()).isEqualTo(JOBS);
+        assertThat(jobStatsRepository.findAll()).extracting(JobStats::getViewCount).containsOnly(400L);
+        // Đọc sau flush không đếm trùng phần đã lưu
+        assertThat(counter.get(1)).containsExactly(400, 400);
+    }
+
+    @Test
+    void laterFlushesAddToTheStoredRow() {
+        counter.incrementViews(42);
+        counter.flush();
+        counter.incrementViews(42);
+        counter.incrementApplies(42);
+        counter.flush();
+        // Không có delta mới: flush không ghi gì
+        counter.flush();
+
+        JobStats stats = jobStatsRepository.findById(42L).orElseThrow();
+        assertThat(stats.getViewCount()).isEqualTo(2);
+        assertThat(stats.getApplyCount()).isEqualTo(1);
+        assertThat(counter.get(42)).containsExactly(2, 1);
+        assertThat(counter.get(43)).containsExactly(0, 0);
+    }
+
+    @Test
+    void failedFlushPutsTheDeltasBack() {
+        counter.incrementViews(7);
+        counter.incrementApplies(7);
+        failNextFlush.set(true);
+
+        assertThatThrownBy(counter::flush).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(jobStatsRepository.count()).isZero();
+        assertThat(counter.get(7)).containsExactly(1, 1);
+
+        counter.incrementViews(7);
+        counter.flush();
+
+        assertThat(jobStatsRepository.findById(7L))
+                .get()
+                .extracting(JobStats::getViewCount, JobStats::getApplyCount)
+                .containsExactly(2L, 1L);
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.OutboxMessage;
+import com.example.crudjob.entity.OutboxEvent;
+import com.example.crudjob.entity.ProcessingCheckpoint;
+import com.example.crudjob.entity.enums.EOutboxEventType;
+import com.example.crudjob.repository.OutboxEventRepository;
+import com.example.crudjob.repository.ProcessingCheckpointRepository;
+import com.example.crudjob.service.OutboxRelay;
+import com.example.crudjob.service.OutboxService;
+import com.example.crudjob.service.OutboxSink;
+import com.example.crudjob.service.impl.OutboxServiceImpl;
+
+/**
+ * Relay chạy với hai sink ghi nhận batch, batch-size = 2, chờ khoảng trống id tối đa 60s.
+ * Không bọc test trong transaction: relay tự mở transaction cho từng batch.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Import({ OutboxServiceImpl.class, JacksonAutoConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ProcessingCheckpointRepository processingCheckpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private RecordingSink first;
+    private RecordingSink second;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        first = new RecordingSink("first");
+        second = new RecordingSink("second");
+        relay = new OutboxRelay(
+                outboxEventRepository,
+                processingCheckpointRepository,
+                jdbcTemplate,
+                transactionTemplate,
+                List.of(first, second));
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "deleteBatchSize", 2);
+        ReflectionTestUtils.setField(relay, "gapGraceMs", 60_000L);
+        // Id bắt đầu lại từ 1: offset 0 của checkpoint mới liền mạch với sự kiện đầu tiên
+        jdbcTemplate.execute("alter table outbox_event alter column id restart with 1");
+        relay.ensureCheckpoints();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from processing_checkpoint where name like 'outbox:%'");
+    }
+
+    @Test
+    void recordJoinsTheBusinessTransaction() {
+        assertThatThrownBy(() -> outboxService.record(EOutboxEventType.JOB_CREATED, "1", Map.of("id", 1)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.record(EOutboxEventType.JOB_CREATED, "1", Map.of("id", 1));
+            status.setRollbackOnly();
+        });
+        assertThat(outboxEventRepository.count()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> outboxService.recordAll(
+                EOutboxEventType.JOB_DELETED, Map.of("2", Map.of("id", 2), "3", Map.of("id", 3))));
+        assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getAggregateType, OutboxEvent::getEventType)
+                .containsOnly(tuple("JOB", EOutboxEventType.JOB_DELETED));
+        assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getPayload)
+                .containsExactlyInAnyOrder("{\"id\":2}", "{\"id\":3}");
+    }
+
+    @Test
+    void eventsAreDeliveredInIdOrderThenPurged() {
+        record(3);
+        relay.relay();
+
+        for (RecordingSink sink : List.of(first, second)) {
+            assertThat(sink.batches).extracting(List::size).containsExactly(2, 1);
+            assertThat(sink.ids()).containsExactly(1L, 2L, 3L);
+        }
+        assertThat(processingCheckpointRepository.findById("outbox:first"))
+                .get()
+                .extracting(ProcessingCheckpoint::getLastId)
+                .isEqualTo(3L);
+        assertThat(outboxEventRepository.count()).isZero();
+
+        record(1);
+        relay.relay();
+        assertThat(first.ids()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void lowerIdCommittingAfterAHigherIdIsNotSkipped() throws Exception {
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread slowWriter = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            outboxService.record(EOutboxEventType.JOB_CREATED, "slow", Map.of("title", "Slow"));
+            recorded.countDown();
+            await(commit);
+        }));
+        slowWriter.start();
+        recorded.await();
+
+        // Id 1 đang trong transaction chưa commit, id 2 đã commit; writer chậm giữ transaction qua nhiều chu kỳ
+        record(1);
+        relay.relay();
+        relay.relay();
+
+        assertThat(first.ids()).isEmpty();
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        commit.countDown();
+        slowWriter.join();
+        relay.relay();
+
+        for (RecordingSink sink : List.of(first, second)) {
+            assertThat(sink.ids()).containsExactly(1L, 2L);
+            assertThat(sink.batches.get(0))
+                    .extracting(OutboxMessage::getAggregateId)
+                    .containsExactly("slow", "job");
+        }
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void gapLeftByARolledBackWriterIsSkippedAfterTheGracePeriod() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.record(EOutboxEventType.JOB_CREATED, "rolled-back", Map.of("title", "Gone"));
+            status.setRollbackOnly();
+        });
+        record(1);
+        ReflectionTestUtils.setField(relay, "gapGraceMs", 200L);
+
+        relay.relay();
+        assertThat(first.ids()).isEmpty();
+
+        Thread.sleep(300);
+        relay.relay();
+
+        assertThat(first.ids()).containsExactly(2L);
+        assertThat(second.ids()).containsExactly(2L);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void failingSinkIsRetriedWithoutBlockingOthersAndHoldsBackThePurge() {
+        record(2);
+        second.failing = true;
+
+        relay.relay();
+
+        assertThat(first.ids()).hasSize(2);
+        assertThat(second.ids()).isEmpty();
+        assertThat(processingCheckpointRepository.findById("outbox:second"))
+                .get()
+                .extracting(ProcessingCheckpoint::getLastId)
+                .isEqualTo(0L);
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+
+        second.failing = false;
+        relay.relay();
+
+        assertThat(second.ids()).isEqualTo(first.ids());
+        assertThat(first.ids()).hasSize(2);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void record(int count) {
+        for (int i = 0; i < count; i++) {
+            transactionTemplate.executeWithoutResult(
+                    status -> outboxService.record(EOutboxEventType.JOB_CREATED, "job", Map.of("title", "Engineer")));
+        }
+    }
+
+    private static final class RecordingSink implements OutboxSink {
+
+        private final String name;
+        private final List<List<OutboxMessage>> batches = new ArrayList<>();
+        private volatile boolean failing;
+
+        private RecordingSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void deliver(List<OutboxMessage> messages) throws Exception {
+            if (failing) {
+                throw new IOException("Sink unavailable");
+            }
+            batches.add(messages);
+        }
+
+        private List<Long> ids() {
+            return batches.stream().flatMap(List::stream).map(OutboxMessage::getId).toList();
+        }
+    }
+}
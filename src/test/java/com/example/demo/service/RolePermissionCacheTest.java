@@ -0,0 +1,206 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.config.HibernateCacheConfig;
+import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.dto.request.PermissionRequestDTO;
+import com.example.crudjob.dto.response.CacheRegionStatsDTO;
+import com.example.crudjob.entity.Permission;
+import com.example.crudjob.entity.Role;
+import com.example.crudjob.entity.enums.ERole;
+import com.example.crudjob.repository.PermissionRepository;
+import com.example.crudjob.repository.RoleRepository;
+import com.example.crudjob.service.CacheInvalidationBus;
+import com.example.crudjob.service.RolePermissionCache;
+import com.example.crudjob.service.impl.PermissionServiceImpl;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cache cấp 2 (entity, collection role_permission, query cache) của Role / Permission.
+ * Số câu SQL đã gửi (Statistics.getPrepareStatementCount) cho biết lần đọc có xuống DB hay không.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Import({ HibernateCacheConfig.class, RolePermissionCache.class, PermissionServiceImpl.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RolePermissionCacheTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RolePermissionCache rolePermissionCache;
+
+    @Autowired
+    private PermissionServiceImpl permissionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private Role role;
+    private Permission apply;
+    private Permission create;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+
+        apply = permissionRepository.save(permission("Apply to a job", "/api/jobs/{id}/apply", "POST"));
+        create = permissionRepository.save(permission("Create a job", "/api/jobs", "POST"));
+        Role user = new Role();
+        user.setName(ERole.ROLE_USER);
+        user.setPermissions(Set.of(apply, create));
+        role = roleRepository.save(user);
+
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        roleRepository.deleteAll();
+        permissionRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void repeatedRoleAndPermissionReadsAreServedWithoutSql() {
+        assertThat(permissionNamesOfUserRole()).containsExactlyInAnyOrder("Apply to a job", "Create a job");
+        assertThat(permissionRepository.findAll()).hasSize(2);
+        long statements = statistics.getPrepareStatementCount();
+
+        // Lần đọc sau: query cache → id, entity / collection cache → dữ liệu
+        assertThat(permissionNamesOfUserRole()).containsExactlyInAnyOrder("Apply to a job", "Create a job");
+        assertThat(permissionRepository.findAll()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+
+        assertThat(region(AppConstants.CACHE_ROLE_QUERY).getHitCount()).isEqualTo(1);
+        assertThat(region(AppConstants.CACHE_PERMISSION_QUERY).getHitCount()).isEqualTo(1);
+        assertThat(region(AppConstants.CACHE_ROLE_PERMISSIONS).getHitCount()).isPositive();
+        assertThat(region(AppConstants.CACHE_ROLE_QUERY).getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void evictionWaitsForCommitAndIsSkippedOnRollback() {
+        permissionNamesOfUserRole();
+        assertThat(sessionFactory.getCache().containsEntity(Role.class, role.getId())).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            rolePermissionCache.evictAll();
+            status.setRollbackOnly();
+        });
+        assertThat(sessionFactory.getCache().containsEntity(Role.class, role.getId())).isTrue();
+        verify(cacheInvalidationBus, never()).publish(any());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            rolePermissionCache.evictAll();
+            // Chưa commit: transaction khác vẫn đọc được cache
+            assertThat(sessionFactory.getCache().containsEntity(Role.class, role.getId())).isTrue();
+        });
+        assertThat(sessionFactory.getCache().containsEntity(Role.class, role.getId())).isFalse();
+        assertThat(sessionFactory.getCache().containsCollection(
+                Role.class.getName() + ".permissions", role.getId())).isFalse();
+        verify(cacheInvalidationBus).publish(AppConstants.CACHE_BUS_AUTH);
+    }
+
+    @Test
+    void permissionWriteEvictsAndIsPublishedToOtherInstances() {
+        permissionNamesOfUserRole();
+
+        PermissionRequestDTO dto = new PermissionRequestDTO();
+        dto.setName("Apply to a job (v2)");
+        dto.setApiPath("/api/jobs/{id}/apply");
+        dto.setMethod("POST");
+        permissionService.update(apply.getId(), dto);
+
+        assertThat(sessionFactory.getCache().containsEntity(Role.class, role.getId())).isFalse();
+        verify(cacheInvalidationBus).publish(AppConstants.CACHE_BUS_AUTH);
+        assertThat(permissionNamesOfUserRole()).containsExactlyInAnyOrder("Apply to a job (v2)", "Create a job");
+    }
+
+    @Test
+    void invalidationFromAnotherInstanceDropsTheStaleCollection() {
+        ArgumentCaptor<Runnable> handler = ArgumentCaptor.forClass(Runnable.class);
+        verify(cacheInvalidationBus).register(eq(AppConstants.CACHE_BUS_AUTH), handler.capture());
+        permissionNamesOfUserRole();
+
+        // Instance khác gỡ quyền khỏi role, cache cục bộ chưa biết
+        jdbcTemplate.update("delete from role_permission where role_id = ? and permission_id = ?",
+                role.getId(), create.getId());
+        assertThat(permissionNamesOfUserRole()).contains("Create a job");
+
+        // Bus đọc được version mới của region "auth" → gọi handler đã đăng ký
+        handler.getValue().run();
+        assertThat(permissionNamesOfUserRole()).containsExactly("Apply to a job");
+        verify(cacheInvalidationBus, never()).publish(any());
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private Set<String> permissionNamesOfUserRole() {
+        return transactionTemplate.execute(status -> roleRepository.findByName(ERole.ROLE_USER)
+                .orElseThrow()
+                .getPermissions()
+                .stream()
+                .map(Permission::getName)
+                .collect(Collectors.toSet()));
+    }
+
+    private CacheRegionStatsDTO region(String name) {
+        return rolePermissionCache.statistics().stream()
+                .filter(stats -> stats.getRegion().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Permission permission(String name, String apiPath, String method) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        permission.setApiPath(apiPath);
+        permission.setMethod(method);
+        return permission;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.dto.response.BalanceRebuildResultDTO;
+import com.example.crudjob.entity.TransactionHistory;
+import com.example.crudjob.exception.TransferException;
+import com.example.crudjob.repository.AccountBalanceRepository;
+import com.example.crudjob.repository.TransactionHistoryRepository;
+import com.example.crudjob.service.AccountHashService;
+import com.example.crudjob.service.AccountLockManager;
+import com.example.crudjob.service.HistoryArchiveStore;
+import com.example.crudjob.service.impl.AccountBalanceServiceImpl;
+
+import jakarta.persistence.EntityManager;
+
+class AccountBalanceServiceImplTest {
+
+    private AccountBalanceRepository accountBalanceRepository;
+    private TransactionHistoryRepository transactionHistoryRepository;
+    private AccountHashService accountHashService;
+    private AccountLockManager accountLockManager;
+    private AccountBalanceServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        accountBalanceRepository = mock(AccountBalanceRepository.class);
+        transactionHistoryRepository = mock(TransactionHistoryRepository.class);
+        HistoryArchiveStore historyArchiveStore = mock(HistoryArchiveStore.class);
+
+        accountHashService = new AccountHashService();
+        ReflectionTestUtils.setField(accountHashService, "secret", "test-secret");
+        accountHashService.init();
+
+        accountLockManager = new AccountLockManager();
+        ReflectionTestUtils.setField(accountLockManager, "stripeCount", 16);
+        ReflectionTestUtils.setField(accountLockManager, "lockTimeoutMs", 100L);
+        accountLockManager.init();
+
+        service = new AccountBalanceServiceImpl(
+                accountBalanceRepository,
+                transactionHistoryRepository,
+                accountHashService,
+                historyArchiveStore,
+                accountLockManager,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+
+        when(accountBalanceRepository.lockAllRows()).thenReturn(List.of());
+    }
+
+    @Test
+    void rebuildLocksProjectionBeforeReadingHistoryAndSumsPerAccount() {
+        LocalDateTime t1 = LocalDateTime.of(2026, 1, 1, 10, 0);
+        LocalDateTime t2 = t1.plusHours(1);
+        when(transactionHistoryRepository.streamAllOrderById()).thenReturn(Stream.of(
+                row("A", "100.00", "0", t1),
+                row("B", "0", "100.00", t1),
+                row("A", "25.00", "0", t2)));
+
+        BalanceRebuildResultDTO result = service.rebuildFromHistory();
+
+        assertThat(result.getRowsScanned()).isEqualTo(3);
+        assertThat(result.getAccounts()).isEqualTo(2);
+
+        InOrder order = inOrder(accountBalanceRepository, transactionHistoryRepository);
+        order.verify(accountBalanceRepository).lockAllRows();
+        order.verify(transactionHistoryRepository).streamAllOrderById();
+        order.verify(accountBalanceRepository).deleteAllRows();
+        order.verify(accountBalanceRepository).applyDelta(
+                eq(accountHashService.hash("A")), eq(new BigDecimal("125.00")), eq(new BigDecimal("0")), eq(2L), eq(t2));
+    }
+
+    @Test
+    void transfersAreBlockedWhileRebuildRunsAndResumeAfter() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionHistoryRepository.streamAllOrderById()).thenAnswer(inv -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.empty();
+        });
+
+        CompletableFuture<BalanceRebuildResultDTO> rebuild = CompletableFuture.supplyAsync(service::rebuildFromHistory);
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> accountLockManager.lockPair("source", "target"))
+                .isInstanceOf(TransferException.class);
+
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        accountLockManager.lockPair("source", "target").unlock();
+    }
+
+    @Test
+    void rebuildWaitsForInFlightTransfer() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> inFlight = CompletableFuture.runAsync(() -> {
+            AccountLockManager.PairLock lock = accountLockManager.lockPair("source", "target");
+            locked.countDown();
+            try {
+                commit.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(service::rebuildFromHistory).isInstanceOf(TransferException.class);
+        verifyNoInteractions(transactionHistoryRepository);
+
+        commit.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        when(transactionHistoryRepository.streamAllOrderById()).thenReturn(Stream.empty());
+
+        assertThat(service.rebuildFromHistory().getRowsScanned()).isZero();
+    }
+
+    private TransactionHistory row(String account, String debit, String credit, LocalDateTime time) {
+        TransactionHistory row = new TransactionHistory();
+        row.setTransactionId("TXN");
+        row.setAccount(account);
+        row.setInDebt(new BigDecimal(debit));
+        row.setHave(new BigDecimal(credit));
+        row.setTransactionTime(time);
+        return row;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.crudjob.controller.JobController;
+import com.example.crudjob.entity.enums.EJobEventType;
+import com.example.crudjob.service.IJobExportService;
+import com.example.crudjob.service.IJobImportService;
+import com.example.crudjob.service.IJobService;
+import com.example.crudjob.service.IJobStatsService;
+import com.example.crudjob.service.impl.JobEventServiceImpl;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Đi qua GET /api/jobs/stream để đọc đúng dữ liệu SSE ghi ra response.
+ * Executor chạy đồng bộ → sự kiện có trong response ngay sau publish.
+ */
+class JobEventServiceImplTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)\nevent:(\\w+)");
+
+    private JobEventServiceImpl service;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        service = new JobEventServiceImpl(JsonMapper.builder().findAndAddModules().build(), Runnable::run);
+        ReflectionTestUtils.setField(service, "bufferSize", 3);
+        ReflectionTestUtils.setField(service, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(service, "emitterTimeoutMs", 60_000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new JobController(
+                        mock(IJobService.class),
+                        mock(IJobImportService.class),
+                        mock(IJobExportService.class),
+                        service,
+                        mock(IJobStatsService.class)))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    @Test
+    void eventIsSentOnlyAfterTheTransactionCommits() throws Exception {
+        MvcResult stream = subscribe(get("/api/jobs/stream"));
+        assertThat(body(stream)).contains(":heartbeat");
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.publish(EJobEventType.DELETED, List.of(5L, 6L), null);
+        assertThat(events(stream)).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(events(stream)).extracting(e -> e[1]).containsExactly("DELETED");
+        assertThat(body(stream)).contains("\"jobIds\":[5,6]").doesNotContain("\"job\":");
+    }
+
+    @Test
+    void lastEventIdReplaysOnlyTheMissedEvents() throws Exception {
+        MvcResult first = subscribe(get("/api/jobs/stream"));
+        service.publish(EJobEventType.CREATED, List.of(1L), null);
+        service.publish(EJobEventType.UPDATED, List.of(1L), null);
+        service.publish(EJobEventType.DELETED, List.of(1L), null);
+        String createdId = events(first).get(0)[0];
+
+        MvcResult resumed = subscribe(get("/api/jobs/stream").header("Last-Event-ID", createdId));
+
+        assertThat(events(resumed)).extracting(e -> e[1]).containsExactly("UPDATED", "DELETED");
+        assertThat(events(resumed)).extracting(e -> e[0]).isEqualTo(
+                events(first).subList(1, 3).stream().map(e -> e[0]).toList());
+    }
+
+    @Test
+    void lastEventIdOutsideTheBufferOrFromAnotherRunGetsReset() throws Exception {
+        MvcResult first = subscribe(get("/api/jobs/stream"));
+        service.publish(EJobEventType.CREATED, List.of(1L), null);
+        String createdId = events(first).get(0)[0];
+        // Buffer giữ 3 sự kiện → sự kiện sau createdId đã bị ghi đè
+        for (long id = 2; id <= 5; id++) {
+            service.publish(EJobEventType.CREATED, List.of(id), null);
+        }
+
+        MvcResult tooOld = subscribe(get("/api/jobs/stream").header("Last-Event-ID", createdId));
+        assertThat(events(tooOld)).extracting(e -> e[1]).containsExactly("RESET");
+
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+        MvcResult otherRun = subscribe(get("/api/jobs/stream").header("Last-Event-ID", "0-1"));
+        assertThat(events(otherRun)).extracting(e -> e[1]).containsExactly("RESET");
+    }
+
+    @Test
+    void connectionLimitIsServiceUnavailableWithRetryAfter() throws Exception {
+        subscribe(get("/api/jobs/stream"));
+        subscribe(get("/api/jobs/stream"));
+
+        mockMvc.perform(get("/api/jobs/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+    }
+
+    private MvcResult subscribe(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Accel-Buffering", "no"))
+                .andReturn();
+    }
+
+    private static String body(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    /** [id, tên sự kiện] theo thứ tự gửi */
+    private static List<String[]> events(MvcResult result) throws Exception {
+        Matcher matcher = EVENT_ID.matcher(body(result));
+        List<String[]> events = new ArrayList<>();
+        while (matcher.find()) {
+            events.add(new String[] { matcher.group(1), matcher.group(2) });
+        }
+        return events;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.impl.JobExportServiceImpl;
+import com.example.demo.support.FakeEncryption;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Export chạy trong transaction của test (stream cần transaction mở), batch-size = 2
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+class JobExportServiceImplTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private ExecutorService cryptoExecutor;
+    private JobExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        cryptoExecutor = Executors.newFixedThreadPool(4);
+        service = new JobExportServiceImpl(jobRepository, FakeEncryption.install(), objectMapper, cryptoExecutor);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "fetchSize", 100);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+
+        for (int i = 1; i <= 5; i++) {
+            jobRepository.save(job("Engineer " + i, i % 2 == 0 ? null : "enc:About " + i));
+        }
+        jobRepository.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cryptoExecutor.shutdownNow();
+    }
+
+    @Test
+    void writesOneDecryptedJobPerLineInIdOrderAcrossBatches() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(service.exportNdjson(false, out)).isEqualTo(5);
+
+        List<JobResponseDTO> jobs = parse(out.toString(StandardCharsets.UTF_8));
+        assertThat(jobs).extracting(JobResponseDTO::getTitle)
+                .containsExactly("Engineer 1", "Engineer 2", "Engineer 3", "Engineer 4", "Engineer 5");
+        assertThat(jobs).extracting(JobResponseDTO::getId).isSorted();
+        assertThat(jobs.get(0).getCompany()).isEqualTo("Acme");
+        assertThat(jobs.get(0).getDescription()).isEqualTo("About 1");
+        assertThat(jobs.get(1).getDescription()).isNull();
+
+        // Giải mã vào DTO, entity trong DB vẫn là ciphertext
+        assertThat(jobRepository.findAll()).extracting(Job::getCompany).containsOnly("enc:Acme");
+    }
+
+    @Test
+    void gzipOutputDecompressesToTheSameLines() throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+
+        service.exportNdjson(false, plain);
+        service.exportNdjson(true, gzip);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.toByteArray());
+        }
+    }
+
+    @Test
+    void clientDisconnectStopsTheExportWithTheIoError() {
+        // > 64KB để lỗi ghi xảy ra giữa chừng (khi buffer đầy), không phải ở lần flush cuối
+        for (int i = 0; i < 100; i++) {
+            jobRepository.save(job("Bulk " + i, "enc:" + "x".repeat(1000)));
+        }
+        jobRepository.flush();
+        entityManager.clear();
+
+        AtomicInteger writes = new AtomicInteger();
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                writes.incrementAndGet();
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writes.incrementAndGet();
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service.exportNdjson(false, broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        // Dừng ngay ở lần ghi lỗi đầu tiên, không đọc tiếp cursor
+        assertThat(writes).hasValue(1);
+    }
+
+    private List<JobResponseDTO> parse(String ndjson) {
+        return ndjson.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, JobResponseDTO.class);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private static Job job(String title, String description) {
+        return Job.builder()
+                .title(title)
+                .company("enc:Acme")
+                .location("enc:Hanoi")
+                .salary(1000)
+                .type(EJobType.Remote)
+                .status(EJobStatus.Open)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.response.JobImportErrorDTO;
+import com.example.crudjob.dto.response.JobImportResultDTO;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.entity.enums.EOutboxEventType;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.IJobEventService;
+import com.example.crudjob.service.JobCountCache;
+import com.example.crudjob.service.JobFacetCounter;
+import com.example.crudjob.service.JobSearchIndex;
+import com.example.crudjob.service.OutboxService;
+import com.example.crudjob.service.impl.JobImportServiceImpl;
+import com.example.demo.support.FakeEncryption;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validation;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobImportServiceImplTest {
+
+    private static final String HEADER = "﻿Title,company,location,salary,type,status,description,expires_at\n";
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private JobSearchIndex jobSearchIndex;
+    private OutboxService outboxService;
+    private IJobEventService jobEventService;
+    private JobImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        jobSearchIndex = mock(JobSearchIndex.class);
+        outboxService = mock(OutboxService.class);
+        jobEventService = mock(IJobEventService.class);
+
+        service = new JobImportServiceImpl(
+                jobRepository,
+                FakeEncryption.install(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                JsonMapper.builder().findAndAddModules().build(),
+                new TransactionTemplate(transactionManager),
+                Runnable::run,
+                mock(JobCountCache.class),
+                mock(JobFacetCounter.class),
+                jobSearchIndex,
+                jobEventService,
+                outboxService);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxErrors", 1000);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jobRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void csvRowsAreValidatedPerRowAndSavedInChunks() throws IOException {
+        String csv = HEADER
+                + "Backend Engineer,\"Acme, Inc.\",Hanoi,1500,Full_time,Open,\"Java, \"\"Spring\"\"\",2026-12-31T23:59:59\n"
+                + "Data Engineer,Beta,HCMC,abc,Full_time,Open,,\n"
+                + "QA Engineer,Gamma,Danang,900,Contract,Open,,\n"
+                + "Go,Delta,Hue,800,Remote,Open,,\n"
+                + "\n"
+                + "Frontend Engineer,Epsilon,Hanoi,1200,Remote,Closed,,\n"
+                + "Mobile Engineer,Zeta,Hanoi,1300,Part_time,Open,,not-a-date\n"
+                + "DevOps Engineer,Eta,Hanoi,2000,Full_time,Open,,\n";
+
+        JobImportResultDTO result = service.importJobs(file("jobs.csv", "text/csv", csv));
+
+        assertThat(result.getTotalRows()).isEqualTo(7);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(JobImportErrorDTO::getRow).containsExactly(2L, 3L, 4L, 6L);
+        assertThat(result.getErrors().get(0).getMessages()).containsExactly("salary: must be an integer");
+        assertThat(result.getErrors().get(2).getMessages()).singleElement().asString().startsWith("title:");
+
+        List<Job> saved = jobRepository.findAll();
+        assertThat(saved).extracting(Job::getTitle)
+                .containsExactlyInAnyOrder("Backend Engineer", "Frontend Engineer", "DevOps Engineer");
+        Job backend = saved.stream().filter(j -> j.getTitle().equals("Backend Engineer")).findFirst().orElseThrow();
+        // Cột nhạy cảm được mã hoá, dấu phẩy / ngoặc kép trong ô CSV được giữ nguyên
+        assertThat(backend.getCompany()).isEqualTo("enc:Acme, Inc.");
+        assertThat(backend.getDescription()).isEqualTo("enc:Java, \"Spring\"");
+        assertThat(backend.getType()).isEqualTo(EJobType.Full_time);
+
+        // 3 dòng hợp lệ, chunk-size = 2 → 2 lần ghi
+        verify(outboxService, times(2)).recordAll(eq(EOutboxEventType.JOB_CREATED), anyMap());
+        verify(jobSearchIndex).index(backend.getId(), "Backend Engineer", "Java, \"Spring\"");
+    }
+
+    @Test
+    void ndjsonReportsMalformedLinesAndSkipsBlankOnes() throws IOException {
+        String ndjson = """
+                {"title":"Backend Engineer","company":"Acme","location":"Hanoi","salary":1500,"type":"Full_time","status":"Open"}
+
+                {"title":"Broken",
+                {"title":"Data Engineer","company":"Beta","location":"HCMC","salary":900,"type":"Remote","status":"Closed"}
+                """;
+
+        JobImportResultDTO result = service.importJobs(file("jobs.ndjson", "application/x-ndjson", ndjson));
+
+        assertThat(result.getTotalRows()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2);
+            assertThat(error.getMessages()).singleElement().asString().startsWith("Invalid JSON");
+        });
+        assertThat(jobRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void failedChunkIsRolledBackAndReportedWhileOtherChunksAreKept() throws IOException {
+        doThrow(new IllegalStateException("outbox unavailable"))
+                .doNothing()
+                .when(outboxService).recordAll(any(), anyMap());
+
+        String csv = HEADER
+                + "Backend Engineer,Acme,Hanoi,1500,Full_time,Open,,\n"
+                + "Data Engineer,Beta,HCMC,900,Remote,Open,,\n"
+                + "QA Engineer,Gamma,Danang,900,Remote,Open,,\n";
+
+        JobImportResultDTO result = service.importJobs(file("jobs.csv", "text/csv", csv));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(JobImportErrorDTO::getRow).containsExactly(1L, 2L);
+        assertThat(result.getErrors().get(0).getMessages().get(0)).contains("outbox unavailable");
+        assertThat(jobRepository.findAll()).extracting(Job::getTitle).containsExactly("QA Engineer");
+    }
+
+    @Test
+    void rejectsUnknownFileTypesAndMissingColumns() {
+        assertThatThrownBy(() -> service.importJobs(file("jobs.xlsx", "application/octet-stream", "x")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.importJobs(file("jobs.csv", "text/csv", "title,company\nA,B\n")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("location");
+    }
+
+    private static MockMultipartFile file(String name, String contentType, String content) {
+        return new MockMultipartFile("file", name, contentType, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
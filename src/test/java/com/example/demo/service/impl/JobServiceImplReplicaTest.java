@@ -0,0 +1,151 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.config.DataSourceRoutingConfig;
+import com.example.crudjob.dto.request.JobRequestDTO;
+import com.example.crudjob.dto.response.CachedJobResponseDTO;
+import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.CacheInvalidationBus;
+import com.example.crudjob.service.EncryptionService;
+import com.example.crudjob.service.IJobEventService;
+import com.example.crudjob.service.JobCountCache;
+import com.example.crudjob.service.JobFacetCounter;
+import com.example.crudjob.service.JobResponseCache;
+import com.example.crudjob.service.JobSearchIndex;
+import com.example.crudjob.service.OutboxService;
+import com.example.crudjob.service.impl.JobServiceImpl;
+import com.example.crudjob.utils.JobETag;
+import com.example.demo.support.FakeEncryption;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JobServiceImpl chạy trên DataSourceRoutingConfig với hai DB H2: primary và một replica.
+ * Bảng jobs được chép sang replica (giả lập replication) rồi primary được sửa tiếp
+ * → replica đang trễ, giá trị đọc được cho biết câu đọc đi DB nào.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "NON_KEYWORDS=VALUE,YEAR,MONTH,DAY,HOUR;DB_CLOSE_DELAY=-1",
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.urls=" + JobServiceImplReplicaTest.REPLICA_URL,
+        "datasource.replicas.lag-query="
+})
+@Import({
+        DataSourceRoutingConfig.class,
+        JobServiceImpl.class,
+        JobCountCache.class,
+        JobFacetCounter.class,
+        JobResponseCache.class,
+        JacksonAutoConfiguration.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobServiceImplReplicaTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JobServiceImpl service;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EncryptionService encryptionService;
+
+    @MockBean
+    private JobSearchIndex jobSearchIndex;
+
+    @MockBean
+    private IJobEventService jobEventService;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        FakeEncryption.install(encryptionService);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jobRepository.deleteAllInBatch();
+        replica.execute("drop table if exists jobs");
+    }
+
+    @Test
+    void cacheIsFilledFromThePrimaryWhileReadOnlyReadsUseTheLaggingReplica() throws Exception {
+        JobResponseDTO job = service.create(request("Backend Engineer"));
+        replicate();
+        JobResponseDTO updated = service.update(job.getId(), request("Backend Lead"), job.getVersion());
+
+        // Đọc read-only: replica, chưa thấy bản sửa
+        assertThat(service.getById(job.getId()).getTitle()).isEqualTo("Backend Engineer");
+
+        // Nạp cache: primary → bản mới nhất và ETag đúng version
+        CachedJobResponseDTO cached = service.getCachedById(job.getId());
+        JobResponseDTO body = objectMapper.readValue(cached.getJson(), JobResponseDTO.class);
+        assertThat(body.getTitle()).isEqualTo("Backend Lead");
+        assertThat(body.getCompany()).isEqualTo("Acme");
+        assertThat(cached.getEtag()).isEqualTo(JobETag.of(job.getId(), updated.getVersion()));
+
+        // Giải mã vào DTO: transaction nạp cache là transaction ghi, entity bị sửa sẽ được flush xuống DB
+        assertThat(new JdbcTemplate(primaryDataSource).queryForObject(
+                "select company from jobs where id = ?", String.class, job.getId()))
+                .isEqualTo("enc:Acme");
+    }
+
+    /**
+     * Chép bảng jobs của primary sang replica
+     */
+    private void replicate() {
+        replica.execute("drop table if exists jobs");
+        List<String> script = new JdbcTemplate(primaryDataSource)
+                .queryForList("script nopasswords nosettings table jobs", String.class);
+        script.forEach(replica::execute);
+    }
+
+    private static JobRequestDTO request(String title) {
+        return new JobRequestDTO(title, "Acme", "Hanoi", 1500, EJobType.Full_time, EJobStatus.Open, null, null);
+    }
+}
@@ -0,0 +1,506 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.constant.AppConstants;
+import com.example.crudjob.dto.request.JobBulkDeleteRequestDTO;
+import com.example.crudjob.dto.request.JobBulkUpdateRequestDTO;
+import com.example.crudjob.dto.request.JobFilterDTO;
+import com.example.crudjob.dto.request.JobPatchDTO;
+import com.example.crudjob.dto.request.JobRequestDTO;
+import com.example.crudjob.dto.response.CachedJobResponseDTO;
+import com.example.crudjob.dto.response.CursorPageResponseDTO;
+import com.example.crudjob.dto.response.JobFacetsDTO;
+import com.example.crudjob.dto.response.JobResponseDTO;
+import com.example.crudjob.dto.response.SalaryBandFacetDTO;
+import com.example.crudjob.entity.Job;
+import com.example.crudjob.entity.enums.EJobEventType;
+import com.example.crudjob.entity.enums.EJobField;
+import com.example.crudjob.entity.enums.EJobSort;
+import com.example.crudjob.entity.enums.EJobStatus;
+import com.example.crudjob.entity.enums.EJobType;
+import com.example.crudjob.entity.enums.EJobView;
+import com.example.crudjob.entity.enums.EOutboxEventType;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.exception.ConflictException;
+import com.example.crudjob.exception.ResourceNotFoundException;
+import com.example.crudjob.repository.JobRepository;
+import com.example.crudjob.service.CacheInvalidationBus;
+import com.example.crudjob.service.EncryptionService;
+import com.example.crudjob.service.IJobEventService;
+import com.example.crudjob.service.JobCountCache;
+import com.example.crudjob.service.JobFacetCounter;
+import com.example.crudjob.service.JobResponseCache;
+import com.example.crudjob.service.JobSearchIndex;
+import com.example.crudjob.service.OutboxService;
+import com.example.crudjob.service.impl.JobServiceImpl;
+import com.example.crudjob.utils.CursorCodec;
+import com.example.crudjob.utils.JobETag;
+import com.example.demo.support.FakeEncryption;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JobServiceImpl trên H2: mỗi lời gọi service commit transaction riêng
+ * (các delta facet / xoá cache chạy sau commit như khi chạy thật)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Import({
+        JobServiceImpl.class,
+        JobCountCache.class,
+        JobFacetCounter.class,
+        JobResponseCache.class,
+        JacksonAutoConfiguration.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobServiceImplTest {
+
+    @Autowired
+    private JobServiceImpl service;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobFacetCounter jobFacetCounter;
+
+    @Autowired
+    private JobCountCache jobCountCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EncryptionService encryptionService;
+
+    @MockBean
+    private JobSearchIndex jobSearchIndex;
+
+    @MockBean
+    private IJobEventService jobEventService;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        FakeEncryption.install(encryptionService);
+        jobRepository.deleteAllInBatch();
+        // Bean dùng chung giữa các test: bỏ tổng đã cache, đếm lại facet từ bảng vừa xoá
+        jobCountCache.invalidateAll();
+        jobFacetCounter.onStartup();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jobRepository.deleteAllInBatch();
+    }
+
+    /* ================= BULK (user-035) ================= */
+
+    @Test
+    void bulkUpdateChangesEveryMatchingRowInOneStatement() {
+        JobResponseDTO a = create("Backend Engineer", 1500, EJobType.Full_time, EJobStatus.Open);
+        JobResponseDTO b = create("Data Engineer", 2500, EJobType.Full_time, EJobStatus.Open);
+        JobResponseDTO c = create("QA Engineer", 800, EJobType.Remote, EJobStatus.Open);
+
+        JobPatchDTO patch = new JobPatchDTO();
+        patch.setStatus(EJobStatus.Closed);
+        patch.setCompany("Acme");
+
+        // Điều kiện lọc dựa trên chính field bị đổi: id phải được lấy trước UPDATE
+        JobFilterDTO filter = new JobFilterDTO();
+        filter.setType(EJobType.Full_time);
+        filter.setStatus(EJobStatus.Open);
+
+        assertThat(service.bulkUpdate(new JobBulkUpdateRequestDTO(null, filter, patch)).getAffected()).isEqualTo(2);
+
+        Job updated = jobRepository.findById(a.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(EJobStatus.Closed);
+        assertThat(updated.getCompany()).isEqualTo("enc:Acme");
+        assertThat(updated.getVersion()).isEqualTo(a.getVersion() + 1);
+        assertThat(jobRepository.findById(c.getId()).orElseThrow().getStatus()).isEqualTo(EJobStatus.Open);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, ?>> payloads = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService).recordAll(eq(EOutboxEventType.JOB_UPDATED), payloads.capture());
+        assertThat(payloads.getValue().keySet())
+                .containsExactlyInAnyOrder(String.valueOf(a.getId()), String.valueOf(b.getId()));
+
+        // Facet được đếm lại sau commit
+        JobFacetsDTO facets = service.getFacets();
+        assertThat(facets.getByStatus()).containsEntry(EJobStatus.Closed, 2L).containsEntry(EJobStatus.Open, 1L);
+    }
+
+    @Test
+    void bulkUpdateIntersectsIdsWithFilter() {
+        JobResponseDTO a = create("Backend Engineer", 1500, EJobType.Full_time, EJobStatus.Open);
+        JobResponseDTO b = create("QA Engineer", 800, EJobType.Remote, EJobStatus.Open);
+
+        JobPatchDTO patch = new JobPatchDTO();
+        patch.setSalary(3000);
+        JobFilterDTO filter = new JobFilterDTO();
+        filter.setType(EJobType.Remote);
+
+        assertThat(service.bulkUpdate(new JobBulkUpdateRequestDTO(List.of(a.getId(), b.getId()), filter, patch))
+                .getAffected()).isEqualTo(1);
+        assertThat(jobRepository.findById(a.getId()).orElseThrow().getSalary()).isEqualTo(1500);
+        assertThat(jobRepository.findById(b.getId()).orElseThrow().getSalary()).isEqualTo(3000);
+    }
+
+    @Test
+    void bulkOperationsRequireAConditionAndAChange() {
+        JobPatchDTO patch = new JobPatchDTO();
+        patch.setSalary(1);
+
+        assertThatThrownBy(() -> service.bulkUpdate(new JobBulkUpdateRequestDTO(null, new JobFilterDTO(), patch)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.bulkUpdate(new JobBulkUpdateRequestDTO(List.of(1L), null, new JobPatchDTO())))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.bulkDelete(new JobBulkDeleteRequestDTO(List.of(), null)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void bulkDeleteRemovesMatchingRowsAndUpdatesDerivedState() {
+        JobResponseDTO a = create("Backend Engineer", 1500, EJobType.Full_time, EJobStatus.Closed);
+        JobResponseDTO b = create("Data Engineer", 2500, EJobType.Remote, EJobStatus.Closed);
+        create("QA Engineer", 800, EJobType.Remote, EJobStatus.Open);
+
+        JobFilterDTO filter = new JobFilterDTO();
+        filter.setStatus(EJobStatus.Closed);
+
+        assertThat(service.bulkDelete(new JobBulkDeleteRequestDTO(null, filter)).getAffected()).isEqualTo(2);
+
+        assertThat(jobRepository.findAll()).extracting(Job::getTitle).containsExactly("QA Engineer");
+        verify(jobSearchIndex).remove(List.of(a.getId(), b.getId()));
+        verify(outboxService).recordAll(eq(EOutboxEventType.JOB_DELETED), anyMap());
+        assertThat(service.getFacets().getTotal()).isEqualTo(1);
+    }
+
+    /* ================= KEYSET SCROLL (user-036) ================= */
+
+    @Test
+    void scrollBySalaryWalksEveryRowOnceWithTiesBrokenById() {
+        for (int i = 0; i < 11; i++) {
+            create("Engineer " + i, 1000 + (i % 3) * 500, EJobType.Remote, EJobStatus.Open);
+        }
+
+        List<JobResponseDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponseDTO<JobResponseDTO> page = service.scroll(null, EJobSort.SALARY, cursor, 4, false);
+            assertThat(page.getApproximateTotal()).isNull();
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(11);
+        assertThat(seen).extracting(JobResponseDTO::getId).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo(Comparator
+                .comparing(JobResponseDTO::getSalary)
+                .thenComparing(JobResponseDTO::getId));
+        // Trang được giải mã trước khi trả về
+        assertThat(seen).allMatch(job -> job.getCompany().startsWith("Company of "));
+    }
+
+    @Test
+    void scrollByIdFiltersByTitleAndReportsCachedTotal() {
+        create("Java Developer", 1000, EJobType.Remote, EJobStatus.Open);
+        create("Senior JAVA Developer", 2000, EJobType.Remote, EJobStatus.Open);
+        create("Go Developer", 3000, EJobType.Remote, EJobStatus.Open);
+        create("java architect", 4000, EJobType.Remote, EJobStatus.Open);
+
+        CursorPageResponseDTO<JobResponseDTO> first = service.scroll("java", EJobSort.ID, null, 2, true);
+        CursorPageResponseDTO<JobResponseDTO> second = service.scroll("java", EJobSort.ID, first.getNextCursor(), 2, true);
+
+        assertThat(first.getApproximateTotal()).isEqualTo(3);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).extracting(JobResponseDTO::getTitle).containsExactly("java architect");
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void scrollRejectsCursorsFromAnotherSortOrTampered() {
+        create("Engineer 1", 1000, EJobType.Remote, EJobStatus.Open);
+        create("Engineer 2", 1000, EJobType.Remote, EJobStatus.Open);
+
+        String idCursor = service.scroll(null, EJobSort.ID, null, 1, false).getNextCursor();
+
+        assertThatThrownBy(() -> service.scroll(null, EJobSort.SALARY, idCursor, 1, false))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.scroll(null, EJobSort.ID, CursorCodec.encode("ID", "", "x"), 1, false))
+                .isInstanceOf(BadRequestException.class);
+        // Cursor SALARY thiếu phần salary: 400, không phải 500
+        assertThatThrownBy(() -> service.scroll(null, EJobSort.SALARY, CursorCodec.encode("SALARY", "", "1"), 1, false))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void cachedTotalSurvivesSingleWritesAndIsDroppedByBulkDelete() {
+        create("Java Developer", 1000, EJobType.Remote, EJobStatus.Open);
+        assertThat(service.scroll(null, EJobSort.ID, null, 1, true).getApproximateTotal()).isEqualTo(1);
+
+        // Tạo / xoá từng job không đếm lại: tổng xấp xỉ tới khi hết TTL
+        JobResponseDTO second = create("Go Developer", 2000, EJobType.Remote, EJobStatus.Open);
+        create("Rust Developer", 3000, EJobType.Remote, EJobStatus.Open);
+        create("Scala Developer", 4000, EJobType.Remote, EJobStatus.Open);
+        service.delete(second.getId());
+        assertThat(service.scroll(null, EJobSort.ID, null, 1, true).getApproximateTotal()).isEqualTo(1);
+
+        service.bulkDelete(new JobBulkDeleteRequestDTO(null, new JobFilterDTO(null, null, 4000, null, null)));
+        assertThat(service.scroll(null, EJobSort.ID, null, 1, true).getApproximateTotal()).isEqualTo(2);
+    }
+
+    /* ================= PROJECTION (user-037) ================= */
+
+    @Test
+    void projectionSetsAndDecryptsOnlyTheSelectedFields() {
+        create("Backend Engineer", 1500, EJobType.Full_time, EJobStatus.Open);
+        create("Data Engineer", 2500, EJobType.Remote, EJobStatus.Open);
+        clearInvocations(encryptionService);
+
+        Page<JobResponseDTO> page = service.getAll(
+                PageRequest.of(0, 10, Sort.by("id")),
+                EnumSet.of(EJobField.ID, EJobField.TITLE, EJobField.LOCATION));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).allSatisfy(job -> {
+            assertThat(job.getId()).isNotNull();
+            assertThat(job.getLocation()).isEqualTo("Hanoi");
+            assertThat(job.getCompany()).isNull();
+            assertThat(job.getDescription()).isNull();
+            assertThat(job.getSalary()).isNull();
+        });
+        // Chỉ location (1 field mã hoá được chọn) được giải mã, mỗi dòng một lần
+        verify(encryptionService, times(2)).decrypt(anyString());
+    }
+
+    @Test
+    void companySearchDecryptsOtherEncryptedFieldsOnlyForTheReturnedPage() {
+        create("Backend Engineer", 1500, EJobType.Full_time, EJobStatus.Open);
+        create("Data Engineer", 2500, EJobType.Remote, EJobStatus.Open);
+        create("QA Engineer", 800, EJobType.Remote, EJobStatus.Open);
+        clearInvocations(encryptionService);
+
+        Page<JobResponseDTO> page = service.searchByCompany(
+                "engineer",
+                PageRequest.of(0, 1, Sort.by("id")),
+                EnumSet.of(EJobField.ID, EJobField.DESCRIPTION));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).singleElement().satisfies(job -> {
+            assertThat(job.getDescription()).isEqualTo("About Backend Engineer");
+            // company chỉ dùng để lọc, không được chọn nên không trả về
+            assertThat(job.getCompany()).isNull();
+        });
+        // 3 company để lọc + 1 description của trang trả về
+        verify(encryptionService, times(4)).decrypt(anyString());
+    }
+
+    /* ================= FILTER (user-038) ================= */
+
+    @Test
+    void filterAndsEveryCriterionWithInclusiveSalaryBounds() {
+        create("Backend Engineer", 1000, EJobType.Remote, EJobStatus.Open);
+        create("Backend Lead", 2000, EJobType.Remote, EJobStatus.Open);
+        create("Backend Architect", 2001, EJobType.Remote, EJobStatus.Open);
+        create("Backend Intern", 1500, EJobType.Remote, EJobStatus.Closed);
+        create("Backend Contractor", 1500, EJobType.Part_time, EJobStatus.Open);
+        create("Data Engineer", 1500, EJobType.Remote, EJobStatus.Open);
+
+        JobFilterDTO filter = new JobFilterDTO(EJobType.Remote, EJobStatus.Open, 1000, 2000, "Backend");
+
+        Page<JobResponseDTO> page = service.filter(
+                filter, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "salary", "id")), EJobView.SUMMARY.getFields());
+
+        assertThat(page.getContent()).extracting(JobResponseDTO::getTitle)
+                .containsExactly("Backend Lead", "Backend Engineer");
+        assertThat(page.getContent()).extracting(JobResponseDTO::getDescription).containsOnlyNulls();
+    }
+
+    @Test
+    void titlePrefixIsMatchedLiterally() {
+        create("100% Remote Engineer", 1000, EJobType.Remote, EJobStatus.Open);
+        create("1000 Remote Engineers", 1000, EJobType.Remote, EJobStatus.Open);
+        create("A_B Engineer", 1000, EJobType.Remote, EJobStatus.Open);
+        create("AXB Engineer", 1000, EJobType.Remote, EJobStatus.Open);
+
+        assertThat(filterTitles("100%")).containsExactly("100% Remote Engineer");
+        assertThat(filterTitles("A_B")).containsExactly("A_B Engineer");
+    }
+
+    /* ================= FACETS (user-039) ================= */
+
+    @Test
+    void facetsFollowCommittedWritesButNotRolledBackOnes() {
+        JobResponseDTO a = create("Backend Engineer", 1500, EJobType.Full_time, EJobStatus.Open);
+        create("Data Engineer", 2500, EJobType.Remote, EJobStatus.Open);
+
+        service.update(a.getId(), new JobRequestDTO("Backend Engineer", "Acme", "Hanoi", 12000,
+                EJobType.Part_time, EJobStatus.Closed, null, null), a.getVersion());
+
+        // Sai version → rollback, delta không được áp dụng
+        assertThatThrownBy(() -> service.update(a.getId(), new JobRequestDTO("Backend Engineer", "Acme", "Hanoi", 500,
+                EJobType.Remote, EJobStatus.Open, null, null), a.getVersion()))
+                .isInstanceOf(ConflictException.class);
+
+        JobFacetsDTO facets = service.getFacets();
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getByType())
+                .containsEntry(EJobType.Full_time, 0L)
+                .containsEntry(EJobType.Part_time, 1L)
+                .containsEntry(EJobType.Remote, 1L);
+        assertThat(facets.getByStatus()).containsEntry(EJobStatus.Closed, 1L);
+        assertThat(facets.getBySalaryBand()).extracting(SalaryBandFacetDTO::getCount).containsExactly(0L, 0L, 1L, 0L, 1L);
+
+        service.delete(a.getId());
+
+        JobFacetsDTO afterDelete = service.getFacets();
+        assertThat(afterDelete.getTotal()).isEqualTo(1);
+        assertThat(afterDelete.getByStatus()).containsEntry(EJobStatus.Closed, 0L);
+    }
+
+    /* ================= RESPONSE CACHE (user-040) ================= */
+
+    @Test
+    void cachedJobIsServedUntilAWriteInvalidatesIt() throws Exception {
+        JobResponseDTO job = create("Backend Engineer", 1500, EJobType.Full_time, EJobStatus.Open);
+
+        CachedJobResponseDTO first = service.getCachedById(job.getId());
+        assertThat(first.getEtag()).isEqualTo(JobETag.of(job.getId(), job.getVersion()));
+        assertThat(objectMapper.readValue(first.getJson(), JobResponseDTO.class).getCompany())
+                .isEqualTo("Company of Backend Engineer");
+
+        // Ghi thẳng vào DB (bỏ qua service): cache không biết → vẫn trả bản cũ
+        jdbcTemplate.update("update jobs set title = 'Changed' where id = ?", job.getId());
+        assertThat(service.getCachedById(job.getId())).isSameAs(first);
+
+        service.update(job.getId(), new JobRequestDTO("Backend Lead", "Acme", "Hanoi", 2000,
+                EJobType.Full_time, EJobStatus.Open, null, null), job.getVersion());
+
+        CachedJobResponseDTO second = service.getCachedById(job.getId());
+        assertThat(second.getEtag()).isEqualTo(JobETag.of(job.getId(), job.getVersion() + 1));
+        assertThat(objectMapper.readValue(second.getJson(), JobResponseDTO.class).getTitle()).isEqualTo("Backend Lead");
+        verify(cacheInvalidationBus).publish(AppConstants.CACHE_BUS_JOB_RESPONSE);
+    }
+
+    @Test
+    void missingJobIsNotFoundAndNotCached() {
+        assertThatThrownBy(() -> service.getCachedById(-1L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    /* ================= CONDITIONAL UPDATE (user-041) ================= */
+
+    @Test
+    void updateWithExpectedVersionConflictsOnceAndDistinguishesMissingJobs() {
+        JobResponseDTO job = create("Backend Engineer", 1500, EJobType.Full_time, EJobStatus.Open);
+        JobRequestDTO edit = new JobRequestDTO("Backend Lead", "Acme", "Hanoi", 2000,
+                EJobType.Full_time, EJobStatus.Open, null, null);
+
+        // Hai client cùng sửa từ một version: chỉ client đầu thành công
+        assertThat(service.update(job.getId(), edit, job.getVersion()).getVersion()).isEqualTo(job.getVersion() + 1);
+        assertThatThrownBy(() -> service.update(job.getId(), edit, job.getVersion()))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> service.update(-1L, edit, 0L))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // Không gửi If-Match: ghi đè, version đọc lại từ DB
+        assertThat(service.update(job.getId(), edit, null).getVersion()).isEqualTo(job.getVersion() + 2);
+    }
+
+    /* ================= EXPIRY (user-047) ================= */
+
+    @Test
+    void closeExpiredClosesOnlyDueOpenJobsOldestFirstInChunks() {
+        LocalDateTime now = LocalDateTime.of(2026, 6, 1, 12, 0);
+        JobResponseDTO oldest = createExpiring("Oldest", EJobStatus.Open, now.minusDays(3));
+        JobResponseDTO older = createExpiring("Older", EJobStatus.Open, now.minusDays(2));
+        JobResponseDTO dueNow = createExpiring("Due now", EJobStatus.Open, now);
+        JobResponseDTO future = createExpiring("Future", EJobStatus.Open, now.plusSeconds(1));
+        JobResponseDTO noExpiry = createExpiring("No expiry", EJobStatus.Open, null);
+        createExpiring("Already closed", EJobStatus.Closed, now.minusDays(5));
+        clearInvocations(outboxService, jobEventService);
+
+        assertThat(service.closeExpired(now, 2)).isEqualTo(2);
+        verify(jobEventService).publish(EJobEventType.UPDATED, List.of(oldest.getId(), older.getId()), null);
+        verify(outboxService).recordAll(eq(EOutboxEventType.JOB_UPDATED), anyMap());
+
+        assertThat(service.closeExpired(now, 2)).isEqualTo(1);
+        assertThat(service.closeExpired(now, 2)).isZero();
+
+        assertThat(jobRepository.findAll())
+                .filteredOn(job -> job.getStatus() == EJobStatus.Open)
+                .extracting(Job::getId)
+                .containsExactlyInAnyOrder(future.getId(), noExpiry.getId());
+        // Đóng bằng UPDATE hàng loạt nhưng vẫn tăng version → ETag cũ không còn khớp
+        assertThat(jobRepository.findById(dueNow.getId()).orElseThrow().getVersion())
+                .isEqualTo(dueNow.getVersion() + 1);
+        assertThat(service.getFacets().getByStatus()).containsEntry(EJobStatus.Open, 2L);
+    }
+
+    /* ================= PRIVATE ================= */
+
+    private List<String> filterTitles(String titlePrefix) {
+        return service.filter(
+                        new JobFilterDTO(null, null, null, null, titlePrefix),
+                        PageRequest.of(0, 10, Sort.by("id")),
+                        EnumSet.of(EJobField.ID, EJobField.TITLE))
+                .map(JobResponseDTO::getTitle)
+                .getContent();
+    }
+
+    private JobResponseDTO createExpiring(String title, EJobStatus status, LocalDateTime expiresAt) {
+        return service.create(new JobRequestDTO(
+                title, "Acme", "Hanoi", 1000, EJobType.Remote, status, null, expiresAt));
+    }
+
+    private JobResponseDTO create(String title, int salary, EJobType type, EJobStatus status) {
+        return service.create(new JobRequestDTO(
+                title, "Company of " + title, "Hanoi", salary, type, status, "About " + title, null));
+    }
+}
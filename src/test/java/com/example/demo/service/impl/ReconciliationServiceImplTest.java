@@ -0,0 +1,204 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.response.ReconciliationReportDTO;
+import com.example.crudjob.entity.enums.EReconciliationIssue;
+import com.example.crudjob.entity.enums.EReconciliationStatus;
+import com.example.crudjob.service.SchedulerLeaseManager;
+import com.example.crudjob.service.impl.ReconciliationServiceImpl;
+
+/**
+ * Bản ghi được chèn với id cố định để kiểm soát ranh giới khoảng lá / cửa sổ / pair-gap:
+ * leaf-size = 10, window-size = 40, pair-gap = 5
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Import(ReconciliationServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReconciliationServiceImplTest {
+
+    private static final String LEASE = "reconciliation";
+
+    @Autowired
+    private ReconciliationServiceImpl service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private SchedulerLeaseManager schedulerLeaseManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "leafSize", 10L);
+        ReflectionTestUtils.setField(service, "windowSize", 40L);
+        ReflectionTestUtils.setField(service, "pairGap", 5L);
+        when(schedulerLeaseManager.tryAcquire(eq(LEASE), anyLong())).thenReturn(true);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from transaction_history");
+        jdbcTemplate.update("delete from processing_checkpoint");
+    }
+
+    @Test
+    void reportsMismatchesDuplicatesAndOrphansAcrossLeavesAndWindows() {
+        debit(1, "TXN-1", "10.00");
+        credit(2, "TXN-1", "10.00");
+        // NỢ / CÓ nằm ở hai khoảng lá khác nhau
+        debit(10, "TXN-SPLIT", "7.00");
+        credit(11, "TXN-SPLIT", "7.00");
+        debit(21, "TXN-MISMATCH", "5.00");
+        credit(22, "TXN-MISMATCH", "4.00");
+        debit(23, "TXN-DUP", "3.00");
+        credit(24, "TXN-DUP", "3.00");
+        credit(25, "TXN-DUP", "3.00");
+        debit(30, "TXN-ORPHAN", "9.00");
+        // NỢ / CÓ nằm ở hai cửa sổ khác nhau
+        debit(40, "TXN-WINDOW", "2.00");
+        credit(41, "TXN-WINDOW", "2.00");
+        // Gần cuối bảng: chưa đủ pair-gap để kết luận
+        credit(57, "TXN-TAIL", "1.00");
+        debit(59, "TXN-LAST", "6.00");
+        credit(60, "TXN-LAST", "6.00");
+
+        ReconciliationReportDTO report = runAndWait(true);
+
+        assertThat(report.getStatus()).isEqualTo(EReconciliationStatus.COMPLETED);
+        assertThat(report.getRowsScanned()).isEqualTo(15);
+        assertThat(report.getTransactionsChecked()).isEqualTo(6);
+        assertThat(report.getMismatchCount()).isEqualTo(1);
+        assertThat(report.getDuplicateCount()).isEqualTo(1);
+        assertThat(report.getOrphanCount()).isEqualTo(1);
+        assertThat(report.getPendingCount()).isEqualTo(1);
+        assertThat(report.getCheckpointId()).isEqualTo(60);
+        assertThat(report.getRowsPerSecond()).isPositive();
+        assertThat(report.getIssues())
+                .extracting(i -> i.getTransactionId() + ":" + i.getType())
+                .containsExactlyInAnyOrder(
+                        "TXN-MISMATCH:" + EReconciliationIssue.AMOUNT_MISMATCH,
+                        "TXN-DUP:" + EReconciliationIssue.DUPLICATE,
+                        "TXN-ORPHAN:" + EReconciliationIssue.ORPHAN_DEBIT);
+    }
+
+    @Test
+    void resumeRebuildsPendingPairsWithoutFalseOrphans() {
+        // TXN-A hoàn tất ở lần 1 (8, 11); TXN-LATE mới có NỢ (10)
+        debit(8, "TXN-A", "1.00");
+        debit(10, "TXN-LATE", "2.00");
+        credit(11, "TXN-A", "1.00");
+
+        ReconciliationReportDTO first = runAndWait(true);
+        assertThat(first.getTransactionsChecked()).isEqualTo(1);
+        assertThat(first.getPendingCount()).isEqualTo(1);
+        assertThat(first.getCheckpointId()).isEqualTo(11);
+
+        credit(12, "TXN-LATE", "2.00");
+        debit(20, "TXN-B", "3.00");
+        credit(21, "TXN-B", "3.00");
+
+        ReconciliationReportDTO second = runAndWait(false);
+
+        // Quét lại từ checkpoint - pair-gap: dựng lại TXN-LATE, không coi CÓ của TXN-A là orphan
+        assertThat(second.getStatus()).isEqualTo(EReconciliationStatus.COMPLETED);
+        assertThat(second.getFromId()).isEqualTo(6);
+        assertThat(second.getTransactionsChecked()).isEqualTo(2);
+        assertThat(second.getOrphanCount()).isZero();
+        assertThat(second.getIssues()).isEmpty();
+        assertThat(second.getCheckpointId()).isEqualTo(21);
+    }
+
+    @Test
+    void failsWhenAnotherInstanceHoldsTheLease() {
+        debit(1, "TXN-1", "1.00");
+        credit(2, "TXN-1", "1.00");
+        when(schedulerLeaseManager.tryAcquire(eq(LEASE), anyLong())).thenReturn(false);
+
+        ReconciliationReportDTO report = runAndWait(true);
+
+        assertThat(report.getStatus()).isEqualTo(EReconciliationStatus.FAILED);
+        assertThat(report.getError()).contains("another instance");
+        assertThat(report.getRowsScanned()).isZero();
+    }
+
+    @Test
+    void stopsAfterTheCurrentWindowWhenTheLeaseIsLost() {
+        debit(1, "TXN-1", "1.00");
+        credit(2, "TXN-1", "1.00");
+        debit(70, "TXN-2", "1.00");
+        credit(71, "TXN-2", "1.00");
+        when(schedulerLeaseManager.tryAcquire(eq(LEASE), anyLong())).thenReturn(true, false);
+
+        ReconciliationReportDTO report = runAndWait(true);
+
+        assertThat(report.getStatus()).isEqualTo(EReconciliationStatus.FAILED);
+        assertThat(report.getError()).contains("lease lost");
+        assertThat(report.getCheckpointId()).isEqualTo(40);
+        verify(schedulerLeaseManager).release(LEASE);
+    }
+
+    @Test
+    void scheduledRunIsSkippedWithoutTheLease() {
+        when(schedulerLeaseManager.tryAcquire(eq(LEASE), anyLong())).thenReturn(false);
+        ReconciliationReportDTO before = service.getLatestReport();
+
+        service.scheduledRun();
+
+        assertThat(service.getLatestReport()).isSameAs(before);
+        verify(schedulerLeaseManager, times(1)).tryAcquire(eq(LEASE), anyLong());
+    }
+
+    private ReconciliationReportDTO runAndWait(boolean reset) {
+        service.start(reset);
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(service, "running");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (running.get() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(running.get()).isFalse();
+        return service.getLatestReport();
+    }
+
+    private void debit(long id, String transactionId, String amount) {
+        insert(id, transactionId, amount, "0");
+    }
+
+    private void credit(long id, String transactionId, String amount) {
+        insert(id, transactionId, "0", amount);
+    }
+
+    private void insert(long id, String transactionId, String inDebt, String have) {
+        jdbcTemplate.update("""
+                insert into transaction_history (id, transaction_id, account, in_debt, have, transaction_time)
+                values (?, ?, 'enc:0981234567', ?, ?, ?)
+                """, id, transactionId, new BigDecimal(inDebt), new BigDecimal(have),
+                LocalDateTime.of(2026, 3, 1, 9, 0));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.entity.TransactionHistory;
+import com.example.crudjob.entity.enums.EExportFormat;
+import com.example.crudjob.repository.TransactionHistoryRepository;
+import com.example.crudjob.service.impl.TransactionExportServiceImpl;
+import com.example.demo.support.FakeEncryption;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+class TransactionExportServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionHistoryRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private TransactionExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TransactionExportServiceImpl(jdbcTemplate, FakeEncryption.install(), objectMapper, Runnable::run);
+        // H2 không hỗ trợ fetch size âm (chế độ stream của Connector/J)
+        ReflectionTestUtils.setField(service, "fetchSize", 100);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+
+        repository.saveAll(List.of(
+                row("TXN-2", "acc,with \"comma\"", T0.plusMinutes(5)),
+                row("TXN-1", "0981234567", T0),
+                row("TXN-3", "0978889999", T0.plusDays(1))));
+        repository.flush();
+    }
+
+    @Test
+    void ndjsonIsOrderedByTimeAndDecrypted() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export(T0, T0.plusHours(1), EExportFormat.NDJSON, false, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("transactionId").asText()).isEqualTo("TXN-1");
+        assertThat(first.get("account").asText()).isEqualTo("0981234567");
+        assertThat(objectMapper.readTree(lines.get(1)).get("transactionId").asText()).isEqualTo("TXN-2");
+    }
+
+    @Test
+    void csvHasHeaderAndQuotesSpecialCharacters() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(null, null, EExportFormat.CSV, false, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines.get(0)).isEqualTo("id,transactionId,account,inDebt,have,transactionTime");
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(2)).contains(",TXN-2,\"acc,with \"\"comma\"\"\",10.00,0.00,");
+    }
+
+    @Test
+    void gzipOutputDecompressesToPlainExport() throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+
+        service.export(null, null, EExportFormat.CSV, false, plain);
+        service.export(null, null, EExportFormat.CSV, true, gzip);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.toByteArray());
+        }
+    }
+
+    private TransactionHistory row(String transactionId, String account, LocalDateTime time) {
+        TransactionHistory row = new TransactionHistory();
+        row.setTransactionId(transactionId);
+        row.setAccount(account);
+        row.setInDebt(new BigDecimal("10.00"));
+        row.setHave(new BigDecimal("0.00"));
+        row.setTransactionTime(time);
+        return row;
+    }
+}
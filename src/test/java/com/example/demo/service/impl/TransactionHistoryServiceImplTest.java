@@ -0,0 +1,121 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.response.CursorPageResponseDTO;
+import com.example.crudjob.dto.response.TransactionHistoryResponseDTO;
+import com.example.crudjob.entity.TransactionHistory;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.repository.TransactionHistoryRepository;
+import com.example.crudjob.service.HistoryArchiveStore;
+import com.example.crudjob.service.impl.TransactionHistoryServiceImpl;
+import com.example.crudjob.utils.CursorCodec;
+import com.example.demo.support.FakeEncryption;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Import(TransactionHistoryServiceImpl.class)
+class TransactionHistoryServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Autowired
+    private TransactionHistoryServiceImpl service;
+
+    @Autowired
+    private TransactionHistoryRepository repository;
+
+    @MockBean
+    private HistoryArchiveStore historyArchiveStore;
+
+    @BeforeEach
+    void setUp() {
+        FakeEncryption.install();
+        when(historyArchiveStore.findPage(any(), anyLong(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // 25 dòng, nhiều dòng trùng thời gian để cursor phải dùng cả id
+        List<TransactionHistory> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            rows.add(row(i % 3 == 0 ? "TXN-A" : "TXN-" + i, T0.plusMinutes(i / 2)));
+        }
+        repository.saveAll(rows);
+        repository.flush();
+    }
+
+    @Test
+    void walkingCursorsReturnsEveryRowOnceInTimeIdOrder() {
+        List<TransactionHistoryResponseDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            CursorPageResponseDTO<TransactionHistoryResponseDTO> page = service.getHistory(null, null, null, cursor, 4);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(7);
+        assertThat(seen).hasSize(25);
+        assertThat(seen).extracting(TransactionHistoryResponseDTO::getId).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo((a, b) -> a.getTransactionTime().equals(b.getTransactionTime())
+                ? a.getId().compareTo(b.getId())
+                : a.getTransactionTime().compareTo(b.getTransactionTime()));
+        // account được giải mã khi load trang
+        assertThat(seen).allMatch(r -> r.getAccount().equals("0981234567"));
+    }
+
+    @Test
+    void filtersByTimeRangeAndTransactionId() {
+        CursorPageResponseDTO<TransactionHistoryResponseDTO> page =
+                service.getHistory(T0.plusMinutes(2), T0.plusMinutes(8), "TXN-A", null, 50);
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getContent())
+                .isNotEmpty()
+                .allMatch(r -> r.getTransactionId().equals("TXN-A"))
+                .allMatch(r -> !r.getTransactionTime().isBefore(T0.plusMinutes(2))
+                        && r.getTransactionTime().isBefore(T0.plusMinutes(8)));
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThatThrownBy(() -> service.getHistory(null, null, null, "not-base64!", 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getHistory(null, null, null, CursorCodec.encode("2026-01-01T00:00", "x"), 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getHistory(null, null, null, CursorCodec.encode("only-one-part"), 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private TransactionHistory row(String transactionId, LocalDateTime time) {
+        TransactionHistory row = new TransactionHistory();
+        row.setTransactionId(transactionId);
+        row.setAccount("0981234567");
+        row.setInDebt(BigDecimal.ONE);
+        row.setHave(BigDecimal.ZERO);
+        row.setTransactionTime(time);
+        return row;
+    }
+}
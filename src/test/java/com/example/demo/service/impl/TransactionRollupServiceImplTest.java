@@ -0,0 +1,224 @@
+package com.example.demo.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.crudjob.CrudJobApplication;
+import com.example.crudjob.dto.response.RollupReportDTO;
+import com.example.crudjob.entity.ProcessingCheckpoint;
+import com.example.crudjob.entity.TransactionHistory;
+import com.example.crudjob.entity.TransactionRollup;
+import com.example.crudjob.entity.enums.ERollupGranularity;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.repository.ProcessingCheckpointRepository;
+import com.example.crudjob.repository.TransactionHistoryRepository;
+import com.example.crudjob.repository.TransactionRollupRepository;
+import com.example.crudjob.service.impl.TransactionRollupServiceImpl;
+import com.example.demo.support.FakeEncryption;
+
+/**
+ * Hai instance service (nodeA, nodeB) dùng chung checkpoint, batch-size = 2, chờ khoảng trống id tối đa 60s.
+ * Không bọc test trong transaction: service tự mở transaction cho từng batch.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = CrudJobApplication.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionRollupServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 9, 15);
+
+    @Autowired
+    private TransactionHistoryRepository historyRepository;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private ProcessingCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionRollupServiceImpl service;
+    private TransactionRollupServiceImpl nodeB;
+
+    @BeforeEach
+    void setUp() {
+        FakeEncryption.install();
+        service = node();
+        nodeB = node();
+        // Id bắt đầu lại từ 1: offset 0 của checkpoint mới liền mạch với bản ghi đầu tiên
+        jdbcTemplate.execute("alter table transaction_history alter column id restart with 1");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        historyRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from processing_checkpoint where name = 'transaction_rollup'");
+    }
+
+    @Test
+    void rowsAreRolledUpOnceAcrossNodesSharingTheCheckpoint() {
+        transfer("TXN-1", T0, "10.00");
+        transfer("TXN-2", T0.plusMinutes(30), "5.50");
+
+        // Cả hai node cùng tạo checkpoint lần đầu (insert ignore), chỉ một node cộng dữ liệu
+        assertThat(service.processPending()).isEqualTo(4);
+        assertThat(nodeB.processPending()).isZero();
+
+        assertThat(rollupRepository.findRange(ERollupGranularity.HOUR, T0.minusDays(1), T0.plusDays(1)))
+                .singleElement()
+                .satisfies(r -> {
+                    assertThat(r.getBucketStart()).isEqualTo(LocalDateTime.of(2026, 3, 1, 9, 0));
+                    assertThat(r.getTransactionCount()).isEqualTo(4);
+                    assertThat(r.getTotalDebit()).isEqualByComparingTo("15.50");
+                    assertThat(r.getTotalCredit()).isEqualByComparingTo("15.50");
+                });
+
+        transfer("TXN-3", T0.plusHours(3), "1.00");
+        assertThat(nodeB.processPending()).isEqualTo(2);
+        assertThat(rollupRepository.findRange(ERollupGranularity.DAY, T0.minusDays(1), T0.plusDays(1)))
+                .singleElement()
+                .extracting(TransactionRollup::getTransactionCount)
+                .isEqualTo(6L);
+        assertThat(checkpointRepository.findById("transaction_rollup"))
+                .get()
+                .extracting(ProcessingCheckpoint::getLastId)
+                .isEqualTo(6L);
+
+        // Không có dữ liệu mới: không cộng lặp
+        assertThat(service.processPending()).isZero();
+        assertThat(nodeB.processPending()).isZero();
+    }
+
+    @Test
+    void lowerIdCommittingAfterAHigherIdIsNotSkipped() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread slowTransfer = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            historyRepository.saveAndFlush(row("TXN-SLOW", T0, new BigDecimal("7.00"), BigDecimal.ZERO));
+            inserted.countDown();
+            await(commit);
+        }));
+        slowTransfer.start();
+        inserted.await();
+
+        // Id 1 đang trong transaction chưa commit, id 2-3 đã commit; transfer chậm giữ transaction qua nhiều chu kỳ
+        transfer("TXN-2", T0, "2.00");
+        assertThat(service.processPending()).isZero();
+        assertThat(service.processPending()).isZero();
+
+        // Báo cáo vẫn thấy bản ghi đã commit qua phần đuôi
+        assertThat(service.getRollups(ERollupGranularity.DAY, T0, T0.plusHours(1)).getTransactionCount())
+                .isEqualTo(2);
+
+        commit.countDown();
+        slowTransfer.join();
+
+        assertThat(service.processPending()).isEqualTo(3);
+        RollupReportDTO report = service.getRollups(ERollupGranularity.DAY, T0, T0.plusHours(1));
+        assertThat(report.getRolledUpToId()).isEqualTo(3);
+        assertThat(report.getTransactionCount()).isEqualTo(3);
+        assertThat(report.getTotalDebit()).isEqualByComparingTo("9.00");
+    }
+
+    @Test
+    void gapLeftByARolledBackTransferIsSkippedAfterTheGracePeriod() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            historyRepository.saveAndFlush(row("TXN-GONE", T0, BigDecimal.ONE, BigDecimal.ZERO));
+            status.setRollbackOnly();
+        });
+        transfer("TXN-2", T0, "2.00");
+        ReflectionTestUtils.setField(service, "gapGraceMs", 200L);
+
+        assertThat(service.processPending()).isZero();
+
+        Thread.sleep(300);
+        assertThat(service.processPending()).isEqualTo(2);
+        assertThat(checkpointRepository.findById("transaction_rollup"))
+                .get()
+                .extracting(ProcessingCheckpoint::getLastId)
+                .isEqualTo(3L);
+    }
+
+    @Test
+    void reportCombinesStoredRollupsWithTheUnprocessedTail() {
+        transfer("TXN-1", T0, "10.00");
+        service.processPending();
+
+        transfer("TXN-2", T0.plusMinutes(5), "2.00");
+        transfer("TXN-3", T0.plusHours(1), "3.00");
+
+        RollupReportDTO report = service.getRollups(ERollupGranularity.HOUR, T0, T0.plusHours(2));
+
+        // Khoảng được mở rộng ra nguyên bucket
+        assertThat(report.getFrom()).isEqualTo(LocalDateTime.of(2026, 3, 1, 9, 0));
+        assertThat(report.getTo()).isEqualTo(LocalDateTime.of(2026, 3, 1, 12, 0));
+        assertThat(report.getRolledUpToId()).isPositive();
+        assertThat(report.getTransactionCount()).isEqualTo(6);
+        assertThat(report.getTotalDebit()).isEqualByComparingTo("15.00");
+        assertThat(report.getBuckets()).hasSize(2);
+        assertThat(report.getBuckets().get(0).getTransactionCount()).isEqualTo(4);
+        assertThat(report.getBuckets().get(1).getTotalCredit()).isEqualByComparingTo("3.00");
+    }
+
+    @Test
+    void rejectsEmptyRange() {
+        assertThatThrownBy(() -> service.getRollups(ERollupGranularity.DAY, T0, T0))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private TransactionRollupServiceImpl node() {
+        TransactionRollupServiceImpl node = new TransactionRollupServiceImpl(
+                jdbcTemplate, transactionTemplate, rollupRepository, checkpointRepository);
+        ReflectionTestUtils.setField(node, "batchSize", 2);
+        ReflectionTestUtils.setField(node, "gapGraceMs", 60_000L);
+        return node;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void transfer(String transactionId, LocalDateTime time, String amount) {
+        historyRepository.save(row(transactionId, time, new BigDecimal(amount), BigDecimal.ZERO));
+        historyRepository.save(row(transactionId, time, BigDecimal.ZERO, new BigDecimal(amount)));
+    }
+
+    private TransactionHistory row(String transactionId, LocalDateTime time, BigDecimal inDebt, BigDecimal have) {
+        TransactionHistory row = new TransactionHistory();
+        row.setTransactionId(transactionId);
+        row.setAccount("0981234567");
+        row.setInDebt(inDebt);
+        row.setHave(have);
+        row.setTransactionTime(time);
+        return row;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.support;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.crudjob.service.AesAttributeConverter;
+import com.example.crudjob.service.EncryptionService;
+
+/**
+ * EncryptionService giả cho test: "mã hoá" bằng tiền tố enc: (không cần keystore RSA)
+ */
+public final class FakeEncryption {
+
+    public static final String PREFIX = "enc:";
+
+    /**
+     * Tạo EncryptionService giả và gắn vào AesAttributeConverter
+     */
+    public static EncryptionService install() {
+        return install(mock(EncryptionService.class));
+    }
+
+    /**
+     * Gắn hành vi giả vào một mock có sẵn (ví dụ @MockBean) và vào AesAttributeConverter
+     */
+    public static EncryptionService install(EncryptionService encryptionService) {
+        when(encryptionService.encrypt(anyString())).thenAnswer(inv -> PREFIX + inv.getArgument(0));
+        when(encryptionService.decrypt(anyString())).thenAnswer(inv -> {
+            String value = inv.getArgument(0);
+            return value.startsWith(PREFIX) ? value.substring(PREFIX.length()) : value;
+        });
+        AesAttributeConverter.init(encryptionService);
+        return encryptionService;
+    }
+
+    private FakeEncryption() {
+    }
+}
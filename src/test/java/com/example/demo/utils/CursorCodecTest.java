@@ -0,0 +1,28 @@
+package com.example.demo.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.utils.CursorCodec;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripKeepsEmptyPartsAndIsUrlSafe() {
+        String cursor = CursorCodec.encode("2026-03-01T09:00:00.123", "", "42");
+
+        assertThat(cursor).doesNotContain("+", "/", "=");
+        assertThat(CursorCodec.decode(cursor, 3)).containsExactly("2026-03-01T09:00:00.123", "", "42");
+    }
+
+    @Test
+    void wrongPartCountOrGarbageIsBadRequest() {
+        String cursor = CursorCodec.encode("a", "b");
+
+        assertThatThrownBy(() -> CursorCodec.decode(cursor, 3)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorCodec.decode("%%%", 2)).isInstanceOf(BadRequestException.class);
+    }
+}
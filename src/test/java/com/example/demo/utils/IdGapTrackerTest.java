@@ -0,0 +1,39 @@
+package com.example.demo.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.crudjob.utils.IdGapTracker;
+
+class IdGapTrackerTest {
+
+    @Test
+    void onlyIdsContiguousWithTheOffsetAreAccepted() {
+        IdGapTracker tracker = new IdGapTracker("test", 60_000);
+
+        assertThat(tracker.contiguousCount(0, List.of(1L, 2L, 3L))).isEqualTo(3);
+        assertThat(tracker.contiguousCount(3, List.of(4L, 6L, 7L))).isEqualTo(1);
+        // Khoảng trống ngay sau offset: chưa nhận gì
+        assertThat(tracker.contiguousCount(4, List.of(6L, 7L))).isZero();
+        // Id 5 commit muộn → liền mạch trở lại
+        assertThat(tracker.contiguousCount(4, List.of(5L, 6L, 7L))).isEqualTo(3);
+        assertThat(tracker.contiguousCount(7, List.of())).isZero();
+    }
+
+    @Test
+    void gapIsSkippedOnceItOutlivesTheGracePeriod() throws InterruptedException {
+        IdGapTracker tracker = new IdGapTracker("test", 100);
+
+        assertThat(tracker.contiguousCount(10, List.of(12L, 13L, 15L))).isZero();
+        Thread.sleep(150);
+
+        // Khoảng trống 11 đã quá grace; khoảng trống 14 mới thấy lần đầu → dừng ở đó
+        assertThat(tracker.contiguousCount(10, List.of(12L, 13L, 15L))).isEqualTo(2);
+        assertThat(tracker.contiguousCount(13, List.of(15L))).isZero();
+        Thread.sleep(150);
+        assertThat(tracker.contiguousCount(13, List.of(15L))).isEqualTo(1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.utils.JobETag;
+
+class JobETagTest {
+
+    @Test
+    void parseVersionReadsTheStrongETagOfTheSameJob() {
+        assertThat(JobETag.parseVersion(" " + JobETag.of(12L, 5L) + " ", 12L)).isEqualTo(5L);
+    }
+
+    @Test
+    void missingOrWildcardIfMatchMeansNoVersionCheck() {
+        assertThat(JobETag.parseVersion(null, 12L)).isNull();
+        assertThat(JobETag.parseVersion(" ", 12L)).isNull();
+        assertThat(JobETag.parseVersion("*", 12L)).isNull();
+    }
+
+    @Test
+    void weakForeignOrMalformedETagIsBadRequest() {
+        assertThatThrownBy(() -> JobETag.parseVersion("W/\"12-5\"", 12L)).isInstanceOf(BadRequestException.class);
+        // "1-5" là ETag của job 1, không phải tiền tố "12-" của job 12
+        assertThatThrownBy(() -> JobETag.parseVersion("\"1-5\"", 12L)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> JobETag.parseVersion("\"12-\"", 12L)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> JobETag.parseVersion("\"12-x\"", 12L)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.crudjob.entity.enums.EJobField;
+import com.example.crudjob.entity.enums.EJobView;
+import com.example.crudjob.exception.BadRequestException;
+import com.example.crudjob.utils.JobFieldSelector;
+
+class JobFieldSelectorTest {
+
+    @Test
+    void fieldsWinOverViewAndAlwaysIncludeId() {
+        assertThat(JobFieldSelector.resolve(" Title, expiresAt,,salary ", EJobView.DETAIL))
+                .containsExactlyInAnyOrder(EJobField.ID, EJobField.TITLE, EJobField.EXPIRES_AT, EJobField.SALARY);
+    }
+
+    @Test
+    void blankFieldsFallBackToViewThenDetail() {
+        assertThat(JobFieldSelector.resolve(null, EJobView.SUMMARY)).isEqualTo(EJobView.SUMMARY.getFields());
+        assertThat(JobFieldSelector.resolve(" ", null)).isEqualTo(EnumSet.allOf(EJobField.class));
+    }
+
+    @Test
+    void unknownFieldIsBadRequest() {
+        assertThatThrownBy(() -> JobFieldSelector.resolve("title,password", null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("password");
+    }
+}